@@ -0,0 +1,123 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.seasar.dbflute.helper.HandyDate;
+import org.seasar.dbflute.util.DfTypeUtil;
+
+/**
+ * The benchmark of type conversion by the type utility, which is used in mapping and binding. <br />
+ * Sources are the types that JDBC drivers and parameter-beans basically have.
+ * @author jflute
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DfTypeUtilBenchmark {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected String _integerExp;
+    protected Long _longValue;
+    protected BigDecimal _decimalValue;
+    protected String _decimalExp;
+    protected String _dateExp;
+    protected String _timestampExp;
+    protected Date _dateValue;
+    protected Timestamp _timestampValue;
+
+    // ===================================================================================
+    //                                                                               Setup
+    //                                                                               =====
+    @Setup
+    public void setup() {
+        _integerExp = "1234567";
+        _longValue = 1234567L;
+        _decimalValue = new BigDecimal("1234.567");
+        _decimalExp = "1234.567";
+        _dateExp = "2014/11/23";
+        _timestampExp = "2014-11-23 12:34:56.789";
+        _dateValue = new HandyDate(_dateExp).getDate();
+        _timestampValue = new HandyDate(_timestampExp).getTimestamp();
+    }
+
+    // ===================================================================================
+    //                                                                              Number
+    //                                                                              ======
+    @Benchmark
+    public Integer toInteger_fromString() {
+        return DfTypeUtil.toInteger(_integerExp);
+    }
+
+    @Benchmark
+    public Integer toInteger_fromLong() {
+        return DfTypeUtil.toInteger(_longValue);
+    }
+
+    @Benchmark
+    public Long toLong_fromDecimal() {
+        return DfTypeUtil.toLong(_decimalValue);
+    }
+
+    @Benchmark
+    public BigDecimal toBigDecimal_fromString() {
+        return DfTypeUtil.toBigDecimal(_decimalExp);
+    }
+
+    // ===================================================================================
+    //                                                                                Date
+    //                                                                                ====
+    @Benchmark
+    public Date toDate_fromString() {
+        return DfTypeUtil.toDate(_dateExp);
+    }
+
+    @Benchmark
+    public Timestamp toTimestamp_fromString() {
+        return DfTypeUtil.toTimestamp(_timestampExp);
+    }
+
+    @Benchmark
+    public Timestamp toTimestamp_fromDate() {
+        return DfTypeUtil.toTimestamp(_dateValue);
+    }
+
+    // ===================================================================================
+    //                                                                              String
+    //                                                                              ======
+    @Benchmark
+    public String toString_fromDecimal() {
+        return DfTypeUtil.toString(_decimalValue);
+    }
+
+    @Benchmark
+    public String toString_fromTimestamp() {
+        return DfTypeUtil.toString(_timestampValue, "yyyy/MM/dd HH:mm:ss.SSS");
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.benchmark;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.seasar.dbflute.helper.HandyDate;
+
+/**
+ * The benchmark of date arithmetic by the handy date, e.g. adding, moving, comparing and formatting. <br />
+ * A new handy date is created in each invocation because it is mutable.
+ * @author jflute
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HandyDateBenchmark {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected Date _baseDate;
+    protected Date _otherDate;
+    protected String _dateExp;
+
+    // ===================================================================================
+    //                                                                               Setup
+    //                                                                               =====
+    @Setup
+    public void setup() {
+        _dateExp = "2014/11/23 12:34:56";
+        _baseDate = new HandyDate(_dateExp).getDate();
+        _otherDate = new HandyDate("2015/02/14 01:23:45").getDate();
+    }
+
+    // ===================================================================================
+    //                                                                           Benchmark
+    //                                                                           =========
+    @Benchmark
+    public HandyDate create_fromString() {
+        return new HandyDate(_dateExp);
+    }
+
+    @Benchmark
+    public Date addAndMove() {
+        return new HandyDate(_baseDate).addMonth(1).addDay(-3).moveToMonthTerminal().getDate();
+    }
+
+    @Benchmark
+    public Date moveToMonthJust() {
+        return new HandyDate(_baseDate).moveToMonthJust().getDate();
+    }
+
+    @Benchmark
+    public boolean isGreaterThan() {
+        return new HandyDate(_baseDate).isGreaterThan(_otherDate);
+    }
+
+    @Benchmark
+    public int calculateCalendarDistanceDays() {
+        return new HandyDate(_baseDate).calculateCalendarDistanceDays(_otherDate);
+    }
+
+    @Benchmark
+    public String toDisp() {
+        return new HandyDate(_baseDate).toDisp("yyyy/MM/dd HH:mm:ss");
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.benchmark;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.seasar.dbflute.DBDef;
+import org.seasar.dbflute.benchmark.domain.BenchDBMetaProvider;
+import org.seasar.dbflute.benchmark.domain.BenchMember;
+import org.seasar.dbflute.benchmark.jdbc.BenchResultSetStub;
+import org.seasar.dbflute.helper.HandyDate;
+import org.seasar.dbflute.optional.RelationOptionalFactory;
+import org.seasar.dbflute.resource.ResourceContext;
+import org.seasar.dbflute.s2dao.extension.TnBeanMetaDataFactoryExtension;
+import org.seasar.dbflute.s2dao.extension.TnRelationRowCreatorExtension;
+import org.seasar.dbflute.s2dao.extension.TnRowCreatorExtension;
+import org.seasar.dbflute.s2dao.metadata.TnBeanMetaData;
+import org.seasar.dbflute.s2dao.rshandler.TnBeanListResultSetHandler;
+
+/**
+ * The benchmark of row mapping from result set to entities by the row creators. <br />
+ * The result set is a stub in memory, so this measures DBFlute mapping without JDBC drivers. <br />
+ * The relation to MEMBER_STATUS is mapped from the columns with relation suffix '_0' as set-up select does,
+ * and it is not cached as a row because no condition-bean is on the thread.
+ * @author jflute
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RowMappingBenchmark {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    @Param({ "1", "100", "1000" })
+    public int rowCount; // public for parameter injection
+
+    protected BenchResultSetStub _resultSetStub;
+    protected BenchResultSetStub _relationResultSetStub;
+    protected TnBeanListResultSetHandler _resultSetHandler;
+
+    // ===================================================================================
+    //                                                                               Setup
+    //                                                                               =====
+    @Setup
+    public void setup() {
+        final ResourceContext context = new ResourceContext();
+        context.setCurrentDBDef(DBDef.H2);
+        context.setDBMetaProvider(new BenchDBMetaProvider());
+        ResourceContext.setResourceContextOnThread(context); // mapping needs it on thread
+
+        final RelationOptionalFactory optionalFactory = new RelationOptionalFactory();
+        final TnBeanMetaDataFactoryExtension factory = new TnBeanMetaDataFactoryExtension(optionalFactory);
+        final TnBeanMetaData bmd = factory.createBeanMetaData(BenchMember.class);
+        final TnRowCreatorExtension rowCreator = TnRowCreatorExtension.createRowCreator(BenchMember.class);
+        final TnRelationRowCreatorExtension relationRowCreator = TnRelationRowCreatorExtension.createRelationRowCreator(factory
+                .getRelationRowOptionalHandler());
+        _resultSetHandler = new TnBeanListResultSetHandler(bmd, rowCreator, relationRowCreator);
+        _resultSetStub = createResultSetStub(false);
+        _relationResultSetStub = createResultSetStub(true);
+    }
+
+    protected BenchResultSetStub createResultSetStub(boolean withRelation) {
+        final String[] baseLabels = { "MEMBER_ID", "MEMBER_NAME", "MEMBER_ACCOUNT", "MEMBER_STATUS_CODE", "BIRTHDATE",
+                "FORMALIZED_DATETIME", "VERSION_NO" };
+        final String[] relationLabels = { "MEMBER_STATUS_CODE_0", "MEMBER_STATUS_NAME_0", "DISPLAY_ORDER_0" };
+        final String[] columnLabels = withRelation ? concat(baseLabels, relationLabels) : baseLabels;
+        final String[] statusCodes = { "FML", "PRV", "WDL" };
+        final Timestamp formalized = new HandyDate("2014/11/23 12:34:56").getTimestamp();
+        final HandyDate birthdateBase = new HandyDate("1970/01/01");
+        final List<Object[]> rowList = new ArrayList<Object[]>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            final int memberId = i + 1;
+            final java.util.Date birthdate = i % 3 == 0 ? null : birthdateBase.deepCopy().addDay(i).getDate();
+            final String statusCode = statusCodes[i % statusCodes.length];
+            final Object[] baseValues = { memberId, "Stojkovic" + memberId, "Pixy" + memberId, statusCode, birthdate, formalized,
+                    (long) (i % 5) };
+            if (withRelation) {
+                final Object[] relationValues = { statusCode, "Status " + statusCode, (i % statusCodes.length) + 1 };
+                rowList.add(concat(baseValues, relationValues));
+            } else {
+                rowList.add(baseValues);
+            }
+        }
+        return new BenchResultSetStub(columnLabels, rowList);
+    }
+
+    protected <ELEMENT> ELEMENT[] concat(ELEMENT[] first, ELEMENT[] second) {
+        final ELEMENT[] joined = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, joined, first.length, second.length);
+        return joined;
+    }
+
+    @TearDown
+    public void tearDown() {
+        ResourceContext.clearResourceContextOnThread();
+    }
+
+    // ===================================================================================
+    //                                                                           Benchmark
+    //                                                                           =========
+    @Benchmark
+    public Object mapRows() throws SQLException {
+        _resultSetStub.reset();
+        final ResultSet rs = _resultSetStub.createResultSet();
+        return _resultSetHandler.handle(rs);
+    }
+
+    @Benchmark
+    public Object mapRowsWithRelation() throws SQLException {
+        _relationResultSetStub.reset();
+        final ResultSet rs = _relationResultSetStub.createResultSet();
+        return _resultSetHandler.handle(rs);
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.seasar.dbflute.benchmark.domain.BenchMemberPmb;
+import org.seasar.dbflute.helper.HandyDate;
+import org.seasar.dbflute.twowaysql.SqlAnalyzer;
+import org.seasar.dbflute.twowaysql.context.CommandContext;
+import org.seasar.dbflute.twowaysql.context.CommandContextCreator;
+import org.seasar.dbflute.twowaysql.node.Node;
+
+/**
+ * The benchmark of two-way SQL, analyzing (parsing to nodes) and rendering by command context. <br />
+ * Rendering uses the analyzed node like the analyzed node cache of outside-SQL.
+ * @author jflute
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SqlAnalyzerBenchmark {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected String _twoWaySql;
+    protected Node _analyzedNode;
+    protected CommandContextCreator _contextCreator;
+    protected BenchMemberPmb _pmb;
+
+    // ===================================================================================
+    //                                                                               Setup
+    //                                                                               =====
+    @Setup
+    public void setup() {
+        _twoWaySql = buildTwoWaySql();
+        _analyzedNode = new SqlAnalyzer(_twoWaySql, false).analyze();
+        _pmb = new BenchMemberPmb();
+        _pmb.setMemberId(3);
+        _pmb.setMemberName("S%");
+        _pmb.setMemberStatusCodeList(Arrays.asList("FML", "PRV", "WDL"));
+        _pmb.setBirthdateFrom(new HandyDate("1970/01/01").getDate());
+        _pmb.setOrderByColumn("MEMBER_ID");
+        _contextCreator = new CommandContextCreator(new String[] { "pmb" }, new Class<?>[] { BenchMemberPmb.class });
+    }
+
+    protected String buildTwoWaySql() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("/*[df:title] member search for benchmark*/").append("\n");
+        sb.append("-- !df:pmb!").append("\n");
+        sb.append("-- !!Integer memberId!!").append("\n");
+        sb.append("select member.MEMBER_ID, member.MEMBER_NAME, member.MEMBER_ACCOUNT").append("\n");
+        sb.append("     , member.MEMBER_STATUS_CODE, member.BIRTHDATE, member.FORMALIZED_DATETIME").append("\n");
+        sb.append("     , member.VERSION_NO").append("\n");
+        sb.append("  from MEMBER member").append("\n");
+        sb.append(" /*BEGIN*/").append("\n");
+        sb.append(" where").append("\n");
+        sb.append("   /*IF pmb.memberId != null*/").append("\n");
+        sb.append("   member.MEMBER_ID = /*pmb.memberId*/3").append("\n");
+        sb.append("   /*END*/").append("\n");
+        sb.append("   /*IF pmb.memberName != null*/").append("\n");
+        sb.append("   and member.MEMBER_NAME like /*pmb.memberName*/'S%'").append("\n");
+        sb.append("   /*END*/").append("\n");
+        sb.append("   /*IF pmb.memberStatusCodeList != null && !pmb.memberStatusCodeList.isEmpty()*/").append("\n");
+        sb.append("   and member.MEMBER_STATUS_CODE in /*pmb.memberStatusCodeList*/('FML', 'PRV')").append("\n");
+        sb.append("   /*END*/").append("\n");
+        sb.append("   /*FOR pmb.memberStatusCodeList*/").append("\n");
+        sb.append("   /*FIRST*/and (/*END*/").append("\n");
+        sb.append("     /*NEXT 'or '*/member.MEMBER_ACCOUNT like /*#current*/'F%'").append("\n");
+        sb.append("   /*LAST*/)/*END*/").append("\n");
+        sb.append("   /*END*/").append("\n");
+        sb.append("   /*IF pmb.birthdateFrom != null*/").append("\n");
+        sb.append("   and member.BIRTHDATE >= /*pmb.birthdateFrom*/'1970-01-01'").append("\n");
+        sb.append("   /*END*/").append("\n");
+        sb.append(" /*END*/").append("\n");
+        sb.append(" order by member./*$pmb.orderByColumn*/MEMBER_ID");
+        return sb.toString();
+    }
+
+    // ===================================================================================
+    //                                                                           Benchmark
+    //                                                                           =========
+    @Benchmark
+    public Node analyze() {
+        return new SqlAnalyzer(_twoWaySql, false).analyze();
+    }
+
+    @Benchmark
+    public String render() {
+        return doRender(_analyzedNode);
+    }
+
+    @Benchmark
+    public String analyzeAndRender() {
+        return doRender(new SqlAnalyzer(_twoWaySql, false).analyze());
+    }
+
+    protected String doRender(Node node) {
+        final CommandContext ctx = _contextCreator.createCommandContext(new Object[] { _pmb });
+        node.accept(ctx);
+        return ctx.getSql();
+    }
+}
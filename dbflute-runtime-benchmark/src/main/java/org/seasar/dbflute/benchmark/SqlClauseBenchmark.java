@@ -0,0 +1,127 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.benchmark;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.seasar.dbflute.benchmark.domain.BenchDBMetaProvider;
+import org.seasar.dbflute.benchmark.domain.BenchMemberDbm;
+import org.seasar.dbflute.cbean.ckey.ConditionKey;
+import org.seasar.dbflute.cbean.cvalue.ConditionValue;
+import org.seasar.dbflute.cbean.cvalue.ConditionValue.QueryModeProvider;
+import org.seasar.dbflute.cbean.sqlclause.SqlClause;
+import org.seasar.dbflute.cbean.sqlclause.SqlClauseH2;
+import org.seasar.dbflute.dbmeta.info.ColumnInfo;
+import org.seasar.dbflute.dbmeta.name.ColumnRealName;
+import org.seasar.dbflute.helper.HandyDate;
+
+/**
+ * The benchmark of condition-bean clause building, registering queries and getting the clause. <br />
+ * Queries are registered in the same way as condition-queries, without condition-bean classes.
+ * @author jflute
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SqlClauseBenchmark {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected BenchDBMetaProvider _dbmetaProvider;
+    protected BenchMemberDbm _dbmeta;
+    protected QueryModeProvider _queryModeProvider;
+    protected Date _birthdateFrom;
+    protected SqlClause _preparedSqlClause;
+
+    // ===================================================================================
+    //                                                                               Setup
+    //                                                                               =====
+    @Setup
+    public void setup() {
+        _dbmetaProvider = new BenchDBMetaProvider();
+        _dbmeta = BenchMemberDbm.getInstance();
+        _queryModeProvider = new QueryModeProvider() {
+            public boolean isOrScopeQuery() {
+                return false;
+            }
+
+            public boolean isInline() {
+                return false;
+            }
+
+            public boolean isOnClause() {
+                return false;
+            }
+        };
+        _birthdateFrom = new HandyDate("1970/01/01").getDate();
+        _preparedSqlClause = prepareSqlClause();
+    }
+
+    // ===================================================================================
+    //                                                                           Benchmark
+    //                                                                           =========
+    @Benchmark
+    public String buildClause() {
+        return prepareSqlClause().getClause();
+    }
+
+    @Benchmark
+    public String getClauseOnly() {
+        return _preparedSqlClause.getClause();
+    }
+
+    // ===================================================================================
+    //                                                                        Clause Setup
+    //                                                                        ============
+    protected SqlClause prepareSqlClause() {
+        final SqlClauseH2 sqlClause = new SqlClauseH2(_dbmeta.getTableDbName());
+        sqlClause.dbmetaProvider(_dbmetaProvider);
+        regQ(sqlClause, ConditionKey.CK_EQUAL, 3, _dbmeta.columnMemberId());
+        regQ(sqlClause, ConditionKey.CK_IN_SCOPE, Arrays.asList("FML", "PRV"), _dbmeta.columnMemberStatusCode());
+        regQ(sqlClause, ConditionKey.CK_GREATER_EQUAL, _birthdateFrom, _dbmeta.columnBirthdate());
+        regQ(sqlClause, ConditionKey.CK_IS_NOT_NULL, null, _dbmeta.columnFormalizedDatetime());
+        regOB(sqlClause, _dbmeta.columnBirthdate(), false);
+        regOB(sqlClause, _dbmeta.columnMemberId(), true);
+        sqlClause.fetchFirst(20);
+        sqlClause.fetchPage(3);
+        return sqlClause;
+    }
+
+    protected void regQ(SqlClause sqlClause, ConditionKey key, Object value, ColumnInfo columnInfo) {
+        final String aliasName = sqlClause.getBasePointAliasName();
+        final ConditionValue cvalue = new ConditionValue();
+        final String location = "conditionQuery." + columnInfo.getPropertyName();
+        key.setupConditionValue(_queryModeProvider, cvalue, value, location, null);
+        final ColumnRealName columnRealName = ColumnRealName.create(aliasName, columnInfo);
+        sqlClause.registerWhereClause(columnRealName, key, cvalue, null, null, aliasName);
+    }
+
+    protected void regOB(SqlClause sqlClause, ColumnInfo columnInfo, boolean asc) {
+        final String aliasName = sqlClause.getBasePointAliasName();
+        final ColumnRealName columnRealName = ColumnRealName.create(aliasName, columnInfo);
+        sqlClause.registerOrderBy(columnRealName.toString(), asc, columnInfo);
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.seasar.dbflute.helper.StringKeyMap;
+
+/**
+ * The benchmark of string-key map, which is used for column names in mapping and DB meta. <br />
+ * The plain hash map is a baseline, and keys are looked up in the styles that callers use.
+ * @author jflute
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StringKeyMapBenchmark {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final String[] COLUMN_NAMES = { "MEMBER_ID", "MEMBER_NAME", "MEMBER_ACCOUNT", "MEMBER_STATUS_CODE",
+            "BIRTHDATE", "FORMALIZED_DATETIME", "REGISTER_DATETIME", "REGISTER_USER", "UPDATE_DATETIME", "UPDATE_USER",
+            "VERSION_NO" };
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected Map<String, String> _plainMap;
+    protected StringKeyMap<String> _caseInsensitiveMap;
+    protected StringKeyMap<String> _flexibleMap;
+    protected String[] _exactKeys;
+    protected String[] _lowerKeys;
+    protected String[] _propertyKeys;
+
+    // ===================================================================================
+    //                                                                               Setup
+    //                                                                               =====
+    @Setup
+    public void setup() {
+        _plainMap = new HashMap<String, String>();
+        _caseInsensitiveMap = StringKeyMap.createAsCaseInsensitive();
+        _flexibleMap = StringKeyMap.createAsFlexible();
+        for (String columnName : COLUMN_NAMES) {
+            _plainMap.put(columnName, columnName);
+            _caseInsensitiveMap.put(columnName, columnName);
+            _flexibleMap.put(columnName, columnName);
+        }
+        _exactKeys = new String[COLUMN_NAMES.length];
+        _lowerKeys = new String[COLUMN_NAMES.length];
+        _propertyKeys = new String[COLUMN_NAMES.length];
+        for (int i = 0; i < COLUMN_NAMES.length; i++) {
+            _exactKeys[i] = new String(COLUMN_NAMES[i]); // not interned like selected labels
+            _lowerKeys[i] = COLUMN_NAMES[i].toLowerCase();
+            _propertyKeys[i] = toPropertyName(COLUMN_NAMES[i]);
+        }
+    }
+
+    protected String toPropertyName(String columnName) { // e.g. MEMBER_STATUS_CODE to memberStatusCode
+        final StringBuilder sb = new StringBuilder();
+        boolean upper = false;
+        for (char ch : columnName.toLowerCase().toCharArray()) {
+            if (ch == '_') {
+                upper = true;
+                continue;
+            }
+            sb.append(upper ? Character.toUpperCase(ch) : ch);
+            upper = false;
+        }
+        return sb.toString();
+    }
+
+    // ===================================================================================
+    //                                                                           Benchmark
+    //                                                                           =========
+    @Benchmark
+    public void plainMap_exact(Blackhole hole) {
+        doGet(_plainMap, _exactKeys, hole);
+    }
+
+    @Benchmark
+    public void caseInsensitive_exact(Blackhole hole) {
+        doGet(_caseInsensitiveMap, _exactKeys, hole);
+    }
+
+    @Benchmark
+    public void caseInsensitive_lower(Blackhole hole) {
+        doGet(_caseInsensitiveMap, _lowerKeys, hole);
+    }
+
+    @Benchmark
+    public void flexible_exact(Blackhole hole) {
+        doGet(_flexibleMap, _exactKeys, hole);
+    }
+
+    @Benchmark
+    public void flexible_property(Blackhole hole) {
+        doGet(_flexibleMap, _propertyKeys, hole);
+    }
+
+    @Benchmark
+    public StringKeyMap<String> flexible_create() { // e.g. select column map per select
+        final StringKeyMap<String> map = StringKeyMap.createAsFlexible();
+        for (String columnName : _exactKeys) {
+            map.put(columnName, columnName);
+        }
+        return map;
+    }
+
+    protected void doGet(Map<String, String> map, String[] keys, Blackhole hole) {
+        for (String key : keys) {
+            hole.consume(map.get(key));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.benchmark.domain;
+
+import org.seasar.dbflute.dbmeta.DBMeta;
+import org.seasar.dbflute.dbmeta.DBMetaProvider;
+import org.seasar.dbflute.exception.DBMetaNotFoundException;
+
+/**
+ * The provider of DB meta for benchmarks, which knows only the MEMBER and MEMBER_STATUS tables.
+ * @author jflute
+ */
+public class BenchDBMetaProvider implements DBMetaProvider {
+
+    public DBMeta provideDBMeta(String tableFlexibleName) {
+        if (isMember(tableFlexibleName)) {
+            return BenchMemberDbm.getInstance();
+        }
+        return isMemberStatus(tableFlexibleName) ? BenchMemberStatusDbm.getInstance() : null;
+    }
+
+    public DBMeta provideDBMeta(Class<?> entityType) {
+        if (BenchMember.class.equals(entityType)) {
+            return BenchMemberDbm.getInstance();
+        }
+        return BenchMemberStatus.class.equals(entityType) ? BenchMemberStatusDbm.getInstance() : null;
+    }
+
+    public DBMeta provideDBMetaChecked(String tableFlexibleName) {
+        final DBMeta dbmeta = provideDBMeta(tableFlexibleName);
+        if (dbmeta == null) {
+            String msg = "The DB meta was not found in benchmarks: " + tableFlexibleName;
+            throw new DBMetaNotFoundException(msg);
+        }
+        return dbmeta;
+    }
+
+    public DBMeta provideDBMetaChecked(Class<?> entityType) {
+        final DBMeta dbmeta = provideDBMeta(entityType);
+        if (dbmeta == null) {
+            String msg = "The DB meta was not found in benchmarks: " + entityType;
+            throw new DBMetaNotFoundException(msg);
+        }
+        return dbmeta;
+    }
+
+    protected boolean isMember(String tableFlexibleName) {
+        return "MEMBER".equalsIgnoreCase(tableFlexibleName);
+    }
+
+    protected boolean isMemberStatus(String tableFlexibleName) {
+        return "MEMBER_STATUS".equalsIgnoreCase(tableFlexibleName);
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.benchmark.domain;
+
+import java.sql.Timestamp;
+import java.util.Date;
+
+import org.seasar.dbflute.dbmeta.AbstractEntity;
+import org.seasar.dbflute.dbmeta.DBMeta;
+
+/**
+ * The entity of MEMBER for benchmarks, written in the same way as generated entities.
+ * @author jflute
+ */
+public class BenchMember extends AbstractEntity {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The serial version UID for object serialization. (Default) */
+    private static final long serialVersionUID = 1L;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** MEMBER_ID: {PK, ID, NotNull, INTEGER(10)} */
+    protected Integer _memberId;
+
+    /** MEMBER_NAME: {NotNull, VARCHAR(200)} */
+    protected String _memberName;
+
+    /** MEMBER_ACCOUNT: {UQ, NotNull, VARCHAR(50)} */
+    protected String _memberAccount;
+
+    /** MEMBER_STATUS_CODE: {IX, NotNull, CHAR(3)} */
+    protected String _memberStatusCode;
+
+    /** BIRTHDATE: {DATE(8)} */
+    protected Date _birthdate;
+
+    /** FORMALIZED_DATETIME: {TIMESTAMP(23, 10)} */
+    protected Timestamp _formalizedDatetime;
+
+    /** VERSION_NO: {NotNull, BIGINT(19)} */
+    protected Long _versionNo;
+
+    // ===================================================================================
+    //                                                                          Table Name
+    //                                                                          ==========
+    /**
+     * {@inheritDoc}
+     */
+    public String getTableDbName() {
+        return "MEMBER";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getTablePropertyName() { // according to Java Beans rule
+        return "member";
+    }
+
+    // ===================================================================================
+    //                                                                              DBMeta
+    //                                                                              ======
+    /**
+     * {@inheritDoc}
+     */
+    public DBMeta getDBMeta() {
+        return BenchMemberDbm.getInstance();
+    }
+
+    // ===================================================================================
+    //                                                                         Primary Key
+    //                                                                         ===========
+    /**
+     * {@inheritDoc}
+     */
+    public boolean hasPrimaryKeyValue() {
+        if (getMemberId() == null) { return false; }
+        return true;
+    }
+
+    // ===================================================================================
+    //                                                                    Foreign Property
+    //                                                                    ================
+    /** MEMBER_STATUS by my MEMBER_STATUS_CODE, named 'memberStatus'. */
+    protected BenchMemberStatus _memberStatus;
+
+    /**
+     * [get] MEMBER_STATUS by my MEMBER_STATUS_CODE, named 'memberStatus'.
+     * @return The entity of foreign property 'memberStatus'. (NullAllowed: when e.g. null FK column, no setupSelect)
+     */
+    public BenchMemberStatus getMemberStatus() {
+        return _memberStatus;
+    }
+
+    /**
+     * [set] MEMBER_STATUS by my MEMBER_STATUS_CODE, named 'memberStatus'.
+     * @param memberStatus The entity of foreign property 'memberStatus'. (NullAllowed)
+     */
+    public void setMemberStatus(BenchMemberStatus memberStatus) {
+        _memberStatus = memberStatus;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    protected boolean doEquals(Object obj) {
+        if (obj instanceof BenchMember) {
+            BenchMember other = (BenchMember)obj;
+            if (!xSV(_memberId, other._memberId)) { return false; }
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    protected int doHashCode(int initial) {
+        int hs = initial;
+        hs = xCH(hs, getTableDbName());
+        hs = xCH(hs, _memberId);
+        return hs;
+    }
+
+    @Override
+    protected String doBuildStringWithRelation(String li) {
+        StringBuilder sb = new StringBuilder();
+        if (_memberStatus != null)
+        { sb.append(li).append(xbRDS(_memberStatus, "memberStatus")); }
+        return sb.toString();
+    }
+
+    @Override
+    protected String doBuildColumnString(String dm) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(dm).append(xfND(_memberId));
+        sb.append(dm).append(xfND(_memberName));
+        sb.append(dm).append(xfND(_memberAccount));
+        sb.append(dm).append(xfND(_memberStatusCode));
+        sb.append(dm).append(xfUD(_birthdate));
+        sb.append(dm).append(xfND(_formalizedDatetime));
+        sb.append(dm).append(xfND(_versionNo));
+        if (sb.length() > dm.length()) {
+            sb.delete(0, dm.length());
+        }
+        sb.insert(0, "{").append("}");
+        return sb.toString();
+    }
+
+    @Override
+    protected String doBuildRelationString(String dm) {
+        StringBuilder sb = new StringBuilder();
+        if (_memberStatus != null)
+        { sb.append(dm).append("memberStatus"); }
+        if (sb.length() > dm.length()) {
+            sb.delete(0, dm.length()).insert(0, "(").append(")");
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public BenchMember clone() {
+        return (BenchMember)super.clone();
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public Integer getMemberId() {
+        checkSpecifiedProperty("memberId");
+        return _memberId;
+    }
+
+    public void setMemberId(Integer memberId) {
+        registerModifiedProperty("memberId");
+        _memberId = memberId;
+    }
+
+    public String getMemberName() {
+        checkSpecifiedProperty("memberName");
+        return _memberName;
+    }
+
+    public void setMemberName(String memberName) {
+        registerModifiedProperty("memberName");
+        _memberName = memberName;
+    }
+
+    public String getMemberAccount() {
+        checkSpecifiedProperty("memberAccount");
+        return _memberAccount;
+    }
+
+    public void setMemberAccount(String memberAccount) {
+        registerModifiedProperty("memberAccount");
+        _memberAccount = memberAccount;
+    }
+
+    public String getMemberStatusCode() {
+        checkSpecifiedProperty("memberStatusCode");
+        return _memberStatusCode;
+    }
+
+    public void setMemberStatusCode(String memberStatusCode) {
+        registerModifiedProperty("memberStatusCode");
+        _memberStatusCode = memberStatusCode;
+    }
+
+    public Date getBirthdate() {
+        checkSpecifiedProperty("birthdate");
+        return _birthdate;
+    }
+
+    public void setBirthdate(Date birthdate) {
+        registerModifiedProperty("birthdate");
+        _birthdate = birthdate;
+    }
+
+    public Timestamp getFormalizedDatetime() {
+        checkSpecifiedProperty("formalizedDatetime");
+        return _formalizedDatetime;
+    }
+
+    public void setFormalizedDatetime(Timestamp formalizedDatetime) {
+        registerModifiedProperty("formalizedDatetime");
+        _formalizedDatetime = formalizedDatetime;
+    }
+
+    public Long getVersionNo() {
+        checkSpecifiedProperty("versionNo");
+        return _versionNo;
+    }
+
+    public void setVersionNo(Long versionNo) {
+        registerModifiedProperty("versionNo");
+        _versionNo = versionNo;
+    }
+}
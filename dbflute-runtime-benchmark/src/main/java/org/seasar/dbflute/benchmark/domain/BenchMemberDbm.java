@@ -0,0 +1,214 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.benchmark.domain;
+
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.seasar.dbflute.DBDef;
+import org.seasar.dbflute.Entity;
+import org.seasar.dbflute.dbmeta.AbstractDBMeta;
+import org.seasar.dbflute.dbmeta.info.ColumnInfo;
+import org.seasar.dbflute.dbmeta.info.ForeignInfo;
+import org.seasar.dbflute.dbmeta.info.UniqueInfo;
+import org.seasar.dbflute.dbmeta.name.TableSqlName;
+import org.seasar.dbflute.dbmeta.property.PropertyGateway;
+
+/**
+ * The DB meta of MEMBER for benchmarks, written in the same way as generated DB metas. (Singleton)
+ * @author jflute
+ */
+public class BenchMemberDbm extends AbstractDBMeta {
+
+    // ===================================================================================
+    //                                                                           Singleton
+    //                                                                           =========
+    private static final BenchMemberDbm _instance = new BenchMemberDbm();
+    private BenchMemberDbm() {}
+    public static BenchMemberDbm getInstance() { return _instance; }
+
+    // ===================================================================================
+    //                                                                       Current DBDef
+    //                                                                       =============
+    public DBDef getCurrentDBDef() { return DBDef.H2; }
+
+    // ===================================================================================
+    //                                                                    Property Gateway
+    //                                                                    ================
+    // -----------------------------------------------------
+    //                                       Column Property
+    //                                       ---------------
+    protected final Map<String, PropertyGateway> _epgMap = newHashMap();
+    {
+        setupEpg(_epgMap, new EpgMemberId(), "memberId");
+        setupEpg(_epgMap, new EpgMemberName(), "memberName");
+        setupEpg(_epgMap, new EpgMemberAccount(), "memberAccount");
+        setupEpg(_epgMap, new EpgMemberStatusCode(), "memberStatusCode");
+        setupEpg(_epgMap, new EpgBirthdate(), "birthdate");
+        setupEpg(_epgMap, new EpgFormalizedDatetime(), "formalizedDatetime");
+        setupEpg(_epgMap, new EpgVersionNo(), "versionNo");
+    }
+    public static class EpgMemberId implements PropertyGateway {
+        public Object read(Entity et) { return ((BenchMember)et).getMemberId(); }
+        public void write(Entity et, Object vl) { ((BenchMember)et).setMemberId(cti(vl)); }
+    }
+    public static class EpgMemberName implements PropertyGateway {
+        public Object read(Entity et) { return ((BenchMember)et).getMemberName(); }
+        public void write(Entity et, Object vl) { ((BenchMember)et).setMemberName((String)vl); }
+    }
+    public static class EpgMemberAccount implements PropertyGateway {
+        public Object read(Entity et) { return ((BenchMember)et).getMemberAccount(); }
+        public void write(Entity et, Object vl) { ((BenchMember)et).setMemberAccount((String)vl); }
+    }
+    public static class EpgMemberStatusCode implements PropertyGateway {
+        public Object read(Entity et) { return ((BenchMember)et).getMemberStatusCode(); }
+        public void write(Entity et, Object vl) { ((BenchMember)et).setMemberStatusCode((String)vl); }
+    }
+    public static class EpgBirthdate implements PropertyGateway {
+        public Object read(Entity et) { return ((BenchMember)et).getBirthdate(); }
+        public void write(Entity et, Object vl) { ((BenchMember)et).setBirthdate((Date)vl); }
+    }
+    public static class EpgFormalizedDatetime implements PropertyGateway {
+        public Object read(Entity et) { return ((BenchMember)et).getFormalizedDatetime(); }
+        public void write(Entity et, Object vl) { ((BenchMember)et).setFormalizedDatetime((Timestamp)vl); }
+    }
+    public static class EpgVersionNo implements PropertyGateway {
+        public Object read(Entity et) { return ((BenchMember)et).getVersionNo(); }
+        public void write(Entity et, Object vl) { ((BenchMember)et).setVersionNo(ctl(vl)); }
+    }
+    public PropertyGateway findPropertyGateway(String prop)
+    { return doFindEpg(_epgMap, prop); }
+
+    // -----------------------------------------------------
+    //                                      Foreign Property
+    //                                      ----------------
+    protected final Map<String, PropertyGateway> _efpgMap = newHashMap();
+    {
+        setupEfpg(_efpgMap, new EfpgMemberStatus(), "memberStatus");
+    }
+    public class EfpgMemberStatus implements PropertyGateway {
+        public Object read(Entity et) { return ((BenchMember)et).getMemberStatus(); }
+        public void write(Entity et, Object vl) { ((BenchMember)et).setMemberStatus((BenchMemberStatus)vl); }
+    }
+    public PropertyGateway findForeignPropertyGateway(String prop)
+    { return doFindEfpg(_efpgMap, prop); }
+
+    // ===================================================================================
+    //                                                                          Table Info
+    //                                                                          ==========
+    protected final String _tableDbName = "MEMBER";
+    protected final String _tablePropertyName = "member";
+    protected final TableSqlName _tableSqlName = new TableSqlName("MEMBER", _tableDbName);
+    public String getTableDbName() { return _tableDbName; }
+    public String getTablePropertyName() { return _tablePropertyName; }
+    public TableSqlName getTableSqlName() { return _tableSqlName; }
+
+    // ===================================================================================
+    //                                                                         Column Info
+    //                                                                         ===========
+    protected final ColumnInfo _columnMemberId = cci("MEMBER_ID", "MEMBER_ID", null, null, Integer.class, "memberId", null, true, true, true, "INTEGER", 10, 0, null, false, null, null, null, null, null);
+    protected final ColumnInfo _columnMemberName = cci("MEMBER_NAME", "MEMBER_NAME", null, null, String.class, "memberName", null, false, false, true, "VARCHAR", 200, 0, null, false, null, null, null, null, null);
+    protected final ColumnInfo _columnMemberAccount = cci("MEMBER_ACCOUNT", "MEMBER_ACCOUNT", null, null, String.class, "memberAccount", null, false, false, true, "VARCHAR", 50, 0, null, false, null, null, null, null, null);
+    protected final ColumnInfo _columnMemberStatusCode = cci("MEMBER_STATUS_CODE", "MEMBER_STATUS_CODE", null, null, String.class, "memberStatusCode", null, false, false, true, "CHAR", 3, 0, null, false, null, null, "memberStatus", null, null);
+    protected final ColumnInfo _columnBirthdate = cci("BIRTHDATE", "BIRTHDATE", null, null, Date.class, "birthdate", null, false, false, false, "DATE", 8, 0, null, false, null, null, null, null, null);
+    protected final ColumnInfo _columnFormalizedDatetime = cci("FORMALIZED_DATETIME", "FORMALIZED_DATETIME", null, null, Timestamp.class, "formalizedDatetime", null, false, false, false, "TIMESTAMP", 23, 10, null, false, null, null, null, null, null);
+    protected final ColumnInfo _columnVersionNo = cci("VERSION_NO", "VERSION_NO", null, null, Long.class, "versionNo", null, false, false, true, "BIGINT", 19, 0, null, false, OptimisticLockType.VERSION_NO, null, null, null, null);
+
+    public ColumnInfo columnMemberId() { return _columnMemberId; }
+    public ColumnInfo columnMemberName() { return _columnMemberName; }
+    public ColumnInfo columnMemberAccount() { return _columnMemberAccount; }
+    public ColumnInfo columnMemberStatusCode() { return _columnMemberStatusCode; }
+    public ColumnInfo columnBirthdate() { return _columnBirthdate; }
+    public ColumnInfo columnFormalizedDatetime() { return _columnFormalizedDatetime; }
+    public ColumnInfo columnVersionNo() { return _columnVersionNo; }
+
+    protected List<ColumnInfo> ccil() {
+        List<ColumnInfo> ls = newArrayList();
+        ls.add(columnMemberId());
+        ls.add(columnMemberName());
+        ls.add(columnMemberAccount());
+        ls.add(columnMemberStatusCode());
+        ls.add(columnBirthdate());
+        ls.add(columnFormalizedDatetime());
+        ls.add(columnVersionNo());
+        return ls;
+    }
+
+    { initializeInformationResource(); }
+
+    // ===================================================================================
+    //                                                                         Unique Info
+    //                                                                         ===========
+    // -----------------------------------------------------
+    //                                       Primary Element
+    //                                       ---------------
+    protected UniqueInfo cpui() { return hpcpui(columnMemberId()); }
+    public boolean hasPrimaryKey() { return true; }
+    public boolean hasCompoundPrimaryKey() { return false; }
+
+    // ===================================================================================
+    //                                                                       Relation Info
+    //                                                                       =============
+    // cannot cache because it uses related DB meta instance while booting
+    // (instead, cached by super's collection)
+    // -----------------------------------------------------
+    //                                      Foreign Property
+    //                                      ----------------
+    /**
+     * MEMBER_STATUS by my MEMBER_STATUS_CODE, named 'memberStatus'.
+     * @return The information object of foreign property. (NotNull)
+     */
+    public ForeignInfo foreignMemberStatus() {
+        Map<ColumnInfo, ColumnInfo> mp = newLinkedHashMap(columnMemberStatusCode(), BenchMemberStatusDbm.getInstance().columnMemberStatusCode());
+        return cfi("FK_MEMBER_MEMBER_STATUS", "memberStatus", this, BenchMemberStatusDbm.getInstance(), mp, 0, null, false, false, false, false, null, null, false, "memberList");
+    }
+
+    // ===================================================================================
+    //                                                                        Various Info
+    //                                                                        ============
+    public boolean hasIdentity() { return true; }
+    public boolean hasVersionNo() { return true; }
+    public ColumnInfo getVersionNoColumnInfo() { return _columnVersionNo; }
+
+    // ===================================================================================
+    //                                                                           Type Name
+    //                                                                           =========
+    public String getEntityTypeName() { return "org.seasar.dbflute.benchmark.domain.BenchMember"; }
+    public String getConditionBeanTypeName() { return null; }
+    public String getBehaviorTypeName() { return null; }
+
+    // ===================================================================================
+    //                                                                         Object Type
+    //                                                                         ===========
+    public Class<BenchMember> getEntityType() { return BenchMember.class; }
+
+    // ===================================================================================
+    //                                                                     Object Instance
+    //                                                                     ===============
+    public BenchMember newEntity() { return new BenchMember(); }
+
+    // ===================================================================================
+    //                                                                   Map Communication
+    //                                                                   =================
+    public void acceptPrimaryKeyMap(Entity et, Map<String, ? extends Object> mp)
+    { doAcceptPrimaryKeyMap((BenchMember)et, mp); }
+    public void acceptAllColumnMap(Entity et, Map<String, ? extends Object> mp)
+    { doAcceptAllColumnMap((BenchMember)et, mp); }
+    public Map<String, Object> extractPrimaryKeyMap(Entity et) { return doExtractPrimaryKeyMap(et); }
+    public Map<String, Object> extractAllColumnMap(Entity et) { return doExtractAllColumnMap(et); }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.benchmark.domain;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * The parameter-bean of member search for benchmarks of two-way SQL.
+ * @author jflute
+ */
+public class BenchMemberPmb {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected Integer _memberId;
+    protected String _memberName;
+    protected List<String> _memberStatusCodeList;
+    protected Date _birthdateFrom;
+    protected String _orderByColumn;
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public Integer getMemberId() {
+        return _memberId;
+    }
+
+    public void setMemberId(Integer memberId) {
+        _memberId = memberId;
+    }
+
+    public String getMemberName() {
+        return _memberName;
+    }
+
+    public void setMemberName(String memberName) {
+        _memberName = memberName;
+    }
+
+    public List<String> getMemberStatusCodeList() {
+        return _memberStatusCodeList;
+    }
+
+    public void setMemberStatusCodeList(List<String> memberStatusCodeList) {
+        _memberStatusCodeList = memberStatusCodeList;
+    }
+
+    public Date getBirthdateFrom() {
+        return _birthdateFrom;
+    }
+
+    public void setBirthdateFrom(Date birthdateFrom) {
+        _birthdateFrom = birthdateFrom;
+    }
+
+    public String getOrderByColumn() {
+        return _orderByColumn;
+    }
+
+    public void setOrderByColumn(String orderByColumn) {
+        _orderByColumn = orderByColumn;
+    }
+}
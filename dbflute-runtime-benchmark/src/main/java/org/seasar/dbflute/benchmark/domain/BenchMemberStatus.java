@@ -0,0 +1,165 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.benchmark.domain;
+
+import org.seasar.dbflute.dbmeta.AbstractEntity;
+import org.seasar.dbflute.dbmeta.DBMeta;
+
+/**
+ * The entity of MEMBER_STATUS for benchmarks, written in the same way as generated entities.
+ * @author jflute
+ */
+public class BenchMemberStatus extends AbstractEntity {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The serial version UID for object serialization. (Default) */
+    private static final long serialVersionUID = 1L;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** MEMBER_STATUS_CODE: {PK, NotNull, CHAR(3)} */
+    protected String _memberStatusCode;
+
+    /** MEMBER_STATUS_NAME: {NotNull, VARCHAR(50)} */
+    protected String _memberStatusName;
+
+    /** DISPLAY_ORDER: {NotNull, INTEGER(10)} */
+    protected Integer _displayOrder;
+
+    // ===================================================================================
+    //                                                                          Table Name
+    //                                                                          ==========
+    /**
+     * {@inheritDoc}
+     */
+    public String getTableDbName() {
+        return "MEMBER_STATUS";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getTablePropertyName() { // according to Java Beans rule
+        return "memberStatus";
+    }
+
+    // ===================================================================================
+    //                                                                              DBMeta
+    //                                                                              ======
+    /**
+     * {@inheritDoc}
+     */
+    public DBMeta getDBMeta() {
+        return BenchMemberStatusDbm.getInstance();
+    }
+
+    // ===================================================================================
+    //                                                                         Primary Key
+    //                                                                         ===========
+    /**
+     * {@inheritDoc}
+     */
+    public boolean hasPrimaryKeyValue() {
+        if (getMemberStatusCode() == null) { return false; }
+        return true;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    protected boolean doEquals(Object obj) {
+        if (obj instanceof BenchMemberStatus) {
+            BenchMemberStatus other = (BenchMemberStatus)obj;
+            if (!xSV(_memberStatusCode, other._memberStatusCode)) { return false; }
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    protected int doHashCode(int initial) {
+        int hs = initial;
+        hs = xCH(hs, getTableDbName());
+        hs = xCH(hs, _memberStatusCode);
+        return hs;
+    }
+
+    @Override
+    protected String doBuildStringWithRelation(String li) {
+        return "";
+    }
+
+    @Override
+    protected String doBuildColumnString(String dm) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(dm).append(xfND(_memberStatusCode));
+        sb.append(dm).append(xfND(_memberStatusName));
+        sb.append(dm).append(xfND(_displayOrder));
+        if (sb.length() > dm.length()) {
+            sb.delete(0, dm.length());
+        }
+        sb.insert(0, "{").append("}");
+        return sb.toString();
+    }
+
+    @Override
+    protected String doBuildRelationString(String dm) {
+        return "";
+    }
+
+    @Override
+    public BenchMemberStatus clone() {
+        return (BenchMemberStatus)super.clone();
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getMemberStatusCode() {
+        checkSpecifiedProperty("memberStatusCode");
+        return _memberStatusCode;
+    }
+
+    public void setMemberStatusCode(String memberStatusCode) {
+        registerModifiedProperty("memberStatusCode");
+        _memberStatusCode = memberStatusCode;
+    }
+
+    public String getMemberStatusName() {
+        checkSpecifiedProperty("memberStatusName");
+        return _memberStatusName;
+    }
+
+    public void setMemberStatusName(String memberStatusName) {
+        registerModifiedProperty("memberStatusName");
+        _memberStatusName = memberStatusName;
+    }
+
+    public Integer getDisplayOrder() {
+        checkSpecifiedProperty("displayOrder");
+        return _displayOrder;
+    }
+
+    public void setDisplayOrder(Integer displayOrder) {
+        registerModifiedProperty("displayOrder");
+        _displayOrder = displayOrder;
+    }
+}
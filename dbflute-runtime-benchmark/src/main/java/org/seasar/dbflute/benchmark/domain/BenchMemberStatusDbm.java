@@ -0,0 +1,147 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.benchmark.domain;
+
+import java.util.List;
+import java.util.Map;
+
+import org.seasar.dbflute.DBDef;
+import org.seasar.dbflute.Entity;
+import org.seasar.dbflute.dbmeta.AbstractDBMeta;
+import org.seasar.dbflute.dbmeta.info.ColumnInfo;
+import org.seasar.dbflute.dbmeta.info.UniqueInfo;
+import org.seasar.dbflute.dbmeta.name.TableSqlName;
+import org.seasar.dbflute.dbmeta.property.PropertyGateway;
+
+/**
+ * The DB meta of MEMBER_STATUS for benchmarks, written in the same way as generated DB metas. (Singleton)
+ * @author jflute
+ */
+public class BenchMemberStatusDbm extends AbstractDBMeta {
+
+    // ===================================================================================
+    //                                                                           Singleton
+    //                                                                           =========
+    private static final BenchMemberStatusDbm _instance = new BenchMemberStatusDbm();
+    private BenchMemberStatusDbm() {}
+    public static BenchMemberStatusDbm getInstance() { return _instance; }
+
+    // ===================================================================================
+    //                                                                       Current DBDef
+    //                                                                       =============
+    public DBDef getCurrentDBDef() { return DBDef.H2; }
+
+    // ===================================================================================
+    //                                                                    Property Gateway
+    //                                                                    ================
+    // -----------------------------------------------------
+    //                                       Column Property
+    //                                       ---------------
+    protected final Map<String, PropertyGateway> _epgMap = newHashMap();
+    {
+        setupEpg(_epgMap, new EpgMemberStatusCode(), "memberStatusCode");
+        setupEpg(_epgMap, new EpgMemberStatusName(), "memberStatusName");
+        setupEpg(_epgMap, new EpgDisplayOrder(), "displayOrder");
+    }
+    public static class EpgMemberStatusCode implements PropertyGateway {
+        public Object read(Entity et) { return ((BenchMemberStatus)et).getMemberStatusCode(); }
+        public void write(Entity et, Object vl) { ((BenchMemberStatus)et).setMemberStatusCode((String)vl); }
+    }
+    public static class EpgMemberStatusName implements PropertyGateway {
+        public Object read(Entity et) { return ((BenchMemberStatus)et).getMemberStatusName(); }
+        public void write(Entity et, Object vl) { ((BenchMemberStatus)et).setMemberStatusName((String)vl); }
+    }
+    public static class EpgDisplayOrder implements PropertyGateway {
+        public Object read(Entity et) { return ((BenchMemberStatus)et).getDisplayOrder(); }
+        public void write(Entity et, Object vl) { ((BenchMemberStatus)et).setDisplayOrder(cti(vl)); }
+    }
+    public PropertyGateway findPropertyGateway(String prop)
+    { return doFindEpg(_epgMap, prop); }
+
+    // ===================================================================================
+    //                                                                          Table Info
+    //                                                                          ==========
+    protected final String _tableDbName = "MEMBER_STATUS";
+    protected final String _tablePropertyName = "memberStatus";
+    protected final TableSqlName _tableSqlName = new TableSqlName("MEMBER_STATUS", _tableDbName);
+    public String getTableDbName() { return _tableDbName; }
+    public String getTablePropertyName() { return _tablePropertyName; }
+    public TableSqlName getTableSqlName() { return _tableSqlName; }
+
+    // ===================================================================================
+    //                                                                         Column Info
+    //                                                                         ===========
+    protected final ColumnInfo _columnMemberStatusCode = cci("MEMBER_STATUS_CODE", "MEMBER_STATUS_CODE", null, null, String.class, "memberStatusCode", null, true, false, true, "CHAR", 3, 0, null, false, null, null, null, null, null);
+    protected final ColumnInfo _columnMemberStatusName = cci("MEMBER_STATUS_NAME", "MEMBER_STATUS_NAME", null, null, String.class, "memberStatusName", null, false, false, true, "VARCHAR", 50, 0, null, false, null, null, null, null, null);
+    protected final ColumnInfo _columnDisplayOrder = cci("DISPLAY_ORDER", "DISPLAY_ORDER", null, null, Integer.class, "displayOrder", null, false, false, true, "INTEGER", 10, 0, null, false, null, null, null, null, null);
+
+    public ColumnInfo columnMemberStatusCode() { return _columnMemberStatusCode; }
+    public ColumnInfo columnMemberStatusName() { return _columnMemberStatusName; }
+    public ColumnInfo columnDisplayOrder() { return _columnDisplayOrder; }
+
+    protected List<ColumnInfo> ccil() {
+        List<ColumnInfo> ls = newArrayList();
+        ls.add(columnMemberStatusCode());
+        ls.add(columnMemberStatusName());
+        ls.add(columnDisplayOrder());
+        return ls;
+    }
+
+    { initializeInformationResource(); }
+
+    // ===================================================================================
+    //                                                                         Unique Info
+    //                                                                         ===========
+    // -----------------------------------------------------
+    //                                       Primary Element
+    //                                       ---------------
+    protected UniqueInfo cpui() { return hpcpui(columnMemberStatusCode()); }
+    public boolean hasPrimaryKey() { return true; }
+    public boolean hasCompoundPrimaryKey() { return false; }
+
+    // ===================================================================================
+    //                                                                        Various Info
+    //                                                                        ============
+    public boolean hasIdentity() { return false; }
+    public boolean hasVersionNo() { return false; }
+
+    // ===================================================================================
+    //                                                                           Type Name
+    //                                                                           =========
+    public String getEntityTypeName() { return "org.seasar.dbflute.benchmark.domain.BenchMemberStatus"; }
+    public String getConditionBeanTypeName() { return null; }
+    public String getBehaviorTypeName() { return null; }
+
+    // ===================================================================================
+    //                                                                         Object Type
+    //                                                                         ===========
+    public Class<BenchMemberStatus> getEntityType() { return BenchMemberStatus.class; }
+
+    // ===================================================================================
+    //                                                                     Object Instance
+    //                                                                     ===============
+    public BenchMemberStatus newEntity() { return new BenchMemberStatus(); }
+
+    // ===================================================================================
+    //                                                                   Map Communication
+    //                                                                   =================
+    public void acceptPrimaryKeyMap(Entity et, Map<String, ? extends Object> mp)
+    { doAcceptPrimaryKeyMap((BenchMemberStatus)et, mp); }
+    public void acceptAllColumnMap(Entity et, Map<String, ? extends Object> mp)
+    { doAcceptAllColumnMap((BenchMemberStatus)et, mp); }
+    public Map<String, Object> extractPrimaryKeyMap(Entity et) { return doExtractPrimaryKeyMap(et); }
+    public Map<String, Object> extractAllColumnMap(Entity et) { return doExtractAllColumnMap(et); }
+}
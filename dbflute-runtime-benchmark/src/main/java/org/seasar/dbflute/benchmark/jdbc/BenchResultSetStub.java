@@ -0,0 +1,169 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.benchmark.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.seasar.dbflute.helper.StringKeyMap;
+
+/**
+ * The stub of result set that has rows in memory, so benchmarks of mapping exclude JDBC drivers. <br />
+ * It is a dynamic proxy implementing only methods that DBFlute mapping calls,
+ * and the same instance can be read again after {@link #reset()}.
+ * @author jflute
+ */
+public class BenchResultSetStub implements InvocationHandler {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String[] _columnLabels;
+    protected final List<Object[]> _rowList;
+    protected final StringKeyMap<Integer> _columnIndexMap = StringKeyMap.createAsCaseInsensitive();
+    protected final ResultSetMetaData _metaData;
+    protected int _currentIndex = -1;
+    protected boolean _wasNull;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param columnLabels The array of column labels in select order. (NotNull)
+     * @param rowList The list of row values in the same order as the labels. (NotNull)
+     */
+    public BenchResultSetStub(String[] columnLabels, List<Object[]> rowList) {
+        _columnLabels = columnLabels;
+        _rowList = rowList;
+        for (int i = 0; i < columnLabels.length; i++) {
+            _columnIndexMap.put(columnLabels[i], i + 1);
+        }
+        _metaData = (ResultSetMetaData) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { ResultSetMetaData.class }, new MetaDataHandler());
+    }
+
+    // ===================================================================================
+    //                                                                          Result Set
+    //                                                                          ==========
+    /**
+     * Create the proxy of result set reading this stub.
+     * @return The new proxy of result set. (NotNull)
+     */
+    public ResultSet createResultSet() {
+        return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { ResultSet.class }, this);
+    }
+
+    /**
+     * Reset the cursor to read rows again.
+     */
+    public void reset() {
+        _currentIndex = -1;
+        _wasNull = false;
+    }
+
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        final String name = method.getName();
+        if ("next".equals(name)) {
+            return ++_currentIndex < _rowList.size();
+        } else if ("wasNull".equals(name)) {
+            return _wasNull;
+        } else if ("getMetaData".equals(name)) {
+            return _metaData;
+        } else if ("findColumn".equals(name)) {
+            return findColumnIndex((String) args[0]);
+        } else if ("close".equals(name)) {
+            return null;
+        } else if ("isClosed".equals(name)) {
+            return false;
+        } else if (name.startsWith("get") && args != null && args.length == 1) {
+            final int index = args[0] instanceof String ? findColumnIndex((String) args[0]) : (Integer) args[0];
+            final Object value = _rowList.get(_currentIndex)[index - 1];
+            _wasNull = value == null;
+            return convertValue(value, method.getReturnType());
+        } else if ("hashCode".equals(name)) {
+            return System.identityHashCode(proxy);
+        } else if ("equals".equals(name)) {
+            return proxy == args[0];
+        } else if ("toString".equals(name)) {
+            return "resultSetStub:{" + _rowList.size() + " rows}";
+        }
+        throw new UnsupportedOperationException("Unsupported method in the stub: " + method);
+    }
+
+    protected int findColumnIndex(String columnLabel) {
+        final Integer index = _columnIndexMap.get(columnLabel);
+        if (index == null) {
+            throw new IllegalArgumentException("Unknown column label: " + columnLabel);
+        }
+        return index;
+    }
+
+    protected Object convertValue(Object value, Class<?> returnType) {
+        if (value == null) {
+            return returnType.isPrimitive() ? convertNullToPrimitive(returnType) : null;
+        }
+        if (String.class.equals(returnType)) {
+            return value.toString();
+        } else if (int.class.equals(returnType)) {
+            return ((Number) value).intValue();
+        } else if (long.class.equals(returnType)) {
+            return ((Number) value).longValue();
+        } else if (BigDecimal.class.equals(returnType)) {
+            return value instanceof BigDecimal ? value : new BigDecimal(value.toString());
+        } else if (Timestamp.class.equals(returnType)) {
+            return new Timestamp(((java.util.Date) value).getTime());
+        } else if (java.sql.Date.class.equals(returnType)) {
+            return new java.sql.Date(((java.util.Date) value).getTime());
+        }
+        return value; // e.g. getObject()
+    }
+
+    protected Object convertNullToPrimitive(Class<?> primitiveType) { // the same as JDBC drivers
+        if (boolean.class.equals(primitiveType)) {
+            return Boolean.FALSE;
+        } else if (long.class.equals(primitiveType)) {
+            return 0L;
+        } else if (double.class.equals(primitiveType)) {
+            return 0d;
+        } else if (float.class.equals(primitiveType)) {
+            return 0f;
+        } else if (short.class.equals(primitiveType)) {
+            return (short) 0;
+        } else if (byte.class.equals(primitiveType)) {
+            return (byte) 0;
+        }
+        return 0;
+    }
+
+    protected class MetaDataHandler implements InvocationHandler {
+
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            final String name = method.getName();
+            if ("getColumnCount".equals(name)) {
+                return _columnLabels.length;
+            } else if ("getColumnLabel".equals(name) || "getColumnName".equals(name)) {
+                return _columnLabels[(Integer) args[0] - 1];
+            }
+            throw new UnsupportedOperationException("Unsupported method in the stub: " + method);
+        }
+    }
+}
@@ -15,6 +15,8 @@
  */
 package org.seasar.dbflute.bhv;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -26,8 +28,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 import org.seasar.dbflute.BehaviorSelector;
+import org.seasar.dbflute.CallbackContext;
 import org.seasar.dbflute.Entity;
 import org.seasar.dbflute.bhv.core.BehaviorCommand;
 import org.seasar.dbflute.bhv.core.BehaviorCommandInvoker;
@@ -40,8 +48,15 @@ import org.seasar.dbflute.bhv.core.command.SelectListCBCommand;
 import org.seasar.dbflute.bhv.core.command.SelectNextValCommand;
 import org.seasar.dbflute.bhv.core.command.SelectNextValSubCommand;
 import org.seasar.dbflute.bhv.core.command.SelectScalarCBCommand;
+import org.seasar.dbflute.bhv.core.supplement.ContextInheritedCallable;
+import org.seasar.dbflute.bhv.core.supplement.EntityCache;
+import org.seasar.dbflute.bhv.core.supplement.EntityCacheHandler;
+import org.seasar.dbflute.cbean.AbstractConditionBean;
 import org.seasar.dbflute.cbean.AndQuery;
+import org.seasar.dbflute.cbean.ConcurrentPagingHandler;
 import org.seasar.dbflute.cbean.ConditionBean;
+import org.seasar.dbflute.cbean.EntityChunkHandler;
+import org.seasar.dbflute.cbean.EntityChunkRowHandler;
 import org.seasar.dbflute.cbean.EntityRowHandler;
 import org.seasar.dbflute.cbean.ListResultBean;
 import org.seasar.dbflute.cbean.OrQuery;
@@ -76,6 +91,7 @@ import org.seasar.dbflute.exception.thrower.ConditionBeanExceptionThrower;
 import org.seasar.dbflute.helper.beans.DfBeanDesc;
 import org.seasar.dbflute.helper.beans.DfPropertyDesc;
 import org.seasar.dbflute.helper.beans.factory.DfBeanDescFactory;
+import org.seasar.dbflute.jdbc.StatementConfig;
 import org.seasar.dbflute.optional.OptionalEntity;
 import org.seasar.dbflute.optional.OptionalThingExceptionThrower;
 import org.seasar.dbflute.optional.RelationOptionalFactory;
@@ -191,6 +207,50 @@ public abstract class AbstractBehaviorReadable<ENTITY extends Entity, CB extends
         return helpSelectEntityWithDeletedCheckInternally(cb, entityType);
     }
 
+    /**
+     * Select the entity by the condition-bean of primary key, using entity cache if the table is cached. <br />
+     * The cache is not used in transaction, because the entity might be updated in the transaction.
+     * @param <RESULT> The type of result entity.
+     * @param cb The condition-bean that has only the condition of primary key. (NotNull)
+     * @param entityType The type of result entity. (NotNull)
+     * @param pkValues The array of primary key values, in order of primary key columns. (NotNull)
+     * @return The selected entity, copy if from the cache. (NullAllowed: if null, not found)
+     */
+    protected <RESULT extends ENTITY> RESULT doSelectEntityByPKWithCache(CB cb, Class<? extends RESULT> entityType,
+            Object... pkValues) {
+        final EntityCache entityCache = xfindEntityCache(entityType);
+        if (entityCache == null) { // mainly here
+            return doSelectEntity(cb, entityType);
+        }
+        if (_behaviorCommandInvoker.isInTransactionOnThread()) { // uncommitted values are neither found nor cached
+            return doSelectEntity(cb, entityType);
+        }
+        final Object key = entityCache.createKey(pkValues);
+        @SuppressWarnings("unchecked")
+        final RESULT cached = (RESULT) entityCache.findEntity(key);
+        if (cached != null) {
+            return cached;
+        }
+        final long version = entityCache.getVersion(); // before select to ignore the entity if cleared
+        final RESULT entity = doSelectEntity(cb, entityType);
+        if (entity != null) {
+            entityCache.registerEntity(key, entity, version);
+        }
+        return entity;
+    }
+
+    protected EntityCache xfindEntityCache(Class<?> entityType) {
+        final EntityCacheHandler handler = _behaviorCommandInvoker.getEntityCacheHandler();
+        if (handler == null || handler.isEmpty()) {
+            return null;
+        }
+        final DBMeta dbmeta = getDBMeta();
+        if (!dbmeta.getEntityType().equals(entityType)) { // because copy is created by DB meta
+            return null;
+        }
+        return handler.findEntityCache(dbmeta.getTableDbName());
+    }
+
     // -----------------------------------------------------
     //                                       Internal Helper
     //                                       ---------------
@@ -407,6 +467,10 @@ public abstract class AbstractBehaviorReadable<ENTITY extends Entity, CB extends
     }
 
     protected <RESULT extends ENTITY> PagingHandler<RESULT> createPagingHandler(final CB cb, final Class<? extends RESULT> entityType) {
+        final ConditionBean countCB = findPagingCountConcurrentCB(cb);
+        if (countCB != null) {
+            return createConcurrentPagingHandler(cb, downcast(countCB), entityType);
+        }
         return new PagingHandler<RESULT>() {
             public PagingBean getPagingBean() {
                 return cb;
@@ -432,8 +496,59 @@ public abstract class AbstractBehaviorReadable<ENTITY extends Entity, CB extends
         };
     }
 
+    protected <RESULT extends ENTITY> PagingHandler<RESULT> createConcurrentPagingHandler(final CB cb, final CB countCB,
+            final Class<? extends RESULT> entityType) {
+        return new ConcurrentPagingHandler<RESULT>() {
+            public PagingBean getPagingBean() {
+                return cb;
+            }
+
+            public boolean canCountConcurrently() { // called in the caller thread
+                return !_behaviorCommandInvoker.isInTransactionOnThread(); // to avoid reading out of transaction
+            }
+
+            public int count() {
+                try {
+                    cb.getSqlClause().enablePagingAdjustment();
+                    return delegateSelectCountPlainly(cb);
+                } finally {
+                    cb.getSqlClause().disablePagingAdjustment();
+                }
+            }
+
+            public int countConcurrently() { // in another thread so uses the count condition-bean
+                try {
+                    countCB.getSqlClause().enablePagingAdjustment();
+                    return delegateSelectCountPlainly(countCB);
+                } finally {
+                    countCB.getSqlClause().disablePagingAdjustment();
+                }
+            }
+
+            public List<RESULT> paging() {
+                try {
+                    cb.getSqlClause().enablePagingAdjustment();
+                    return delegateSelectList(cb, entityType);
+                } finally {
+                    cb.getSqlClause().disablePagingAdjustment();
+                }
+            }
+        };
+    }
+
+    protected ConditionBean findPagingCountConcurrentCB(CB cb) {
+        if (!(cb instanceof AbstractConditionBean)) {
+            return null;
+        }
+        return ((AbstractConditionBean) cb).xgetPagingCountConcurrentCB();
+    }
+
     protected <RESULT extends ENTITY> PagingInvoker<RESULT> createPagingInvoker(CB cb) {
-        return cb.createPagingInvoker(getTableDbName());
+        final PagingInvoker<RESULT> invoker = cb.createPagingInvoker(getTableDbName());
+        if (findPagingCountConcurrentCB(cb) != null) { // opt-in
+            invoker.useConcurrentCount(_behaviorCommandInvoker.getPagingCountExecutor());
+        }
+        return invoker;
     }
 
     // -----------------------------------------------------
@@ -471,6 +586,40 @@ public abstract class AbstractBehaviorReadable<ENTITY extends Entity, CB extends
         helpSelectCursorInternally(cb, handler, entityType);
     }
 
+    protected void facadeSelectCursorChunked(CB cb, int chunkSize, EntityChunkHandler<ENTITY> entityChunkHandler) {
+        doSelectCursorChunked(cb, chunkSize, entityChunkHandler, typeOfSelectedEntity());
+    }
+
+    protected <RESULT extends ENTITY> void doSelectCursorChunked(CB cb, int chunkSize, EntityChunkHandler<RESULT> handler,
+            Class<? extends RESULT> entityType) {
+        assertCBStateValid(cb);
+        assertObjectNotNull("entityChunkHandler", handler);
+        final EntityChunkRowHandler<RESULT> rowHandler = new EntityChunkRowHandler<RESULT>(chunkSize, handler);
+        final StatementConfig originalConfig = cb.getStatementConfig();
+        cb.configure(prepareCursorChunkStatementConfig(originalConfig, chunkSize));
+        try {
+            doSelectCursor(cb, rowHandler, entityType);
+        } finally {
+            cb.configure(originalConfig);
+        }
+        rowHandler.flush(); // last chunk
+    }
+
+    /**
+     * Prepare the statement config for chunked cursor select. <br />
+     * The fetch size is the chunk size as hint unless specified, so JDBC fetches are pipelined with chunks.
+     * @param originalConfig The original statement config of the condition-bean. (NullAllowed)
+     * @param chunkSize The size of one chunk.
+     * @return The statement config for the select. (NotNull)
+     */
+    protected StatementConfig prepareCursorChunkStatementConfig(StatementConfig originalConfig, int chunkSize) {
+        if (originalConfig != null && originalConfig.hasFetchSize()) { // prior to chunk size
+            return originalConfig;
+        }
+        final StatementConfig config = originalConfig != null ? originalConfig.createSnapshot() : new StatementConfig();
+        return config.fetchSize(chunkSize);
+    }
+
     // -----------------------------------------------------
     //                                       Internal Helper
     //                                       ---------------
@@ -523,6 +672,62 @@ public abstract class AbstractBehaviorReadable<ENTITY extends Entity, CB extends
         }
     }
 
+    // ===================================================================================
+    //                                                                        Async Select
+    //                                                                        ============
+    // -----------------------------------------------------
+    //                                         Main Entrance
+    //                                         -------------
+    protected Future<Integer> facadeSelectCountAsync(final CB cb) {
+        assertCBStateValid(cb); // in caller thread for early failure
+        return submitAsyncSelect(new Callable<Integer>() {
+            public Integer call() {
+                return facadeSelectCount(cb);
+            }
+        });
+    }
+
+    protected Future<ListResultBean<ENTITY>> facadeSelectListAsync(final CB cb) {
+        assertCBStateValid(cb);
+        return submitAsyncSelect(new Callable<ListResultBean<ENTITY>>() {
+            public ListResultBean<ENTITY> call() {
+                return facadeSelectList(cb);
+            }
+        });
+    }
+
+    protected Future<PagingResultBean<ENTITY>> facadeSelectPageAsync(final CB cb) {
+        assertCBStateValid(cb);
+        return submitAsyncSelect(new Callable<PagingResultBean<ENTITY>>() {
+            public PagingResultBean<ENTITY> call() {
+                return facadeSelectPage(cb);
+            }
+        });
+    }
+
+    // -----------------------------------------------------
+    //                                       Internal Helper
+    //                                       ---------------
+    /**
+     * Submit the select to the executor for asynchronous select with the contexts of the caller thread. <br />
+     * The select is executed on another connection (outside the transaction of the caller thread),
+     * and executed in the caller thread if no executor is configured or the caller thread is in transaction
+     * (the select should see uncommitted updates of the transaction).
+     * @param <RESULT> The type of select result.
+     * @param select The callable of the select. (NotNull)
+     * @return The future of the select result, which throws the failure cause as execution exception. (NotNull)
+     */
+    protected <RESULT> Future<RESULT> submitAsyncSelect(Callable<RESULT> select) {
+        assertBehaviorCommandInvoker("submitAsyncSelect");
+        final ExecutorService executor = _behaviorCommandInvoker.getAsyncSelectExecutor();
+        if (executor == null || _behaviorCommandInvoker.isInTransactionOnThread()) { // synchronously in caller thread
+            final FutureTask<RESULT> task = new FutureTask<RESULT>(select);
+            task.run();
+            return task;
+        }
+        return executor.submit(new ContextInheritedCallable<RESULT>(select));
+    }
+
     // ===================================================================================
     //                                                                       Scalar Select
     //                                                                       =============
@@ -898,48 +1103,23 @@ public abstract class AbstractBehaviorReadable<ENTITY extends Entity, CB extends
             pkLocalEntityMap.put(toLoadReferrerMappingKey(primaryKeyValue), localEntity);
         }
 
-        // - - - - - - - - - - - - - - - -
-        // Prepare referrer condition bean
-        // - - - - - - - - - - - - - - - -
-        final REFERRER_CB cb;
-        if (loadReferrerOption.getReferrerConditionBean() != null) {
-            cb = loadReferrerOption.getReferrerConditionBean();
-        } else {
-            cb = callback.newMyCB();
-        }
-
         // - - - - - - - - - - - - - -
         // Select the list of referrer
         // - - - - - - - - - - - - - -
-        callback.qyFKIn(cb, pkSet);
-        final String referrerPropertyName = callback.getRfPrNm();
-        final String fixedCondition = xbuildReferrerCorrelatedFixedCondition(cb, referrerPropertyName);
-        final String basePointAliasName = cb.getSqlClause().getBasePointAliasName();
-        final boolean hasFixedCondition = fixedCondition != null && fixedCondition.trim().length() > 0;
-        if (hasFixedCondition) {
-            cb.getSqlClause().registerWhereClause(fixedCondition, basePointAliasName);
-        }
-        cb.xregisterUnionQuerySynchronizer(new UnionQuery<ConditionBean>() {
-            public void query(ConditionBean unionCB) {
-                @SuppressWarnings("unchecked")
-                REFERRER_CB referrerUnionCB = (REFERRER_CB) unionCB;
-                // for when application uses union query in condition-bean set-upper.
-                callback.qyFKIn(referrerUnionCB, pkSet);
-                if (hasFixedCondition) {
-                    referrerUnionCB.getSqlClause().registerWhereClause(fixedCondition, basePointAliasName);
-                }
+        final List<REFERRER_ENTITY> referrerList;
+        if (xcanSelectReferrerByChunk(pkSet, loadReferrerOption)) { // for very large local list
+            referrerList = xselectReferrerByChunk(pkSet, loadReferrerOption, callback);
+        } else {
+            final REFERRER_CB cb;
+            if (loadReferrerOption.getReferrerConditionBean() != null) {
+                cb = loadReferrerOption.getReferrerConditionBean();
+            } else {
+                cb = callback.newMyCB();
             }
-        });
-        if (pkSet.size() > 1) {
-            callback.qyOdFKAsc(cb);
-            cb.getOrderByComponent().exchangeFirstOrderByElementForLastOne();
-        }
-        loadReferrerOption.delegateConditionBeanSettingUp(cb);
-        if (cb.getSqlClause().hasSpecifiedSelectColumn(basePointAliasName)) {
-            callback.spFKCol(cb); // specify required columns for relation
+            xsetupReferrerConditionBean(cb, pkSet, loadReferrerOption, callback);
+            referrerList = callback.selRfLs(cb);
         }
-        final List<REFERRER_ENTITY> referrerList = callback.selRfLs(cb);
-        loadReferrerOption.delegateEntitySettingUp(referrerList);
+        loadReferrerOption.delegateEntitySettingUp(referrerList); // nested referrer with merged list
 
         // - - - - - - - - - - - - - - - - - - - - - - - -
         // Create the map of {primary key / referrer list}
@@ -987,6 +1167,150 @@ public abstract class AbstractBehaviorReadable<ENTITY extends Entity, CB extends
         };
     }
 
+    protected <LOCAL_ENTITY extends Entity, KEY, REFERRER_CB extends ConditionBean, REFERRER_ENTITY extends Entity> // generic
+    void xsetupReferrerConditionBean(REFERRER_CB cb, final Collection<KEY> pkList,
+            LoadReferrerOption<REFERRER_CB, REFERRER_ENTITY> loadReferrerOption,
+            final InternalLoadReferrerCallback<LOCAL_ENTITY, KEY, REFERRER_CB, REFERRER_ENTITY> callback) {
+        callback.qyFKIn(cb, pkList);
+        final String referrerPropertyName = callback.getRfPrNm();
+        final String fixedCondition = xbuildReferrerCorrelatedFixedCondition(cb, referrerPropertyName);
+        final String basePointAliasName = cb.getSqlClause().getBasePointAliasName();
+        final boolean hasFixedCondition = fixedCondition != null && fixedCondition.trim().length() > 0;
+        if (hasFixedCondition) {
+            cb.getSqlClause().registerWhereClause(fixedCondition, basePointAliasName);
+        }
+        cb.xregisterUnionQuerySynchronizer(new UnionQuery<ConditionBean>() {
+            public void query(ConditionBean unionCB) {
+                @SuppressWarnings("unchecked")
+                REFERRER_CB referrerUnionCB = (REFERRER_CB) unionCB;
+                // for when application uses union query in condition-bean set-upper.
+                callback.qyFKIn(referrerUnionCB, pkList);
+                if (hasFixedCondition) {
+                    referrerUnionCB.getSqlClause().registerWhereClause(fixedCondition, basePointAliasName);
+                }
+            }
+        });
+        if (pkList.size() > 1) {
+            callback.qyOdFKAsc(cb);
+            cb.getOrderByComponent().exchangeFirstOrderByElementForLastOne();
+        }
+        loadReferrerOption.delegateConditionBeanSettingUp(cb);
+        if (cb.getSqlClause().hasSpecifiedSelectColumn(basePointAliasName)) {
+            callback.spFKCol(cb); // specify required columns for relation
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                          Chunk Select
+    //                                          ------------
+    protected <KEY, REFERRER_CB extends ConditionBean, REFERRER_ENTITY extends Entity> // generic
+    boolean xcanSelectReferrerByChunk(Set<KEY> pkSet, LoadReferrerOption<REFERRER_CB, REFERRER_ENTITY> loadReferrerOption) {
+        final int chunkSize = loadReferrerOption.getChunkSize();
+        if (chunkSize <= 0 || pkSet.size() <= chunkSize) {
+            return false;
+        }
+        return loadReferrerOption.getReferrerConditionBean() == null; // original instance cannot be shared by chunks
+    }
+
+    protected <LOCAL_ENTITY extends Entity, KEY, REFERRER_CB extends ConditionBean, REFERRER_ENTITY extends Entity> // generic
+    List<REFERRER_ENTITY> xselectReferrerByChunk(Set<KEY> pkSet, LoadReferrerOption<REFERRER_CB, REFERRER_ENTITY> loadReferrerOption,
+            final InternalLoadReferrerCallback<LOCAL_ENTITY, KEY, REFERRER_CB, REFERRER_ENTITY> callback) {
+        final int chunkSize = loadReferrerOption.getChunkSize();
+        final List<REFERRER_CB> cbList = new ArrayList<REFERRER_CB>(pkSet.size() / chunkSize + 1);
+        List<KEY> chunkList = new ArrayList<KEY>(chunkSize);
+        for (KEY pk : pkSet) { // condition-beans are set up in the caller thread
+            chunkList.add(pk);
+            if (chunkList.size() >= chunkSize) {
+                cbList.add(xcreateReferrerChunkConditionBean(chunkList, loadReferrerOption, callback));
+                chunkList = new ArrayList<KEY>(chunkSize);
+            }
+        }
+        if (!chunkList.isEmpty()) {
+            cbList.add(xcreateReferrerChunkConditionBean(chunkList, loadReferrerOption, callback));
+        }
+        final ExecutorService executor = loadReferrerOption.getChunkExecutor();
+        if (executor == null || _behaviorCommandInvoker.isInTransactionOnThread()) { // to avoid reading out of transaction
+            final List<REFERRER_ENTITY> referrerList = new ArrayList<REFERRER_ENTITY>();
+            for (REFERRER_CB cb : cbList) {
+                referrerList.addAll(callback.selRfLs(cb));
+            }
+            return referrerList;
+        }
+        return xselectReferrerByParallelChunk(cbList, executor, callback);
+    }
+
+    protected <LOCAL_ENTITY extends Entity, KEY, REFERRER_CB extends ConditionBean, REFERRER_ENTITY extends Entity> // generic
+    REFERRER_CB xcreateReferrerChunkConditionBean(List<KEY> chunkList,
+            LoadReferrerOption<REFERRER_CB, REFERRER_ENTITY> loadReferrerOption,
+            InternalLoadReferrerCallback<LOCAL_ENTITY, KEY, REFERRER_CB, REFERRER_ENTITY> callback) {
+        final REFERRER_CB cb = callback.newMyCB();
+        xsetupReferrerConditionBean(cb, chunkList, loadReferrerOption, callback);
+        return cb;
+    }
+
+    protected <LOCAL_ENTITY extends Entity, KEY, REFERRER_CB extends ConditionBean, REFERRER_ENTITY extends Entity> // generic
+    List<REFERRER_ENTITY> xselectReferrerByParallelChunk(List<REFERRER_CB> cbList, ExecutorService executor,
+            final InternalLoadReferrerCallback<LOCAL_ENTITY, KEY, REFERRER_CB, REFERRER_ENTITY> callback) {
+        final CallbackContext callbackContext = CallbackContext.getCallbackContextOnThread(); // inherited to workers
+        final List<Future<List<REFERRER_ENTITY>>> futureList = new ArrayList<Future<List<REFERRER_ENTITY>>>(cbList.size());
+        boolean completed = false;
+        try {
+            for (final REFERRER_CB cb : cbList) {
+                futureList.add(executor.submit(new Callable<List<REFERRER_ENTITY>>() {
+                    public List<REFERRER_ENTITY> call() {
+                        // the thread does not have manual thread data source so it uses another connection
+                        final CallbackContext existingContext = CallbackContext.getCallbackContextOnThread();
+                        if (callbackContext != null) {
+                            CallbackContext.setCallbackContextOnThread(callbackContext);
+                        }
+                        try {
+                            return callback.selRfLs(cb);
+                        } finally {
+                            if (existingContext != null) {
+                                CallbackContext.setCallbackContextOnThread(existingContext);
+                            } else {
+                                CallbackContext.clearCallbackContextOnThread();
+                            }
+                        }
+                    }
+                }));
+            }
+            final List<REFERRER_ENTITY> referrerList = new ArrayList<REFERRER_ENTITY>();
+            for (Future<List<REFERRER_ENTITY>> future : futureList) { // merged in order of chunks
+                referrerList.addAll(xwaitForReferrerChunk(future, callback.getRfPrNm()));
+            }
+            completed = true;
+            return referrerList;
+        } finally {
+            if (!completed) {
+                for (Future<List<REFERRER_ENTITY>> future : futureList) {
+                    future.cancel(true); // no need to select if one of chunks failed
+                }
+            }
+        }
+    }
+
+    protected <REFERRER_ENTITY extends Entity> List<REFERRER_ENTITY> xwaitForReferrerChunk(Future<List<REFERRER_ENTITY>> future,
+            String referrerPropertyName) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            String msg = "Interrupted while waiting for the chunk of referrer: " + referrerPropertyName;
+            throw new IllegalStateException(msg, e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) { // e.g. SQL failure, throws it as it is
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            String msg = "Failed to select the chunk of referrer: " + referrerPropertyName;
+            throw new IllegalStateException(msg, cause);
+        }
+    }
+
     protected String xbuildReferrerCorrelatedFixedCondition(ConditionBean cb, String referrerPropertyName) {
         if (referrerPropertyName == null) {
             return null;
@@ -1429,6 +1753,34 @@ public abstract class AbstractBehaviorReadable<ENTITY extends Entity, CB extends
         }
     }
 
+    public void warmUpOutsideSql(String outsideSqlPath) {
+        assertBehaviorCommandInvoker("warmUpOutsideSql");
+        _behaviorCommandInvoker.warmUpOutsideSql(getTableDbName(), outsideSqlPath);
+    }
+
+    public List<String> extractBehaviorQueryPathList() {
+        final List<String> pathList = new ArrayList<String>();
+        Class<?> currentType = getClass(); // may be enhanced by container
+        while (currentType != null && !AbstractBehaviorReadable.class.equals(currentType)) {
+            for (Field field : currentType.getDeclaredFields()) {
+                if (isBehaviorQueryPathField(field)) {
+                    final Object path = DfReflectionUtil.getValue(field, null);
+                    if (path != null && !pathList.contains(path)) {
+                        pathList.add((String) path);
+                    }
+                }
+            }
+            currentType = currentType.getSuperclass();
+        }
+        return pathList;
+    }
+
+    protected boolean isBehaviorQueryPathField(Field field) {
+        final int modifiers = field.getModifiers();
+        return Modifier.isStatic(modifiers) && Modifier.isFinal(modifiers) && Modifier.isPublic(modifiers)
+                && String.class.equals(field.getType()) && field.getName().startsWith("PATH_");
+    }
+
     // -----------------------------------------------------
     //                                                  Read
     //                                                  ----
@@ -15,6 +15,8 @@
  */
 package org.seasar.dbflute.bhv;
 
+import java.util.List;
+
 import org.seasar.dbflute.Entity;
 import org.seasar.dbflute.cbean.ConditionBean;
 import org.seasar.dbflute.cbean.ListResultBean;
@@ -152,4 +154,16 @@ public interface BehaviorReadable {
      * Warm up the command of behavior. {Internal}
      */
     void warmUpCommand();
+
+    /**
+     * Warm up the outside-SQL of the path, reading and analyzing its SQL file. {Internal}
+     * @param outsideSqlPath The path of outside-SQL, e.g. behavior query path. (NotNull)
+     */
+    void warmUpOutsideSql(String outsideSqlPath);
+
+    /**
+     * Extract the list of behavior query path defined as PATH_ constants in the behavior. {Internal}
+     * @return The list of behavior query path. (NotNull, EmptyAllowed)
+     */
+    List<String> extractBehaviorQueryPathList();
 }
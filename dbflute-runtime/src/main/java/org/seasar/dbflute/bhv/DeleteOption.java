@@ -33,6 +33,7 @@ public class DeleteOption<CB extends ConditionBean> implements WritableOption<CB
     protected boolean _nonQueryDeleteAllowed;
     protected boolean _queryDeleteForcedDirectAllowed;
     protected Integer _batchLoggingDeleteLimit;
+    protected Integer _batchDeleteSplitSize;
     protected StatementConfig _deleteStatementConfig;
 
     // ===================================================================================
@@ -91,6 +92,24 @@ public class DeleteOption<CB extends ConditionBean> implements WritableOption<CB
         return _batchLoggingDeleteLimit;
     }
 
+    // ===================================================================================
+    //                                                                         Batch Split
+    //                                                                         ===========
+    /**
+     * Split batch-delete execution by the size. <br />
+     * For example, if you set 1000, executeBatch() is called per 1000 records,
+     * which caps the memory of driver-side batch for a huge list. <br />
+     * The result (update count array) is the same as non-split.
+     * @param batchDeleteSplitSize The size of records per one execution. (NullAllowed: if null, default size, and minus or zero means no split)
+     */
+    public void splitBatchDeleteBySize(Integer batchDeleteSplitSize) {
+        _batchDeleteSplitSize = batchDeleteSplitSize;
+    }
+
+    public Integer getBatchDeleteSplitSize() {
+        return _batchDeleteSplitSize;
+    }
+
     // ===================================================================================
     //                                                                           Configure
     //                                                                           =========
@@ -60,6 +60,8 @@ public class InsertOption<CB extends ConditionBean> implements WritableOption<CB
     protected boolean _disableCommonColumnAutoSetup;
     protected boolean _disablePrimaryKeyIdentity;
     protected Integer _batchInsertLoggingLimit;
+    protected Integer _batchInsertSplitSize;
+    protected Integer _batchInsertMultiRowValuesSize;
     protected StatementConfig _insertStatementConfig;
 
     // ===================================================================================
@@ -418,6 +420,45 @@ public class InsertOption<CB extends ConditionBean> implements WritableOption<CB
         return _batchInsertLoggingLimit;
     }
 
+    // ===================================================================================
+    //                                                                         Batch Split
+    //                                                                         ===========
+    /**
+     * Split batch-insert execution by the size. <br />
+     * For example, if you set 1000, executeBatch() is called per 1000 records,
+     * which caps the memory of driver-side batch for a huge list. <br />
+     * The result (update count array) is the same as non-split.
+     * @param batchInsertSplitSize The size of records per one execution. (NullAllowed: if null, default size, and minus or zero means no split)
+     */
+    public void splitBatchInsertBySize(Integer batchInsertSplitSize) {
+        _batchInsertSplitSize = batchInsertSplitSize;
+    }
+
+    public Integer getBatchInsertSplitSize() {
+        return _batchInsertSplitSize;
+    }
+
+    // ===================================================================================
+    //                                                                    Multi-row VALUES
+    //                                                                    ================
+    /**
+     * Execute batch-insert as multi-row VALUES SQL per the size of records,
+     * e.g. insert into MEMBER (...) values (...), (...), (...) <br />
+     * It is used only if the database supports it (e.g. MySQL, PostgreSQL, H2),
+     * otherwise normal JDBC batch is executed. The batch split size is ignored because one SQL is one split. <br />
+     * The size is clamped to the row limit of the database, e.g. 1000 rows of SQLServer,
+     * and to the bind parameter limit divided by the count of insert columns, e.g. 2100 of SQLServer, 32767 of PostgreSQL. <br />
+     * The result (update count array) has one per record if all records are inserted.
+     * @param batchInsertMultiRowValuesSize The size of records per one SQL. (NullAllowed: if null, one, or minus, means no multi-row)
+     */
+    public void groupBatchInsertByMultiRowValues(Integer batchInsertMultiRowValuesSize) {
+        _batchInsertMultiRowValuesSize = batchInsertMultiRowValuesSize;
+    }
+
+    public Integer getBatchInsertMultiRowValuesSize() {
+        return _batchInsertMultiRowValuesSize;
+    }
+
     // ===================================================================================
     //                                                                           Configure
     //                                                                           =========
@@ -16,6 +16,7 @@
 package org.seasar.dbflute.bhv;
 
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 import org.seasar.dbflute.Entity;
 import org.seasar.dbflute.cbean.ConditionBean;
@@ -36,6 +37,8 @@ public class LoadReferrerOption<REFERRER_CB extends ConditionBean, REFERRER_ENTI
     protected ConditionBeanSetupper<REFERRER_CB> _conditionBeanSetupper;
     protected EntityListSetupper<REFERRER_ENTITY> _entityListSetupper;
     protected REFERRER_CB _referrerConditionBean;
+    protected int _chunkSize; // zero means no chunk
+    protected ExecutorService _chunkExecutor; // null means sequential chunks
 
     // ===================================================================================
     //                                                                         Constructor
@@ -189,4 +192,42 @@ public class LoadReferrerOption<REFERRER_CB extends ConditionBean, REFERRER_ENTI
     public void setReferrerConditionBean(REFERRER_CB referrerConditionBean) {
         this._referrerConditionBean = referrerConditionBean;
     }
+
+    public int getChunkSize() {
+        return _chunkSize;
+    }
+
+    /**
+     * Set the size of chunk to split local keys for very large local entity list. <br />
+     * Referrers are selected for each chunk and merged, so SQL and its bind parameters are small. <br />
+     * The set-upper of condition-bean is called for each chunk. <br />
+     * It is ignored if the original instance of condition-bean is set.
+     * <pre>
+     * LoadReferrerOption option = new LoadReferrerOption();
+     * option.<span style="color: #DD4747">setChunkSize</span>(1000);
+     * ...
+     * </pre>
+     * @param chunkSize The count of local keys per one referrer select. (zero or minus means no chunk)
+     */
+    public void setChunkSize(int chunkSize) {
+        _chunkSize = chunkSize;
+    }
+
+    public ExecutorService getChunkExecutor() {
+        return _chunkExecutor;
+    }
+
+    /**
+     * Set the executor service to select chunks in parallel, used with chunk size. <br />
+     * Chunks are selected by other threads with their own connections, so they are sequential in transaction. <br />
+     * The transaction is determined by the transaction synchronizer of DBFlute configuration,
+     * not by auto-commit of connection (a pool can be configured as auto-commit false). <br />
+     * If the synchronizer is not set, the transaction is unknown, so chunks are always sequential
+     * except on a manual thread data source holding an auto-commit connection. <br />
+     * The executor service should be bounded because it is the limit of parallel selects.
+     * @param chunkExecutor The executor service for chunks. (NullAllowed: if null, chunks are selected sequentially)
+     */
+    public void setChunkExecutor(ExecutorService chunkExecutor) {
+        _chunkExecutor = chunkExecutor;
+    }
 }
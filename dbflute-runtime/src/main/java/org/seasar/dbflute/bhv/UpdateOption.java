@@ -69,6 +69,7 @@ public class UpdateOption<CB extends ConditionBean> implements WritableOption<CB
     protected boolean _nonQueryUpdateAllowed;
     protected boolean _queryUpdateForcedDirectAllowed;
     protected Integer _batchLoggingUpdateLimit;
+    protected Integer _batchUpdateSplitSize;
     protected StatementConfig _updateStatementConfig;
 
     // ===================================================================================
@@ -660,6 +661,24 @@ public class UpdateOption<CB extends ConditionBean> implements WritableOption<CB
         return _batchLoggingUpdateLimit;
     }
 
+    // ===================================================================================
+    //                                                                         Batch Split
+    //                                                                         ===========
+    /**
+     * Split batch-update execution by the size. <br />
+     * For example, if you set 1000, executeBatch() is called per 1000 records,
+     * which caps the memory of driver-side batch for a huge list. <br />
+     * The result (update count array) is the same as non-split.
+     * @param batchUpdateSplitSize The size of records per one execution. (NullAllowed: if null, default size, and minus or zero means no split)
+     */
+    public void splitBatchUpdateBySize(Integer batchUpdateSplitSize) {
+        _batchUpdateSplitSize = batchUpdateSplitSize;
+    }
+
+    public Integer getBatchUpdateSplitSize() {
+        return _batchUpdateSplitSize;
+    }
+
     // ===================================================================================
     //                                                                           Configure
     //                                                                           =========
@@ -708,6 +727,12 @@ public class UpdateOption<CB extends ConditionBean> implements WritableOption<CB
             }
             sb.append("batchLogging(" + _batchLoggingUpdateLimit + ")");
         }
+        if (_batchUpdateSplitSize != null) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append("batchSplit(" + _batchUpdateSplitSize + ")");
+        }
         if (sb.length() == 0) {
             sb.append("default");
         }
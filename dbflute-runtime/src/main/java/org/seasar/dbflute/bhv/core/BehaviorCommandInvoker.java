@@ -15,17 +15,36 @@
  */
 package org.seasar.dbflute.bhv.core;
 
+import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.seasar.dbflute.CallbackContext;
 import org.seasar.dbflute.DBDef;
 import org.seasar.dbflute.Entity;
 import org.seasar.dbflute.XLog;
 import org.seasar.dbflute.bhv.core.InvokerAssistant.DisposableProcess;
+import org.seasar.dbflute.bhv.core.supplement.AnalyzedNodeCache;
+import org.seasar.dbflute.bhv.core.supplement.CommandMetricsRecorder;
+import org.seasar.dbflute.bhv.core.supplement.CommandMetricsRegistry;
+import org.seasar.dbflute.bhv.core.supplement.EntityCacheHandler;
+import org.seasar.dbflute.bhv.core.supplement.QueryResultCache;
+import org.seasar.dbflute.bhv.core.supplement.QueryResultCacheHandler;
+import org.seasar.dbflute.bhv.core.supplement.QueryResultCacheResource;
 import org.seasar.dbflute.bhv.core.supplement.SequenceCacheHandler;
+import org.seasar.dbflute.bhv.logging.invoke.BehaviorInvokeCache;
+import org.seasar.dbflute.bhv.logging.invoke.BehaviorInvokeCache.BehaviorInvokeResult;
 import org.seasar.dbflute.bhv.logging.invoke.BehaviorInvokeNameExtractor;
 import org.seasar.dbflute.bhv.logging.invoke.BehaviorInvokeNameResult;
 import org.seasar.dbflute.bhv.logging.invoke.BehaviorInvokePathBuilder;
@@ -43,6 +62,8 @@ import org.seasar.dbflute.jdbc.SqlLogInfo;
 import org.seasar.dbflute.jdbc.SqlResultHandler;
 import org.seasar.dbflute.jdbc.SqlResultInfo;
 import org.seasar.dbflute.jdbc.StatementConfig;
+import org.seasar.dbflute.jdbc.TransactionCompletionCallback;
+import org.seasar.dbflute.jdbc.TransactionSynchronizer;
 import org.seasar.dbflute.optional.RelationOptionalFactory;
 import org.seasar.dbflute.outsidesql.OutsideSqlContext;
 import org.seasar.dbflute.outsidesql.OutsideSqlOption;
@@ -51,7 +72,9 @@ import org.seasar.dbflute.outsidesql.factory.OutsideSqlExecutorFactory;
 import org.seasar.dbflute.resource.DBFluteSystem;
 import org.seasar.dbflute.resource.InternalMapContext;
 import org.seasar.dbflute.resource.InternalMapContext.InvokePathProvider;
+import org.seasar.dbflute.resource.ManualThreadDataSourceHandler;
 import org.seasar.dbflute.resource.ResourceContext;
+import org.seasar.dbflute.resource.ResourceParameter;
 import org.seasar.dbflute.util.DfTraceViewUtil;
 import org.seasar.dbflute.util.DfTypeUtil;
 import org.seasar.dbflute.util.Srl;
@@ -63,11 +86,16 @@ import org.seasar.dbflute.util.Srl;
  *   o clearExecutionCache();
  *   o isExecutionCacheEmpty();
  *   o getExecutionCacheSize();
+ *   o getExecutionCreationCostMap();
  *   o injectComponentProperty(BehaviorCommandComponentSetup behaviorCommand);
  *   o invoke(BehaviorCommand behaviorCommand);
  *   o createOutsideSqlBasicExecutor(String tableDbName);
+ *   o warmUpOutsideSql(String tableDbName, String outsideSqlPath);
  *   o createBehaviorExceptionThrower();
  *   o getSequenceCacheHandler();
+ *   o getEntityCacheHandler();
+ *   o getQueryResultCacheHandler();
+ *   o getCommandMetricsRegistry();
  * </pre>
  * @author jflute
  */
@@ -84,11 +112,32 @@ public class BehaviorCommandInvoker {
     // -----------------------------------------------------
     //                                       Execution Cache
     //                                       ---------------
-    /** The map of SQL execution. (dispose target, synchronized manually as transaction) */
+    /** The map of SQL execution. (dispose target, created once per key by the creation map) */
     protected final Map<String, SqlExecution> _executionMap = newConcurrentHashMap();
 
-    /** The lock object to synchronize the execution map for transaction. (NotNull) */
-    protected final Object _executionCacheLock = new Object();
+    /** The map of creation task of SQL execution in progress, which is per key so no global lock. (NotNull) */
+    protected final ConcurrentHashMap<String, FutureTask<SqlExecution>> _executionCreationMap = newConcurrentHashMap();
+
+    /** The map of creation cost (milliseconds) of SQL execution per key. (NotNull) */
+    protected final Map<String, Long> _executionCreationCostMap = newConcurrentHashMap();
+
+    // -----------------------------------------------------
+    //                                        Invoke Logging
+    //                                        --------------
+    /** The cache of invoke results keyed by caller frames, used if enabled by resource parameter. (dispose target) */
+    protected final BehaviorInvokeCache _behaviorInvokeCache = new BehaviorInvokeCache();
+
+    /** The count of invocation logging for sampling. (NotNull) */
+    protected final AtomicLong _invocationLogCount = new AtomicLong();
+
+    // -----------------------------------------------------
+    //                                        Cache Clearing
+    //                                        --------------
+    /** The table DB names of entity cache to clear after the transaction on the thread. (null element means all) */
+    protected final ThreadLocal<Set<String>> _entityCacheClearReservationLocal = new ThreadLocal<Set<String>>();
+
+    /** The table names of query result cache to clear after the transaction on the thread. (null element means all) */
+    protected final ThreadLocal<Set<String>> _queryResultCacheClearReservationLocal = new ThreadLocal<Set<String>>();
 
     // -----------------------------------------------------
     //                                    Disposable Process
@@ -110,8 +159,13 @@ public class BehaviorCommandInvoker {
     //                                                                     ===============
     public void clearExecutionCache() {
         // basically should be called only for special case (e.g. HotDeploy)
-        synchronized (_executionCacheLock) {
-            _executionMap.clear();
+        _executionMap.clear();
+        _executionCreationMap.clear(); // creating threads still receive their own result
+        _executionCreationCostMap.clear();
+        _behaviorInvokeCache.clear(); // frames may be changed by HotDeploy
+        final AnalyzedNodeCache nodeCache = _invokerAssistant != null ? _invokerAssistant.assistAnalyzedNodeCache() : null;
+        if (nodeCache != null) {
+            nodeCache.clear();
         }
     }
 
@@ -123,6 +177,14 @@ public class BehaviorCommandInvoker {
         return _executionMap.size();
     }
 
+    /**
+     * Get the map of creation cost of SQL execution per key, for performance monitoring.
+     * @return The snapshot map of creation cost. map:{executionKey = milliseconds} (NotNull)
+     */
+    public Map<String, Long> getExecutionCreationCostMap() {
+        return Collections.unmodifiableMap(new LinkedHashMap<String, Long>(_executionCreationCostMap));
+    }
+
     // ===================================================================================
     //                                                                      Command Set up
     //                                                                      ==============
@@ -156,15 +218,22 @@ public class BehaviorCommandInvoker {
     public <RESULT> RESULT invoke(BehaviorCommand<RESULT> behaviorCommand) {
         RuntimeException cause = null;
         RESULT result = null;
+        CommandMetricsRecorder metricsRecorder = null;
         try {
             final ResourceContext parentContext = getParentContext();
             initializeContext();
             setupResourceContext(behaviorCommand, parentContext);
             processBeforeHook(behaviorCommand);
+            metricsRecorder = beginCommandMetricsIfNeeds(behaviorCommand);
             result = dispatchInvoking(behaviorCommand);
         } catch (RuntimeException e) {
             cause = e;
         } finally {
+            if (metricsRecorder != null) {
+                recordCommandMetrics(behaviorCommand, metricsRecorder, result, cause);
+            }
+            clearEntityCacheIfNeeds(behaviorCommand); // also when failure because the table might be changed
+            clearQueryResultCacheIfNeeds(behaviorCommand); // me too
             processFinallyHook(behaviorCommand, cause);
             closeContext();
         }
@@ -184,12 +253,170 @@ public class BehaviorCommandInvoker {
         resourceContext.setDBMetaProvider(_invokerAssistant.assistDBMetaProvider());
         resourceContext.setSqlClauseCreator(_invokerAssistant.assistSqlClauseCreator());
         resourceContext.setSqlAnalyzerFactory(_invokerAssistant.assistSqlAnalyzerFactory());
+        resourceContext.setAnalyzedNodeCache(_invokerAssistant.assistAnalyzedNodeCache());
         resourceContext.setSQLExceptionHandlerFactory(_invokerAssistant.assistSQLExceptionHandlerFactory());
         resourceContext.setGearedCipherManager(_invokerAssistant.assistGearedCipherManager());
         resourceContext.setResourceParameter(_invokerAssistant.assistResourceParameter());
         ResourceContext.setResourceContextOnThread(resourceContext);
     }
 
+    protected <RESULT> void clearEntityCacheIfNeeds(BehaviorCommand<RESULT> behaviorCommand) {
+        if (_invokerAssistant == null || behaviorCommand.isSelect() || behaviorCommand.isInitializeOnly()) {
+            return;
+        }
+        final EntityCacheHandler handler = getEntityCacheHandler();
+        if (handler == null || handler.isEmpty()) {
+            return;
+        }
+        final String tableDbName;
+        if (behaviorCommand.isOutsideSql() || behaviorCommand.isProcedure()) { // might update other tables
+            tableDbName = null;
+            handler.clearAllEntityCache();
+        } else { // entity or query update of the table
+            tableDbName = behaviorCommand.getTableDbName();
+            if (handler.findEntityCache(tableDbName) == null) { // not cached table
+                return;
+            }
+            handler.clearEntityCache(tableDbName);
+        }
+        reserveEntityCacheClearAfterTransaction(handler, tableDbName);
+    }
+
+    /**
+     * Reserve clearing the entity cache again after the transaction on the thread is completed,
+     * because other threads can cache old values until the update is committed.
+     * @param handler The handler of entity cache. (NotNull)
+     * @param tableDbName The DB name of updated table. (NullAllowed: if null, all tables)
+     */
+    protected void reserveEntityCacheClearAfterTransaction(final EntityCacheHandler handler, String tableDbName) {
+        final String[] tableNames = tableDbName != null ? new String[] { tableDbName } : null;
+        reserveCacheClearAfterTransaction(_entityCacheClearReservationLocal, tableNames, new ReservedCacheClearer() {
+            public void clear(Set<String> tableNameSet) {
+                if (tableNameSet.contains(null)) {
+                    handler.clearAllEntityCache();
+                } else {
+                    for (String tableName : tableNameSet) {
+                        handler.clearEntityCache(tableName);
+                    }
+                }
+            }
+        });
+    }
+
+    protected <RESULT> void clearQueryResultCacheIfNeeds(BehaviorCommand<RESULT> behaviorCommand) {
+        if (_invokerAssistant == null || behaviorCommand.isSelect() || behaviorCommand.isInitializeOnly()) {
+            return;
+        }
+        final QueryResultCacheHandler handler = getQueryResultCacheHandler();
+        if (handler == null || handler.isEmpty()) {
+            return;
+        }
+        final String[] tableNames;
+        if (behaviorCommand.isOutsideSql() || behaviorCommand.isProcedure()) { // might update other tables
+            tableNames = null;
+            handler.clearAllQueryResultCache();
+        } else { // entity or query update of the table, cached results of other tables might refer to it
+            final String tableDbName = behaviorCommand.getTableDbName();
+            final DBMeta dbmeta = _invokerAssistant.assistDBMetaProvider().provideDBMeta(tableDbName);
+            if (dbmeta != null) { // SQL name might be different from DB name, e.g. schema-prefixed
+                tableNames = new String[] { tableDbName, dbmeta.getTableSqlName().toString() };
+            } else { // basically no way
+                tableNames = new String[] { tableDbName };
+            }
+            handler.clearQueryResultCache(tableNames);
+        }
+        reserveQueryResultCacheClearAfterTransaction(handler, tableNames);
+    }
+
+    /**
+     * Reserve clearing the query result cache again after the transaction on the thread is completed,
+     * because other threads can cache old results until the update is committed.
+     * @param handler The handler of query result cache. (NotNull)
+     * @param tableNames The names of updated table, e.g. DB name and SQL name. (NullAllowed: if null, all tables)
+     */
+    protected void reserveQueryResultCacheClearAfterTransaction(final QueryResultCacheHandler handler, String[] tableNames) {
+        reserveCacheClearAfterTransaction(_queryResultCacheClearReservationLocal, tableNames, new ReservedCacheClearer() {
+            public void clear(Set<String> tableNameSet) {
+                if (tableNameSet.contains(null)) {
+                    handler.clearAllQueryResultCache();
+                } else {
+                    handler.clearQueryResultCache(tableNameSet.toArray(new String[tableNameSet.size()]));
+                }
+            }
+        });
+    }
+
+    /**
+     * Reserve clearing the cache again after the transaction on the thread is completed. <br />
+     * The callback is registered once per transaction, and updated tables are added to its reservation.
+     * @param reservationLocal The thread-local reservation of the cache. (NotNull)
+     * @param tableNames The names of updated table. (NullAllowed: if null, all tables)
+     * @param clearer The clearer of the cache called with reserved table names. (NotNull)
+     */
+    protected void reserveCacheClearAfterTransaction(final ThreadLocal<Set<String>> reservationLocal, String[] tableNames,
+            final ReservedCacheClearer clearer) {
+        final TransactionSynchronizer synchronizer = getTransactionSynchronizer();
+        if (synchronizer == null || !synchronizer.isInTransaction()) { // no transaction or unknown
+            return;
+        }
+        final Set<String> reservedSet = reservationLocal.get();
+        if (reservedSet != null) { // already registered in the transaction
+            addReservedTableName(reservedSet, tableNames);
+            return;
+        }
+        final Set<String> tableNameSet = new HashSet<String>();
+        addReservedTableName(tableNameSet, tableNames);
+        synchronizer.registerCompletionCallback(new TransactionCompletionCallback() {
+            public void afterCompletion(boolean committed) { // also rollback for safety
+                reservationLocal.remove();
+                clearer.clear(tableNameSet);
+            }
+        });
+        reservationLocal.set(tableNameSet); // after registration succeeds
+    }
+
+    protected void addReservedTableName(Set<String> tableNameSet, String[] tableNames) {
+        if (tableNames != null) {
+            for (String tableName : tableNames) {
+                tableNameSet.add(tableName);
+            }
+        } else { // all tables
+            tableNameSet.add(null);
+        }
+    }
+
+    /**
+     * The clearer of the cache for reserved table names.
+     */
+    protected static interface ReservedCacheClearer {
+
+        /**
+         * Clear the cache of the tables.
+         * @param tableNameSet The set of reserved table names. (NotNull: contains null if all tables)
+         */
+        void clear(Set<String> tableNameSet);
+    }
+
+    protected <RESULT> CommandMetricsRecorder beginCommandMetricsIfNeeds(BehaviorCommand<RESULT> behaviorCommand) {
+        if (_invokerAssistant == null || behaviorCommand.isInitializeOnly()) {
+            return null;
+        }
+        return getCommandMetricsRegistry() != null ? CommandMetricsRecorder.beginOnThread() : null;
+    }
+
+    protected <RESULT> void recordCommandMetrics(BehaviorCommand<RESULT> behaviorCommand, CommandMetricsRecorder metricsRecorder,
+            RESULT result, RuntimeException cause) {
+        try {
+            metricsRecorder.finish();
+            final CommandMetricsRegistry registry = getCommandMetricsRegistry();
+            if (registry != null) { // basically true
+                registry.record(behaviorCommand, metricsRecorder, result, cause != null);
+            }
+        } finally {
+            CommandMetricsRecorder.endOnThread(metricsRecorder);
+        }
+    }
+
     protected <RESULT> void processBeforeHook(BehaviorCommand<RESULT> behaviorCommand) {
         if (!CallbackContext.isExistBehaviorCommandHookOnThread()) {
             return;
@@ -222,7 +449,15 @@ public class BehaviorCommandInvoker {
             return null; // The end! (Initialize Only)
         }
         behaviorCommand.beforeGettingSqlExecution();
+        final CommandMetricsRecorder metricsRecorder = CommandMetricsRecorder.findRecorderOnThread(); // null if no metrics
+        if (metricsRecorder != null) {
+            metricsRecorder.beginLookup();
+        }
         SqlExecution execution = findSqlExecution(behaviorCommand);
+        if (metricsRecorder != null) {
+            metricsRecorder.endLookup();
+        }
+        setupQueryResultCacheResourceIfNeeds(behaviorCommand);
 
         // - - - - - - - - - - -
         // Execute SQL Execution
@@ -333,6 +568,49 @@ public class BehaviorCommandInvoker {
         }); // as dummy
     }
 
+    // ===================================================================================
+    //                                                                  Query Result Cache
+    //                                                                  ==================
+    /**
+     * Set up the resource of query result cache for SQL handler if the select can use it. <br />
+     * ConditionBean selects of registered tables and outside-SQL selects declared with referred tables can use it.
+     * (cursor selects cannot because their results are not returned) <br />
+     * It is not used in transaction because of uncommitted updates and locking selects.
+     * @param behaviorCommand The command of behavior, which is after getting SQL execution. (NotNull)
+     */
+    protected <RESULT> void setupQueryResultCacheResourceIfNeeds(BehaviorCommand<RESULT> behaviorCommand) {
+        if (!behaviorCommand.isSelect() || behaviorCommand.isSelectCursor() || behaviorCommand.isProcedure()) {
+            return;
+        }
+        if (!behaviorCommand.isConditionBean() && !behaviorCommand.isOutsideSql()) { // e.g. sequence
+            return;
+        }
+        final QueryResultCacheHandler handler = getQueryResultCacheHandler();
+        if (handler == null || handler.isEmpty()) {
+            return;
+        }
+        final QueryResultCache queryResultCache = handler.findQueryResultCache(behaviorCommand.getTableDbName());
+        if (queryResultCache == null) {
+            return;
+        }
+        if (isInTransactionOnThread()) { // without getting a connection
+            return;
+        }
+        final Set<String> declaredTableSet;
+        if (behaviorCommand.isOutsideSql()) {
+            declaredTableSet = handler.findOutsideSqlTableSet(behaviorCommand.getOutsideSqlPath());
+            if (declaredTableSet == null) { // unknown referred tables
+                return;
+            }
+        } else { // tables in ConditionBean (e.g. joined tables) are extracted from executed SQL
+            declaredTableSet = null;
+        }
+        final String resultType = behaviorCommand.buildSqlExecutionKey();
+        final QueryResultCacheResource resource =
+                new QueryResultCacheResource(handler, queryResultCache, behaviorCommand, resultType, declaredTableSet);
+        InternalMapContext.setQueryResultCacheResource(resource);
+    }
+
     // ===================================================================================
     //                                                                       SQL Execution
     //                                                                       =============
@@ -391,29 +669,76 @@ public class BehaviorCommandInvoker {
      * @return The SQL-execution that may be created then. (NotNull)
      */
     protected SqlExecution getOrCreateSqlExecution(String key, SqlExecutionCreator executionCreator) {
-        SqlExecution execution = null;
-        synchronized (_executionCacheLock) {
-            execution = getSqlExecution(key);
-            if (execution != null) {
-                // previous thread might have initialized
-                // or reading might failed by same-time writing
-                return execution;
-            }
-            if (isLogEnabled()) {
-                log("...Initializing sqlExecution for the key '" + key + "'");
-            }
-            execution = executionCreator.createSqlExecution();
-            _executionMap.put(key, execution);
+        SqlExecution execution = getSqlExecution(key);
+        if (execution != null) {
+            // previous thread might have initialized
+            return execution;
         }
-        if (execution == null) {
-            String msg = "sqlExecutionCreator.createSqlCommand() should not return null:";
-            msg = msg + " sqlExecutionCreator=" + executionCreator + " key=" + key;
-            throw new IllegalStateException(msg);
+        final FutureTask<SqlExecution> myTask = createSqlExecutionCreationTask(key, executionCreator);
+        FutureTask<SqlExecution> task = _executionCreationMap.putIfAbsent(key, myTask);
+        if (task == null) { // means this thread should create it
+            task = myTask;
+            try {
+                myTask.run(); // other threads for the key wait for the task
+            } finally {
+                _executionCreationMap.remove(key, myTask); // retry-able if failure
+            }
         }
+        execution = waitForSqlExecutionCreation(key, task);
         toBeDisposable(); // for HotDeploy
         return execution;
     }
 
+    protected FutureTask<SqlExecution> createSqlExecutionCreationTask(final String key, final SqlExecutionCreator executionCreator) {
+        return new FutureTask<SqlExecution>(new Callable<SqlExecution>() {
+            public SqlExecution call() {
+                final SqlExecution existing = getSqlExecution(key);
+                if (existing != null) { // created just before registration of task
+                    return existing;
+                }
+                if (isLogEnabled()) {
+                    log("...Initializing sqlExecution for the key '" + key + "'");
+                }
+                final long before = systemTime();
+                final SqlExecution execution = executionCreator.createSqlExecution();
+                if (execution == null) {
+                    String msg = "sqlExecutionCreator.createSqlCommand() should not return null:";
+                    msg = msg + " sqlExecutionCreator=" + executionCreator + " key=" + key;
+                    throw new IllegalStateException(msg);
+                }
+                _executionCreationCostMap.put(key, systemTime() - before);
+                _executionMap.put(key, execution);
+                return execution;
+            }
+        });
+    }
+
+    protected SqlExecution waitForSqlExecutionCreation(String key, FutureTask<SqlExecution> task) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return task.get();
+                } catch (InterruptedException e) {
+                    interrupted = true; // wait for the creation anyway, restored later
+                } catch (ExecutionException e) {
+                    final Throwable cause = e.getCause();
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    } else if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    String msg = "Failed to create the SQL execution for the key: " + key;
+                    throw new IllegalStateException(msg, cause);
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
     protected Object executeSql(SqlExecution execution, Object[] args) {
         return execution.execute(args);
     }
@@ -430,14 +755,23 @@ public class BehaviorCommandInvoker {
     //                                                                      Log Invocation
     //                                                                      ==============
     protected <RESULT> void logInvocation(BehaviorCommand<RESULT> behaviorCommand, boolean saveOnly) {
-        final StackTraceElement[] stackTrace = new Exception().getStackTrace();
-        final BehaviorInvokeNameResult behaviorInvokeNameResult = extractBehaviorInvoke(behaviorCommand, stackTrace);
-        saveBehaviorInvokeName(behaviorInvokeNameResult);
-        final BehaviorInvokePathResult invokePathResult = buildInvokePath(behaviorCommand, stackTrace, behaviorInvokeNameResult);
-        if (invokePathResult != null) {
-            saveClientInvokeName(invokePathResult);
-            saveByPassInvokeName(invokePathResult);
-            saveInvokePath(invokePathResult);
+        final BehaviorInvokeNameResult behaviorInvokeNameResult;
+        final BehaviorInvokePathResult invokePathResult;
+        if (saveOnly || isInvocationSampled()) { // mainly here
+            final StackTraceElement[] stackTrace = new Exception().getStackTrace();
+            final BehaviorInvokeResult invokeResult = findOrExtractInvokeResult(behaviorCommand, stackTrace);
+            behaviorInvokeNameResult = invokeResult.getInvokeNameResult();
+            saveBehaviorInvokeName(behaviorInvokeNameResult);
+            invokePathResult = invokeResult.getInvokePathResult();
+            if (invokePathResult != null) {
+                saveClientInvokeName(invokePathResult);
+                saveByPassInvokeName(invokePathResult);
+                saveInvokePath(invokePathResult);
+            }
+        } else { // skipped by sampling, the invoke path is lazily prepared by provider if it needs
+            behaviorInvokeNameResult = createUnsampledInvokeNameResult(behaviorCommand);
+            saveBehaviorInvokeName(behaviorInvokeNameResult);
+            invokePathResult = null;
         }
 
         if (saveOnly) { // e.g. log level is INFO and invocation path ready
@@ -467,6 +801,65 @@ public class BehaviorCommandInvoker {
         }
     }
 
+    // -----------------------------------------------------
+    //                                     Invocation Sample
+    //                                     -----------------
+    protected boolean isInvocationSampled() {
+        final int interval = ResourceContext.getInvokePathSamplingInterval();
+        if (interval <= 1) { // mainly here
+            return true;
+        }
+        return _invocationLogCount.getAndIncrement() % interval == 0;
+    }
+
+    protected <RESULT> BehaviorInvokeNameResult createUnsampledInvokeNameResult(BehaviorCommand<RESULT> behaviorCommand) {
+        final DBMeta dbmeta = ResourceContext.provideDBMeta(behaviorCommand.getTableDbName());
+        if (dbmeta == null) { // basically no way, only direct invoking
+            return createUnknownInvokeNameResult();
+        }
+        final String behaviorName = Srl.substringLastRear(dbmeta.getBehaviorTypeName(), ".");
+        final String expNoMethodSuffix = behaviorName + "." + behaviorCommand.getCommandName();
+        return new BehaviorInvokeNameResult(expNoMethodSuffix + "()", expNoMethodSuffix, null, null);
+    }
+
+    // -----------------------------------------------------
+    //                                   Invoke Result Cache
+    //                                   -------------------
+    protected <RESULT> BehaviorInvokeResult findOrExtractInvokeResult(BehaviorCommand<RESULT> behaviorCommand,
+            StackTraceElement[] stackTrace) {
+        if (!ResourceContext.isUseInvokePathCache()) {
+            return extractInvokeResult(behaviorCommand, stackTrace);
+        }
+        final String commandKey = buildInvokeCommandKey(behaviorCommand);
+        BehaviorInvokeResult invokeResult = _behaviorInvokeCache.findResult(commandKey, stackTrace);
+        if (invokeResult == null) { // first time for the caller frames
+            invokeResult = extractInvokeResult(behaviorCommand, stackTrace);
+            _behaviorInvokeCache.registerResult(commandKey, stackTrace, invokeResult);
+        }
+        return invokeResult;
+    }
+
+    protected <RESULT> BehaviorInvokeResult extractInvokeResult(BehaviorCommand<RESULT> behaviorCommand, StackTraceElement[] stackTrace) {
+        final BehaviorInvokeNameResult behaviorInvokeNameResult = extractBehaviorInvoke(behaviorCommand, stackTrace);
+        final BehaviorInvokePathResult invokePathResult = buildInvokePath(behaviorCommand, stackTrace, behaviorInvokeNameResult);
+        return new BehaviorInvokeResult(behaviorInvokeNameResult, invokePathResult);
+    }
+
+    protected <RESULT> String buildInvokeCommandKey(BehaviorCommand<RESULT> behaviorCommand) {
+        // elements used by the extractors except stack trace
+        final StringBuilder sb = new StringBuilder();
+        sb.append(behaviorCommand.getTableDbName()).append(".").append(behaviorCommand.getCommandName());
+        if (behaviorCommand.isOutsideSql()) {
+            final OutsideSqlContext outsideSqlContext = getOutsideSqlContext();
+            if (outsideSqlContext != null) {
+                final Class<?> resultType = outsideSqlContext.getResultType();
+                sb.append(":").append(resultType != null ? resultType.getName() : null);
+                sb.append(":").append(outsideSqlContext.isAutoPagingLogging());
+            }
+        }
+        return sb.toString();
+    }
+
     // -----------------------------------------------------
     //                                Extract BehaviorInvoke
     //                                ----------------------
@@ -702,6 +1095,34 @@ public class BehaviorCommandInvoker {
         return factory.createBasic(this, tableDbName, dbdef, config, option); // for an entry instance
     }
 
+    /**
+     * Warm up the outside-SQL, reading its SQL file and registering the analyzed node to the cache. <br />
+     * The SQL execution itself is not created here because its key needs the parameter-bean.
+     * The node is analyzed as select so it is used by select executions if the node cache is enabled.
+     * @param tableDbName The DB name of table for behavior query path. (NotNull)
+     * @param outsideSqlPath The path of outside-SQL, e.g. behavior query path. (NotNull)
+     * @exception org.seasar.dbflute.exception.OutsideSqlNotFoundException When the SQL is not found.
+     */
+    public void warmUpOutsideSql(String tableDbName, String outsideSqlPath) {
+        assertInvokerAssistant();
+        final String outsideSqlPackage = _invokerAssistant.assistResourceParameter().getOutsideSqlPackage();
+        final OutsideSqlContext context = new OutsideSqlContext(_invokerAssistant.assistDBMetaProvider(), outsideSqlPackage);
+        context.setTableDbName(tableDbName);
+        context.setOutsideSqlPath(outsideSqlPath);
+        context.setupBehaviorQueryPathIfNeeds();
+        final String productName = _invokerAssistant.assistCurrentDBDef().code();
+        final String dbmsSuffix = productName != null ? "_" + productName.toLowerCase() : "";
+        final String sql = context.readFilteredOutsideSql(getSqlFileEncoding(), dbmsSuffix);
+        final AnalyzedNodeCache nodeCache = _invokerAssistant.assistAnalyzedNodeCache();
+        if (nodeCache == null) { // only reading and analyzing (e.g. class loading, file cache)
+            _invokerAssistant.assistSqlAnalyzerFactory().create(sql, true).analyze();
+            return;
+        }
+        if (nodeCache.findNode(sql) == null) {
+            nodeCache.registerNode(sql, _invokerAssistant.assistSqlAnalyzerFactory().create(sql, true).analyze());
+        }
+    }
+
     // ===================================================================================
     //                                                                 SQLException Digger
     //                                                                 ===================
@@ -724,6 +1145,95 @@ public class BehaviorCommandInvoker {
         return _invokerAssistant.assistSequenceCacheHandler();
     }
 
+    /**
+     * Get the handler of entity cache.
+     * @return The handler from resource parameter. (NullAllowed: if null, no entity cache)
+     */
+    public EntityCacheHandler getEntityCacheHandler() {
+        final ResourceParameter parameter = _invokerAssistant.assistResourceParameter();
+        return parameter != null ? parameter.getEntityCacheHandler() : null;
+    }
+
+    /**
+     * Get the handler of query result cache.
+     * @return The handler from resource parameter. (NullAllowed: if null, no query result cache)
+     */
+    public QueryResultCacheHandler getQueryResultCacheHandler() {
+        final ResourceParameter parameter = _invokerAssistant.assistResourceParameter();
+        return parameter != null ? parameter.getQueryResultCacheHandler() : null;
+    }
+
+    /**
+     * Get the registry of command metrics.
+     * @return The registry from resource parameter. (NullAllowed: if null, no metrics)
+     */
+    public CommandMetricsRegistry getCommandMetricsRegistry() {
+        final ResourceParameter parameter = _invokerAssistant.assistResourceParameter();
+        return parameter != null ? parameter.getCommandMetricsRegistry() : null;
+    }
+
+    // ===================================================================================
+    //                                                                        Async Select
+    //                                                                        ============
+    /**
+     * Get the executor service for asynchronous select of behavior.
+     * @return The executor service from resource parameter. (NullAllowed: if null, selected in caller thread)
+     */
+    public ExecutorService getAsyncSelectExecutor() {
+        final ResourceParameter parameter = _invokerAssistant.assistResourceParameter();
+        return parameter != null ? parameter.getAsyncSelectExecutor() : null;
+    }
+
+    // ===================================================================================
+    //                                                                    Concurrent Count
+    //                                                                    ================
+    /**
+     * Get the executor service for concurrent count of paging.
+     * @return The executor service from resource parameter. (NullAllowed: if null, no concurrent count)
+     */
+    public ExecutorService getPagingCountExecutor() {
+        final ResourceParameter parameter = _invokerAssistant.assistResourceParameter();
+        return parameter != null ? parameter.getPagingCountExecutor() : null;
+    }
+
+    // ===================================================================================
+    //                                                                         Transaction
+    //                                                                         ===========
+    /**
+     * Get the synchronizer with the transaction of application.
+     * @return The synchronizer from resource parameter. (NullAllowed: if null, the state of transaction is unknown)
+     */
+    public TransactionSynchronizer getTransactionSynchronizer() {
+        final ResourceParameter parameter = _invokerAssistant.assistResourceParameter();
+        return parameter != null ? parameter.getTransactionSynchronizer() : null;
+    }
+
+    /**
+     * Is the current thread in transaction? <br />
+     * It is asked to the transaction synchronizer, or determined by auto-commit of the connection
+     * already held by manual thread data source, so no connection is got from the data source here. <br />
+     * It is treated as in transaction if unknown, so the features reading out of transaction
+     * (e.g. concurrent count, parallel chunk, entity cache, query result cache) need the transaction synchronizer.
+     * @return The determination, true or false. (true if unknown)
+     */
+    public boolean isInTransactionOnThread() {
+        final TransactionSynchronizer synchronizer = getTransactionSynchronizer();
+        if (synchronizer != null) {
+            return synchronizer.isInTransaction();
+        }
+        final ManualThreadDataSourceHandler handler = ManualThreadDataSourceHandler.getDataSourceHandler();
+        final Connection conn = handler != null ? handler.getHeldConnection() : null;
+        if (conn == null) {
+            return true; // unknown so as safety side
+        }
+        try {
+            return !conn.getAutoCommit();
+        } catch (SQLException e) {
+            String msg = "Failed to get auto-commit of the connection of manual thread: " + conn;
+            throw new SQLFailureException(msg, e);
+        }
+    }
+
     // ===================================================================================
     //                                                                   Exception Thrower
     //                                                                   =================
@@ -18,6 +18,7 @@ package org.seasar.dbflute.bhv.core;
 import javax.sql.DataSource;
 
 import org.seasar.dbflute.DBDef;
+import org.seasar.dbflute.bhv.core.supplement.AnalyzedNodeCache;
 import org.seasar.dbflute.bhv.core.supplement.SequenceCacheHandler;
 import org.seasar.dbflute.cbean.cipher.GearedCipherManager;
 import org.seasar.dbflute.cbean.sqlclause.SqlClauseCreator;
@@ -85,6 +86,13 @@ public interface InvokerAssistant {
      */
     SqlAnalyzerFactory assistSqlAnalyzerFactory();
 
+    /**
+     * Assist the cache of analyzed nodes for condition-bean. <br />
+     * The generated two-way SQL of condition-bean is analyzed only once per its text.
+     * @return The instance of cache. (NullAllowed: if null, analyzed every time)
+     */
+    AnalyzedNodeCache assistAnalyzedNodeCache();
+
     /**
      * @param tableDbName The DB name of table to be related to. (NotNull)
      * @return The first option of outside-SQL. (NullAllowed: if null, lazy-loaded)
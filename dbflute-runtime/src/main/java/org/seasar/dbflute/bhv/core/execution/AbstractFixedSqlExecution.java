@@ -19,7 +19,9 @@ import java.util.Map;
 
 import javax.sql.DataSource;
 
+import org.seasar.dbflute.bhv.core.supplement.AnalyzedNodeCache;
 import org.seasar.dbflute.jdbc.StatementFactory;
+import org.seasar.dbflute.resource.ResourceContext;
 import org.seasar.dbflute.twowaysql.node.Node;
 
 /**
@@ -47,7 +49,25 @@ public abstract class AbstractFixedSqlExecution extends AbstractFixedArgExecutio
             String twoWaySql) {
         super(dataSource, statementFactory, argNameTypeMap);
         assertObjectNotNull("twoWaySql", twoWaySql);
-        _rootNode = analyzeTwoWaySql(twoWaySql);
+        _rootNode = analyzeFixedTwoWaySql(twoWaySql);
+    }
+
+    protected Node analyzeFixedTwoWaySql(String twoWaySql) {
+        // the cached nodes are analyzed as select (block null parameter)
+        final AnalyzedNodeCache nodeCache = isBlockNullParameter() ? getAnalyzedNodeCache() : null;
+        if (nodeCache == null) {
+            return analyzeTwoWaySql(twoWaySql);
+        }
+        Node rootNode = nodeCache.findNode(twoWaySql);
+        if (rootNode == null) { // not warmed up or evicted
+            rootNode = analyzeTwoWaySql(twoWaySql);
+            nodeCache.registerNode(twoWaySql, rootNode);
+        }
+        return rootNode;
+    }
+
+    protected AnalyzedNodeCache getAnalyzedNodeCache() {
+        return ResourceContext.analyzedNodeCache();
     }
 
     // ===================================================================================
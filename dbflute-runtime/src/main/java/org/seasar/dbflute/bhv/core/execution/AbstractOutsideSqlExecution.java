@@ -26,6 +26,8 @@ import org.seasar.dbflute.jdbc.StatementFactory;
 import org.seasar.dbflute.outsidesql.OutsideSqlFilter;
 import org.seasar.dbflute.outsidesql.OutsideSqlFilter.ExecutionFilterType;
 import org.seasar.dbflute.resource.ResourceContext;
+import org.seasar.dbflute.twowaysql.SqlAnalyzer;
+import org.seasar.dbflute.twowaysql.node.Node;
 import org.seasar.dbflute.util.Srl;
 
 /**
@@ -42,6 +44,8 @@ public abstract class AbstractOutsideSqlExecution extends AbstractFixedSqlExecut
     protected boolean _removeLineComment;
     protected boolean _formatSql;
     protected OutsideSqlFilter _outsideSqlFilter;
+    protected final String _twoWaySql; // for static filter
+    protected volatile Node _staticFilteredRootNode; // lazy-loaded because filter options are set after construction
 
     // ===================================================================================
     //                                                                         Constructor
@@ -56,6 +60,43 @@ public abstract class AbstractOutsideSqlExecution extends AbstractFixedSqlExecut
     public AbstractOutsideSqlExecution(DataSource dataSource, StatementFactory statementFactory, Map<String, Class<?>> argNameTypeMap,
             String twoWaySql) {
         super(dataSource, statementFactory, argNameTypeMap, twoWaySql);
+        _twoWaySql = twoWaySql;
+    }
+
+    // ===================================================================================
+    //                                                                            Resource
+    //                                                                            ========
+    @Override
+    protected Node getRootNode(Object[] args) {
+        if (!isStaticFilterTarget()) {
+            return super.getRootNode(args);
+        }
+        Node rootNode = _staticFilteredRootNode;
+        if (rootNode == null) { // first time (no problem if duplicate analysis)
+            rootNode = analyzeStaticFilteredTwoWaySql(_twoWaySql);
+            _staticFilteredRootNode = rootNode;
+        }
+        return rootNode;
+    }
+
+    protected boolean isStaticFilterTarget() {
+        // outside-SQL filter should receive SQL with comments so static filter is not used
+        return (_removeBlockComment || _removeLineComment || _formatSql) && _outsideSqlFilter == null;
+    }
+
+    protected Node analyzeStaticFilteredTwoWaySql(String twoWaySql) {
+        // comments in static SQL parts are removed here once, not for each execution
+        final SqlAnalyzer analyzer = createSqlAnalyzer(twoWaySql);
+        if (_removeBlockComment) {
+            analyzer.stripStaticBlockComment();
+        }
+        if (_removeLineComment) {
+            analyzer.stripStaticLineComment();
+        }
+        if (_formatSql) {
+            analyzer.stripStaticEmptyLine();
+        }
+        return analyzer.analyze();
     }
 
     // ===================================================================================
@@ -65,19 +106,39 @@ public abstract class AbstractOutsideSqlExecution extends AbstractFixedSqlExecut
     protected String filterExecutedSql(String executedSql) {
         executedSql = super.filterExecutedSql(executedSql);
         executedSql = doFilterExecutedSqlByOutsideSqlFilter(executedSql);
-        if (_removeBlockComment) {
+        // static parts may be already filtered so it checks remaining before scanning with copy
+        if (_removeBlockComment && executedSql.contains("/*")) {
             executedSql = Srl.removeBlockComment(executedSql);
         }
-        if (_removeLineComment) {
+        if (_removeLineComment && (executedSql.contains("--") || executedSql.contains("\r"))) {
             executedSql = Srl.removeLineComment(executedSql);
         }
-        if (_formatSql) {
+        if (_formatSql && containsEmptyLineOrCR(executedSql)) {
             executedSql = Srl.removeEmptyLine(executedSql);
         }
         executedSql = doFilterExecutedSqlByCallbackFilter(executedSql);
         return executedSql;
     }
 
+    protected boolean containsEmptyLineOrCR(String executedSql) {
+        boolean emptyLine = true; // current line is empty so far
+        final int length = executedSql.length();
+        for (int i = 0; i < length; i++) {
+            final char ch = executedSql.charAt(i);
+            if (ch == '\n') {
+                if (emptyLine) {
+                    return true;
+                }
+                emptyLine = true;
+            } else if (ch == '\r') {
+                return true;
+            } else if (ch > ' ') { // same as trim()
+                emptyLine = false;
+            }
+        }
+        return emptyLine; // last line
+    }
+
     protected String doFilterExecutedSqlByOutsideSqlFilter(String executedSql) {
         if (_outsideSqlFilter != null) {
             final ExecutionFilterType filterType = getOutsideSqlExecutionFilterType();
@@ -25,6 +25,7 @@ import org.seasar.dbflute.CallbackContext;
 import org.seasar.dbflute.Entity;
 import org.seasar.dbflute.bhv.SqlStringFilter;
 import org.seasar.dbflute.bhv.core.BehaviorCommandMeta;
+import org.seasar.dbflute.bhv.core.supplement.AnalyzedNodeCache;
 import org.seasar.dbflute.cbean.ConditionBean;
 import org.seasar.dbflute.cbean.ckey.ConditionKey;
 import org.seasar.dbflute.cbean.sqlclause.SqlClause;
@@ -86,7 +87,21 @@ public class SelectCBExecution extends AbstractFixedArgExecution {
 
     @Override
     protected Node getRootNode(Object[] args) {
-        return analyzeTwoWaySql(extractTwoWaySql(args)); // dynamic analysis
+        final String twoWaySql = extractTwoWaySql(args);
+        final AnalyzedNodeCache nodeCache = getAnalyzedNodeCache();
+        if (nodeCache == null) {
+            return analyzeTwoWaySql(twoWaySql); // dynamic analysis
+        }
+        Node rootNode = nodeCache.findNode(twoWaySql);
+        if (rootNode == null) { // first time for the SQL (or already evicted)
+            rootNode = analyzeTwoWaySql(twoWaySql);
+            nodeCache.registerNode(twoWaySql, rootNode);
+        }
+        return rootNode;
+    }
+
+    protected AnalyzedNodeCache getAnalyzedNodeCache() {
+        return ResourceContext.analyzedNodeCache();
     }
 
     protected String extractTwoWaySql(Object[] args) {
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.bhv.core.supplement;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.seasar.dbflute.twowaysql.node.Node;
+
+/**
+ * The cache of analyzed nodes keyed by two-way SQL. <br />
+ * The nodes are state-less so they can be shared between threads. <br />
+ * This is bounded (LRU in each segment) and segmented to reduce lock contention.
+ * @author jflute
+ * @since 1.0.5N
+ */
+public class AnalyzedNodeCache {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    public static final int DEFAULT_MAX_SIZE = 1000;
+    protected static final int SEGMENT_COUNT = 16; // should be power of two
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final int _maxSize;
+    protected final NodeSegment[] _segments;
+    protected final AtomicLong _hitCount = new AtomicLong();
+    protected final AtomicLong _missCount = new AtomicLong();
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * Constructor with default size.
+     */
+    public AnalyzedNodeCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Constructor.
+     * @param maxSize The max size of cached nodes. (NotMinus, NotZero)
+     */
+    public AnalyzedNodeCache(int maxSize) {
+        if (maxSize <= 0) {
+            String msg = "The argument 'maxSize' should be positive: " + maxSize;
+            throw new IllegalArgumentException(msg);
+        }
+        _maxSize = maxSize;
+        _segments = new NodeSegment[SEGMENT_COUNT];
+        final int segmentSize = Math.max(1, (maxSize + SEGMENT_COUNT - 1) / SEGMENT_COUNT);
+        for (int i = 0; i < _segments.length; i++) {
+            _segments[i] = new NodeSegment(segmentSize);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Handling
+    //                                                                            ========
+    /**
+     * Find the analyzed node by the two-way SQL.
+     * @param twoWaySql The two-way SQL as key. (NotNull)
+     * @return The cached node. (NullAllowed: if null, not found)
+     */
+    public Node findNode(String twoWaySql) {
+        final NodeSegment segment = segmentFor(twoWaySql);
+        final Node node;
+        synchronized (segment) {
+            node = segment.get(twoWaySql);
+        }
+        if (node != null) {
+            _hitCount.incrementAndGet();
+        } else {
+            _missCount.incrementAndGet();
+        }
+        return node;
+    }
+
+    /**
+     * Register the analyzed node with the two-way SQL. <br />
+     * The eldest node in the segment is removed if the segment is full.
+     * @param twoWaySql The two-way SQL as key. (NotNull)
+     * @param node The analyzed node for the SQL. (NotNull)
+     */
+    public void registerNode(String twoWaySql, Node node) {
+        final NodeSegment segment = segmentFor(twoWaySql);
+        synchronized (segment) {
+            segment.put(twoWaySql, node);
+        }
+    }
+
+    /**
+     * Clear all cached nodes and statistics.
+     */
+    public void clear() {
+        for (NodeSegment segment : _segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+        _hitCount.set(0);
+        _missCount.set(0);
+    }
+
+    protected NodeSegment segmentFor(String twoWaySql) {
+        int hash = twoWaySql.hashCode();
+        hash ^= (hash >>> 16); // spread higher bits
+        return _segments[hash & (SEGMENT_COUNT - 1)];
+    }
+
+    protected static class NodeSegment extends LinkedHashMap<String, Node> {
+
+        private static final long serialVersionUID = 1L;
+
+        protected final int _segmentSize;
+
+        public NodeSegment(int segmentSize) {
+            super(16, 0.75f, true); // access order for LRU
+            _segmentSize = segmentSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Node> eldest) {
+            return size() > _segmentSize;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                          Statistics
+    //                                                                          ==========
+    public int getCachedSize() {
+        int size = 0;
+        for (NodeSegment segment : _segments) {
+            synchronized (segment) {
+                size = size + segment.size();
+            }
+        }
+        return size;
+    }
+
+    public long getHitCount() {
+        return _hitCount.get();
+    }
+
+    public long getMissCount() {
+        return _missCount.get();
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "{maxSize=" + _maxSize + ", cached=" + getCachedSize() + ", hit=" + getHitCount() + ", miss=" + getMissCount() + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int getMaxSize() {
+        return _maxSize;
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.bhv.core.supplement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.seasar.dbflute.bhv.BehaviorReadable;
+import org.seasar.dbflute.resource.DBFluteSystem;
+import org.seasar.dbflute.util.DfTraceViewUtil;
+
+/**
+ * The warm-upper of behaviors, which initializes SQL executions of condition-bean
+ * and analyzes outside-SQL files (behavior query paths) in advance. <br />
+ * The items are executed in parallel by the thread count, or in the caller thread if one.
+ * @author jflute
+ * @since 1.0.5N
+ */
+public class BehaviorWarmUpper {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** Log instance. */
+    private static final Log _log = LogFactory.getLog(BehaviorWarmUpper.class);
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final int _threadCount;
+    protected boolean _warmUpOutsideSql;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param threadCount The count of threads for warm-up. (NotMinus, NotZero: if one, in the caller thread)
+     */
+    public BehaviorWarmUpper(int threadCount) {
+        if (threadCount <= 0) {
+            String msg = "The argument 'threadCount' should be positive: " + threadCount;
+            throw new IllegalArgumentException(msg);
+        }
+        _threadCount = threadCount;
+    }
+
+    /**
+     * Warm up also outside-SQL defined as behavior query path. (default is only condition-bean)
+     * @return this. (NotNull)
+     */
+    public BehaviorWarmUpper warmUpOutsideSql() {
+        _warmUpOutsideSql = true;
+        return this;
+    }
+
+    // ===================================================================================
+    //                                                                             Warm Up
+    //                                                                             =======
+    /**
+     * Warm up the behaviors.
+     * @param behaviorList The list of behavior to be warmed up. (NotNull)
+     * @return The list of result for each item, ordered as registration. (NotNull)
+     */
+    public List<WarmUpResult> warmUp(List<BehaviorReadable> behaviorList) {
+        final List<WarmUpItem> itemList = prepareItemList(behaviorList);
+        final List<WarmUpResult> resultList;
+        if (_threadCount == 1 || itemList.size() <= 1) {
+            resultList = new ArrayList<WarmUpResult>(itemList.size());
+            for (WarmUpItem item : itemList) {
+                resultList.add(item.call());
+            }
+        } else {
+            resultList = doWarmUpParallel(itemList);
+        }
+        if (_log.isDebugEnabled()) {
+            for (WarmUpResult result : resultList) {
+                _log.debug(result.toString());
+            }
+        }
+        return resultList;
+    }
+
+    protected List<WarmUpItem> prepareItemList(List<BehaviorReadable> behaviorList) {
+        final List<WarmUpItem> itemList = new ArrayList<WarmUpItem>();
+        for (final BehaviorReadable bhv : behaviorList) {
+            itemList.add(new WarmUpItem(bhv.getTableDbName() + ".warmUpCommand()") {
+                @Override
+                protected void doWarmUp() {
+                    bhv.warmUpCommand();
+                }
+            });
+            if (_warmUpOutsideSql) {
+                for (final String path : bhv.extractBehaviorQueryPathList()) {
+                    itemList.add(new WarmUpItem(bhv.getTableDbName() + ":" + path) {
+                        @Override
+                        protected void doWarmUp() {
+                            bhv.warmUpOutsideSql(path);
+                        }
+                    });
+                }
+            }
+        }
+        return itemList;
+    }
+
+    protected List<WarmUpResult> doWarmUpParallel(List<WarmUpItem> itemList) {
+        final ExecutorService service = createExecutorService();
+        try {
+            final List<Future<WarmUpResult>> futureList = new ArrayList<Future<WarmUpResult>>(itemList.size());
+            for (WarmUpItem item : itemList) {
+                futureList.add(service.submit(item));
+            }
+            final List<WarmUpResult> resultList = new ArrayList<WarmUpResult>(itemList.size());
+            for (Future<WarmUpResult> future : futureList) {
+                resultList.add(waitForResult(future));
+            }
+            return resultList;
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    protected ExecutorService createExecutorService() {
+        final AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(_threadCount, new ThreadFactory() {
+            public Thread newThread(Runnable runnable) {
+                final Thread thread = new Thread(runnable, "dbflute-warmup-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true); // not to block shutdown
+                return thread;
+            }
+        });
+    }
+
+    protected WarmUpResult waitForResult(Future<WarmUpResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            String msg = "The warm-up was interrupted.";
+            throw new IllegalStateException(msg, e);
+        } catch (ExecutionException e) { // basically no way because the item catches it
+            String msg = "Failed to warm up the behavior.";
+            throw new IllegalStateException(msg, e.getCause());
+        }
+    }
+
+    // ===================================================================================
+    //                                                                        Warm-up Item
+    //                                                                        ============
+    protected static abstract class WarmUpItem implements Callable<WarmUpResult> {
+
+        protected final String _itemName;
+
+        public WarmUpItem(String itemName) {
+            _itemName = itemName;
+        }
+
+        public WarmUpResult call() {
+            final long before = DBFluteSystem.currentTimeMillis();
+            RuntimeException cause = null;
+            try {
+                doWarmUp();
+            } catch (RuntimeException e) { // warm-up failure is not fatal
+                if (_log.isDebugEnabled()) {
+                    _log.debug("Failed to warm up the item: " + _itemName, e);
+                }
+                cause = e;
+            }
+            final long after = DBFluteSystem.currentTimeMillis();
+            return new WarmUpResult(_itemName, after - before, cause);
+        }
+
+        protected abstract void doWarmUp();
+    }
+
+    /**
+     * The result of warm-up for one item.
+     */
+    public static class WarmUpResult {
+
+        protected final String _itemName;
+        protected final long _costMillis;
+        protected final RuntimeException _cause;
+
+        public WarmUpResult(String itemName, long costMillis, RuntimeException cause) {
+            _itemName = itemName;
+            _costMillis = costMillis;
+            _cause = cause;
+        }
+
+        public boolean isSuccess() {
+            return _cause == null;
+        }
+
+        @Override
+        public String toString() {
+            final String view = DfTraceViewUtil.convertToPerformanceView(_costMillis);
+            final String failure = _cause != null ? " *failed: " + _cause.getClass().getSimpleName() : "";
+            return "{" + _itemName + " [" + view + "]" + failure + "}";
+        }
+
+        public String getItemName() {
+            return _itemName;
+        }
+
+        public long getCostMillis() {
+            return _costMillis;
+        }
+
+        /**
+         * @return The exception of warm-up failure. (NullAllowed: if null, success)
+         */
+        public RuntimeException getCause() {
+            return _cause;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int getThreadCount() {
+        return _threadCount;
+    }
+
+    public boolean isWarmUpOutsideSql() {
+        return _warmUpOutsideSql;
+    }
+}
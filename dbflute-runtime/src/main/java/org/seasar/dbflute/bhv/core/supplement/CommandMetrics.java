@@ -0,0 +1,171 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.bhv.core.supplement;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The metrics of a kind of behavior command, e.g. selectList of MEMBER or an outside-SQL path. <br />
+ * It is lock-free and recording does not allocate any object.
+ * @author jflute
+ * @since 1.1.0 (2014/12/07 Sunday)
+ */
+public class CommandMetrics {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String _name;
+    protected final AtomicLong _invokeCount = new AtomicLong();
+    protected final AtomicLong _failureCount = new AtomicLong();
+    protected final AtomicLong _rowCount = new AtomicLong();
+    protected final AtomicLong _batchCount = new AtomicLong();
+    protected final AtomicLong _batchEntityCount = new AtomicLong();
+    protected final LatencyHistogram[] _histograms; // index is ordinal of phase
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param name The name of metrics, e.g. "MEMBER.selectList". (NotNull)
+     */
+    public CommandMetrics(String name) {
+        _name = name;
+        final CommandPhase[] phases = CommandPhase.values();
+        _histograms = new LatencyHistogram[phases.length];
+        for (int i = 0; i < phases.length; i++) {
+            _histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                              Record
+    //                                                                              ======
+    /**
+     * Record the command execution.
+     * @param recorder The recorder that has phase times of the command. (NotNull)
+     * @param result The result of the command, used for row count. (NullAllowed: e.g. failure)
+     * @param select Is the command select? (count of select is not row count)
+     * @param failure Does the command fail?
+     */
+    public void record(CommandMetricsRecorder recorder, Object result, boolean select, boolean failure) {
+        _invokeCount.incrementAndGet();
+        if (failure) {
+            _failureCount.incrementAndGet();
+        }
+        final LatencyHistogram[] histograms = _histograms;
+        histograms[CommandPhase.TOTAL.ordinal()].record(recorder.getPhaseNanos(CommandPhase.TOTAL));
+        histograms[CommandPhase.LOOKUP.ordinal()].record(recorder.getPhaseNanos(CommandPhase.LOOKUP));
+        histograms[CommandPhase.RENDER.ordinal()].record(recorder.getPhaseNanos(CommandPhase.RENDER));
+        histograms[CommandPhase.PREPARE.ordinal()].record(recorder.getPhaseNanos(CommandPhase.PREPARE));
+        histograms[CommandPhase.EXECUTE.ordinal()].record(recorder.getPhaseNanos(CommandPhase.EXECUTE));
+        histograms[CommandPhase.MAPPING.ordinal()].record(recorder.getPhaseNanos(CommandPhase.MAPPING));
+        if (result != null) {
+            recordRowCount(result, select);
+        }
+    }
+
+    protected void recordRowCount(Object result, boolean select) {
+        if (result instanceof Collection<?>) { // selected list
+            _rowCount.addAndGet(((Collection<?>) result).size());
+        } else if (result instanceof int[]) { // batch update
+            final int[] batchResult = (int[]) result;
+            _batchCount.incrementAndGet();
+            _batchEntityCount.addAndGet(batchResult.length);
+            long affected = 0;
+            for (int updated : batchResult) {
+                if (updated > 0) { // except e.g. SUCCESS_NO_INFO
+                    affected += updated;
+                }
+            }
+            _rowCount.addAndGet(affected);
+        } else if (!select && result instanceof Integer) { // updated count
+            final int updated = (Integer) result;
+            if (updated > 0) {
+                _rowCount.addAndGet(updated);
+            }
+        }
+    }
+
+    /**
+     * Clear the recorded metrics. (not atomic with recording)
+     */
+    public void clear() {
+        _invokeCount.set(0);
+        _failureCount.set(0);
+        _rowCount.set(0);
+        _batchCount.set(0);
+        _batchEntityCount.set(0);
+        for (LatencyHistogram histogram : _histograms) {
+            histogram.clear();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "{" + _name + ", invoke=" + getInvokeCount() + ", failure=" + getFailureCount() + ", row=" + getRowCount()
+                + ", total=" + getLatency(CommandPhase.TOTAL) + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getName() {
+        return _name;
+    }
+
+    public long getInvokeCount() {
+        return _invokeCount.get();
+    }
+
+    public long getFailureCount() {
+        return _failureCount.get();
+    }
+
+    /**
+     * @return The total count of rows, selected rows for list and affected rows for update. (NotMinus)
+     */
+    public long getRowCount() {
+        return _rowCount.get();
+    }
+
+    /**
+     * @return The count of batch executions. (NotMinus)
+     */
+    public long getBatchCount() {
+        return _batchCount.get();
+    }
+
+    /**
+     * @return The total count of entities in batch executions, divided by batch count for average batch size. (NotMinus)
+     */
+    public long getBatchEntityCount() {
+        return _batchEntityCount.get();
+    }
+
+    /**
+     * Get the latency histogram of the phase.
+     * @param phase The phase of command. (NotNull)
+     * @return The histogram of the phase. (NotNull)
+     */
+    public LatencyHistogram getLatency(CommandPhase phase) {
+        return _histograms[phase.ordinal()];
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.bhv.core.supplement;
+
+/**
+ * The recorder of phase times of a behavior command on the current thread. <br />
+ * Instances are reused per thread (and per nested command level) so recording does not allocate any object.
+ * <pre>
+ * recorder = CommandMetricsRecorder.beginOnThread(); // by invoker
+ * recorder.beginLookup(); ... recorder.endLookup();
+ * CommandMetricsRecorder.findRecorderOnThread().beginRender(); ... // by SQL command
+ * CommandMetricsRecorder.findRecorderOnThread().beginExecute(); ... // by SQL handler
+ * CommandMetricsRecorder.endOnThread(recorder); // by invoker after the registry records it
+ * </pre>
+ * @author jflute
+ * @since 1.1.0 (2014/12/07 Sunday)
+ */
+public class CommandMetricsRecorder {
+
+    // ===================================================================================
+    //                                                                        Thread Local
+    //                                                                        ============
+    /** The thread-local for the root recorder, the recorder of nested command is linked from it. */
+    private static final ThreadLocal<CommandMetricsRecorder> _recorderLocal = new ThreadLocal<CommandMetricsRecorder>();
+
+    /**
+     * Begin recording of a command on the current thread.
+     * @return The recorder for the command, which is nested recorder if a command is already recording. (NotNull)
+     */
+    public static CommandMetricsRecorder beginOnThread() {
+        CommandMetricsRecorder recorder = _recorderLocal.get();
+        if (recorder == null) {
+            recorder = new CommandMetricsRecorder();
+            _recorderLocal.set(recorder);
+        }
+        while (recorder._recording) { // e.g. behavior call in cursor select
+            if (recorder._nested == null) {
+                recorder._nested = new CommandMetricsRecorder();
+            }
+            recorder = recorder._nested;
+        }
+        recorder.begin();
+        return recorder;
+    }
+
+    /**
+     * Find the recorder of the current (deepest) command on the current thread.
+     * @return The recorder of the command. (NullAllowed: if null, not recording)
+     */
+    public static CommandMetricsRecorder findRecorderOnThread() {
+        CommandMetricsRecorder recorder = _recorderLocal.get();
+        if (recorder == null || !recorder._recording) {
+            return null;
+        }
+        while (recorder._nested != null && recorder._nested._recording) {
+            recorder = recorder._nested;
+        }
+        return recorder;
+    }
+
+    /**
+     * End recording of the command.
+     * @param recorder The recorder returned by begin. (NotNull)
+     */
+    public static void endOnThread(CommandMetricsRecorder recorder) {
+        recorder._recording = false;
+    }
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected CommandMetricsRecorder _nested; // lazy-loaded
+    protected boolean _recording;
+    protected long _beginNanos;
+    protected long _totalNanos;
+    protected long _lookupBeginNanos;
+    protected long _lookupNanos;
+    protected long _renderBeginNanos;
+    protected long _renderNanos;
+    protected long _executeBeginNanos;
+    protected long _executeNanos;
+    protected long _mappingBeginNanos;
+    protected long _mappingNanos;
+
+    // ===================================================================================
+    //                                                                              Record
+    //                                                                              ======
+    protected void begin() {
+        _recording = true;
+        _totalNanos = 0;
+        _lookupNanos = 0;
+        _renderNanos = 0;
+        _executeNanos = 0;
+        _mappingNanos = 0;
+        _beginNanos = currentNanos();
+    }
+
+    /**
+     * Fix the total time of the command. (called before the registry records it)
+     */
+    public void finish() {
+        _totalNanos = currentNanos() - _beginNanos;
+    }
+
+    public void beginLookup() {
+        _lookupBeginNanos = currentNanos();
+    }
+
+    public void endLookup() {
+        _lookupNanos += currentNanos() - _lookupBeginNanos;
+    }
+
+    public void beginRender() {
+        _renderBeginNanos = currentNanos();
+    }
+
+    public void endRender() {
+        _renderNanos += currentNanos() - _renderBeginNanos;
+    }
+
+    public void beginExecute() {
+        _executeBeginNanos = currentNanos();
+    }
+
+    public void endExecute() { // accumulated because a command may execute several statements
+        _executeNanos += currentNanos() - _executeBeginNanos;
+    }
+
+    public void beginMapping() {
+        _mappingBeginNanos = currentNanos();
+    }
+
+    public void endMapping() {
+        _mappingNanos += currentNanos() - _mappingBeginNanos;
+    }
+
+    protected long currentNanos() {
+        return System.nanoTime(); // for elapsed time
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    /**
+     * Get the time of the phase.
+     * @param phase The phase of command. (NotNull)
+     * @return The time in nanoseconds. (NotMinus)
+     */
+    public long getPhaseNanos(CommandPhase phase) {
+        switch (phase) {
+        case TOTAL:
+            return _totalNanos;
+        case LOOKUP:
+            return _lookupNanos;
+        case RENDER:
+            return _renderNanos;
+        case PREPARE:
+            final long prepareNanos = _totalNanos - _lookupNanos - _renderNanos - _executeNanos - _mappingNanos;
+            return prepareNanos > 0 ? prepareNanos : 0;
+        case EXECUTE:
+            return _executeNanos;
+        case MAPPING:
+            return _mappingNanos;
+        default:
+            throw new IllegalStateException("Unknown phase: " + phase);
+        }
+    }
+
+    public boolean isRecording() {
+        return _recording;
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.bhv.core.supplement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.seasar.dbflute.bhv.core.BehaviorCommandMeta;
+
+/**
+ * The registry of metrics per behavior command (table and command name) and per outside-SQL path. <br />
+ * Recording is lock-free and does not allocate any object except the first time of each command,
+ * so it can be always enabled in production.
+ * <pre>
+ * CommandMetrics metrics = registry.findCommandMetrics("MEMBER", "selectList");
+ * long p99 = metrics.getLatency(CommandPhase.EXECUTE).estimatePercentileMicros(0.99);
+ * </pre>
+ * @author jflute
+ * @since 1.1.0 (2014/12/07 Sunday)
+ */
+public class CommandMetricsRegistry {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** The map of metrics map keyed by table DB name, which is keyed by command name. */
+    protected final ConcurrentMap<String, ConcurrentMap<String, CommandMetrics>> _commandMetricsMap =
+            new ConcurrentHashMap<String, ConcurrentMap<String, CommandMetrics>>();
+
+    /** The map of metrics keyed by outside-SQL path. */
+    protected final ConcurrentMap<String, CommandMetrics> _outsideSqlMetricsMap = new ConcurrentHashMap<String, CommandMetrics>();
+
+    // ===================================================================================
+    //                                                                              Record
+    //                                                                              ======
+    /**
+     * Record the execution of the command. <br />
+     * Outside-SQL commands are recorded to both command metrics and outside-SQL metrics.
+     * @param meta The meta information of the command. (NotNull)
+     * @param recorder The recorder that has phase times of the command, already finished. (NotNull)
+     * @param result The result of the command. (NullAllowed)
+     * @param failure Does the command fail?
+     */
+    public void record(BehaviorCommandMeta meta, CommandMetricsRecorder recorder, Object result, boolean failure) {
+        final boolean select = meta.isSelect();
+        findOrCreateCommandMetrics(meta.getTableDbName(), meta.getCommandName()).record(recorder, result, select, failure);
+        if (meta.isOutsideSql()) {
+            final String outsideSqlPath = meta.getOutsideSqlPath();
+            if (outsideSqlPath != null) {
+                findOrCreateOutsideSqlMetrics(outsideSqlPath).record(recorder, result, select, failure);
+            }
+        }
+    }
+
+    protected CommandMetrics findOrCreateCommandMetrics(String tableDbName, String commandName) {
+        ConcurrentMap<String, CommandMetrics> tableMap = _commandMetricsMap.get(tableDbName);
+        if (tableMap == null) { // first time only
+            final ConcurrentMap<String, CommandMetrics> created = new ConcurrentHashMap<String, CommandMetrics>();
+            final ConcurrentMap<String, CommandMetrics> existing = _commandMetricsMap.putIfAbsent(tableDbName, created);
+            tableMap = existing != null ? existing : created;
+        }
+        final CommandMetrics metrics = tableMap.get(commandName);
+        if (metrics != null) { // mainly here
+            return metrics;
+        }
+        final CommandMetrics created = new CommandMetrics(tableDbName + "." + commandName);
+        final CommandMetrics existing = tableMap.putIfAbsent(commandName, created);
+        return existing != null ? existing : created;
+    }
+
+    protected CommandMetrics findOrCreateOutsideSqlMetrics(String outsideSqlPath) {
+        final CommandMetrics metrics = _outsideSqlMetricsMap.get(outsideSqlPath);
+        if (metrics != null) { // mainly here
+            return metrics;
+        }
+        final CommandMetrics created = new CommandMetrics(outsideSqlPath);
+        final CommandMetrics existing = _outsideSqlMetricsMap.putIfAbsent(outsideSqlPath, created);
+        return existing != null ? existing : created;
+    }
+
+    /**
+     * Clear all metrics, e.g. per monitoring interval. (not atomic with recording)
+     */
+    public void clear() {
+        _commandMetricsMap.clear();
+        _outsideSqlMetricsMap.clear();
+    }
+
+    // ===================================================================================
+    //                                                                                Find
+    //                                                                                ====
+    /**
+     * Find the metrics of the command.
+     * @param tableDbName The DB name of table. (NotNull)
+     * @param commandName The name of command, e.g. selectList, insert, batchUpdate. (NotNull)
+     * @return The metrics of the command. (NullAllowed: if null, not executed yet)
+     */
+    public CommandMetrics findCommandMetrics(String tableDbName, String commandName) {
+        final ConcurrentMap<String, CommandMetrics> tableMap = _commandMetricsMap.get(tableDbName);
+        return tableMap != null ? tableMap.get(commandName) : null;
+    }
+
+    /**
+     * Find the metrics of the outside-SQL.
+     * @param outsideSqlPath The path of outside-SQL. (NotNull)
+     * @return The metrics of the outside-SQL. (NullAllowed: if null, not executed yet)
+     */
+    public CommandMetrics findOutsideSqlMetrics(String outsideSqlPath) {
+        return _outsideSqlMetricsMap.get(outsideSqlPath);
+    }
+
+    /**
+     * @return The snapshot list of all command metrics, e.g. for monitoring. (NotNull)
+     */
+    public List<CommandMetrics> getCommandMetricsList() {
+        final List<CommandMetrics> metricsList = new ArrayList<CommandMetrics>();
+        for (ConcurrentMap<String, CommandMetrics> tableMap : _commandMetricsMap.values()) {
+            metricsList.addAll(tableMap.values());
+        }
+        return Collections.unmodifiableList(metricsList);
+    }
+
+    /**
+     * @return The snapshot list of all outside-SQL metrics, e.g. for monitoring. (NotNull)
+     */
+    public List<CommandMetrics> getOutsideSqlMetricsList() {
+        return Collections.unmodifiableList(new ArrayList<CommandMetrics>(_outsideSqlMetricsMap.values()));
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "{command=" + getCommandMetricsList() + ", outsideSql=" + getOutsideSqlMetricsList() + "}";
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.bhv.core.supplement;
+
+/**
+ * The phase of behavior command for metrics. <br />
+ * The phases except total do not overlap each other.
+ * @author jflute
+ * @since 1.1.0 (2014/12/07 Sunday)
+ */
+public enum CommandPhase {
+
+    /** The whole command from finding SQL execution to the result. */
+    TOTAL
+
+    /** Finding (or creating at first) the SQL execution of the command. */
+    , LOOKUP
+
+    /** Rendering the 2Way-SQL (condition-bean or outside-SQL) to the executed SQL with its bind variables. */
+    , RENDER
+
+    /** The rest of total, e.g. binding, logging and getting connection. (derived) */
+    , PREPARE
+
+    /** Executing the statement, i.e. executeQuery(), executeUpdate(), executeBatch() and execute(). */
+    , EXECUTE
+
+    /** Mapping the result set to the result, which contains fetching rows and relation mapping. */
+    , MAPPING
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.bhv.core.supplement;
+
+import java.util.concurrent.Callable;
+
+import org.seasar.dbflute.AccessContext;
+import org.seasar.dbflute.CallbackContext;
+import org.seasar.dbflute.bhv.core.ContextStack;
+import org.seasar.dbflute.resource.ResourceContext;
+
+/**
+ * The callable that inherits the thread contexts of the creator thread to the calling thread. <br />
+ * Access context and callback context are inherited, and contexts per command (e.g. condition-bean context)
+ * are created in the calling thread by the invoker, and cleared after calling.
+ * <pre>
+ * executor.submit(new ContextInheritedCallable&lt;Integer&gt;(new Callable&lt;Integer&gt;() {
+ *     public Integer call() {
+ *         return memberBhv.selectCount(cb);
+ *     }
+ * }));
+ * </pre>
+ * The calling thread does not inherit the transaction (connection) of the creator thread.
+ * @param <RESULT> The type of result.
+ * @author jflute
+ * @since 1.1.0 (2014/12/06 Saturday)
+ */
+public class ContextInheritedCallable<RESULT> implements Callable<RESULT> {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final Callable<RESULT> _callable;
+    protected final AccessContext _accessContext; // null allowed
+    protected final CallbackContext _callbackContext; // null allowed
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * Create the callable with the contexts of the current thread. (should be created in the creator thread)
+     * @param callable The callable to be called in the calling thread. (NotNull)
+     */
+    public ContextInheritedCallable(Callable<RESULT> callable) {
+        if (callable == null) {
+            String msg = "The argument 'callable' should not be null.";
+            throw new IllegalArgumentException(msg);
+        }
+        _callable = callable;
+        _accessContext = AccessContext.getAccessContextOnThread();
+        _callbackContext = CallbackContext.getCallbackContextOnThread();
+    }
+
+    // ===================================================================================
+    //                                                                                Call
+    //                                                                                ====
+    public RESULT call() throws Exception {
+        final AccessContext existingAccessContext = AccessContext.getAccessContextOnThread();
+        final CallbackContext existingCallbackContext = CallbackContext.getCallbackContextOnThread();
+        final boolean inCommand = ResourceContext.isExistResourceContextOnThread(); // e.g. caller-runs policy in callback
+        inheritContext(_accessContext, _callbackContext);
+        try {
+            return _callable.call();
+        } finally {
+            inheritContext(existingAccessContext, existingCallbackContext); // restore
+            if (!inCommand) { // basically no remaining context here, but just in case for pooled thread
+                ContextStack.clearAllCurrentContext();
+            }
+        }
+    }
+
+    protected void inheritContext(AccessContext accessContext, CallbackContext callbackContext) {
+        if (accessContext != null) {
+            AccessContext.setAccessContextOnThread(accessContext);
+        } else {
+            AccessContext.clearAccessContextOnThread();
+        }
+        if (callbackContext != null) {
+            CallbackContext.setCallbackContextOnThread(callbackContext);
+        } else {
+            CallbackContext.clearCallbackContextOnThread();
+        }
+    }
+}
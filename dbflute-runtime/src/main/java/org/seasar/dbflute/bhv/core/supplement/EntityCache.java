@@ -0,0 +1,261 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.bhv.core.supplement;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.seasar.dbflute.Entity;
+import org.seasar.dbflute.dbmeta.DBMeta;
+import org.seasar.dbflute.dbmeta.info.ColumnInfo;
+import org.seasar.dbflute.resource.DBFluteSystem;
+
+/**
+ * The cache of entities keyed by primary key in one table, for master tables that are rarely changed. <br />
+ * Entities are copied when registered and found, so callers cannot break cached entities. <br />
+ * All entities are cleared by update commands of the table (again after commit in transaction),
+ * and the time-to-live is required to limit the term of old values cached by other threads
+ * while the update is not committed yet, e.g. when the completion of transaction is unknown.
+ * @author jflute
+ * @since 1.1.0 (2014/11/23 Sunday)
+ */
+public class EntityCache {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String _tableDbName;
+    protected final int _maxSize;
+    protected final long _timeToLiveMillis;
+    protected final Map<Object, CachedEntity> _entityMap = new ConcurrentHashMap<Object, CachedEntity>();
+
+    /** The version of cached entities, incremented when cleared. */
+    protected final AtomicLong _version = new AtomicLong();
+
+    protected final AtomicLong _hitCount = new AtomicLong();
+    protected final AtomicLong _missCount = new AtomicLong();
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param tableDbName The DB name of table. (NotNull)
+     * @param maxSize The max size of cached entities. (NotMinus, NotZero)
+     * @param timeToLiveMillis The milliseconds to live for cached entities. (NotMinus, NotZero)
+     */
+    public EntityCache(String tableDbName, int maxSize, long timeToLiveMillis) {
+        if (maxSize <= 0) {
+            String msg = "The argument 'maxSize' should be positive: " + maxSize;
+            throw new IllegalArgumentException(msg);
+        }
+        if (timeToLiveMillis <= 0) { // no expiration might keep old values forever
+            String msg = "The argument 'timeToLiveMillis' should be positive: " + timeToLiveMillis;
+            throw new IllegalArgumentException(msg);
+        }
+        _tableDbName = tableDbName;
+        _maxSize = maxSize;
+        _timeToLiveMillis = timeToLiveMillis;
+    }
+
+    // ===================================================================================
+    //                                                                            Handling
+    //                                                                            ========
+    /**
+     * Create the key of cached entity by primary key values.
+     * @param pkValues The array of primary key values, in order of primary key columns. (NotNull, NotEmpty)
+     * @return The key for the primary key. (NotNull)
+     */
+    public Object createKey(Object[] pkValues) {
+        return pkValues.length == 1 ? pkValues[0] : Arrays.asList(pkValues); // list for compound key
+    }
+
+    /**
+     * Find the copy of cached entity.
+     * @param key The key created by this cache. (NotNull)
+     * @return The copy of cached entity. (NullAllowed: if null, not found or expired)
+     */
+    public Entity findEntity(Object key) {
+        final CachedEntity cached = _entityMap.get(key);
+        if (cached == null) {
+            _missCount.incrementAndGet();
+            return null;
+        }
+        if (cached.isExpired(currentTimeMillis())) {
+            _entityMap.remove(key);
+            _missCount.incrementAndGet();
+            return null;
+        }
+        _hitCount.incrementAndGet();
+        return copyEntity(cached.getEntity());
+    }
+
+    /**
+     * Get the version of cached entities to register an entity selected after this.
+     * @return The version that is changed when cleared.
+     */
+    public long getVersion() {
+        return _version.get();
+    }
+
+    /**
+     * Register the copy of the entity selected after getting the version. <br />
+     * It is not registered if the cache is cleared after the version or the cache is full.
+     * @param key The key created by this cache. (NotNull)
+     * @param entity The selected entity, which is not changed by this. (NotNull)
+     * @param version The version before the entity is selected.
+     */
+    public void registerEntity(Object key, Entity entity, long version) {
+        if (_version.get() != version) { // cleared while selecting
+            return;
+        }
+        if (_entityMap.size() >= _maxSize && !_entityMap.containsKey(key)) {
+            removeExpiredEntity();
+            if (_entityMap.size() >= _maxSize) { // no eviction because master tables are basically small
+                return;
+            }
+        }
+        final long expireTime = currentTimeMillis() + _timeToLiveMillis;
+        final CachedEntity cached = new CachedEntity(copyEntity(entity), expireTime);
+        _entityMap.put(key, cached);
+        if (_version.get() != version) { // cleared while registering
+            _entityMap.remove(key);
+        }
+    }
+
+    protected void removeExpiredEntity() {
+        final long currentTime = currentTimeMillis();
+        final Iterator<CachedEntity> ite = _entityMap.values().iterator();
+        while (ite.hasNext()) {
+            if (ite.next().isExpired(currentTime)) {
+                ite.remove();
+            }
+        }
+    }
+
+    /**
+     * Clear all cached entities. (statistics are not cleared)
+     */
+    public void clear() {
+        _version.incrementAndGet(); // before clear so selecting entities are not registered
+        _entityMap.clear();
+    }
+
+    protected static class CachedEntity {
+
+        protected final Entity _entity;
+        protected final long _expireTime;
+
+        public CachedEntity(Entity entity, long expireTime) {
+            _entity = entity;
+            _expireTime = expireTime;
+        }
+
+        public boolean isExpired(long currentTime) {
+            return currentTime >= _expireTime;
+        }
+
+        public Entity getEntity() {
+            return _entity;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                         Copy Entity
+    //                                                                         ===========
+    /**
+     * Copy the entity by column values, relations are not copied.
+     * @param entity The entity to be copied. (NotNull)
+     * @return The new entity that has the same column values. (NotNull)
+     */
+    protected Entity copyEntity(Entity entity) {
+        final DBMeta dbmeta = entity.getDBMeta();
+        final Entity copy = dbmeta.newEntity();
+        for (ColumnInfo columnInfo : dbmeta.getColumnInfoList()) {
+            columnInfo.write(copy, copyValue(columnInfo.read(entity)));
+        }
+        copy.clearModifiedInfo();
+        if (entity.createdBySelect()) {
+            copy.markAsSelect();
+        }
+        return copy;
+    }
+
+    protected Object copyValue(Object value) {
+        if (value instanceof Date) { // mutable
+            return ((Date) value).clone();
+        }
+        if (value instanceof byte[]) {
+            return ((byte[]) value).clone();
+        }
+        return value; // immutable e.g. string, number
+    }
+
+    protected long currentTimeMillis() {
+        return DBFluteSystem.currentTimeMillis();
+    }
+
+    // ===================================================================================
+    //                                                                          Statistics
+    //                                                                          ==========
+    public int getCachedSize() {
+        return _entityMap.size();
+    }
+
+    public long getHitCount() {
+        return _hitCount.get();
+    }
+
+    public long getMissCount() {
+        return _missCount.get();
+    }
+
+    /**
+     * @return The ratio of hit count in all finding, between zero and one. (zero if no finding)
+     */
+    public double getHitRatio() {
+        final long hitCount = getHitCount();
+        final long allCount = hitCount + getMissCount();
+        return allCount > 0 ? (double) hitCount / allCount : 0d;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        final String statistics = "cached=" + getCachedSize() + ", hit=" + getHitCount() + ", miss=" + getMissCount();
+        return "{" + _tableDbName + ", maxSize=" + _maxSize + ", ttl=" + _timeToLiveMillis + ", " + statistics + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getTableDbName() {
+        return _tableDbName;
+    }
+
+    public int getMaxSize() {
+        return _maxSize;
+    }
+
+    public long getTimeToLiveMillis() {
+        return _timeToLiveMillis;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.bhv.core.supplement;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.seasar.dbflute.helper.StringKeyMap;
+
+/**
+ * The handler of entity cache, which has caches of tables registered by configuration.
+ * @author jflute
+ * @since 1.1.0 (2014/11/23 Sunday)
+ */
+public class EntityCacheHandler {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** The map of entity cache keyed by table DB name. (case insensitive) */
+    protected final Map<String, EntityCache> _entityCacheMap = StringKeyMap.createAsCaseInsensitiveConcurrent();
+
+    // ===================================================================================
+    //                                                                        Registration
+    //                                                                        ============
+    /**
+     * Register the entity cache of the table, overriding existing cache.
+     * @param tableDbName The DB name of table. (NotNull)
+     * @param maxSize The max size of cached entities. (NotMinus, NotZero)
+     * @param timeToLiveMillis The milliseconds to live for cached entities. (NotMinus, NotZero)
+     */
+    public void registerEntityCache(String tableDbName, int maxSize, long timeToLiveMillis) {
+        if (tableDbName == null) {
+            String msg = "The argument 'tableDbName' should not be null.";
+            throw new IllegalArgumentException(msg);
+        }
+        _entityCacheMap.put(tableDbName, new EntityCache(tableDbName, maxSize, timeToLiveMillis));
+    }
+
+    // ===================================================================================
+    //                                                                            Handling
+    //                                                                            ========
+    /**
+     * Find the entity cache of the table.
+     * @param tableDbName The DB name of table. (NotNull)
+     * @return The entity cache of the table. (NullAllowed: if null, the table is not cached)
+     */
+    public EntityCache findEntityCache(String tableDbName) {
+        return !_entityCacheMap.isEmpty() ? _entityCacheMap.get(tableDbName) : null;
+    }
+
+    /**
+     * Clear the cached entities of the table, e.g. when the table is updated.
+     * @param tableDbName The DB name of table. (NotNull)
+     */
+    public void clearEntityCache(String tableDbName) {
+        final EntityCache entityCache = findEntityCache(tableDbName);
+        if (entityCache != null) {
+            entityCache.clear();
+        }
+    }
+
+    /**
+     * Clear the cached entities of all tables, e.g. when unknown tables are updated.
+     */
+    public void clearAllEntityCache() {
+        for (EntityCache entityCache : _entityCacheMap.values()) {
+            entityCache.clear();
+        }
+    }
+
+    public boolean isEmpty() {
+        return _entityCacheMap.isEmpty();
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "{" + _entityCacheMap.values() + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    /**
+     * @return The read-only map of entity cache keyed by table DB name, e.g. for statistics. (NotNull)
+     */
+    public Map<String, EntityCache> getEntityCacheMap() {
+        return Collections.unmodifiableMap(_entityCacheMap);
+    }
+}
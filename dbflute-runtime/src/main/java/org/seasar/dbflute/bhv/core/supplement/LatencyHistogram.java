@@ -0,0 +1,160 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.bhv.core.supplement;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The lock-free histogram of latency, whose buckets are powers of two in microseconds. <br />
+ * Recording does not allocate any object so it can be always used in production.
+ * @author jflute
+ * @since 1.1.0 (2014/12/07 Sunday)
+ */
+public class LatencyHistogram {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The size of buckets, the last bucket is for latencies over about 35 minutes. */
+    public static final int BUCKET_SIZE = 32;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** The counts per bucket, the index i is for latencies under 2^i microseconds. (except last) */
+    protected final AtomicLongArray _bucketCounts = new AtomicLongArray(BUCKET_SIZE);
+    protected final AtomicLong _count = new AtomicLong();
+    protected final AtomicLong _totalNanos = new AtomicLong();
+    protected final AtomicLong _maxNanos = new AtomicLong();
+
+    // ===================================================================================
+    //                                                                              Record
+    //                                                                              ======
+    /**
+     * Record the latency.
+     * @param nanos The latency in nanoseconds. (minus is treated as zero)
+     */
+    public void record(long nanos) {
+        final long latency = nanos > 0 ? nanos : 0;
+        _bucketCounts.incrementAndGet(toBucketIndex(latency));
+        _count.incrementAndGet();
+        _totalNanos.addAndGet(latency);
+        long currentMax;
+        while (latency > (currentMax = _maxNanos.get())) {
+            if (_maxNanos.compareAndSet(currentMax, latency)) {
+                break;
+            }
+        }
+    }
+
+    protected int toBucketIndex(long nanos) {
+        final long micros = nanos / 1000L;
+        final int index = 64 - Long.numberOfLeadingZeros(micros); // zero micros is zero index
+        return index < BUCKET_SIZE ? index : BUCKET_SIZE - 1;
+    }
+
+    /**
+     * Clear the recorded latencies. (not atomic with recording)
+     */
+    public void clear() {
+        for (int i = 0; i < BUCKET_SIZE; i++) {
+            _bucketCounts.set(i, 0);
+        }
+        _count.set(0);
+        _totalNanos.set(0);
+        _maxNanos.set(0);
+    }
+
+    // ===================================================================================
+    //                                                                          Statistics
+    //                                                                          ==========
+    public long getCount() {
+        return _count.get();
+    }
+
+    public long getTotalNanos() {
+        return _totalNanos.get();
+    }
+
+    public long getMaxNanos() {
+        return _maxNanos.get();
+    }
+
+    /**
+     * @return The average of latencies in nanoseconds. (zero if no record)
+     */
+    public long getAverageNanos() {
+        final long count = getCount();
+        return count > 0 ? getTotalNanos() / count : 0L;
+    }
+
+    /**
+     * Get the copy of counts per bucket.
+     * @return The array of counts whose index is for latencies under {@link #getBucketUpperMicros(int)}. (NotNull)
+     */
+    public long[] getBucketCounts() {
+        final long[] counts = new long[BUCKET_SIZE];
+        for (int i = 0; i < BUCKET_SIZE; i++) {
+            counts[i] = _bucketCounts.get(i);
+        }
+        return counts;
+    }
+
+    /**
+     * Get the upper bound of the bucket.
+     * @param bucketIndex The index of bucket, from zero to bucket size minus one.
+     * @return The upper bound (exclusive) in microseconds. (Long.MAX_VALUE for the last bucket)
+     */
+    public static long getBucketUpperMicros(int bucketIndex) {
+        return bucketIndex < BUCKET_SIZE - 1 ? 1L << bucketIndex : Long.MAX_VALUE;
+    }
+
+    /**
+     * Estimate the percentile of latencies by the buckets.
+     * @param percentile The percentile, e.g. 0.99 for 99 percentile. (greater than zero, not greater than one)
+     * @return The upper bound of the bucket containing the percentile in microseconds. (zero if no record)
+     */
+    public long estimatePercentileMicros(double percentile) {
+        final long[] counts = getBucketCounts();
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0L;
+        }
+        final long threshold = (long) Math.ceil(total * percentile);
+        long accumulated = 0;
+        for (int i = 0; i < BUCKET_SIZE; i++) {
+            accumulated += counts[i];
+            if (accumulated >= threshold) {
+                return getBucketUpperMicros(i);
+            }
+        }
+        return getBucketUpperMicros(BUCKET_SIZE - 1);
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        final long avgMicros = getAverageNanos() / 1000L;
+        final long maxMicros = getMaxNanos() / 1000L;
+        return "{count=" + getCount() + ", avg=" + avgMicros + "us, max=" + maxMicros + "us, p99<" + estimatePercentileMicros(0.99d) + "us}";
+    }
+}
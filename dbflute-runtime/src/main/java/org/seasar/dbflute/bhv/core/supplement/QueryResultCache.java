@@ -0,0 +1,422 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.bhv.core.supplement;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.seasar.dbflute.resource.DBFluteSystem;
+
+/**
+ * The cache of select results whose base table is one table, keyed by executed SQL, bind values and result type. <br />
+ * Results are serialized when registered and deserialized when found, so callers cannot break cached results,
+ * and results that are not serializable are not cached. <br />
+ * Results are cleared when a table that the executed SQL refers to is updated (again after commit in transaction),
+ * and the time-to-live is required to limit the term of old values cached by other threads
+ * while the update is not committed yet, e.g. when the completion of transaction is unknown.
+ * @author jflute
+ * @since 1.1.0 (2014/12/02 Tuesday)
+ */
+public class QueryResultCache {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String _tableDbName;
+    protected final int _maxSize;
+    protected final long _timeToLiveMillis;
+    protected final Map<Object, CachedResult> _resultMap = new ConcurrentHashMap<Object, CachedResult>();
+
+    /** The version of cached results, incremented when cleared. */
+    protected final AtomicLong _version = new AtomicLong();
+
+    protected final AtomicLong _hitCount = new AtomicLong();
+    protected final AtomicLong _missCount = new AtomicLong();
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param tableDbName The DB name of base table. (NotNull)
+     * @param maxSize The max size of cached results. (NotMinus, NotZero)
+     * @param timeToLiveMillis The milliseconds to live for cached results. (NotMinus, NotZero)
+     */
+    public QueryResultCache(String tableDbName, int maxSize, long timeToLiveMillis) {
+        if (maxSize <= 0) {
+            String msg = "The argument 'maxSize' should be positive: " + maxSize;
+            throw new IllegalArgumentException(msg);
+        }
+        if (timeToLiveMillis <= 0) { // no expiration might keep old results forever
+            String msg = "The argument 'timeToLiveMillis' should be positive: " + timeToLiveMillis;
+            throw new IllegalArgumentException(msg);
+        }
+        _tableDbName = tableDbName;
+        _maxSize = maxSize;
+        _timeToLiveMillis = timeToLiveMillis;
+    }
+
+    // ===================================================================================
+    //                                                                            Handling
+    //                                                                            ========
+    /**
+     * Create the key of cached result.
+     * @param executedSql The executed SQL that has bind marks. (NotNull)
+     * @param bindArgs The array of bind values. (NullAllowed)
+     * @param resultType The string that identifies the type of result, e.g. execution key of command. (NotNull)
+     * @return The key for the select. (NotNull)
+     */
+    public Object createKey(String executedSql, Object[] bindArgs, String resultType) {
+        return new QueryKey(executedSql, bindArgs, resultType);
+    }
+
+    /**
+     * Find the copy of cached result.
+     * @param key The key created by this cache. (NotNull)
+     * @return The copy of cached result. (NullAllowed: if null, not found or expired)
+     */
+    public Object findResult(Object key) {
+        final CachedResult cached = _resultMap.get(key);
+        if (cached == null) {
+            _missCount.incrementAndGet();
+            return null;
+        }
+        if (cached.isExpired(currentTimeMillis())) {
+            _resultMap.remove(key);
+            _missCount.incrementAndGet();
+            return null;
+        }
+        _hitCount.incrementAndGet();
+        return deserialize(cached.getSerializedResult());
+    }
+
+    /**
+     * Get the version of cached results to register a result selected after this.
+     * @return The version that is changed when cleared.
+     */
+    public long getVersion() {
+        return _version.get();
+    }
+
+    /**
+     * Register the copy of the result selected after getting the version. <br />
+     * It is not registered if the cache is cleared after the version, the cache is full or the result is not serializable.
+     * @param key The key created by this cache. (NotNull)
+     * @param result The selected result, which is not changed by this. (NullAllowed: if null, not registered)
+     * @param executedSql The executed SQL to find referred tables. (NotNull)
+     * @param declaredTableSet The set of table names declared as referred tables, e.g. for outside-SQL. (NullAllowed)
+     * @param version The version before the result is selected.
+     */
+    public void registerResult(Object key, Object result, String executedSql, Set<String> declaredTableSet, long version) {
+        if (result == null || !(result instanceof Serializable)) {
+            return;
+        }
+        if (_version.get() != version) { // cleared while selecting
+            return;
+        }
+        if (_resultMap.size() >= _maxSize && !_resultMap.containsKey(key)) {
+            removeExpiredResult();
+            if (_resultMap.size() >= _maxSize) { // no eviction, older results are cleared by update soon
+                return;
+            }
+        }
+        final byte[] serialized = serialize(result);
+        if (serialized == null) { // e.g. not serializable element
+            return;
+        }
+        final Set<String> referredNameSet = extractReferredNameSet(executedSql, declaredTableSet);
+        final long expireTime = currentTimeMillis() + _timeToLiveMillis;
+        _resultMap.put(key, new CachedResult(serialized, referredNameSet, expireTime));
+        if (_version.get() != version) { // cleared while registering
+            _resultMap.remove(key);
+        }
+    }
+
+    protected void removeExpiredResult() {
+        final long currentTime = currentTimeMillis();
+        final Iterator<CachedResult> ite = _resultMap.values().iterator();
+        while (ite.hasNext()) {
+            if (ite.next().isExpired(currentTime)) {
+                ite.remove();
+            }
+        }
+    }
+
+    /**
+     * Clear the cached results that refer to the table. (statistics are not cleared)
+     * @param tableNames The names of the table, e.g. DB name and SQL name. (NotNull)
+     */
+    public void clearByTable(String... tableNames) {
+        _version.incrementAndGet(); // before clear so selecting results are not registered
+        if (_resultMap.isEmpty()) {
+            return;
+        }
+        final Set<String> nameSet = new HashSet<String>();
+        for (String tableName : tableNames) {
+            if (tableName != null) {
+                nameSet.add(toReferredName(tableName));
+            }
+        }
+        final Iterator<CachedResult> ite = _resultMap.values().iterator();
+        while (ite.hasNext()) {
+            final Set<String> referredNameSet = ite.next().getReferredNameSet();
+            for (String name : nameSet) {
+                if (referredNameSet.contains(name)) {
+                    ite.remove();
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Clear all cached results. (statistics are not cleared)
+     */
+    public void clear() {
+        _version.incrementAndGet(); // before clear so selecting results are not registered
+        _resultMap.clear();
+    }
+
+    protected static class QueryKey {
+
+        protected final String _executedSql;
+        protected final Object[] _bindArgs;
+        protected final String _resultType;
+        protected final int _hashCode;
+
+        public QueryKey(String executedSql, Object[] bindArgs, String resultType) {
+            _executedSql = executedSql;
+            _bindArgs = bindArgs != null ? bindArgs.clone() : new Object[] {};
+            _resultType = resultType;
+            _hashCode = 31 * (31 * executedSql.hashCode() + Arrays.deepHashCode(_bindArgs)) + resultType.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return _hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof QueryKey)) {
+                return false;
+            }
+            final QueryKey other = (QueryKey) obj;
+            return _hashCode == other._hashCode && _executedSql.equals(other._executedSql)
+                    && _resultType.equals(other._resultType) && Arrays.deepEquals(_bindArgs, other._bindArgs);
+        }
+    }
+
+    protected static class CachedResult {
+
+        protected final byte[] _serializedResult;
+        protected final Set<String> _referredNameSet;
+        protected final long _expireTime;
+
+        public CachedResult(byte[] serializedResult, Set<String> referredNameSet, long expireTime) {
+            _serializedResult = serializedResult;
+            _referredNameSet = referredNameSet;
+            _expireTime = expireTime;
+        }
+
+        public boolean isExpired(long currentTime) {
+            return currentTime >= _expireTime;
+        }
+
+        public byte[] getSerializedResult() {
+            return _serializedResult;
+        }
+
+        public Set<String> getReferredNameSet() {
+            return _referredNameSet;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Referred Table
+    //                                                                      ==============
+    /**
+     * Extract the names that might be referred tables from the executed SQL. <br />
+     * All identifiers in the SQL are extracted, so joined tables, sub-query tables and union tables are included.
+     * It might contain column names and keywords, but they only clear results excessively.
+     * @param executedSql The executed SQL. (NotNull)
+     * @param declaredTableSet The set of table names declared as referred tables. (NullAllowed)
+     * @return The set of upper-case names. (NotNull)
+     */
+    protected Set<String> extractReferredNameSet(String executedSql, Set<String> declaredTableSet) {
+        final Set<String> nameSet = new HashSet<String>();
+        final int length = executedSql.length();
+        int begin = -1;
+        for (int i = 0; i <= length; i++) {
+            final boolean identifierChar = i < length && isIdentifierChar(executedSql.charAt(i));
+            if (identifierChar) {
+                if (begin < 0) {
+                    begin = i;
+                }
+            } else if (begin >= 0) {
+                nameSet.add(executedSql.substring(begin, i).toUpperCase());
+                begin = -1;
+            }
+        }
+        if (declaredTableSet != null) {
+            for (String tableName : declaredTableSet) {
+                nameSet.add(toReferredName(tableName));
+            }
+        }
+        return Collections.unmodifiableSet(nameSet);
+    }
+
+    protected String toReferredName(String tableName) { // last part of e.g. "SCHEMA.MEMBER" or "[MEMBER]"
+        final int length = tableName.length();
+        int end = length;
+        while (end > 0 && !isIdentifierChar(tableName.charAt(end - 1))) {
+            --end;
+        }
+        int begin = end;
+        while (begin > 0 && isIdentifierChar(tableName.charAt(begin - 1))) {
+            --begin;
+        }
+        return tableName.substring(begin, end).toUpperCase();
+    }
+
+    protected boolean isIdentifierChar(char ch) {
+        return Character.isLetterOrDigit(ch) || ch == '_' || ch == '$' || ch == '#';
+    }
+
+    // ===================================================================================
+    //                                                                       Serialization
+    //                                                                       =============
+    /**
+     * @param result The serializable result. (NotNull)
+     * @return The serialized bytes of the result. (NullAllowed: if null, not serializable)
+     */
+    protected byte[] serialize(Object result) {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream(1024);
+        try {
+            final ObjectOutputStream oos = new ObjectOutputStream(bos);
+            oos.writeObject(result);
+            oos.close();
+            return bos.toByteArray();
+        } catch (NotSerializableException e) { // e.g. element of list
+            return null;
+        } catch (IOException e) {
+            String msg = "Failed to serialize the result for query result cache: " + _tableDbName;
+            throw new IllegalStateException(msg, e);
+        }
+    }
+
+    protected Object deserialize(byte[] serialized) {
+        try {
+            final ObjectInputStream ois = new ContextClassLoaderObjectInputStream(new ByteArrayInputStream(serialized));
+            try {
+                return ois.readObject();
+            } finally {
+                ois.close();
+            }
+        } catch (IOException e) {
+            String msg = "Failed to deserialize the result for query result cache: " + _tableDbName;
+            throw new IllegalStateException(msg, e);
+        } catch (ClassNotFoundException e) {
+            String msg = "Not found the class of cached result for query result cache: " + _tableDbName;
+            throw new IllegalStateException(msg, e);
+        }
+    }
+
+    protected static class ContextClassLoaderObjectInputStream extends ObjectInputStream { // for e.g. HotDeploy
+
+        public ContextClassLoaderObjectInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+            if (loader != null) {
+                try {
+                    return Class.forName(desc.getName(), false, loader);
+                } catch (ClassNotFoundException ignored) { // e.g. primitive, try default
+                }
+            }
+            return super.resolveClass(desc);
+        }
+    }
+
+    protected long currentTimeMillis() {
+        return DBFluteSystem.currentTimeMillis();
+    }
+
+    // ===================================================================================
+    //                                                                          Statistics
+    //                                                                          ==========
+    public int getCachedSize() {
+        return _resultMap.size();
+    }
+
+    public long getHitCount() {
+        return _hitCount.get();
+    }
+
+    public long getMissCount() {
+        return _missCount.get();
+    }
+
+    /**
+     * @return The ratio of hit count in all finding, between zero and one. (zero if no finding)
+     */
+    public double getHitRatio() {
+        final long hitCount = getHitCount();
+        final long allCount = hitCount + getMissCount();
+        return allCount > 0 ? (double) hitCount / allCount : 0d;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        final String statistics = "cached=" + getCachedSize() + ", hit=" + getHitCount() + ", miss=" + getMissCount();
+        return "{" + _tableDbName + ", maxSize=" + _maxSize + ", ttl=" + _timeToLiveMillis + ", " + statistics + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getTableDbName() {
+        return _tableDbName;
+    }
+
+    public int getMaxSize() {
+        return _maxSize;
+    }
+
+    public long getTimeToLiveMillis() {
+        return _timeToLiveMillis;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.bhv.core.supplement;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.seasar.dbflute.helper.StringKeyMap;
+
+/**
+ * The handler of query result cache, which has caches of tables registered by configuration. <br />
+ * ConditionBean selects of the registered tables use the cache,
+ * and outside-SQL selects use it only when their referred tables are declared.
+ * @author jflute
+ * @since 1.1.0 (2014/12/02 Tuesday)
+ */
+public class QueryResultCacheHandler {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** The map of query result cache keyed by table DB name. (case insensitive) */
+    protected final Map<String, QueryResultCache> _queryResultCacheMap = StringKeyMap.createAsCaseInsensitiveConcurrent();
+
+    /** The map of referred tables keyed by outside-SQL path. */
+    protected final Map<String, Set<String>> _outsideSqlTableMap = new ConcurrentHashMap<String, Set<String>>();
+
+    /** The listener called back when the cache is found. (NullAllowed) */
+    protected QueryResultCacheListener _queryResultCacheListener;
+
+    // ===================================================================================
+    //                                                                        Registration
+    //                                                                        ============
+    /**
+     * Register the query result cache of the table, overriding existing cache.
+     * @param tableDbName The DB name of base table. (NotNull)
+     * @param maxSize The max size of cached results. (NotMinus, NotZero)
+     * @param timeToLiveMillis The milliseconds to live for cached results. (NotMinus, NotZero)
+     */
+    public void registerQueryResultCache(String tableDbName, int maxSize, long timeToLiveMillis) {
+        if (tableDbName == null) {
+            String msg = "The argument 'tableDbName' should not be null.";
+            throw new IllegalArgumentException(msg);
+        }
+        _queryResultCacheMap.put(tableDbName, new QueryResultCache(tableDbName, maxSize, timeToLiveMillis));
+    }
+
+    /**
+     * Declare the referred tables of the outside-SQL to use the query result cache of its behavior table. <br />
+     * The cached results are cleared when the declared tables or tables in the SQL are updated.
+     * @param outsideSqlPath The path of the outside-SQL, e.g. "org/docksidestage/.../MemberBhv_selectSimpleMember.sql". (NotNull)
+     * @param tableNames The names of the referred tables, e.g. "MEMBER", "MEMBER_STATUS". (NotNull, NotEmpty)
+     */
+    public void declareOutsideSqlTable(String outsideSqlPath, String... tableNames) {
+        if (outsideSqlPath == null) {
+            String msg = "The argument 'outsideSqlPath' should not be null.";
+            throw new IllegalArgumentException(msg);
+        }
+        if (tableNames == null || tableNames.length == 0) {
+            String msg = "The argument 'tableNames' should not be null or empty: " + outsideSqlPath;
+            throw new IllegalArgumentException(msg);
+        }
+        final Set<String> tableSet = new LinkedHashSet<String>();
+        for (String tableName : tableNames) {
+            tableSet.add(tableName);
+        }
+        _outsideSqlTableMap.put(outsideSqlPath, Collections.unmodifiableSet(tableSet));
+    }
+
+    // ===================================================================================
+    //                                                                            Handling
+    //                                                                            ========
+    /**
+     * Find the query result cache of the table.
+     * @param tableDbName The DB name of base table. (NotNull)
+     * @return The query result cache of the table. (NullAllowed: if null, the table is not cached)
+     */
+    public QueryResultCache findQueryResultCache(String tableDbName) {
+        return !_queryResultCacheMap.isEmpty() ? _queryResultCacheMap.get(tableDbName) : null;
+    }
+
+    /**
+     * Find the declared tables of the outside-SQL.
+     * @param outsideSqlPath The path of the outside-SQL. (NotNull)
+     * @return The read-only set of table names. (NullAllowed: if null, not declared so not cached)
+     */
+    public Set<String> findOutsideSqlTableSet(String outsideSqlPath) {
+        return !_outsideSqlTableMap.isEmpty() ? _outsideSqlTableMap.get(outsideSqlPath) : null;
+    }
+
+    /**
+     * Clear the cached results that refer to the table in all caches, e.g. when the table is updated.
+     * @param tableNames The names of the updated table, e.g. DB name and SQL name. (NotNull)
+     */
+    public void clearQueryResultCache(String... tableNames) {
+        for (QueryResultCache queryResultCache : _queryResultCacheMap.values()) {
+            queryResultCache.clearByTable(tableNames);
+        }
+    }
+
+    /**
+     * Clear the cached results of all tables, e.g. when unknown tables are updated.
+     */
+    public void clearAllQueryResultCache() {
+        for (QueryResultCache queryResultCache : _queryResultCacheMap.values()) {
+            queryResultCache.clear();
+        }
+    }
+
+    public boolean isEmpty() {
+        return _queryResultCacheMap.isEmpty();
+    }
+
+    /**
+     * Notify the listener of the finding of the cache if it exists.
+     * @param info The information of query result cache. (NotNull)
+     */
+    public void notifyListener(QueryResultCacheInfo info) {
+        final QueryResultCacheListener listener = _queryResultCacheListener;
+        if (listener != null) {
+            listener.handle(info);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "{" + _queryResultCacheMap.values() + ", outsideSql=" + _outsideSqlTableMap.keySet() + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    /**
+     * @return The read-only map of query result cache keyed by table DB name, e.g. for statistics. (NotNull)
+     */
+    public Map<String, QueryResultCache> getQueryResultCacheMap() {
+        return Collections.unmodifiableMap(_queryResultCacheMap);
+    }
+
+    public QueryResultCacheListener getQueryResultCacheListener() {
+        return _queryResultCacheListener;
+    }
+
+    public void setQueryResultCacheListener(QueryResultCacheListener queryResultCacheListener) {
+        _queryResultCacheListener = queryResultCacheListener;
+    }
+}
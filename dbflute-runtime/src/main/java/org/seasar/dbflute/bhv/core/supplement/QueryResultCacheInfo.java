@@ -0,0 +1,93 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.bhv.core.supplement;
+
+import org.seasar.dbflute.bhv.core.BehaviorCommandMeta;
+
+/**
+ * The information of query result cache for a select.
+ * @author jflute
+ * @since 1.1.0 (2014/12/02 Tuesday)
+ */
+public class QueryResultCacheInfo {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final BehaviorCommandMeta _meta;
+    protected final String _executedSql;
+    protected final boolean _hit;
+    protected final QueryResultCache _queryResultCache;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public QueryResultCacheInfo(BehaviorCommandMeta meta, String executedSql, boolean hit, QueryResultCache queryResultCache) {
+        _meta = meta;
+        _executedSql = executedSql;
+        _hit = hit;
+        _queryResultCache = queryResultCache;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        sb.append("meta=").append(_meta.getTableDbName()).append(".").append(_meta.getCommandName());
+        sb.append(", hit=").append(_hit);
+        sb.append(", cache=").append(_queryResultCache);
+        sb.append("}");
+        return sb.toString();
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    /**
+     * Get the meta information of the behavior command.
+     * @return The meta information of the behavior command. (NotNull)
+     */
+    public BehaviorCommandMeta getMeta() {
+        return _meta;
+    }
+
+    /**
+     * Get the executed SQL that has bind marks.
+     * @return The string of the SQL. (NotNull)
+     */
+    public String getExecutedSql() {
+        return _executedSql;
+    }
+
+    /**
+     * Is the result found in the cache?
+     * @return The determination, true or false.
+     */
+    public boolean isHit() {
+        return _hit;
+    }
+
+    /**
+     * Get the query result cache of the table, e.g. for statistics.
+     * @return The instance of query result cache. (NotNull)
+     */
+    public QueryResultCache getQueryResultCache() {
+        return _queryResultCache;
+    }
+}
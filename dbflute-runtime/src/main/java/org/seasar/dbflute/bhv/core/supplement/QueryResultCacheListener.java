@@ -0,0 +1,46 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.bhv.core.supplement;
+
+/**
+ * The listener of query result cache. <br />
+ * This listener is called back when the query result cache is found for a select.
+ * <pre>
+ * handler.setQueryResultCacheListener(new QueryResultCacheListener() {
+ *     public void handle(QueryResultCacheInfo info) {
+ *         // You can get your hit or miss of query result cache here.
+ *     }
+ * });
+ * </pre>
+ * @author jflute
+ * @since 1.1.0 (2014/12/02 Tuesday)
+ */
+public interface QueryResultCacheListener {
+
+    /**
+     * Handle the finding of query result cache. <br />
+     * This is called back per select that can use the cache, also in the case of miss.
+     * <pre>
+     * [QueryResultCacheInfo]
+     * o meta : The meta information of behavior command. (NotNull)
+     * o executedSql : The executed SQL that has bind marks. (NotNull)
+     * o hit : Is the result found in the cache?
+     * o queryResultCache : The cache of the table, which has statistics. (NotNull)
+     * </pre>
+     * @param info The information of query result cache. (NotNull)
+     */
+    void handle(QueryResultCacheInfo info);
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.bhv.core.supplement;
+
+import java.util.Set;
+
+import org.seasar.dbflute.bhv.core.BehaviorCommandMeta;
+
+/**
+ * The resource of query result cache for a select command, which is passed to SQL handler via internal context.
+ * @author jflute
+ * @since 1.1.0 (2014/12/02 Tuesday)
+ */
+public class QueryResultCacheResource {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final QueryResultCacheHandler _handler;
+    protected final QueryResultCache _queryResultCache;
+    protected final BehaviorCommandMeta _meta;
+    protected final String _resultType;
+    protected final Set<String> _declaredTableSet; // null allowed
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param handler The handler of query result cache. (NotNull)
+     * @param queryResultCache The query result cache of the base table. (NotNull)
+     * @param meta The meta information of the select command. (NotNull)
+     * @param resultType The string that identifies the type of result. (NotNull)
+     * @param declaredTableSet The set of declared referred tables, e.g. for outside-SQL. (NullAllowed)
+     */
+    public QueryResultCacheResource(QueryResultCacheHandler handler, QueryResultCache queryResultCache, BehaviorCommandMeta meta,
+            String resultType, Set<String> declaredTableSet) {
+        _handler = handler;
+        _queryResultCache = queryResultCache;
+        _meta = meta;
+        _resultType = resultType;
+        _declaredTableSet = declaredTableSet;
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public QueryResultCacheHandler getHandler() {
+        return _handler;
+    }
+
+    public QueryResultCache getQueryResultCache() {
+        return _queryResultCache;
+    }
+
+    public BehaviorCommandMeta getMeta() {
+        return _meta;
+    }
+
+    public String getResultType() {
+        return _resultType;
+    }
+
+    public Set<String> getDeclaredTableSet() {
+        return _declaredTableSet;
+    }
+}
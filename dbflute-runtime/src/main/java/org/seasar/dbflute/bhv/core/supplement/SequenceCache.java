@@ -16,19 +16,32 @@
 package org.seasar.dbflute.bhv.core.supplement;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.seasar.dbflute.XLog;
+import org.seasar.dbflute.exception.SequenceCacheIllegalStateException;
+import org.seasar.dbflute.resource.InternalMapContext;
+import org.seasar.dbflute.resource.ResourceContext;
 import org.seasar.dbflute.util.DfTypeUtil;
 
 /**
- * The handler of sequence cache.
+ * The handler of sequence cache. <br />
+ * Values are taken from the current block by an atomic cursor without lock,
+ * and only a thread that finds the block exhausted refills it (others wait for it). <br />
+ * If the prefetch executor is set, the next block is selected in background when the low-water mark is reached.
  * @author jflute
  * @since 0.9.6.4 (2010/01/15 Friday)
  */
@@ -40,9 +53,6 @@ public class SequenceCache {
     /** Log instance for internal debug. (XLog should be used instead for execute-status log) */
     private static final Log _log = LogFactory.getLog(SequenceCacheHandler.class);
 
-    protected static final BigDecimal INITIAL_ADDED_COUNT = BigDecimal.ZERO;
-    protected static final BigDecimal DEFAULT_ADD_SIZE = BigDecimal.ONE;
-
     // ===================================================================================
     //                                                                           Attribute
     //                                                                           =========
@@ -59,29 +69,39 @@ public class SequenceCache {
     /** The increment size of sequence that is used by batch way only. (NullAllowed: If null, it cannot use batch way) */
     protected final Integer _incrementSize;
 
-    /** The added count. If cached list is valid, this value is unused. (NotNull) */
-    protected volatile BigDecimal _addedCount = INITIAL_ADDED_COUNT;
+    /** The current block of cached values. (NullAllowed: only at first null) */
+    protected volatile SequenceBlock _currentBlock;
 
-    /** The sequence value as base point. (NullAllowed: only at first null) */
-    protected volatile BigDecimal _sequenceValue;
+    /** The lock object to refill the block, only a thread refills it. (NotNull) */
+    protected final Object _refillLock = new Object();
 
-    /** The sequence value as first value for batch way only. (NullAllowed: at first or not batch way) */
-    protected volatile BigDecimal _batchFirstValue;
+    /** The future of prefetched next block. (NullAllowed: if null, no prefetch) {guarded by refill lock} */
+    protected Future<SequenceBlock> _prefetchFuture;
 
-    // should be used in a process synchronized
-    protected final List<BigDecimal> _cachedList = new ArrayList<BigDecimal>();
-    protected final SortedSet<BigDecimal> _tmpSortedSet = new TreeSet<BigDecimal>(new Comparator<BigDecimal>() {
-        public int compare(BigDecimal arg0, BigDecimal arg1) {
-            return arg0.compareTo(arg1);
-        }
-    });
+    /** The executor service for prefetch of next block. (NullAllowed: if null, no prefetch) */
+    protected volatile ExecutorService _prefetchExecutor;
+
+    /** The count of remaining values in the block to start prefetch. (zero means no prefetch) */
+    protected volatile int _prefetchLowWaterMark;
 
-    /** Is the batch way valid? */
-    protected volatile boolean _batchWay;
+    /** The milliseconds to wait for the running prefetch in refill, selected by the current thread after that. */
+    protected volatile long _prefetchWaitMillis = 1000L;
 
     /** Is the internal debug valid? (should be set when immediately after initialization because of no volatile) */
     protected boolean _internalDebug;
 
+    // -----------------------------------------------------
+    //                                               Metrics
+    //                                               -------
+    /** The count of real executions for new block (contains prefetch). */
+    protected final AtomicLong _refillCount = new AtomicLong();
+
+    /** The count of real executions in background. */
+    protected final AtomicLong _prefetchCount = new AtomicLong();
+
+    /** The count of next values that waited for refill by other thread or prefetch. */
+    protected final AtomicLong _waitCount = new AtomicLong();
+
     // ===================================================================================
     //                                                                         Constructor
     //                                                                         ===========
@@ -104,92 +124,194 @@ public class SequenceCache {
      * @param executor The real executor of sequence. (NotNull)
      * @return The next value of sequence as result type. (NotNull)
      */
-    public synchronized Object nextval(SequenceRealExecutor executor) {
-        if (_batchWay) {
-            if (_incrementSize == null) {
-                String msg = "The increment size should not be null if it uses batch way!";
-                throw new IllegalStateException(msg); // basically unreachable
-            }
-            if (_incrementSize >= 2) {
-                _addedCount = _addedCount.add(getAddSize());
-                if (_addedCount.intValue() < _incrementSize) {
+    public Object nextval(SequenceRealExecutor executor) {
+        while (true) {
+            final SequenceBlock block = _currentBlock;
+            if (block != null) {
+                final int index = block.nextIndex();
+                if (index < block.size()) { // mainly here, no lock
+                    prefetchIfNeeds(block, index, executor);
+                    final BigDecimal value = block.valueAt(index);
                     if (isLogEnabled()) {
                         final StringBuilder sb = new StringBuilder();
-                        sb.append("...Getting next value from (cached-size) added count:");
-                        sb.append(" (").append(_sequenceValue).append(" + ").append(_addedCount).append(":");
-                        sb.append(" cache-point=").append(_batchFirstValue).append(")");
+                        sb.append("...Getting next value from cached block:");
+                        sb.append(" (").append(value).append(":");
+                        sb.append(" cache-point=").append(block.valueAt(0)).append(")");
                         log(sb.toString());
                     }
-                    return toResultType(_sequenceValue.add(_addedCount));
+                    return toResultType(value);
                 }
-                _addedCount = INITIAL_ADDED_COUNT;
             }
-            if (!_cachedList.isEmpty()) {
-                _sequenceValue = _cachedList.remove(0);
-                if (isLogEnabled()) {
-                    final StringBuilder sb = new StringBuilder();
-                    sb.append("...Getting next value from cached list:");
-                    sb.append(" (").append(_sequenceValue).append(":");
-                    sb.append(" cache-point=").append(_batchFirstValue).append(")");
-                    log(sb.toString());
-                }
-                return toResultType(_sequenceValue);
+            refill(block, executor); // and retry (basically the new block has values)
+        }
+    }
+
+    // ===================================================================================
+    //                                                                              Refill
+    //                                                                              ======
+    protected void refill(SequenceBlock exhaustedBlock, SequenceRealExecutor executor) {
+        synchronized (_refillLock) {
+            if (_currentBlock != exhaustedBlock) { // other thread has refilled
+                _waitCount.incrementAndGet();
+                return;
             }
-        } else { // incrementWay
-            _addedCount = _addedCount.add(getAddSize());
-            if (_sequenceValue != null && _addedCount.compareTo(_cacheSize) < 0) {
+            SequenceBlock nextBlock = takePrefetchedBlock();
+            if (nextBlock == null) {
                 if (isLogEnabled()) {
-                    final StringBuilder sb = new StringBuilder();
-                    sb.append("...Getting next value from added count:");
-                    sb.append(" (").append(_sequenceValue).append(" + ").append(_addedCount).append(")");
-                    log(sb.toString());
+                    log("...Selecting next value and cache values: cacheSize=" + _cacheSize);
                 }
-                return toResultType(_sequenceValue.add(_addedCount));
+                nextBlock = selectBlock(executor);
             }
+            _currentBlock = nextBlock;
+        }
+    }
+
+    protected SequenceBlock takePrefetchedBlock() { // in refill lock
+        final Future<SequenceBlock> future = _prefetchFuture;
+        if (future == null) {
+            return null;
         }
-        if (isLogEnabled()) {
-            log("...Selecting next value and cache values: cacheSize=" + _cacheSize);
+        _prefetchFuture = null;
+        if (!future.isDone()) {
+            _waitCount.incrementAndGet();
+        }
+        try {
+            // bounded because the background thread might wait for a connection held by waiting threads
+            return future.get(_prefetchWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            String msg = "Interrupted while waiting for the prefetch of sequence: " + toString();
+            throw new SequenceCacheIllegalStateException(msg, e);
+        } catch (TimeoutException e) { // values of the prefetch are discarded if it is running
+            future.cancel(false);
+            if (isInternalDebugEnabled()) {
+                _log.debug("Timed out to wait for the prefetch of sequence so select them again: " + _prefetchWaitMillis);
+            }
+            return null; // selected by the current thread
+        } catch (ExecutionException e) { // e.g. connection failure in background
+            if (isInternalDebugEnabled()) {
+                _log.debug("Failed to prefetch sequence values so select them again: " + e.getCause());
+            }
+            return null; // selected by the current thread
         }
-        setupSequence(executor);
-        return toResultType(_sequenceValue);
     }
 
-    protected BigDecimal getAddSize() {
-        return DEFAULT_ADD_SIZE;
+    protected void prefetchIfNeeds(SequenceBlock block, int index, final SequenceRealExecutor executor) {
+        final ExecutorService prefetchExecutor = _prefetchExecutor;
+        final int lowWaterMark = _prefetchLowWaterMark;
+        if (prefetchExecutor == null || lowWaterMark <= 0) {
+            return;
+        }
+        if (index != Math.max(block.size() - lowWaterMark, 0)) { // only one thread matches the index
+            return;
+        }
+        final ResourceContext resourceContext = ResourceContext.getResourceContextOnThread(); // inherited to background
+        synchronized (_refillLock) {
+            if (_currentBlock != block || _prefetchFuture != null) {
+                return;
+            }
+            try {
+                _prefetchFuture = prefetchExecutor.submit(createPrefetchCallable(executor, resourceContext));
+            } catch (RejectedExecutionException e) { // e.g. shutdown or saturated executor
+                if (isInternalDebugEnabled()) {
+                    _log.debug("The prefetch of sequence was rejected so select them at refill: " + e.getMessage());
+                }
+            }
+        }
     }
 
-    protected void setupSequence(SequenceRealExecutor executor) { // should be called in a process synchronized
-        initialize();
+    protected Callable<SequenceBlock> createPrefetchCallable(final SequenceRealExecutor executor,
+            final ResourceContext resourceContext) {
+        return new Callable<SequenceBlock>() {
+            public SequenceBlock call() {
+                final ResourceContext existingContext = ResourceContext.getResourceContextOnThread();
+                final boolean existingMap = InternalMapContext.isExistInternalMapContextOnThread();
+                if (resourceContext != null) {
+                    ResourceContext.setResourceContextOnThread(resourceContext);
+                }
+                try {
+                    _prefetchCount.incrementAndGet();
+                    return selectBlock(executor); // with another connection if background thread
+                } finally {
+                    if (existingContext != null) {
+                        ResourceContext.setResourceContextOnThread(existingContext);
+                    } else {
+                        ResourceContext.clearResourceContextOnThread();
+                    }
+                    if (!existingMap) {
+                        InternalMapContext.clearInternalMapContextOnThread();
+                    }
+                }
+            }
+        };
+    }
+
+    protected SequenceBlock selectBlock(SequenceRealExecutor executor) {
         if (isInternalDebugEnabled()) {
             _log.debug("...Executing sequence cache: " + executor);
         }
         final Object obj = executor.execute();
         assertSequenceRealExecutorReturnsNotNull(obj, executor);
+        _refillCount.incrementAndGet();
         if (obj instanceof List<?>) { // batchWay
+            if (_incrementSize == null) {
+                String msg = "The increment size should not be null if it uses batch way!";
+                throw new IllegalStateException(msg); // basically unreachable
+            }
             final List<?> selectedList = (List<?>) obj; // no guarantee of order
             assertSequenceRealExecutorReturnsNotEmptyList(selectedList, executor);
+            final SortedSet<BigDecimal> sortedSet = new TreeSet<BigDecimal>(); // order ascend
             for (Object element : selectedList) {
-                _tmpSortedSet.add(toInternalType(element)); // order ascend
+                sortedSet.add(toInternalType(element));
             }
-            _cachedList.addAll(_tmpSortedSet); // setting up cached list (ordered)
-            _sequenceValue = _cachedList.remove(0);
-            _batchFirstValue = _sequenceValue;
-            _batchWay = true;
+            final BigDecimal[] baseValues = sortedSet.toArray(new BigDecimal[sortedSet.size()]);
+            final int expandSize = _incrementSize >= 2 ? _incrementSize : 1; // values between increments
             if (isInternalDebugEnabled()) {
-                final int size = selectedList.size();
-                final String exp = selectedList.get(0) + " to " + selectedList.get(size - 1);
+                final String exp = baseValues[0] + " to " + baseValues[baseValues.length - 1];
                 _log.debug("Cached sequence values by batch way: " + exp);
             }
+            return new SequenceBlock(baseValues, expandSize);
         } else { // incrementWay
-            _sequenceValue = toInternalType(obj);
-            _batchWay = false;
+            return new SequenceBlock(new BigDecimal[] { toInternalType(obj) }, _cacheSize.intValue());
         }
     }
 
-    protected void initialize() { // should be called in a process synchronized
-        _addedCount = INITIAL_ADDED_COUNT;
-        _cachedList.clear();
-        _tmpSortedSet.clear();
+    // ===================================================================================
+    //                                                                      Sequence Block
+    //                                                                      ==============
+    /**
+     * The block of cached values, base values and their added values. (cursor is atomic)
+     */
+    protected static class SequenceBlock {
+
+        protected final BigDecimal[] _baseValues; // ordered
+        protected final int _expandSize; // count of values per base value
+        protected final int _size;
+        protected final AtomicInteger _cursor = new AtomicInteger();
+
+        public SequenceBlock(BigDecimal[] baseValues, int expandSize) {
+            _baseValues = baseValues;
+            _expandSize = expandSize > 0 ? expandSize : 1;
+            _size = baseValues.length * _expandSize;
+        }
+
+        public int nextIndex() {
+            return _cursor.getAndIncrement();
+        }
+
+        public BigDecimal valueAt(int index) {
+            final BigDecimal baseValue = _baseValues[index / _expandSize];
+            final int added = index % _expandSize;
+            return added > 0 ? baseValue.add(BigDecimal.valueOf(added)) : baseValue;
+        }
+
+        public int size() {
+            return _size;
+        }
+
+        public int remaining() {
+            return Math.max(_size - _cursor.get(), 0);
+        }
     }
 
     // -----------------------------------------------------
@@ -253,7 +375,8 @@ public class SequenceCache {
     @Override
     public String toString() {
         final String hash = Integer.toHexString(hashCode());
-        return "{" + "type=" + _resultType + ", cache=" + _cacheSize + ", increment=" + _incrementSize + "}@" + hash;
+        final String metrics = "refill=" + getRefillCount() + ", prefetch=" + getPrefetchCount() + ", wait=" + getWaitCount();
+        return "{" + "type=" + _resultType + ", cache=" + _cacheSize + ", increment=" + _incrementSize + ", " + metrics + "}@" + hash;
     }
 
     // ===================================================================================
@@ -262,4 +385,72 @@ public class SequenceCache {
     public void setInternalDebug(boolean internalDebug) {
         _internalDebug = internalDebug;
     }
+
+    /**
+     * @param prefetchExecutor The executor service for prefetch of next block. (NullAllowed: if null, no prefetch)
+     */
+    public void setPrefetchExecutor(ExecutorService prefetchExecutor) {
+        _prefetchExecutor = prefetchExecutor;
+    }
+
+    /**
+     * @param prefetchLowWaterMark The count of remaining values in the block to start prefetch. (zero means no prefetch)
+     */
+    public void setPrefetchLowWaterMark(int prefetchLowWaterMark) {
+        _prefetchLowWaterMark = prefetchLowWaterMark;
+    }
+
+    /**
+     * @param prefetchWaitMillis The milliseconds to wait for the running prefetch in refill. (NotMinus: zero means no wait)
+     */
+    public void setPrefetchWaitMillis(long prefetchWaitMillis) {
+        _prefetchWaitMillis = prefetchWaitMillis;
+    }
+
+    // -----------------------------------------------------
+    //                                               Metrics
+    //                                               -------
+    /**
+     * @return The count of real executions for new block, containing prefetch.
+     */
+    public long getRefillCount() {
+        return _refillCount.get();
+    }
+
+    /**
+     * @return The count of real executions in background.
+     */
+    public long getPrefetchCount() {
+        return _prefetchCount.get();
+    }
+
+    /**
+     * @return The count of next values that waited for refill by other thread or prefetch.
+     */
+    public long getWaitCount() {
+        return _waitCount.get();
+    }
+
+    /**
+     * Get the count of selected but not used values, which are wasted if the process ends now. <br />
+     * It contains the values of the prefetched block.
+     * @return The count of wasted values.
+     */
+    public long getWastedCount() {
+        long wasted = 0;
+        final SequenceBlock block = _currentBlock;
+        if (block != null) {
+            wasted = wasted + block.remaining();
+        }
+        synchronized (_refillLock) {
+            final Future<SequenceBlock> future = _prefetchFuture;
+            if (future != null && future.isDone()) {
+                try {
+                    wasted = wasted + future.get().size();
+                } catch (Exception ignored) { // failed prefetch has no values
+                }
+            }
+        }
+        return wasted;
+    }
 }
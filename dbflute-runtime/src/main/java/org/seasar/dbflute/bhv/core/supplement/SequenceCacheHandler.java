@@ -16,8 +16,10 @@
 package org.seasar.dbflute.bhv.core.supplement;
 
 import java.math.BigDecimal;
+import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 
 import javax.sql.DataSource;
 
@@ -46,6 +48,8 @@ public class SequenceCacheHandler {
     protected final Object _sequenceCacheLock = new Object();
 
     protected SequenceCacheKeyGenerator _sequenceCacheKeyGenerator;
+    protected ExecutorService _prefetchExecutor; // null means no prefetch
+    protected int _prefetchLowWaterMark;
     protected boolean _internalDebug;
 
     // ===================================================================================
@@ -99,9 +103,21 @@ public class SequenceCacheHandler {
             Integer incrementSize) {
         final SequenceCache cache = new SequenceCache(resultType, new BigDecimal(cacheSize), incrementSize);
         cache.setInternalDebug(_internalDebug);
+        if (_prefetchExecutor != null && _prefetchLowWaterMark > 0) {
+            cache.setPrefetchExecutor(_prefetchExecutor);
+            cache.setPrefetchLowWaterMark(_prefetchLowWaterMark);
+        }
         return cache;
     }
 
+    /**
+     * Get the map of sequence cache, e.g. to see metrics of each sequence.
+     * @return The read-only map of sequence cache keyed by unique strings of the sequence. (NotNull)
+     */
+    public Map<String, SequenceCache> getSequenceCacheMap() {
+        return Collections.unmodifiableMap(_sequenceCacheMap);
+    }
+
     protected String generateKey(String tableName, String sequenceName, DataSource dataSource) {
         if (_sequenceCacheKeyGenerator != null) {
             return _sequenceCacheKeyGenerator.generateKey(tableName, sequenceName, dataSource);
@@ -280,6 +296,22 @@ public class SequenceCacheHandler {
         _sequenceCacheKeyGenerator = sequenceCacheKeyGenerator;
     }
 
+    /**
+     * Set the executor service to select next values of sequence in background. <br />
+     * It is effective with plus low-water mark and for caches created after this.
+     * @param prefetchExecutor The executor service for prefetch. (NullAllowed: if null, no prefetch)
+     */
+    public void setPrefetchExecutor(ExecutorService prefetchExecutor) {
+        _prefetchExecutor = prefetchExecutor;
+    }
+
+    /**
+     * @param prefetchLowWaterMark The count of remaining cached values to start prefetch. (zero means no prefetch)
+     */
+    public void setPrefetchLowWaterMark(int prefetchLowWaterMark) {
+        _prefetchLowWaterMark = prefetchLowWaterMark;
+    }
+
     public void setInternalDebug(boolean internalDebug) {
         _internalDebug = internalDebug;
     }
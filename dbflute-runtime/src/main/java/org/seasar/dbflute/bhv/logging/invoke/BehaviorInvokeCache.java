@@ -0,0 +1,166 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.bhv.logging.invoke;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The cache of behavior invoke results keyed by the caller frames. <br />
+ * The extraction of invoke name and path scans the whole stack trace with string operations,
+ * but the results are always same for the same frames so they can be reused. <br />
+ * This is lock-free and bounded, it stops registration (not evicts) when the size is over.
+ * @author jflute
+ * @since 1.0.5N
+ */
+public class BehaviorInvokeCache {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    public static final int DEFAULT_MAX_SIZE = 1000;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final int _maxSize;
+    protected final Map<InvokeKey, BehaviorInvokeResult> _resultMap = new ConcurrentHashMap<InvokeKey, BehaviorInvokeResult>();
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * Constructor with default size.
+     */
+    public BehaviorInvokeCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Constructor.
+     * @param maxSize The max size of cached results. (NotMinus, NotZero)
+     */
+    public BehaviorInvokeCache(int maxSize) {
+        if (maxSize <= 0) {
+            String msg = "The argument 'maxSize' should be positive: " + maxSize;
+            throw new IllegalArgumentException(msg);
+        }
+        _maxSize = maxSize;
+    }
+
+    // ===================================================================================
+    //                                                                            Handling
+    //                                                                            ========
+    /**
+     * Find the invoke result of the frames.
+     * @param commandKey The key of the behavior command, e.g. table and command name. (NotNull)
+     * @param stackTrace The stack trace of the invocation. (NotNull)
+     * @return The cached result. (NullAllowed: if null, not found)
+     */
+    public BehaviorInvokeResult findResult(String commandKey, StackTraceElement[] stackTrace) {
+        return _resultMap.get(new InvokeKey(commandKey, stackTrace));
+    }
+
+    /**
+     * Register the invoke result of the frames if the cache is not full.
+     * @param commandKey The key of the behavior command, e.g. table and command name. (NotNull)
+     * @param stackTrace The stack trace of the invocation. (NotNull)
+     * @param result The result of invocation for the frames. (NotNull)
+     */
+    public void registerResult(String commandKey, StackTraceElement[] stackTrace, BehaviorInvokeResult result) {
+        if (_resultMap.size() >= _maxSize) { // e.g. so many callers
+            return; // keep already-cached callers (the size is not strict but no problem)
+        }
+        _resultMap.put(new InvokeKey(commandKey, stackTrace), result);
+    }
+
+    public void clear() {
+        _resultMap.clear();
+    }
+
+    public int getCachedSize() {
+        return _resultMap.size();
+    }
+
+    protected static class InvokeKey {
+
+        protected final String _commandKey;
+        protected final StackTraceElement[] _stackTrace;
+        protected final int _hashCode;
+
+        public InvokeKey(String commandKey, StackTraceElement[] stackTrace) {
+            _commandKey = commandKey;
+            _stackTrace = stackTrace;
+            _hashCode = 31 * commandKey.hashCode() + Arrays.hashCode(stackTrace);
+        }
+
+        @Override
+        public int hashCode() {
+            return _hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof InvokeKey)) {
+                return false;
+            }
+            final InvokeKey other = (InvokeKey) obj;
+            return _hashCode == other._hashCode && _commandKey.equals(other._commandKey)
+                    && Arrays.equals(_stackTrace, other._stackTrace);
+        }
+    }
+
+    /**
+     * The pair of invoke results for one invocation.
+     */
+    public static class BehaviorInvokeResult {
+
+        protected final BehaviorInvokeNameResult _invokeNameResult;
+        protected final BehaviorInvokePathResult _invokePathResult; // null allowed
+
+        public BehaviorInvokeResult(BehaviorInvokeNameResult invokeNameResult, BehaviorInvokePathResult invokePathResult) {
+            _invokeNameResult = invokeNameResult;
+            _invokePathResult = invokePathResult;
+        }
+
+        public BehaviorInvokeNameResult getInvokeNameResult() {
+            return _invokeNameResult;
+        }
+
+        /**
+         * @return The result of invoke path. (NullAllowed: when no client and by-pass)
+         */
+        public BehaviorInvokePathResult getInvokePathResult() {
+            return _invokePathResult;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "{maxSize=" + _maxSize + ", cached=" + getCachedSize() + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int getMaxSize() {
+        return _maxSize;
+    }
+}
@@ -59,6 +59,7 @@ import org.seasar.dbflute.helper.beans.DfBeanDesc;
 import org.seasar.dbflute.helper.beans.factory.DfBeanDescFactory;
 import org.seasar.dbflute.jdbc.StatementConfig;
 import org.seasar.dbflute.resource.DBFluteSystem;
+import org.seasar.dbflute.twowaysql.SqlAnalyzer;
 import org.seasar.dbflute.twowaysql.factory.SqlAnalyzerFactory;
 import org.seasar.dbflute.util.DfReflectionUtil;
 import org.seasar.dbflute.util.DfReflectionUtil.ReflectionFailureException;
@@ -95,6 +96,9 @@ public abstract class AbstractConditionBean implements ConditionBean {
     /** Does it split SQL execution as select and query? {Internal} */
     protected boolean _pagingSelectAndQuerySplit;
 
+    /** The condition-bean for concurrent count of paging. (NullAllowed: if null, sequential) {Internal} */
+    protected ConditionBean _pagingCountConcurrentCB;
+
     // -----------------------------------------------------
     //                                                 Union
     //                                                 -----
@@ -920,6 +924,61 @@ public abstract class AbstractConditionBean implements ConditionBean {
         _pagingSelectAndQuerySplit = false;
     }
 
+    /**
+     * Enable that the count of paging is executed concurrently with the paging select
+     * by the other condition-bean on another connection. <br />
+     * The count condition-bean should have the same query as this, but it should be another instance
+     * because a condition-bean cannot be used by two threads at the same time. <br />
+     * Call this after the queries of both condition-beans are set up, because their where clauses are compared here.
+     * <pre>
+     * Cannot use this (sequential as usual but no exception):
+     *  o if in transaction (auto-commit false) or no executor in DBFlute configuration
+     *  o if outside-SQL paging
+     *
+     * Automatically Changed:
+     *  o disable PagingCountLater (to always count concurrently)
+     * </pre>
+     * @param countCB The condition-bean for count that has the same query. (NotNull)
+     */
+    public void enablePagingCountConcurrent(ConditionBean countCB) {
+        assertObjectNotNull("countCB", countCB);
+        if (countCB == this) {
+            String msg = "The countCB should be another instance from the paging condition-bean: " + countCB;
+            throw new IllegalConditionBeanOperationException(msg);
+        }
+        if (!getTableDbName().equals(countCB.getTableDbName())) {
+            String msg = "The countCB should be for the same table: " + getTableDbName() + ", " + countCB.getTableDbName();
+            throw new IllegalConditionBeanOperationException(msg);
+        }
+        final String pagingWhere = xbuildWhereDisplaySql(this);
+        final String countWhere = xbuildWhereDisplaySql(countCB);
+        if (!pagingWhere.equals(countWhere)) { // the count would not be the count of the pages
+            String msg = "The countCB should have the same query as the paging condition-bean:";
+            msg = msg + ln() + "paging: " + pagingWhere + ln() + "count: " + countWhere;
+            throw new IllegalConditionBeanOperationException(msg);
+        }
+        disablePagingCountLater();
+        _pagingCountConcurrentCB = countCB;
+    }
+
+    protected String xbuildWhereDisplaySql(ConditionBean cb) { // with bound values to compare also values
+        final String whereClause = cb.getSqlClause().getWhereClause();
+        return SqlAnalyzer.convertTwoWaySql2DisplaySql(getSqlAnalyzerFactory(), whereClause, cb, getLogDateFormat(),
+                getLogTimestampFormat()).trim();
+    }
+
+    public void disablePagingCountConcurrent() {
+        _pagingCountConcurrentCB = null;
+    }
+
+    /**
+     * Get the condition-bean for concurrent count of paging. {Internal}
+     * @return The condition-bean for count. (NullAllowed: if null, sequential)
+     */
+    public ConditionBean xgetPagingCountConcurrentCB() {
+        return _pagingCountConcurrentCB;
+    }
+
     // -----------------------------------------------------
     //                                         Fetch Setting
     //                                         -------------
@@ -1261,6 +1320,16 @@ public abstract class AbstractConditionBean implements ConditionBean {
         _canRelationMappingCache = false;
     }
 
+    /**
+     * Disable sharing relation rows between base rows in the select. <br />
+     * Relation rows of the same key become different instances, and no relation key and cache are created,
+     * so it reduces allocation for a lot of rows with many relations (e.g. exporting). <br />
+     * You can use this when you don't need the identity of relation rows (e.g. not modifying them).
+     */
+    public void disableRelationRowSharing() {
+        _canRelationMappingCache = false;
+    }
+
     /** {@inheritDoc} */
     public boolean canRelationMappingCache() {
         return _canRelationMappingCache;
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.cbean;
+
+/**
+ * The handler of paging that can execute the count in another thread. <br />
+ * The count for concurrent execution should use its own resources (e.g. condition-bean),
+ * because the paging is executed at the same time in the caller thread.
+ * @param <ENTITY> The type of entity.
+ * @author jflute
+ * @since 1.1.0 (2014/10/30 Thursday)
+ */
+public interface ConcurrentPagingHandler<ENTITY> extends PagingHandler<ENTITY> {
+
+    /**
+     * Can the count be executed concurrently with the paging? <br />
+     * This is called in the caller thread before the executions, e.g. false in transaction.
+     * @return The determination, true or false.
+     */
+    boolean canCountConcurrently();
+
+    /**
+     * Execute SQL for count in another thread by its own resources.
+     * @return The count of execution.
+     */
+    int countConcurrently();
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.cbean;
+
+import java.util.List;
+
+/**
+ * The handler of entity chunk, which is a list of entity rows in cursor select.
+ * @author jflute
+ * @param <ENTITY> The type of entity.
+ * @since 1.1.0 (2014/10/31 Friday)
+ */
+public interface EntityChunkHandler<ENTITY> {
+
+    /**
+     * Handle the chunk of entities. <br />
+     * The list is reused for the next chunk, so you should not keep it after this method.
+     * @param chunk The list of entity rows, its size is chunk size or less at the last. (NotNull, NotEmpty)
+     */
+    void handle(List<ENTITY> chunk);
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.cbean;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The handler of entity row that delivers rows to the chunk handler in chunks. <br />
+ * The list of chunk is reused, and you should call {@link #flush()} after cursor handling for the last chunk.
+ * @author jflute
+ * @param <ENTITY> The type of entity.
+ * @since 1.1.0 (2014/10/31 Friday)
+ */
+public class EntityChunkRowHandler<ENTITY> implements EntityRowHandler<ENTITY> {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final int _chunkSize;
+    protected final EntityChunkHandler<ENTITY> _chunkHandler;
+    protected final List<ENTITY> _chunkList;
+    protected long _deliveredCount;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param chunkSize The size of one chunk. (NotMinus, NotZero)
+     * @param chunkHandler The handler of entity chunk. (NotNull)
+     */
+    public EntityChunkRowHandler(int chunkSize, EntityChunkHandler<ENTITY> chunkHandler) {
+        if (chunkSize <= 0) {
+            String msg = "The argument 'chunkSize' should be positive: " + chunkSize;
+            throw new IllegalArgumentException(msg);
+        }
+        if (chunkHandler == null) {
+            String msg = "The argument 'chunkHandler' should not be null.";
+            throw new IllegalArgumentException(msg);
+        }
+        _chunkSize = chunkSize;
+        _chunkHandler = chunkHandler;
+        _chunkList = new ArrayList<ENTITY>(chunkSize);
+    }
+
+    // ===================================================================================
+    //                                                                              Handle
+    //                                                                              ======
+    public void handle(ENTITY entity) {
+        _chunkList.add(entity);
+        if (_chunkList.size() >= _chunkSize) {
+            deliver();
+        }
+    }
+
+    /**
+     * Deliver the remaining rows as the last chunk if they exist.
+     */
+    public void flush() {
+        if (!_chunkList.isEmpty()) {
+            deliver();
+        }
+    }
+
+    protected void deliver() {
+        try {
+            _chunkHandler.handle(_chunkList);
+            _deliveredCount = _deliveredCount + _chunkList.size();
+        } finally {
+            _chunkList.clear(); // reused for next chunk
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int getChunkSize() {
+        return _chunkSize;
+    }
+
+    /**
+     * @return The count of rows delivered to the chunk handler.
+     */
+    public long getDeliveredCount() {
+        return _deliveredCount;
+    }
+}
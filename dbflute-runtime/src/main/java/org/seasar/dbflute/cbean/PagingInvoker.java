@@ -16,7 +16,12 @@
 package org.seasar.dbflute.cbean;
 
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
+import org.seasar.dbflute.CallbackContext;
 import org.seasar.dbflute.exception.DangerousResultSizeException;
 import org.seasar.dbflute.exception.PagingOverSafetySizeException;
 import org.seasar.dbflute.exception.PagingStatusInvalidException;
@@ -36,6 +41,9 @@ public class PagingInvoker<ENTITY> {
     //                                                                           =========
     protected final String _tableDbName;
 
+    /** The executor service for concurrent count. (NullAllowed: if null, sequential) */
+    protected ExecutorService _concurrentCountExecutor;
+
     // ===================================================================================
     //                                                                         Constructor
     //                                                                         ===========
@@ -43,6 +51,18 @@ public class PagingInvoker<ENTITY> {
         _tableDbName = tableDbName;
     }
 
+    /**
+     * Use the executor service to execute the count concurrently with the paging. <br />
+     * It is effective only when the handler is {@link ConcurrentPagingHandler} and it can count concurrently,
+     * and not count-later. Otherwise the count and the paging are executed sequentially as usual.
+     * @param concurrentCountExecutor The executor service for concurrent count. (NullAllowed: if null, sequential)
+     * @return this. (NotNull)
+     */
+    public PagingInvoker<ENTITY> useConcurrentCount(ExecutorService concurrentCountExecutor) {
+        _concurrentCountExecutor = concurrentCountExecutor;
+        return this;
+    }
+
     // ===================================================================================
     //                                                                              Invoke
     //                                                                              ======
@@ -88,7 +108,21 @@ public class PagingInvoker<ENTITY> {
         final int safetyMaxResultSize = pagingBean.getSafetyMaxResultSize();
         final int allRecordCount;
         final List<ENTITY> selectedList;
-        if (pagingBean.canPagingCountLater()) { // faster when last page selected (contains zero record)
+        final ConcurrentPagingHandler<ENTITY> concurrentHandler = findConcurrentPagingHandler(handler, pagingBean);
+        if (concurrentHandler != null) { // faster when both are heavy
+            final Future<Integer> countFuture = submitConcurrentCount(concurrentHandler);
+            boolean completed = false;
+            try {
+                selectedList = executePaging(handler);
+                allRecordCount = waitForConcurrentCount(countFuture);
+                completed = true;
+            } finally {
+                if (!completed) {
+                    countFuture.cancel(true); // no need to count if paging failed
+                }
+            }
+            checkSafetyResultIfNeeds(safetyMaxResultSize, allRecordCount);
+        } else if (pagingBean.canPagingCountLater()) { // faster when last page selected (contains zero record)
             selectedList = executePaging(handler);
             if (isCurrentLastPage(selectedList, pagingBean)) {
                 allRecordCount = deriveAllRecordCountByLastPage(selectedList, pagingBean);
@@ -149,6 +183,75 @@ public class PagingInvoker<ENTITY> {
         return handler.paging();
     }
 
+    // -----------------------------------------------------
+    //                                      Concurrent Count
+    //                                      ----------------
+    /**
+     * Find the handler of concurrent paging if the count can be executed concurrently.
+     * @param handler The handler of paging. (NotNull)
+     * @param pagingBean The bean of paging. (NotNull)
+     * @return The handler of concurrent paging. (NullAllowed: if null, sequential)
+     */
+    protected ConcurrentPagingHandler<ENTITY> findConcurrentPagingHandler(PagingHandler<ENTITY> handler, PagingBean pagingBean) {
+        if (_concurrentCountExecutor == null || !(handler instanceof ConcurrentPagingHandler<?>)) {
+            return null;
+        }
+        if (pagingBean.canPagingCountLater()) { // count-later may not need count (and MySQL's found_rows() needs same connection)
+            return null;
+        }
+        final ConcurrentPagingHandler<ENTITY> concurrentHandler = (ConcurrentPagingHandler<ENTITY>) handler;
+        return concurrentHandler.canCountConcurrently() ? concurrentHandler : null;
+    }
+
+    protected Future<Integer> submitConcurrentCount(final ConcurrentPagingHandler<ENTITY> handler) {
+        final CallbackContext callbackContext = CallbackContext.getCallbackContextOnThread(); // inherited to worker
+        return _concurrentCountExecutor.submit(new Callable<Integer>() {
+            public Integer call() {
+                // the thread does not have manual thread data source so it uses another connection
+                final CallbackContext existingContext = CallbackContext.getCallbackContextOnThread();
+                if (callbackContext != null) {
+                    CallbackContext.setCallbackContextOnThread(callbackContext);
+                }
+                try {
+                    return executeConcurrentCount(handler);
+                } finally {
+                    if (existingContext != null) {
+                        CallbackContext.setCallbackContextOnThread(existingContext);
+                    } else {
+                        CallbackContext.clearCallbackContextOnThread();
+                    }
+                }
+            }
+        });
+    }
+
+    protected int executeConcurrentCount(ConcurrentPagingHandler<ENTITY> handler) {
+        return handler.countConcurrently();
+    }
+
+    protected int waitForConcurrentCount(Future<Integer> countFuture) {
+        try {
+            return countFuture.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            String msg = "Interrupted while waiting for the concurrent count: table=" + _tableDbName;
+            throw new IllegalStateException(msg, e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) { // e.g. SQL failure, throws it as it is
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            String msg = "Failed to execute the concurrent count: table=" + _tableDbName;
+            throw new IllegalStateException(msg, cause);
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                              Re-Select
+    //                                              ---------
     protected PagingResultBean<ENTITY> reselect(PagingHandler<ENTITY> handler, PagingBean pagingBean, ResultBeanBuilder<ENTITY> builder,
             PagingResultBean<ENTITY> rb) {
         pagingBean.fetchPage(rb.getAllPageCount());
@@ -35,6 +35,7 @@ import java.util.concurrent.ConcurrentHashMap;
 
 import org.seasar.dbflute.Entity;
 import org.seasar.dbflute.FunCustodial;
+import org.seasar.dbflute.dbmeta.accessory.EntityPropertyOrdinals;
 import org.seasar.dbflute.dbmeta.info.ColumnInfo;
 import org.seasar.dbflute.dbmeta.info.ForeignInfo;
 import org.seasar.dbflute.dbmeta.info.ReferrerInfo;
@@ -44,6 +45,7 @@ import org.seasar.dbflute.dbmeta.property.PropertyGateway;
 import org.seasar.dbflute.dbmeta.property.PropertyMethodFinder;
 import org.seasar.dbflute.exception.DBMetaNotFoundException;
 import org.seasar.dbflute.exception.factory.ExceptionMessageBuilder;
+import org.seasar.dbflute.helper.FlexibleKeyTable;
 import org.seasar.dbflute.helper.StringKeyMap;
 import org.seasar.dbflute.jdbc.Classification;
 import org.seasar.dbflute.jdbc.ClassificationMeta;
@@ -85,6 +87,13 @@ public abstract class AbstractDBMeta implements DBMeta {
     private volatile List<ReferrerInfo> _referrerInfoList;
     private volatile StringKeyMap<ReferrerInfo> _referrerInfoFlexibleMap;
 
+    // read-only tables of flexible maps for finders, looking up without creating strings
+    private volatile FlexibleKeyTable<String> _tableDbNameFlexibleTable;
+    private volatile FlexibleKeyTable<ColumnInfo> _columnInfoFlexibleTable;
+    private volatile EntityPropertyOrdinals _propertyOrdinals;
+    private volatile FlexibleKeyTable<ForeignInfo> _foreignInfoFlexibleTable;
+    private volatile FlexibleKeyTable<ReferrerInfo> _referrerInfoFlexibleTable;
+
     // ===================================================================================
     //                                                             Resource Initialization
     //                                                             =======================
@@ -100,6 +109,7 @@ public abstract class AbstractDBMeta implements DBMeta {
 
         // initialize the flexible map of column information 
         getColumnInfoFlexibleMap();
+        getColumnInfoFlexibleTable();
 
         // initialize the primary unique information
         if (hasPrimaryKey()) {
@@ -235,6 +245,24 @@ public abstract class AbstractDBMeta implements DBMeta {
         }
     }
 
+    /**
+     * Get the flexible table of table DB name, read-only copy of the flexible map.
+     * @return The flexible table of table DB name. (NotNull, NotEmpty)
+     */
+    protected FlexibleKeyTable<String> getTableDbNameFlexibleTable() {
+        if (_tableDbNameFlexibleTable != null) {
+            return _tableDbNameFlexibleTable;
+        }
+        final Map<String, String> flexibleMap = getTableDbNameFlexibleMap();
+        synchronized (this) {
+            if (_tableDbNameFlexibleTable != null) {
+                return _tableDbNameFlexibleTable;
+            }
+            _tableDbNameFlexibleTable = createFlexibleKeyTable(flexibleMap);
+            return _tableDbNameFlexibleTable;
+        }
+    }
+
     /**
      * Get the flexible map of table property name.
      * @return The flexible map of table property name. (NotNull, NotEmpty)
@@ -261,7 +289,7 @@ public abstract class AbstractDBMeta implements DBMeta {
      */
     public boolean hasColumn(String columnFlexibleName) {
         assertStringNotNullAndNotTrimmedEmpty("columnFlexibleName", columnFlexibleName);
-        return getColumnInfoFlexibleMap().containsKey(columnFlexibleName);
+        return getColumnInfoFlexibleTable().containsKey(columnFlexibleName);
     }
 
     /**
@@ -269,7 +297,7 @@ public abstract class AbstractDBMeta implements DBMeta {
      */
     public ColumnInfo findColumnInfo(String columnFlexibleName) {
         assertStringNotNullAndNotTrimmedEmpty("columnFlexibleName", columnFlexibleName);
-        final ColumnInfo columnInfo = getColumnInfoFlexibleMap().get(columnFlexibleName);
+        final ColumnInfo columnInfo = getColumnInfoFlexibleTable().get(columnFlexibleName);
         if (columnInfo == null) {
             throwDBMetaNotFoundException("The column info was not found.", "Column", columnFlexibleName);
         }
@@ -389,6 +417,46 @@ public abstract class AbstractDBMeta implements DBMeta {
         }
     }
 
+    /**
+     * Get the flexible table of column information, read-only copy of the flexible map.
+     * @return The flexible table of column information. (NotNull, NotEmpty)
+     */
+    protected FlexibleKeyTable<ColumnInfo> getColumnInfoFlexibleTable() {
+        if (_columnInfoFlexibleTable != null) {
+            return _columnInfoFlexibleTable;
+        }
+        final Map<String, ColumnInfo> flexibleMap = getColumnInfoFlexibleMap();
+        synchronized (this) {
+            if (_columnInfoFlexibleTable != null) {
+                return _columnInfoFlexibleTable;
+            }
+            _columnInfoFlexibleTable = createFlexibleKeyTable(flexibleMap);
+            return _columnInfoFlexibleTable;
+        }
+    }
+
+    /**
+     * Get the ordinals of column properties, which are indexes of column info list.
+     * @return The ordinals of properties for e.g. modified properties of entity. (NotNull)
+     */
+    public EntityPropertyOrdinals getPropertyOrdinals() {
+        if (_propertyOrdinals != null) {
+            return _propertyOrdinals;
+        }
+        final List<ColumnInfo> columnInfoList = getColumnInfoList();
+        synchronized (this) {
+            if (_propertyOrdinals != null) {
+                return _propertyOrdinals;
+            }
+            final List<String> propertyNameList = newArrayListSized(columnInfoList.size());
+            for (ColumnInfo columnInfo : columnInfoList) {
+                propertyNameList.add(columnInfo.getPropertyName());
+            }
+            _propertyOrdinals = new EntityPropertyOrdinals(propertyNameList);
+            return _propertyOrdinals;
+        }
+    }
+
     // ===================================================================================
     //                                                                         Unique Info
     //                                                                         ===========
@@ -437,7 +505,7 @@ public abstract class AbstractDBMeta implements DBMeta {
      */
     public boolean hasForeign(String foreignPropertyName) {
         assertStringNotNullAndNotTrimmedEmpty("foreignPropertyName", foreignPropertyName);
-        return getForeignInfoFlexibleMap().containsKey(foreignPropertyName);
+        return getForeignInfoFlexibleTable().containsKey(foreignPropertyName);
     }
 
     /**
@@ -452,7 +520,7 @@ public abstract class AbstractDBMeta implements DBMeta {
      */
     public ForeignInfo findForeignInfo(String foreignPropertyName) {
         assertStringNotNullAndNotTrimmedEmpty("foreignPropertyName", foreignPropertyName);
-        final ForeignInfo foreignInfo = getForeignInfoFlexibleMap().get(foreignPropertyName);
+        final ForeignInfo foreignInfo = getForeignInfoFlexibleTable().get(foreignPropertyName);
         if (foreignInfo == null) {
             throwDBMetaNotFoundException("The foreign info was not found.", "Foreign Property", foreignPropertyName);
         }
@@ -545,6 +613,24 @@ public abstract class AbstractDBMeta implements DBMeta {
         }
     }
 
+    /**
+     * Get the flexible table of foreign information, read-only copy of the flexible map.
+     * @return The flexible table of foreign information. (NotNull)
+     */
+    protected FlexibleKeyTable<ForeignInfo> getForeignInfoFlexibleTable() {
+        if (_foreignInfoFlexibleTable != null) {
+            return _foreignInfoFlexibleTable;
+        }
+        final Map<String, ForeignInfo> flexibleMap = getForeignInfoFlexibleMap();
+        synchronized (this) {
+            if (_foreignInfoFlexibleTable != null) {
+                return _foreignInfoFlexibleTable;
+            }
+            _foreignInfoFlexibleTable = createFlexibleKeyTable(flexibleMap);
+            return _foreignInfoFlexibleTable;
+        }
+    }
+
     /**
      * Get the relation-no key map of foreign information.
      * @return The flexible map of foreign information. (NotNull)
@@ -574,7 +660,7 @@ public abstract class AbstractDBMeta implements DBMeta {
      */
     public boolean hasReferrer(String referrerPropertyName) {
         assertStringNotNullAndNotTrimmedEmpty("referrerPropertyName", referrerPropertyName);
-        return getReferrerInfoFlexibleMap().containsKey(referrerPropertyName);
+        return getReferrerInfoFlexibleTable().containsKey(referrerPropertyName);
     }
 
     /**
@@ -590,7 +676,7 @@ public abstract class AbstractDBMeta implements DBMeta {
      */
     public ReferrerInfo findReferrerInfo(String referrerPropertyName) {
         assertStringNotNullAndNotTrimmedEmpty("referrerPropertyName", referrerPropertyName);
-        final ReferrerInfo referrerInfo = getReferrerInfoFlexibleMap().get(referrerPropertyName);
+        final ReferrerInfo referrerInfo = getReferrerInfoFlexibleTable().get(referrerPropertyName);
         if (referrerInfo == null) {
             throwDBMetaNotFoundException("The referrer info was not found.", "Referrer Property", referrerPropertyName);
         }
@@ -684,6 +770,24 @@ public abstract class AbstractDBMeta implements DBMeta {
         }
     }
 
+    /**
+     * Get the flexible table of referrer information, read-only copy of the flexible map.
+     * @return The flexible table of referrer information. (NotNull)
+     */
+    protected FlexibleKeyTable<ReferrerInfo> getReferrerInfoFlexibleTable() {
+        if (_referrerInfoFlexibleTable != null) {
+            return _referrerInfoFlexibleTable;
+        }
+        final Map<String, ReferrerInfo> flexibleMap = getReferrerInfoFlexibleMap();
+        synchronized (this) {
+            if (_referrerInfoFlexibleTable != null) {
+                return _referrerInfoFlexibleTable;
+            }
+            _referrerInfoFlexibleTable = createFlexibleKeyTable(flexibleMap);
+            return _referrerInfoFlexibleTable;
+        }
+    }
+
     // -----------------------------------------------------
     //                                          Common Logic
     //                                          ------------
@@ -862,7 +966,7 @@ public abstract class AbstractDBMeta implements DBMeta {
 
         // It uses column before table because column is used much more than table.
         // This is the same consideration at other methods.
-        return getColumnInfoFlexibleMap().containsKey(flexibleName) || getTableDbNameFlexibleMap().containsKey(flexibleName);
+        return getColumnInfoFlexibleTable().containsKey(flexibleName) || getTableDbNameFlexibleTable().containsKey(flexibleName);
     }
 
     /**
@@ -870,11 +974,11 @@ public abstract class AbstractDBMeta implements DBMeta {
      */
     public String findDbName(String flexibleName) {
         assertStringNotNullAndNotTrimmedEmpty("flexibleName", flexibleName);
-        final ColumnInfo columnInfoMap = getColumnInfoFlexibleMap().get(flexibleName);
+        final ColumnInfo columnInfoMap = getColumnInfoFlexibleTable().get(flexibleName);
         if (columnInfoMap != null) {
             return columnInfoMap.getColumnDbName();
         }
-        final String tableDbName = getTableDbNameFlexibleMap().get(flexibleName);
+        final String tableDbName = getTableDbNameFlexibleTable().get(flexibleName);
         if (tableDbName != null) {
             return tableDbName;
         }
@@ -887,7 +991,7 @@ public abstract class AbstractDBMeta implements DBMeta {
      */
     public String findPropertyName(String flexibleName) {
         assertStringNotNullAndNotTrimmedEmpty("flexibleName", flexibleName);
-        final ColumnInfo columnInfoMap = getColumnInfoFlexibleMap().get(flexibleName);
+        final ColumnInfo columnInfoMap = getColumnInfoFlexibleTable().get(flexibleName);
         if (columnInfoMap != null) {
             return columnInfoMap.getPropertyName();
         }
@@ -1232,6 +1336,10 @@ public abstract class AbstractDBMeta implements DBMeta {
         return StringKeyMap.createAsFlexibleConcurrent();
     }
 
+    protected <VALUE> FlexibleKeyTable<VALUE> createFlexibleKeyTable(Map<String, VALUE> flexibleMap) {
+        return FlexibleKeyTable.create(flexibleMap);
+    }
+
     // -----------------------------------------------------
     //                                         Assert Object
     //                                         -------------
@@ -19,14 +19,17 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.seasar.dbflute.Entity;
 import org.seasar.dbflute.FunCustodial;
 import org.seasar.dbflute.dbmeta.accessory.DerivedMappable;
 import org.seasar.dbflute.dbmeta.accessory.EntityDerivedMap;
 import org.seasar.dbflute.dbmeta.accessory.EntityModifiedProperties;
+import org.seasar.dbflute.dbmeta.accessory.EntityPropertyOrdinals;
 import org.seasar.dbflute.dbmeta.accessory.EntityUniqueDrivenProperties;
 import org.seasar.dbflute.jdbc.ClassificationMeta;
 import org.seasar.dbflute.optional.OptionalProperty;
@@ -46,6 +49,9 @@ public abstract class AbstractEntity implements Entity, DerivedMappable, Seriali
     /** The serial version UID for object serialization. (Default) */
     private static final long serialVersionUID = 1L;
 
+    /** The cache of property ordinals for modified properties, key is entity type. (NotNull) */
+    protected static final Map<Class<?>, EntityPropertyOrdinals> __propertyOrdinalsCache = new ConcurrentHashMap<Class<?>, EntityPropertyOrdinals>();
+
     // ===================================================================================
     //                                                                           Attribute
     //                                                                           =========
@@ -136,7 +142,26 @@ public abstract class AbstractEntity implements Entity, DerivedMappable, Seriali
     }
 
     protected EntityModifiedProperties newModifiedProperties() {
-        return new EntityModifiedProperties();
+        return new EntityModifiedProperties(findPropertyOrdinals());
+    }
+
+    /**
+     * Find the ordinals of properties to keep modified properties as bits.
+     * @return The ordinals of properties. (NullAllowed: if null, properties are kept as names)
+     */
+    protected EntityPropertyOrdinals findPropertyOrdinals() { // called when constructed
+        final Class<?> entityType = getClass();
+        final EntityPropertyOrdinals cached = __propertyOrdinalsCache.get(entityType);
+        if (cached != null) {
+            return cached;
+        }
+        final DBMeta dbmeta = getDBMeta(); // static finding in generated entity so no problem in constructor
+        if (!(dbmeta instanceof AbstractDBMeta)) {
+            return null;
+        }
+        final EntityPropertyOrdinals ordinals = ((AbstractDBMeta) dbmeta).getPropertyOrdinals();
+        __propertyOrdinalsCache.put(entityType, ordinals);
+        return ordinals;
     }
 
     protected void registerModifiedProperty(String propertyName) {
@@ -144,6 +169,27 @@ public abstract class AbstractEntity implements Entity, DerivedMappable, Seriali
         registerSpecifiedProperty(propertyName); // synchronize if exists, basically for user's manual call
     }
 
+    /**
+     * Register the modified property by the ordinal without hashing the name. (basically called by generated setter)
+     * @param ordinal The ordinal of property, which is index of column info list in DB meta.
+     * @param propertyName The name of property for the ordinal, used if the ordinal is not available. (NotNull)
+     */
+    protected void registerModifiedOrdinal(int ordinal, String propertyName) {
+        __modifiedProperties.addPropertyOrdinal(ordinal, propertyName);
+        if (__specifiedProperties != null) { // normally false, true if e.g. setting after selected
+            __specifiedProperties.addPropertyOrdinal(ordinal, propertyName);
+        }
+    }
+
+    /**
+     * Get the modified properties as bits of ordinal. (basically for Framework) <br />
+     * Use mymodifiedProperties() in application, this is for checking by ordinal in insert and update.
+     * @return The instance of modified properties, not copied so read-only. (NotNull)
+     */
+    public EntityModifiedProperties xgetModifiedProperties() {
+        return __modifiedProperties;
+    }
+
     // -----------------------------------------------------
     //                                             Specified
     //                                             ---------
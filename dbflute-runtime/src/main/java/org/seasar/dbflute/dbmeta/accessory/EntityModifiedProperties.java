@@ -15,15 +15,23 @@
  */
 package org.seasar.dbflute.dbmeta.accessory;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.AbstractSet;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
 import org.seasar.dbflute.util.DfCollectionUtil;
 
 /**
- * The modified properties of entity. (basically for Framework)
+ * The modified properties of entity. (basically for Framework) <br />
+ * Properties of columns are kept as bits of ordinal if the ordinals are provided,
+ * and other properties are kept as names.
  * @author jflute
  * @since 1.1.0 (2014/10/29 Monday)
  */
@@ -32,22 +40,67 @@ public class EntityModifiedProperties implements Serializable {
     /** The serial version UID for object serialization. (Default) */
     private static final long serialVersionUID = 1L;
 
-    /** The set of property names. (NullAllowed: lazy-loaded) */
+    /** The ordinals of properties shared in the table. (NullAllowed: if null, all are kept as names, and after serialization) */
+    protected transient EntityPropertyOrdinals _ordinals;
+
+    /** The bits of modified ordinals. (NullAllowed: lazy-loaded) */
+    protected transient long[] _ordinalBits;
+
+    /** The set of property names that have no ordinal. (NullAllowed: lazy-loaded) */
     protected Set<String> _propertyNameSet;
 
+    /** The read-only view of property names, which is live so reused. (NullAllowed: lazy-loaded) */
+    protected transient PropertyNameView _propertyNameView;
+
+    public EntityModifiedProperties() {
+    }
+
+    /**
+     * @param ordinals The ordinals of properties shared in the table. (NullAllowed: if null, all are kept as names)
+     */
+    public EntityModifiedProperties(EntityPropertyOrdinals ordinals) {
+        _ordinals = ordinals;
+    }
+
     /**
      * Add property name. (according to Java Beans rule)
      * @param propertyName The string for name. (NotNull)
      */
     public void addPropertyName(String propertyName) {
-        getPropertyNameSet().add(propertyName);
+        final int ordinal = findOrdinal(propertyName);
+        if (ordinal >= 0) {
+            final long[] bits = getOrdinalBits();
+            bits[ordinal >>> 6] |= (1L << ordinal);
+        } else {
+            getPropertyNameSet().add(propertyName);
+        }
+    }
+
+    /**
+     * Add property by the ordinal, which does not need to hash the name. (basically called by generated setter)
+     * @param ordinal The ordinal of property in the ordinals of this, which is index of column info list.
+     * @param propertyName The name of property for the ordinal. (NotNull)
+     */
+    public void addPropertyOrdinal(int ordinal, String propertyName) {
+        if (_ordinals != null && _ordinals.isOrdinalOf(ordinal, propertyName)) { // mainly here
+            final long[] bits = getOrdinalBits();
+            bits[ordinal >>> 6] |= (1L << ordinal);
+        } else { // e.g. no ordinals, after serialization, or generated for other DB meta
+            addPropertyName(propertyName);
+        }
     }
 
     /**
      * Get the set of properties.
-     * @return The set of properties, read-only. (NotNull)
+     * @return The set of properties, read-only view, column order and then others. (NotNull)
      */
     public Set<String> getPropertyNames() {
+        if (_ordinalBits != null) {
+            if (_propertyNameView == null) {
+                _propertyNameView = new PropertyNameView();
+            }
+            return _propertyNameView;
+        }
         if (_propertyNameSet != null) {
             return Collections.unmodifiableSet(_propertyNameSet);
         }
@@ -60,23 +113,41 @@ public class EntityModifiedProperties implements Serializable {
      * @return The determination, true or false.
      */
     public boolean isModifiedProperty(String propertyName) {
+        final int ordinal = findOrdinal(propertyName);
+        if (ordinal >= 0) {
+            return isModifiedOrdinal(ordinal);
+        }
         return _propertyNameSet != null && _propertyNameSet.contains(propertyName);
     }
 
+    /**
+     * Is the property of the ordinal modified?
+     * @param ordinal The ordinal of property in the ordinals of this.
+     * @return The determination, true or false.
+     */
+    public boolean isModifiedOrdinal(int ordinal) {
+        return _ordinalBits != null && (_ordinalBits[ordinal >>> 6] & (1L << ordinal)) != 0;
+    }
+
     /**
      * Is the set of properties empty?
      * @return The determination, true or false.
      */
     public boolean isEmpty() {
-        return _propertyNameSet == null || getPropertyNameSet().isEmpty();
+        return countOrdinalBits() == 0 && (_propertyNameSet == null || _propertyNameSet.isEmpty());
     }
 
     /**
      * Clear the set of properties.
      */
     public void clear() {
+        if (_ordinalBits != null) {
+            for (int i = 0; i < _ordinalBits.length; i++) {
+                _ordinalBits[i] = 0L;
+            }
+        }
         if (_propertyNameSet != null) {
-            getPropertyNameSet().clear();
+            _propertyNameSet.clear();
         }
     }
 
@@ -85,8 +156,13 @@ public class EntityModifiedProperties implements Serializable {
      * @param propertyName The string for name. (NotNull)
      */
     public void remove(String propertyName) {
-        if (_propertyNameSet != null) {
-            getPropertyNameSet().remove(propertyName);
+        final int ordinal = findOrdinal(propertyName);
+        if (ordinal >= 0) {
+            if (_ordinalBits != null) {
+                _ordinalBits[ordinal >>> 6] &= ~(1L << ordinal);
+            }
+        } else if (_propertyNameSet != null) {
+            _propertyNameSet.remove(propertyName);
         }
     }
 
@@ -96,11 +172,51 @@ public class EntityModifiedProperties implements Serializable {
      */
     public void accept(EntityModifiedProperties properties) {
         clear();
+        if (_ordinals != null && _ordinals == properties._ordinals) { // mainly here, copy as bits
+            if (properties._ordinalBits != null) {
+                final long[] bits = getOrdinalBits();
+                System.arraycopy(properties._ordinalBits, 0, bits, 0, bits.length);
+            }
+            if (properties._propertyNameSet != null && !properties._propertyNameSet.isEmpty()) {
+                getPropertyNameSet().addAll(properties._propertyNameSet);
+            }
+            return;
+        }
         for (String propertyName : properties.getPropertyNames()) {
             addPropertyName(propertyName);
         }
     }
 
+    /**
+     * Get the ordinals of properties shared in the table.
+     * @return The instance of ordinals. (NullAllowed: if null, all are kept as names)
+     */
+    public EntityPropertyOrdinals getOrdinals() {
+        return _ordinals;
+    }
+
+    protected int findOrdinal(String propertyName) {
+        return _ordinals != null ? _ordinals.findOrdinal(propertyName) : -1;
+    }
+
+    protected long[] getOrdinalBits() {
+        if (_ordinalBits == null) {
+            _ordinalBits = new long[(_ordinals.size() + 63) >>> 6];
+        }
+        return _ordinalBits;
+    }
+
+    protected int countOrdinalBits() {
+        if (_ordinalBits == null) {
+            return 0;
+        }
+        int count = 0;
+        for (long bits : _ordinalBits) {
+            count += Long.bitCount(bits);
+        }
+        return count;
+    }
+
     protected Set<String> getPropertyNameSet() {
         if (_propertyNameSet == null) {
             _propertyNameSet = new LinkedHashSet<String>();
@@ -108,8 +224,100 @@ public class EntityModifiedProperties implements Serializable {
         return _propertyNameSet;
     }
 
+    // ===================================================================================
+    //                                                                       Name View
+    //                                                                       =========
+    /**
+     * The read-only view of property names, ordinal properties and then name-only properties.
+     */
+    protected class PropertyNameView extends AbstractSet<String> {
+
+        @Override
+        public int size() {
+            return countOrdinalBits() + (_propertyNameSet != null ? _propertyNameSet.size() : 0);
+        }
+
+        @Override
+        public boolean contains(Object obj) {
+            return obj instanceof String && isModifiedProperty((String) obj);
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            final Iterator<String> nameIte = _propertyNameSet != null ? _propertyNameSet.iterator() : null;
+            return new Iterator<String>() {
+                protected int _nextOrdinal = findNextOrdinal(0);
+
+                public boolean hasNext() {
+                    return _nextOrdinal >= 0 || (nameIte != null && nameIte.hasNext());
+                }
+
+                public String next() {
+                    if (_nextOrdinal >= 0) {
+                        final String propertyName = _ordinals.getPropertyName(_nextOrdinal);
+                        _nextOrdinal = findNextOrdinal(_nextOrdinal + 1);
+                        return propertyName;
+                    }
+                    if (nameIte == null) {
+                        throw new NoSuchElementException();
+                    }
+                    return nameIte.next();
+                }
+
+                public void remove() {
+                    throw new UnsupportedOperationException("The modified properties are read-only.");
+                }
+            };
+        }
+
+        protected int findNextOrdinal(int fromOrdinal) {
+            final int size = _ordinals.size();
+            for (int ordinal = fromOrdinal; ordinal < size; ordinal++) {
+                if (isModifiedOrdinal(ordinal)) {
+                    return ordinal;
+                }
+            }
+            return -1;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                       Serialization
+    //                                                                       =============
+    // ordinals are not serialized because they are shared in the table,
+    // so ordinal properties are restored as names
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        final String[] ordinalNames = new String[countOrdinalBits()];
+        if (ordinalNames.length > 0) {
+            int index = 0;
+            for (int ordinal = 0; ordinal < _ordinals.size(); ordinal++) {
+                if (isModifiedOrdinal(ordinal)) {
+                    ordinalNames[index] = _ordinals.getPropertyName(ordinal);
+                    ++index;
+                }
+            }
+        }
+        out.writeObject(ordinalNames);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        final String[] ordinalNames = (String[]) in.readObject();
+        if (ordinalNames.length > 0) {
+            final Set<String> restoredSet = new LinkedHashSet<String>();
+            for (String propertyName : ordinalNames) {
+                restoredSet.add(propertyName);
+            }
+            if (_propertyNameSet != null) {
+                restoredSet.addAll(_propertyNameSet);
+            }
+            _propertyNameSet = restoredSet;
+        }
+    }
+
     @Override
     public String toString() {
-        return "modifiedProp:" + _propertyNameSet;
+        return "modifiedProp:" + (_ordinalBits != null ? getPropertyNames() : _propertyNameSet);
     }
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.dbmeta.accessory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The ordinals of entity properties, which are indexes of column info list in DB meta. (basically for Framework) <br />
+ * It is immutable and shared by all entities of the table.
+ * @author jflute
+ * @since 1.1.0 (2026/10/18 Sunday)
+ */
+public class EntityPropertyOrdinals {
+
+    /** The array of property names, index is ordinal. (NotNull) */
+    protected final String[] _propertyNames;
+
+    /** The map of ordinal, key is property name. (NotNull) */
+    protected final Map<String, Integer> _ordinalMap;
+
+    /**
+     * @param propertyNameList The list of property names in column order. (NotNull)
+     */
+    public EntityPropertyOrdinals(List<String> propertyNameList) {
+        _propertyNames = propertyNameList.toArray(new String[propertyNameList.size()]);
+        _ordinalMap = new HashMap<String, Integer>(_propertyNames.length * 2);
+        for (int i = 0; i < _propertyNames.length; i++) {
+            _ordinalMap.put(_propertyNames[i], i);
+        }
+    }
+
+    /**
+     * Find the ordinal of the property.
+     * @param propertyName The name of property. (NullAllowed: if null, returns minus)
+     * @return The ordinal of the property, or -1 if not found.
+     */
+    public int findOrdinal(String propertyName) {
+        final Integer ordinal = _ordinalMap.get(propertyName);
+        return ordinal != null ? ordinal : -1;
+    }
+
+    /**
+     * Is the ordinal for the property? (without hashing the name)
+     * @param ordinal The ordinal of property, e.g. generated in setter.
+     * @param propertyName The name of property. (NotNull)
+     * @return The determination, true or false. (false if out of range)
+     */
+    public boolean isOrdinalOf(int ordinal, String propertyName) {
+        if (ordinal < 0 || ordinal >= _propertyNames.length) {
+            return false;
+        }
+        final String ordinalName = _propertyNames[ordinal];
+        return ordinalName == propertyName || ordinalName.equals(propertyName);
+    }
+
+    /**
+     * Get the property name of the ordinal.
+     * @param ordinal The ordinal of property, which is between zero and size.
+     * @return The name of property. (NotNull)
+     */
+    public String getPropertyName(int ordinal) {
+        return _propertyNames[ordinal];
+    }
+
+    /**
+     * Get the count of properties.
+     * @return The count of properties.
+     */
+    public int size() {
+        return _propertyNames.length;
+    }
+
+    @Override
+    public String toString() {
+        return "ordinals:" + _ordinalMap.size();
+    }
+}
@@ -49,6 +49,25 @@ public interface DBWay {
 
     boolean isLineCommentSupported();
 
+    /**
+     * Does it support multi-row VALUES of insert? e.g. insert into ... values (...), (...)
+     * @return The determination, true or false.
+     */
+    boolean isMultiRowValuesInsertSupported();
+
+    /**
+     * Get the limit count of rows in one multi-row VALUES of insert. e.g. 1000 of SQLServer <br />
+     * The limit of bind parameters is another restriction, see {@link #getBindParameterLimitCount()}.
+     * @return The count of rows. (NotMinus: zero means no limit of rows)
+     */
+    int getMultiRowValuesInsertLimitCount();
+
+    /**
+     * Get the limit count of bind parameters in one statement. e.g. 2100 of SQLServer
+     * @return The count of parameters. (NotMinus: zero means no limit or unknown)
+     */
+    int getBindParameterLimitCount();
+
     // ===================================================================================
     //                                                                        JDBC Support
     //                                                                        ============
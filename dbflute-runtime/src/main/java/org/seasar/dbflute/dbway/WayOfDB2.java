@@ -58,6 +58,18 @@ public class WayOfDB2 implements DBWay, Serializable {
         return true;
     }
 
+    public boolean isMultiRowValuesInsertSupported() {
+        return true;
+    }
+
+    public int getMultiRowValuesInsertLimitCount() {
+        return 0;
+    }
+
+    public int getBindParameterLimitCount() {
+        return 0;
+    }
+
     // ===================================================================================
     //                                                                        JDBC Support
     //                                                                        ============
@@ -56,6 +56,18 @@ public class WayOfDerby implements DBWay, Serializable {
         return true;
     }
 
+    public boolean isMultiRowValuesInsertSupported() {
+        return true;
+    }
+
+    public int getMultiRowValuesInsertLimitCount() {
+        return 0;
+    }
+
+    public int getBindParameterLimitCount() {
+        return 0;
+    }
+
     // ===================================================================================
     //                                                                        JDBC Support
     //                                                                        ============
@@ -56,6 +56,18 @@ public class WayOfFirebird implements DBWay, Serializable {
         return true;
     }
 
+    public boolean isMultiRowValuesInsertSupported() {
+        return false;
+    }
+
+    public int getMultiRowValuesInsertLimitCount() {
+        return 0;
+    }
+
+    public int getBindParameterLimitCount() {
+        return 0;
+    }
+
     // ===================================================================================
     //                                                                        JDBC Support
     //                                                                        ============
@@ -56,6 +56,18 @@ public class WayOfMSAccess implements DBWay, Serializable {
         return false;
     }
 
+    public boolean isMultiRowValuesInsertSupported() {
+        return false;
+    }
+
+    public int getMultiRowValuesInsertLimitCount() {
+        return 0;
+    }
+
+    public int getBindParameterLimitCount() {
+        return 0;
+    }
+
     // ===================================================================================
     //                                                                        JDBC Support
     //                                                                        ============
@@ -75,6 +75,18 @@ public class WayOfMySQL implements DBWay, Serializable {
         return true;
     }
 
+    public boolean isMultiRowValuesInsertSupported() {
+        return true;
+    }
+
+    public int getMultiRowValuesInsertLimitCount() {
+        return 0;
+    }
+
+    public int getBindParameterLimitCount() {
+        return 0;
+    }
+
     // ===================================================================================
     //                                                                        JDBC Support
     //                                                                        ============
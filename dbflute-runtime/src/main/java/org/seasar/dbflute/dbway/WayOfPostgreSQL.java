@@ -58,6 +58,18 @@ public class WayOfPostgreSQL implements DBWay, Serializable {
         return true;
     }
 
+    public boolean isMultiRowValuesInsertSupported() {
+        return true;
+    }
+
+    public int getMultiRowValuesInsertLimitCount() {
+        return 0;
+    }
+
+    public int getBindParameterLimitCount() {
+        return 32767; // the JDBC driver sends the count of parameters as two bytes
+    }
+
     // ===================================================================================
     //                                                                        JDBC Support
     //                                                                        ============
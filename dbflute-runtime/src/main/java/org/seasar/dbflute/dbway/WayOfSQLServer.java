@@ -70,6 +70,18 @@ public class WayOfSQLServer implements DBWay, Serializable {
         return true;
     }
 
+    public boolean isMultiRowValuesInsertSupported() {
+        return true;
+    }
+
+    public int getMultiRowValuesInsertLimitCount() {
+        return 1000; // table value constructor allows 1000 rows at most
+    }
+
+    public int getBindParameterLimitCount() {
+        return 2100; // a request allows 2100 parameters at most
+    }
+
     // ===================================================================================
     //                                                                        JDBC Support
     //                                                                        ============
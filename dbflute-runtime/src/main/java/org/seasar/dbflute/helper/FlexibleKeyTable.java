@@ -0,0 +1,173 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.helper;
+
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * The read-only table of string key as flexible, the same rules as flexible {@link StringKeyMap}. <br />
+ * Keys are hashed and compared character by character so it does not create strings when looking up. <br />
+ * It cannot be changed after creation so it can be shared between threads.
+ * @author jflute
+ * @param <VALUE> The type of value.
+ */
+public class FlexibleKeyTable<VALUE> {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** The array of converted keys, null element means empty slot. (NotNull) */
+    protected final String[] _keys;
+
+    /** The array of values, same index as keys. (NotNull) */
+    protected final Object[] _values;
+
+    /** The mask of index, length of arrays minus one. */
+    protected final int _mask;
+
+    /** The count of keys. */
+    protected final int _size;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    protected FlexibleKeyTable(Map<String, VALUE> convertedMap) {
+        int capacity = 2;
+        while (capacity < convertedMap.size() * 2) { // low load factor to hardly collide
+            capacity = capacity << 1;
+        }
+        _keys = new String[capacity];
+        _values = new Object[capacity];
+        _mask = capacity - 1;
+        for (Entry<String, VALUE> entry : convertedMap.entrySet()) {
+            final String key = entry.getKey();
+            int index = key.hashCode() & _mask;
+            while (_keys[index] != null) {
+                index = (index + 1) & _mask;
+            }
+            _keys[index] = key;
+            _values[index] = entry.getValue();
+        }
+        _size = convertedMap.size();
+    }
+
+    /**
+     * Create the table of string key as flexible from the map.
+     * @param <VALUE> The type of value.
+     * @param map The map of plain key and value, e.g. flexible {@link StringKeyMap}. (NotNull)
+     * @return The table of string key as flexible. (NotNull)
+     */
+    public static <VALUE> FlexibleKeyTable<VALUE> create(Map<String, VALUE> map) {
+        final StringKeyMap<VALUE> flexibleMap = StringKeyMap.createAsFlexible();
+        for (Entry<String, VALUE> entry : map.entrySet()) {
+            final String key = entry.getKey();
+            if (key != null && entry.getValue() != null) { // same restriction as concurrent map
+                flexibleMap.put(key, entry.getValue());
+            }
+        }
+        return new FlexibleKeyTable<VALUE>(flexibleMap._searchMap); // search map has converted keys
+    }
+
+    // ===================================================================================
+    //                                                                              Lookup
+    //                                                                              ======
+    /**
+     * Get the value by the key as flexible.
+     * @param key The string key, converted by flexible rules. (NullAllowed: if null, returns null)
+     * @return The value for the key. (NullAllowed: when not found)
+     */
+    @SuppressWarnings("unchecked")
+    public VALUE get(String key) {
+        if (key == null) {
+            return null;
+        }
+        final int begin = StringKeyMap.findKeyBeginIndex(key, true);
+        final int end = key.length() - begin;
+        int hash = 0;
+        for (int i = begin; i < end; i++) {
+            final char ch = key.charAt(i);
+            if (ch >= 0x80) { // rare case so simply uses the map rules
+                return getByConvertedKey(convertByMapRules(key));
+            }
+            if (!StringKeyMap.isKeyConnector(ch, true)) {
+                hash = 31 * hash + StringKeyMap.toLowerCaseAscii(ch); // same as String.hashCode()
+            }
+        }
+        int index = hash & _mask;
+        String current;
+        while ((current = _keys[index]) != null) {
+            if (matches(current, key, begin, end)) {
+                return (VALUE) _values[index];
+            }
+            index = (index + 1) & _mask;
+        }
+        return null;
+    }
+
+    /**
+     * Does the table contain the key as flexible?
+     * @param key The string key, converted by flexible rules. (NullAllowed: if null, returns false)
+     * @return The determination, true or false.
+     */
+    public boolean containsKey(String key) {
+        return get(key) != null; // values are not null
+    }
+
+    protected boolean matches(String convertedKey, String key, int begin, int end) {
+        final int convertedLength = convertedKey.length();
+        int index = 0;
+        for (int i = begin; i < end; i++) {
+            final char ch = key.charAt(i);
+            if (StringKeyMap.isKeyConnector(ch, true)) {
+                continue;
+            }
+            if (index >= convertedLength || convertedKey.charAt(index) != StringKeyMap.toLowerCaseAscii(ch)) {
+                return false;
+            }
+            ++index;
+        }
+        return index == convertedLength;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected VALUE getByConvertedKey(String convertedKey) {
+        int index = convertedKey.hashCode() & _mask;
+        String current;
+        while ((current = _keys[index]) != null) {
+            if (current.equals(convertedKey)) {
+                return (VALUE) _values[index];
+            }
+            index = (index + 1) & _mask;
+        }
+        return null;
+    }
+
+    protected String convertByMapRules(String key) {
+        return StringKeyMap.createAsFlexible().convertStringKey(key);
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int size() {
+        return _size;
+    }
+
+    public boolean isEmpty() {
+        return _size == 0;
+    }
+}
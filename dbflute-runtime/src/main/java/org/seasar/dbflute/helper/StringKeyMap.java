@@ -258,7 +258,32 @@ public class StringKeyMap<VALUE> implements Map<String, VALUE>, Serializable {
         if (!(key instanceof String)) {
             return null;
         }
-        return toLowerCase(removeConnector((String) key));
+        final String str = (String) key;
+        final int begin = findKeyBeginIndex(str, _flexible);
+        final int end = str.length() - begin; // quotations are on both sides
+        boolean plain = begin == 0;
+        for (int i = begin; i < end; i++) {
+            final char ch = str.charAt(i);
+            if (ch >= 0x80) { // needs locale-aware conversion
+                return toLowerCase(removeConnector(str));
+            }
+            if (plain && (isKeyConnector(ch, _flexible) || (ch >= 'A' && ch <= 'Z'))) {
+                plain = false;
+            }
+        }
+        if (plain) { // already converted so no allocation (e.g. lower-case property name)
+            return str;
+        }
+        final char[] chars = new char[end - begin];
+        int length = 0;
+        for (int i = begin; i < end; i++) {
+            final char ch = str.charAt(i);
+            if (!isKeyConnector(ch, _flexible)) {
+                chars[length] = toLowerCaseAscii(ch);
+                ++length;
+            }
+        }
+        return new String(chars, 0, length);
     }
 
     protected String removeConnector(String value) {
@@ -287,6 +312,32 @@ public class StringKeyMap<VALUE> implements Map<String, VALUE>, Serializable {
         return value.toLowerCase();
     }
 
+    // -----------------------------------------------------
+    //                                        Character Rule
+    //                                        --------------
+    // the same rules as convertStringKey() character by character,
+    // shared with the flexible key table to look up without intermediate strings
+    /**
+     * Find the begin index of key characters, skipping the quotation when flexible.
+     * @param key The string key. (NotNull)
+     * @param flexible Is the rule flexible?
+     * @return The begin index, 1 if quoted on both sides, else 0. (the end index is length minus this)
+     */
+    protected static int findKeyBeginIndex(String key, boolean flexible) {
+        if (flexible && (isSingleQuoted(key) || isDoubleQuoted(key))) {
+            return 1;
+        }
+        return 0;
+    }
+
+    protected static boolean isKeyConnector(char ch, boolean flexible) {
+        return flexible && (ch == '_' || ch == '-' || ch == ' ');
+    }
+
+    protected static char toLowerCaseAscii(char ch) {
+        return ch >= 'A' && ch <= 'Z' ? (char) (ch + ('a' - 'A')) : ch;
+    }
+
     // ===================================================================================
     //                                                                      General Helper
     //                                                                      ==============
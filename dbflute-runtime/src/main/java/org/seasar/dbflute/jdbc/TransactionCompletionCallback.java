@@ -0,0 +1,30 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.jdbc;
+
+/**
+ * The callback for completion of transaction, registered to the transaction synchronizer.
+ * @author jflute
+ * @since 1.1.0 (2014/12/13 Saturday)
+ */
+public interface TransactionCompletionCallback {
+
+    /**
+     * Handle the completion of the transaction, called in the thread of the transaction after commit or rollback.
+     * @param committed Is the transaction committed? (false if rolled back or unknown)
+     */
+    void afterCompletion(boolean committed);
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.jdbc;
+
+/**
+ * The synchronizer with the transaction of application, e.g. the bridge to the transaction manager of DI container. <br />
+ * DBFlute does not manage transactions by itself, so this tells it the state of transaction on the thread
+ * without getting a connection, and the completion of the transaction.
+ * @author jflute
+ * @since 1.1.0 (2014/12/13 Saturday)
+ */
+public interface TransactionSynchronizer {
+
+    /**
+     * Is the current thread in transaction? <br />
+     * This is called frequently so it should not get a connection from the data source.
+     * @return The determination, true or false.
+     */
+    boolean isInTransaction();
+
+    /**
+     * Register the callback called after the current transaction on the thread is completed. <br />
+     * This is called only when the thread is in transaction.
+     * @param callback The callback for completion of the transaction. (NotNull)
+     */
+    void registerCompletionCallback(TransactionCompletionCallback callback);
+}
@@ -18,6 +18,7 @@ package org.seasar.dbflute.resource;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.seasar.dbflute.bhv.core.supplement.QueryResultCacheResource;
 import org.seasar.dbflute.jdbc.SqlLogInfo;
 import org.seasar.dbflute.jdbc.StatementConfig;
 
@@ -95,6 +96,7 @@ public class InternalMapContext {
     protected static final String KEY_SQL_BEFORE_TIME_MILLIS = "df:SqlBeforeTimeMillis";
     protected static final String KEY_SQL_AFTER_TIME_MILLIS = "df:SqlAfterTimeMillis";
     protected static final String KEY_UPDATE_STATEMENT_CONFIG = "df:UpdateStatementConfig";
+    protected static final String KEY_QUERY_RESULT_CACHE_RESOURCE = "df:QueryResultCacheResource";
 
     // -----------------------------------------------------
     //                                           Invoke Name
@@ -191,4 +193,15 @@ public class InternalMapContext {
     public static void setUpdateStatementConfig(StatementConfig updateStatementConfig) {
         setObject(KEY_UPDATE_STATEMENT_CONFIG, updateStatementConfig);
     }
+
+    // -----------------------------------------------------
+    //                                    Query Result Cache
+    //                                    ------------------
+    public static QueryResultCacheResource getQueryResultCacheResource() {
+        return (QueryResultCacheResource) getObject(KEY_QUERY_RESULT_CACHE_RESOURCE);
+    }
+
+    public static void setQueryResultCacheResource(QueryResultCacheResource queryResultCacheResource) {
+        setObject(KEY_QUERY_RESULT_CACHE_RESOURCE, queryResultCacheResource);
+    }
 }
@@ -101,6 +101,14 @@ public class ManualThreadDataSourceHandler implements DataSourceHandler {
         return _connectionWrapper;
     }
 
+    /**
+     * Get the connection already held by this handler, without getting a new connection.
+     * @return The wrapped connection which cannot be closed really. (NullAllowed: if null, not held yet)
+     */
+    public Connection getHeldConnection() {
+        return _connectionWrapper;
+    }
+
     // methods below should be unused
 
     // ===================================================================================
@@ -25,6 +25,7 @@ import java.util.Map;
 import org.seasar.dbflute.AccessContext;
 import org.seasar.dbflute.DBDef;
 import org.seasar.dbflute.bhv.core.BehaviorCommand;
+import org.seasar.dbflute.bhv.core.supplement.AnalyzedNodeCache;
 import org.seasar.dbflute.cbean.ConditionBean;
 import org.seasar.dbflute.cbean.ConditionBeanContext;
 import org.seasar.dbflute.cbean.cipher.ColumnFunctionCipher;
@@ -206,6 +207,16 @@ public class ResourceContext {
         throw new IllegalStateException(msg);
     }
 
+    /**
+     * @return The cache of analyzed nodes for select SQL. (NullAllowed: if null, no cache)
+     */
+    public static AnalyzedNodeCache analyzedNodeCache() {
+        if (!isExistResourceContextOnThread()) {
+            return null;
+        }
+        return getResourceContextOnThread().getAnalyzedNodeCache();
+    }
+
     public static SQLExceptionHandler createSQLExceptionHandler() {
         assertResourceContextExists();
         final ResourceContext context = getResourceContextOnThread();
@@ -261,6 +272,24 @@ public class ResourceContext {
         return resourceParameter != null ? resourceParameter.getLogTimestampFormat() : null;
     }
 
+    public static Integer getDefaultBatchSplitSize() {
+        final ResourceParameter resourceParameter = resourceParameter();
+        return resourceParameter != null ? resourceParameter.getDefaultBatchSplitSize() : null;
+    }
+
+    public static boolean isUseInvokePathCache() {
+        final ResourceParameter resourceParameter = resourceParameter();
+        return resourceParameter != null ? resourceParameter.isUseInvokePathCache() : false;
+    }
+
+    /**
+     * @return The interval of sampling for invoke path logging. (zero or one means all invocations)
+     */
+    public static int getInvokePathSamplingInterval() {
+        final ResourceParameter resourceParameter = resourceParameter();
+        return resourceParameter != null ? resourceParameter.getInvokePathSamplingInterval() : 0;
+    }
+
     public static boolean isInternalDebug() {
         final ResourceParameter resourceParameter = resourceParameter();
         return resourceParameter != null ? resourceParameter.isInternalDebug() : false;
@@ -359,6 +388,17 @@ public class ResourceContext {
         return doGetValue(rs, relationNoSuffix, columnName, valueType, selectIndexMap);
     }
 
+    /**
+     * Find the select index of the local column.
+     * @param columnName The name of column for the select index. (NotNull)
+     * @param selectIndexMap The map of select index. (NullAllowed: if null, returns null)
+     * @return The select index of the column. (NullAllowed: if null, not found)
+     */
+    public static Integer findLocalSelectIndex(String columnName, Map<String, Map<String, Integer>> selectIndexMap) {
+        final Map<String, Integer> innerMap = selectIndexMap != null ? selectIndexMap.get(SqlClause.BASE_POINT_HANDLING_ENTITY_NO) : null;
+        return innerMap != null ? innerMap.get(columnName) : null;
+    }
+
     protected static Object doGetValue(ResultSet rs, String entityNo, String columnName, ValueType valueType,
             Map<String, Map<String, Integer>> selectIndexMap) throws SQLException {
         final Map<String, Integer> innerMap = selectIndexMap != null ? selectIndexMap.get(entityNo) : null;
@@ -412,6 +452,7 @@ public class ResourceContext {
     protected DBMetaProvider _dbmetaProvider;
     protected SqlClauseCreator _sqlClauseCreator;
     protected SqlAnalyzerFactory _sqlAnalyzerFactory;
+    protected AnalyzedNodeCache _analyzedNodeCache;
     protected SQLExceptionHandlerFactory _sqlExceptionHandlerFactory;
     protected GearedCipherManager _gearedCipherManager;
     protected ResourceParameter _resourceParameter;
@@ -423,7 +464,8 @@ public class ResourceContext {
     public String toString() {
         return "{" + _behaviorCommand + ", " + _currentDBDef // core resources
                 + ", " + _dbmetaProvider + ", " + _sqlClauseCreator // basic resources
-                + ", " + _sqlAnalyzerFactory + ", " + _sqlExceptionHandlerFactory // factories
+                + ", " + _sqlAnalyzerFactory + ", " + _analyzedNodeCache // analysis
+                + ", " + _sqlExceptionHandlerFactory // factories
                 + ", " + _gearedCipherManager + ", " + _resourceParameter + "}"; // various
     }
 
@@ -478,6 +520,14 @@ public class ResourceContext {
         _sqlAnalyzerFactory = sqlAnalyzerFactory;
     }
 
+    public AnalyzedNodeCache getAnalyzedNodeCache() {
+        return _analyzedNodeCache;
+    }
+
+    public void setAnalyzedNodeCache(AnalyzedNodeCache analyzedNodeCache) {
+        _analyzedNodeCache = analyzedNodeCache;
+    }
+
     public SQLExceptionHandlerFactory getSQLExceptionHandlerFactory() {
         return _sqlExceptionHandlerFactory;
     }
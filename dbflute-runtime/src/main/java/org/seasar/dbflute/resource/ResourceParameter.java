@@ -15,6 +15,13 @@
  */
 package org.seasar.dbflute.resource;
 
+import java.util.concurrent.ExecutorService;
+
+import org.seasar.dbflute.bhv.core.supplement.CommandMetricsRegistry;
+import org.seasar.dbflute.bhv.core.supplement.EntityCacheHandler;
+import org.seasar.dbflute.bhv.core.supplement.QueryResultCacheHandler;
+import org.seasar.dbflute.jdbc.TransactionSynchronizer;
+
 /**
  * The parameters as internal resource.
  * @author jflute
@@ -27,6 +34,15 @@ public class ResourceParameter {
     protected String _outsideSqlPackage;
     protected String _logDateFormat;
     protected String _logTimestampFormat;
+    protected Integer _defaultBatchSplitSize;
+    protected boolean _useInvokePathCache;
+    protected int _invokePathSamplingInterval;
+    protected ExecutorService _pagingCountExecutor;
+    protected ExecutorService _asyncSelectExecutor;
+    protected EntityCacheHandler _entityCacheHandler;
+    protected QueryResultCacheHandler _queryResultCacheHandler;
+    protected CommandMetricsRegistry _commandMetricsRegistry;
+    protected TransactionSynchronizer _transactionSynchronizer;
     protected boolean _internalDebug;
 
     // ===================================================================================
@@ -56,6 +72,78 @@ public class ResourceParameter {
         _logTimestampFormat = logTimestampFormat;
     }
 
+    public Integer getDefaultBatchSplitSize() {
+        return _defaultBatchSplitSize;
+    }
+
+    public void setDefaultBatchSplitSize(Integer defaultBatchSplitSize) {
+        _defaultBatchSplitSize = defaultBatchSplitSize;
+    }
+
+    public boolean isUseInvokePathCache() {
+        return _useInvokePathCache;
+    }
+
+    public void setUseInvokePathCache(boolean useInvokePathCache) {
+        _useInvokePathCache = useInvokePathCache;
+    }
+
+    public int getInvokePathSamplingInterval() {
+        return _invokePathSamplingInterval;
+    }
+
+    public void setInvokePathSamplingInterval(int invokePathSamplingInterval) {
+        _invokePathSamplingInterval = invokePathSamplingInterval;
+    }
+
+    public ExecutorService getPagingCountExecutor() {
+        return _pagingCountExecutor;
+    }
+
+    public void setPagingCountExecutor(ExecutorService pagingCountExecutor) {
+        _pagingCountExecutor = pagingCountExecutor;
+    }
+
+    public ExecutorService getAsyncSelectExecutor() {
+        return _asyncSelectExecutor;
+    }
+
+    public void setAsyncSelectExecutor(ExecutorService asyncSelectExecutor) {
+        _asyncSelectExecutor = asyncSelectExecutor;
+    }
+
+    public EntityCacheHandler getEntityCacheHandler() {
+        return _entityCacheHandler;
+    }
+
+    public void setEntityCacheHandler(EntityCacheHandler entityCacheHandler) {
+        _entityCacheHandler = entityCacheHandler;
+    }
+
+    public QueryResultCacheHandler getQueryResultCacheHandler() {
+        return _queryResultCacheHandler;
+    }
+
+    public void setQueryResultCacheHandler(QueryResultCacheHandler queryResultCacheHandler) {
+        _queryResultCacheHandler = queryResultCacheHandler;
+    }
+
+    public CommandMetricsRegistry getCommandMetricsRegistry() {
+        return _commandMetricsRegistry;
+    }
+
+    public void setCommandMetricsRegistry(CommandMetricsRegistry commandMetricsRegistry) {
+        _commandMetricsRegistry = commandMetricsRegistry;
+    }
+
+    public TransactionSynchronizer getTransactionSynchronizer() {
+        return _transactionSynchronizer;
+    }
+
+    public void setTransactionSynchronizer(TransactionSynchronizer transactionSynchronizer) {
+        _transactionSynchronizer = transactionSynchronizer;
+    }
+
     public boolean isInternalDebug() {
         return _internalDebug;
     }
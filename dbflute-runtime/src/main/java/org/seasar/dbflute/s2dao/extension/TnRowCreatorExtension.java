@@ -20,7 +20,6 @@ import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -32,7 +31,7 @@ import org.seasar.dbflute.cbean.sqlclause.SqlClause;
 import org.seasar.dbflute.dbmeta.DBMeta;
 import org.seasar.dbflute.dbmeta.accessory.DerivedMappable;
 import org.seasar.dbflute.dbmeta.accessory.DerivedTypeHandler;
-import org.seasar.dbflute.dbmeta.info.ColumnInfo;
+import org.seasar.dbflute.dbmeta.property.PropertyGateway;
 import org.seasar.dbflute.exception.MappingClassCastException;
 import org.seasar.dbflute.exception.factory.ExceptionMessageBuilder;
 import org.seasar.dbflute.jdbc.ValueType;
@@ -41,6 +40,7 @@ import org.seasar.dbflute.resource.InternalMapContext;
 import org.seasar.dbflute.resource.ResourceContext;
 import org.seasar.dbflute.s2dao.metadata.TnBeanMetaData;
 import org.seasar.dbflute.s2dao.metadata.TnPropertyMapping;
+import org.seasar.dbflute.s2dao.rowcreator.TnRowMappingPlan;
 import org.seasar.dbflute.s2dao.rowcreator.impl.TnRowCreatorImpl;
 import org.seasar.dbflute.s2dao.valuetype.TnValueTypes;
 import org.seasar.dbflute.util.DfTypeUtil;
@@ -68,6 +68,7 @@ public class TnRowCreatorExtension extends TnRowCreatorImpl {
     //                                                                           =========
     protected DBMeta _fixedDBMeta;
     protected boolean _creatableByDBMeta;
+    protected volatile PlannedResultSet _latestPlannedResultSet; // for row creation without plan
 
     // ===================================================================================
     //                                                                         Constructor
@@ -123,17 +124,54 @@ public class TnRowCreatorExtension extends TnRowCreatorImpl {
      */
     public Object createRow(ResultSet rs, Map<String, Map<String, Integer>> selectIndexMap, Map<String, TnPropertyMapping> propertyCache,
             Class<?> beanClass) throws SQLException {
-        if (propertyCache.isEmpty()) {
-            String msg = "The propertyCache should not be empty: bean=" + beanClass.getName();
-            throw new IllegalStateException(msg);
+        assertPropertyCacheNotEmpty(propertyCache, beanClass);
+        return createRow(rs, findRowMappingPlan(rs, selectIndexMap, propertyCache), beanClass);
+    }
+
+    protected TnRowMappingPlan findRowMappingPlan(ResultSet rs, Map<String, Map<String, Integer>> selectIndexMap,
+            Map<String, TnPropertyMapping> propertyCache) throws SQLException {
+        final PlannedResultSet latest = _latestPlannedResultSet; // read once for other threads
+        if (latest != null && latest.isPlanned(rs, selectIndexMap, propertyCache)) { // rows of the same result set
+            return latest.getPlan();
         }
+        final TnRowMappingPlan plan = createRowMappingPlan(rs, selectIndexMap, propertyCache);
+        _latestPlannedResultSet = new PlannedResultSet(rs, plan);
+        return plan;
+    }
+
+    /**
+     * The result set with its plan of row mapping, compiled once per result set.
+     */
+    protected static class PlannedResultSet {
+
+        protected final ResultSet _rs;
+        protected final TnRowMappingPlan _plan;
+
+        public PlannedResultSet(ResultSet rs, TnRowMappingPlan plan) {
+            _rs = rs;
+            _plan = plan;
+        }
+
+        public boolean isPlanned(ResultSet rs, Map<String, Map<String, Integer>> selectIndexMap,
+                Map<String, TnPropertyMapping> propertyCache) {
+            return _rs == rs && _plan.getSelectIndexMap() == selectIndexMap && _plan.getPropertyCache() == propertyCache;
+        }
+
+        public TnRowMappingPlan getPlan() {
+            return _plan;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Object createRow(ResultSet rs, TnRowMappingPlan plan, Class<?> beanClass) throws SQLException {
+        final Map<String, TnPropertyMapping> propertyCache = plan.getPropertyCache();
+        assertPropertyCacheNotEmpty(propertyCache, beanClass);
 
         // temporary variable, for exception message, debug message
-        String columnName = null;
         TnPropertyMapping mapping = null;
-        String propertyName = null;
         Object selectedValue = null;
-        ColumnInfo columnInfo = null;
 
         final Object row;
         final DBMeta dbmeta;
@@ -148,31 +186,28 @@ public class TnRowCreatorExtension extends TnRowCreatorImpl {
             row = newBean(beanClass);
             dbmeta = findCachedDBMeta(row); // find just in case
         }
+        final int size = plan.size();
         try {
             if (dbmeta != null) { // mainly here
                 final boolean isEntity = row instanceof Entity; // almost always true
                 final Entity entityRow = isEntity ? (Entity) row : null;
-                for (Entry<String, TnPropertyMapping> entry : propertyCache.entrySet()) {
-                    columnName = entry.getKey();
-                    mapping = entry.getValue();
-                    propertyName = mapping.getPropertyName();
-                    selectedValue = getValue(rs, columnName, mapping.getValueType(), selectIndexMap);
-                    columnInfo = mapping.getEntityColumnInfo();
-                    if (columnInfo != null && isEntity) {
-                        columnInfo.write(entityRow, selectedValue);
+                for (int i = 0; i < size; i++) {
+                    mapping = plan.getMapping(i);
+                    selectedValue = getValue(rs, plan, i);
+                    final PropertyGateway gateway = plan.getGateway(i);
+                    if (gateway != null && isEntity) {
+                        gateway.write(entityRow, selectedValue);
                     } else {
                         mapping.getPropertyAccessor().setValue(row, selectedValue);
                     }
                 }
                 if (canHandleDerivedMap(row)) {
-                    processDerivedMap(rs, selectIndexMap, propertyCache, row);
+                    processDerivedMap(rs, plan.getSelectIndexMap(), propertyCache, row);
                 }
             } else { // not DBFlute entity
-                for (Entry<String, TnPropertyMapping> entry : propertyCache.entrySet()) {
-                    columnName = entry.getKey();
-                    mapping = entry.getValue();
-                    propertyName = mapping.getPropertyName();
-                    selectedValue = getValue(rs, columnName, mapping.getValueType(), selectIndexMap);
+                for (int i = 0; i < size; i++) {
+                    mapping = plan.getMapping(i);
+                    selectedValue = getValue(rs, plan, i);
                     mapping.getPropertyAccessor().setValue(row, selectedValue);
                 }
             }
@@ -182,6 +217,7 @@ public class TnRowCreatorExtension extends TnRowCreatorImpl {
             return null; // unreachable
         } catch (SQLException e) {
             if (_log.isDebugEnabled()) {
+                final String propertyName = mapping != null ? mapping.getPropertyName() : null;
                 String msg = "Failed to get selected values while resultSet handling:";
                 msg = msg + " target=" + DfTypeUtil.toClassTitle(beanClass) + "." + propertyName;
                 _log.debug(msg);
@@ -190,6 +226,13 @@ public class TnRowCreatorExtension extends TnRowCreatorImpl {
         }
     }
 
+    protected void assertPropertyCacheNotEmpty(Map<String, TnPropertyMapping> propertyCache, Class<?> beanClass) {
+        if (propertyCache.isEmpty()) {
+            String msg = "The propertyCache should not be empty: bean=" + beanClass.getName();
+            throw new IllegalStateException(msg);
+        }
+    }
+
     protected boolean canHandleDerivedMap(final Object row) {
         return row instanceof DerivedMappable && ConditionBeanContext.isExistConditionBeanOnThread();
     }
@@ -228,6 +271,35 @@ public class TnRowCreatorExtension extends TnRowCreatorImpl {
         }
     }
 
+    /**
+     * Get the selected value of the column at the position of the plan. <br />
+     * Columns of select index are read by the index here without name lookup,
+     * and columns read by name (e.g. derived column) are read by {@link #getValue(ResultSet, String, ValueType, Map)}.
+     * @param rs The result set, pointing the current row. (NotNull)
+     * @param plan The compiled plan of row mapping. (NotNull)
+     * @param position The position of the plan, not column index. (NotMinus)
+     * @return The selected value. (NullAllowed)
+     * @throws SQLException When it fails to read the value.
+     */
+    protected Object getValue(ResultSet rs, TnRowMappingPlan plan, int position) throws SQLException {
+        final int columnIndex = plan.getColumnIndex(position);
+        if (columnIndex != TnRowMappingPlan.BY_NAME_INDEX) { // mainly here
+            return plan.getValueType(position).getValue(rs, columnIndex);
+        }
+        return getValue(rs, plan.getColumnName(position), plan.getValueType(position), plan.getSelectIndexMap());
+    }
+
+    /**
+     * Get the selected value of the column by its name. <br />
+     * It is called for columns read by name in the plan and derived mapping,
+     * so override {@link #getValue(ResultSet, TnRowMappingPlan, int)} too to hook all base point columns.
+     * @param rs The result set, pointing the current row. (NotNull)
+     * @param columnName The name of selected column. (NotNull)
+     * @param valueType The value type of the column. (NotNull)
+     * @param selectIndexMap The map of select index. (NullAllowed: if null, read by name)
+     * @return The selected value. (NullAllowed)
+     * @throws SQLException When it fails to read the value.
+     */
     protected Object getValue(ResultSet rs, String columnName, ValueType valueType, Map<String, Map<String, Integer>> selectIndexMap)
             throws SQLException {
         final Object value;
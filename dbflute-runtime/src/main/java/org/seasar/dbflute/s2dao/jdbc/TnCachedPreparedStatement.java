@@ -0,0 +1,511 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.s2dao.jdbc;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+
+/**
+ * The wrapper of prepared statement cached in the statement cache. <br />
+ * The method 'close()' does not close the actual statement really,
+ * it returns the statement to the cache for the next execution of the same SQL.
+ * @author jflute
+ * @since 1.1.0 (2014/11/30 Sunday)
+ */
+public class TnCachedPreparedStatement implements PreparedStatement {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final TnStatementCache _statementCache;
+    protected final Object _cacheKey;
+    protected final PreparedStatement _actualStatement;
+    protected boolean _inUse; // accessed in synchronized methods of the cache
+    protected boolean _batchAdded;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param statementCache The statement cache that has this statement. (NotNull)
+     * @param cacheKey The key of this statement in the cache. (NotNull)
+     * @param actualStatement The actual prepared statement. (NotNull)
+     */
+    public TnCachedPreparedStatement(TnStatementCache statementCache, Object cacheKey, PreparedStatement actualStatement) {
+        _statementCache = statementCache;
+        _cacheKey = cacheKey;
+        _actualStatement = actualStatement;
+    }
+
+    // ===================================================================================
+    //                                                                    Actual Statement
+    //                                                                    ================
+    /**
+     * Get the wrapped actual statement.
+     * @return The instance of prepared statement to be wrapped. (NotNull)
+     */
+    public PreparedStatement getActualStatement() {
+        return _actualStatement;
+    }
+
+    /**
+     * Clear the parameters (and batch if added) of the actual statement for the next execution.
+     * @throws SQLException When it fails to clear them.
+     */
+    public void clearForReuse() throws SQLException {
+        _actualStatement.clearParameters();
+        if (_batchAdded) {
+            _actualStatement.clearBatch();
+            _batchAdded = false;
+        }
+    }
+
+    /**
+     * Close the actual statement really, e.g. when evicted from the cache.
+     * @throws SQLException When it fails to close the statement.
+     */
+    public void closeActualReally() throws SQLException {
+        _actualStatement.close();
+    }
+
+    // ===================================================================================
+    //                                                                      Implementation
+    //                                                                      ==============
+    // -----------------------------------------------------
+    //                                              Override
+    //                                              --------
+    public void close() throws SQLException {
+        // *Point
+        //_actualStatement.close();
+        _statementCache.checkIn(this);
+    }
+
+    public boolean isClosed() throws SQLException {
+        return !_inUse || _actualStatement.isClosed();
+    }
+
+    public void addBatch() throws SQLException {
+        _actualStatement.addBatch();
+        _batchAdded = true;
+    }
+
+    public void addBatch(String sql) throws SQLException {
+        _actualStatement.addBatch(sql);
+        _batchAdded = true;
+    }
+
+    public Connection getConnection() throws SQLException {
+        return _actualStatement.getConnection();
+    }
+
+    // -----------------------------------------------------
+    //                                             Statement
+    //                                             ---------
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return _actualStatement.unwrap(iface);
+    }
+
+    public boolean execute() throws SQLException {
+        return _actualStatement.execute();
+    }
+
+    public boolean execute(String sql) throws SQLException {
+        return _actualStatement.execute(sql);
+    }
+
+    public boolean execute(String sql, int autoGeneratedKeys) throws SQLException {
+        return _actualStatement.execute(sql, autoGeneratedKeys);
+    }
+
+    public boolean execute(String sql, int[] columnIndexes) throws SQLException {
+        return _actualStatement.execute(sql, columnIndexes);
+    }
+
+    public boolean execute(String sql, String[] columnNames) throws SQLException {
+        return _actualStatement.execute(sql, columnNames);
+    }
+
+    public boolean getMoreResults() throws SQLException {
+        return _actualStatement.getMoreResults();
+    }
+
+    public boolean getMoreResults(int current) throws SQLException {
+        return _actualStatement.getMoreResults(current);
+    }
+
+    public boolean isPoolable() throws SQLException {
+        return _actualStatement.isPoolable();
+    }
+
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return _actualStatement.isWrapperFor(iface);
+    }
+
+    public int executeUpdate() throws SQLException {
+        return _actualStatement.executeUpdate();
+    }
+
+    public int executeUpdate(String sql) throws SQLException {
+        return _actualStatement.executeUpdate(sql);
+    }
+
+    public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+        return _actualStatement.executeUpdate(sql, autoGeneratedKeys);
+    }
+
+    public int executeUpdate(String sql, int[] columnIndexes) throws SQLException {
+        return _actualStatement.executeUpdate(sql, columnIndexes);
+    }
+
+    public int executeUpdate(String sql, String[] columnNames) throws SQLException {
+        return _actualStatement.executeUpdate(sql, columnNames);
+    }
+
+    public int getFetchDirection() throws SQLException {
+        return _actualStatement.getFetchDirection();
+    }
+
+    public int getFetchSize() throws SQLException {
+        return _actualStatement.getFetchSize();
+    }
+
+    public int getMaxFieldSize() throws SQLException {
+        return _actualStatement.getMaxFieldSize();
+    }
+
+    public int getMaxRows() throws SQLException {
+        return _actualStatement.getMaxRows();
+    }
+
+    public int getQueryTimeout() throws SQLException {
+        return _actualStatement.getQueryTimeout();
+    }
+
+    public int getResultSetConcurrency() throws SQLException {
+        return _actualStatement.getResultSetConcurrency();
+    }
+
+    public int getResultSetHoldability() throws SQLException {
+        return _actualStatement.getResultSetHoldability();
+    }
+
+    public int getResultSetType() throws SQLException {
+        return _actualStatement.getResultSetType();
+    }
+
+    public int getUpdateCount() throws SQLException {
+        return _actualStatement.getUpdateCount();
+    }
+
+    public int[] executeBatch() throws SQLException {
+        return _actualStatement.executeBatch();
+    }
+
+    public ParameterMetaData getParameterMetaData() throws SQLException {
+        return _actualStatement.getParameterMetaData();
+    }
+
+    public ResultSet executeQuery() throws SQLException {
+        return _actualStatement.executeQuery();
+    }
+
+    public ResultSet executeQuery(String sql) throws SQLException {
+        return _actualStatement.executeQuery(sql);
+    }
+
+    public ResultSet getGeneratedKeys() throws SQLException {
+        return _actualStatement.getGeneratedKeys();
+    }
+
+    public ResultSet getResultSet() throws SQLException {
+        return _actualStatement.getResultSet();
+    }
+
+    public ResultSetMetaData getMetaData() throws SQLException {
+        return _actualStatement.getMetaData();
+    }
+
+    public SQLWarning getWarnings() throws SQLException {
+        return _actualStatement.getWarnings();
+    }
+
+    public void cancel() throws SQLException {
+        _actualStatement.cancel();
+    }
+
+    public void clearBatch() throws SQLException {
+        _actualStatement.clearBatch();
+    }
+
+    public void clearParameters() throws SQLException {
+        _actualStatement.clearParameters();
+    }
+
+    public void clearWarnings() throws SQLException {
+        _actualStatement.clearWarnings();
+    }
+
+    public void setCursorName(String name) throws SQLException {
+        _actualStatement.setCursorName(name);
+    }
+
+    public void setEscapeProcessing(boolean enable) throws SQLException {
+        _actualStatement.setEscapeProcessing(enable);
+    }
+
+    public void setFetchDirection(int direction) throws SQLException {
+        _actualStatement.setFetchDirection(direction);
+    }
+
+    public void setFetchSize(int rows) throws SQLException {
+        _actualStatement.setFetchSize(rows);
+    }
+
+    public void setMaxFieldSize(int max) throws SQLException {
+        _actualStatement.setMaxFieldSize(max);
+    }
+
+    public void setMaxRows(int max) throws SQLException {
+        _actualStatement.setMaxRows(max);
+    }
+
+    public void setPoolable(boolean poolable) throws SQLException {
+        _actualStatement.setPoolable(poolable);
+    }
+
+    public void setQueryTimeout(int seconds) throws SQLException {
+        _actualStatement.setQueryTimeout(seconds);
+    }
+
+    // -----------------------------------------------------
+    //                                             Parameter
+    //                                             ---------
+    public void setArray(int parameterIndex, Array x) throws SQLException {
+        _actualStatement.setArray(parameterIndex, x);
+    }
+
+    public void setAsciiStream(int parameterIndex, InputStream x) throws SQLException {
+        _actualStatement.setAsciiStream(parameterIndex, x);
+    }
+
+    public void setAsciiStream(int parameterIndex, InputStream x, int length) throws SQLException {
+        _actualStatement.setAsciiStream(parameterIndex, x, length);
+    }
+
+    public void setAsciiStream(int parameterIndex, InputStream x, long length) throws SQLException {
+        _actualStatement.setAsciiStream(parameterIndex, x, length);
+    }
+
+    public void setBigDecimal(int parameterIndex, BigDecimal x) throws SQLException {
+        _actualStatement.setBigDecimal(parameterIndex, x);
+    }
+
+    public void setBinaryStream(int parameterIndex, InputStream x) throws SQLException {
+        _actualStatement.setBinaryStream(parameterIndex, x);
+    }
+
+    public void setBinaryStream(int parameterIndex, InputStream x, int length) throws SQLException {
+        _actualStatement.setBinaryStream(parameterIndex, x, length);
+    }
+
+    public void setBinaryStream(int parameterIndex, InputStream x, long length) throws SQLException {
+        _actualStatement.setBinaryStream(parameterIndex, x, length);
+    }
+
+    public void setBlob(int parameterIndex, InputStream x) throws SQLException {
+        _actualStatement.setBlob(parameterIndex, x);
+    }
+
+    public void setBlob(int parameterIndex, InputStream x, long length) throws SQLException {
+        _actualStatement.setBlob(parameterIndex, x, length);
+    }
+
+    public void setBlob(int parameterIndex, Blob x) throws SQLException {
+        _actualStatement.setBlob(parameterIndex, x);
+    }
+
+    public void setBoolean(int parameterIndex, boolean x) throws SQLException {
+        _actualStatement.setBoolean(parameterIndex, x);
+    }
+
+    public void setByte(int parameterIndex, byte x) throws SQLException {
+        _actualStatement.setByte(parameterIndex, x);
+    }
+
+    public void setBytes(int parameterIndex, byte[] x) throws SQLException {
+        _actualStatement.setBytes(parameterIndex, x);
+    }
+
+    public void setCharacterStream(int parameterIndex, Reader reader) throws SQLException {
+        _actualStatement.setCharacterStream(parameterIndex, reader);
+    }
+
+    public void setCharacterStream(int parameterIndex, Reader reader, int length) throws SQLException {
+        _actualStatement.setCharacterStream(parameterIndex, reader, length);
+    }
+
+    public void setCharacterStream(int parameterIndex, Reader reader, long length) throws SQLException {
+        _actualStatement.setCharacterStream(parameterIndex, reader, length);
+    }
+
+    public void setClob(int parameterIndex, Reader reader) throws SQLException {
+        _actualStatement.setClob(parameterIndex, reader);
+    }
+
+    public void setClob(int parameterIndex, Reader reader, long length) throws SQLException {
+        _actualStatement.setClob(parameterIndex, reader, length);
+    }
+
+    public void setClob(int parameterIndex, Clob x) throws SQLException {
+        _actualStatement.setClob(parameterIndex, x);
+    }
+
+    public void setDate(int parameterIndex, Date x) throws SQLException {
+        _actualStatement.setDate(parameterIndex, x);
+    }
+
+    public void setDate(int parameterIndex, Date x, Calendar cal) throws SQLException {
+        _actualStatement.setDate(parameterIndex, x, cal);
+    }
+
+    public void setDouble(int parameterIndex, double x) throws SQLException {
+        _actualStatement.setDouble(parameterIndex, x);
+    }
+
+    public void setFloat(int parameterIndex, float x) throws SQLException {
+        _actualStatement.setFloat(parameterIndex, x);
+    }
+
+    public void setInt(int parameterIndex, int x) throws SQLException {
+        _actualStatement.setInt(parameterIndex, x);
+    }
+
+    public void setLong(int parameterIndex, long x) throws SQLException {
+        _actualStatement.setLong(parameterIndex, x);
+    }
+
+    public void setNCharacterStream(int parameterIndex, Reader reader) throws SQLException {
+        _actualStatement.setNCharacterStream(parameterIndex, reader);
+    }
+
+    public void setNCharacterStream(int parameterIndex, Reader reader, long length) throws SQLException {
+        _actualStatement.setNCharacterStream(parameterIndex, reader, length);
+    }
+
+    public void setNClob(int parameterIndex, Reader reader) throws SQLException {
+        _actualStatement.setNClob(parameterIndex, reader);
+    }
+
+    public void setNClob(int parameterIndex, Reader reader, long length) throws SQLException {
+        _actualStatement.setNClob(parameterIndex, reader, length);
+    }
+
+    public void setNClob(int parameterIndex, NClob x) throws SQLException {
+        _actualStatement.setNClob(parameterIndex, x);
+    }
+
+    public void setNString(int parameterIndex, String x) throws SQLException {
+        _actualStatement.setNString(parameterIndex, x);
+    }
+
+    public void setNull(int parameterIndex, int sqlType) throws SQLException {
+        _actualStatement.setNull(parameterIndex, sqlType);
+    }
+
+    public void setNull(int parameterIndex, int sqlType, String typeName) throws SQLException {
+        _actualStatement.setNull(parameterIndex, sqlType, typeName);
+    }
+
+    public void setObject(int parameterIndex, Object x) throws SQLException {
+        _actualStatement.setObject(parameterIndex, x);
+    }
+
+    public void setObject(int parameterIndex, Object x, int targetSqlType) throws SQLException {
+        _actualStatement.setObject(parameterIndex, x, targetSqlType);
+    }
+
+    public void setObject(int parameterIndex, Object x, int targetSqlType, int scaleOrLength) throws SQLException {
+        _actualStatement.setObject(parameterIndex, x, targetSqlType, scaleOrLength);
+    }
+
+    public void setRef(int parameterIndex, Ref x) throws SQLException {
+        _actualStatement.setRef(parameterIndex, x);
+    }
+
+    public void setRowId(int parameterIndex, RowId x) throws SQLException {
+        _actualStatement.setRowId(parameterIndex, x);
+    }
+
+    public void setSQLXML(int parameterIndex, SQLXML x) throws SQLException {
+        _actualStatement.setSQLXML(parameterIndex, x);
+    }
+
+    public void setShort(int parameterIndex, short x) throws SQLException {
+        _actualStatement.setShort(parameterIndex, x);
+    }
+
+    public void setString(int parameterIndex, String x) throws SQLException {
+        _actualStatement.setString(parameterIndex, x);
+    }
+
+    public void setTime(int parameterIndex, Time x) throws SQLException {
+        _actualStatement.setTime(parameterIndex, x);
+    }
+
+    public void setTime(int parameterIndex, Time x, Calendar cal) throws SQLException {
+        _actualStatement.setTime(parameterIndex, x, cal);
+    }
+
+    public void setTimestamp(int parameterIndex, Timestamp x) throws SQLException {
+        _actualStatement.setTimestamp(parameterIndex, x);
+    }
+
+    public void setTimestamp(int parameterIndex, Timestamp x, Calendar cal) throws SQLException {
+        _actualStatement.setTimestamp(parameterIndex, x, cal);
+    }
+
+    public void setURL(int parameterIndex, URL x) throws SQLException {
+        _actualStatement.setURL(parameterIndex, x);
+    }
+
+    /**
+     * @deprecated
+     */
+    @Deprecated
+    public void setUnicodeStream(int parameterIndex, InputStream x, int length) throws SQLException {
+        _actualStatement.setUnicodeStream(parameterIndex, x, length);
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.s2dao.jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.seasar.dbflute.jdbc.StatementConfig;
+
+/**
+ * The cache of prepared statements for one physical connection, evicted by LRU. <br />
+ * A statement is checked out while executed and checked in by its 'close()',
+ * so the same SQL executed at the same time (e.g. in a cursor handler) uses another statement.
+ * @author jflute
+ * @since 1.1.0 (2014/11/30 Sunday)
+ */
+public class TnStatementCache {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final int _maxSize;
+    protected final TnStatementCacheStatistics _statistics;
+    protected final Map<Object, TnCachedPreparedStatement> _statementMap;
+    protected boolean _closed; // in synchronized
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param maxSize The max size of cached statements. (NotMinus, NotZero)
+     * @param statistics The statistics shared with other caches. (NotNull)
+     */
+    public TnStatementCache(int maxSize, TnStatementCacheStatistics statistics) {
+        if (maxSize <= 0) {
+            String msg = "The argument 'maxSize' should be positive: " + maxSize;
+            throw new IllegalArgumentException(msg);
+        }
+        _maxSize = maxSize;
+        _statistics = statistics;
+        _statementMap = new LinkedHashMap<Object, TnCachedPreparedStatement>(16, 0.75f, true) { // access order
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Entry<Object, TnCachedPreparedStatement> eldest) {
+                if (size() > _maxSize) {
+                    evictStatement(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // ===================================================================================
+    //                                                                            Handling
+    //                                                                            ========
+    /**
+     * Create the key of cached statement by the SQL and statement options.
+     * @param sql The SQL for the statement. (NotNull)
+     * @param resultSetType The type of result set.
+     * @param resultSetConcurrency The concurrency of result set.
+     * @param actualConfig The statement configuration reflected to the statement. (NullAllowed: if no option)
+     * @return The new key of the statement. (NotNull)
+     */
+    public Object createKey(String sql, int resultSetType, int resultSetConcurrency, StatementConfig actualConfig) {
+        return new StatementKey(sql, resultSetType, resultSetConcurrency, actualConfig);
+    }
+
+    /**
+     * Check out the cached statement for the key.
+     * @param key The key created by this cache. (NotNull)
+     * @return The cached statement marked as in-use. (NullAllowed: if not found, in-use or closed by others)
+     */
+    public synchronized TnCachedPreparedStatement checkOut(Object key) {
+        if (_closed) { // e.g. the transaction has been completed
+            return null;
+        }
+        final TnCachedPreparedStatement cached = _statementMap.get(key);
+        if (cached == null) {
+            _statistics.incrementMissCount();
+            return null;
+        }
+        if (cached._inUse) { // e.g. the same SQL in cursor handler
+            _statistics.incrementMissCount();
+            return null;
+        }
+        if (isActualClosed(cached)) { // e.g. closed by connection pool
+            _statementMap.remove(key);
+            _statistics.incrementMissCount();
+            return null;
+        }
+        cached._inUse = true;
+        _statistics.incrementHitCount();
+        return cached;
+    }
+
+    protected boolean isActualClosed(TnCachedPreparedStatement cached) {
+        try {
+            return cached.getActualStatement().isClosed();
+        } catch (SQLException e) { // cannot reuse it
+            return true;
+        } catch (AbstractMethodError e) { // old driver before JDBC4
+            return false;
+        }
+    }
+
+    /**
+     * Register the prepared statement as checked-out one.
+     * @param key The key created by this cache. (NotNull)
+     * @param actualStatement The new prepared statement for the key. (NotNull)
+     * @return The cached statement, or the actual statement if in use by other statement or closed. (NotNull)
+     */
+    public synchronized PreparedStatement register(Object key, PreparedStatement actualStatement) {
+        if (_closed) { // not cached, closed as normal statement
+            return actualStatement;
+        }
+        final TnCachedPreparedStatement existing = _statementMap.get(key);
+        if (existing != null && existing._inUse) { // not cached, closed as normal statement
+            return actualStatement;
+        }
+        if (existing != null) { // basically no way, checked out if exists
+            closeQuietly(existing);
+        }
+        final TnCachedPreparedStatement cached = new TnCachedPreparedStatement(this, key, actualStatement);
+        cached._inUse = true;
+        _statementMap.put(key, cached);
+        return cached;
+    }
+
+    /**
+     * Check in the statement after execution, called by its 'close()'.
+     * @param cached The checked-out statement of this cache. (NotNull)
+     * @throws SQLException When it fails to close the statement that is not reusable.
+     */
+    public void checkIn(TnCachedPreparedStatement cached) throws SQLException {
+        synchronized (this) {
+            if (!cached._inUse) { // already closed
+                return;
+            }
+            cached._inUse = false;
+            if (_statementMap.get(cached._cacheKey) == cached) { // still cached
+                try {
+                    cached.clearForReuse();
+                    return;
+                } catch (SQLException e) { // not reusable
+                    _statementMap.remove(cached._cacheKey);
+                }
+            }
+        }
+        cached.closeActualReally(); // evicted or not reusable
+    }
+
+    protected void evictStatement(TnCachedPreparedStatement cached) { // in synchronized
+        _statistics.incrementEvictionCount();
+        if (!cached._inUse) { // closed when checked in if in use
+            closeQuietly(cached);
+        }
+    }
+
+    /**
+     * Close all cached statements that are not in use, e.g. when the transaction ends. <br />
+     * Statements are not cached after this.
+     */
+    public void close() {
+        final List<TnCachedPreparedStatement> closedList = new ArrayList<TnCachedPreparedStatement>();
+        synchronized (this) {
+            _closed = true;
+            for (TnCachedPreparedStatement cached : _statementMap.values()) {
+                if (!cached._inUse) {
+                    closedList.add(cached);
+                }
+            }
+            _statementMap.clear(); // in-use statements are closed when checked in
+        }
+        for (TnCachedPreparedStatement cached : closedList) {
+            closeQuietly(cached);
+        }
+    }
+
+    protected void closeQuietly(TnCachedPreparedStatement cached) {
+        try {
+            cached.closeActualReally();
+        } catch (SQLException ignored) { // e.g. already closed with connection
+        }
+    }
+
+    // ===================================================================================
+    //                                                                       Statement Key
+    //                                                                       =============
+    protected static class StatementKey {
+
+        protected final String _sql;
+        protected final int _resultSetType;
+        protected final int _resultSetConcurrency;
+        protected final Integer _queryTimeout;
+        protected final Integer _fetchSize;
+        protected final Integer _maxRows;
+        protected final int _hashCode;
+
+        public StatementKey(String sql, int resultSetType, int resultSetConcurrency, StatementConfig actualConfig) {
+            _sql = sql;
+            _resultSetType = resultSetType;
+            _resultSetConcurrency = resultSetConcurrency;
+            _queryTimeout = actualConfig != null ? actualConfig.getQueryTimeout() : null;
+            _fetchSize = actualConfig != null ? actualConfig.getFetchSize() : null;
+            _maxRows = actualConfig != null ? actualConfig.getMaxRows() : null;
+            int hash = sql.hashCode();
+            hash = 31 * hash + resultSetType;
+            hash = 31 * hash + resultSetConcurrency;
+            hash = 31 * hash + (_queryTimeout != null ? _queryTimeout.hashCode() : 0);
+            hash = 31 * hash + (_fetchSize != null ? _fetchSize.hashCode() : 0);
+            hash = 31 * hash + (_maxRows != null ? _maxRows.hashCode() : 0);
+            _hashCode = hash;
+        }
+
+        @Override
+        public int hashCode() {
+            return _hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof StatementKey)) {
+                return false;
+            }
+            final StatementKey other = (StatementKey) obj;
+            return _hashCode == other._hashCode && _sql.equals(other._sql) && _resultSetType == other._resultSetType
+                    && _resultSetConcurrency == other._resultSetConcurrency && isSame(_queryTimeout, other._queryTimeout)
+                    && isSame(_fetchSize, other._fetchSize) && isSame(_maxRows, other._maxRows);
+        }
+
+        protected boolean isSame(Integer first, Integer second) {
+            return first != null ? first.equals(second) : second == null;
+        }
+
+        @Override
+        public String toString() {
+            return "{" + _resultSetType + ", " + _queryTimeout + ", " + _fetchSize + ", " + _maxRows + ", " + _sql + "}";
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "{maxSize=" + _maxSize + ", cached=" + getCachedSize() + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int getMaxSize() {
+        return _maxSize;
+    }
+
+    public synchronized boolean isClosed() {
+        return _closed;
+    }
+
+    public synchronized int getCachedSize() {
+        return _statementMap.size();
+    }
+}
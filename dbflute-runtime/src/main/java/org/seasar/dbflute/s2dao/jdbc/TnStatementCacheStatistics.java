@@ -0,0 +1,80 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.s2dao.jdbc;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The statistics of statement caches, shared with caches of all connections.
+ * @author jflute
+ * @since 1.1.0 (2014/11/30 Sunday)
+ */
+public class TnStatementCacheStatistics {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final AtomicLong _hitCount = new AtomicLong();
+    protected final AtomicLong _missCount = new AtomicLong();
+    protected final AtomicLong _evictionCount = new AtomicLong();
+
+    // ===================================================================================
+    //                                                                            Counting
+    //                                                                            ========
+    public void incrementHitCount() {
+        _hitCount.incrementAndGet();
+    }
+
+    public void incrementMissCount() {
+        _missCount.incrementAndGet();
+    }
+
+    public void incrementEvictionCount() {
+        _evictionCount.incrementAndGet();
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "{hit=" + getHitCount() + ", miss=" + getMissCount() + ", eviction=" + getEvictionCount() + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public long getHitCount() {
+        return _hitCount.get();
+    }
+
+    public long getMissCount() {
+        return _missCount.get();
+    }
+
+    public long getEvictionCount() {
+        return _evictionCount.get();
+    }
+
+    /**
+     * @return The ratio of hit count in all check-out, between zero and one. (zero if no check-out)
+     */
+    public double getHitRatio() {
+        final long hitCount = getHitCount();
+        final long allCount = hitCount + getMissCount();
+        return allCount > 0 ? (double) hitCount / allCount : 0d;
+    }
+}
@@ -30,8 +30,11 @@ import org.seasar.dbflute.cbean.sqlclause.SqlClause;
 import org.seasar.dbflute.exception.handler.SQLExceptionHandler;
 import org.seasar.dbflute.exception.handler.SQLExceptionResource;
 import org.seasar.dbflute.jdbc.FetchBean;
+import org.seasar.dbflute.jdbc.PhysicalConnectionDigger;
 import org.seasar.dbflute.jdbc.StatementConfig;
 import org.seasar.dbflute.jdbc.StatementFactory;
+import org.seasar.dbflute.jdbc.TransactionCompletionCallback;
+import org.seasar.dbflute.jdbc.TransactionSynchronizer;
 import org.seasar.dbflute.outsidesql.OutsideSqlContext;
 import org.seasar.dbflute.outsidesql.typed.AutoPagingHandlingPmb;
 import org.seasar.dbflute.resource.InternalMapContext;
@@ -58,6 +61,21 @@ public class TnStatementFactoryImpl implements StatementFactory {
     protected boolean _usePagingByCursorSkipSynchronizedFetchSize;
     protected Integer _fixedPagingByCursorSkipSynchronizedFetchSize;
 
+    /** The max size of cached statements per connection. (zero means no cache) */
+    protected int _statementCacheSize;
+
+    /** The digger of physical connection for the key of statement cache. (NullAllowed: if null, logical connection) */
+    protected PhysicalConnectionDigger _physicalConnectionDigger;
+
+    /** The synchronizer with the transaction to bind the statement cache to it. (NullAllowed: if null, no cache) */
+    protected TransactionSynchronizer _transactionSynchronizer;
+
+    /** The statement cache of the transaction on thread, removed when the transaction is completed. (NotNull) */
+    protected final ThreadLocal<StatementCacheHolder> _statementCacheLocal = new ThreadLocal<StatementCacheHolder>();
+
+    /** The statistics of all statement caches. (NotNull) */
+    protected final TnStatementCacheStatistics _statementCacheStatistics = new TnStatementCacheStatistics();
+
     // ===================================================================================
     //                                                                         Constructor
     //                                                                         ===========
@@ -74,6 +92,12 @@ public class TnStatementFactoryImpl implements StatementFactory {
         if (isInternalDebugEnabled()) {
             _log.debug("...Preparing statement:(sql, " + resultSetType + ", " + resultSetConcurrency + ")");
         }
+        if (isStatementCacheEnabled()) {
+            final PreparedStatement cached = prepareCachedStatement(conn, sql, resultSetType, resultSetConcurrency, config);
+            if (cached != null) {
+                return cached;
+            }
+        }
         final PreparedStatement ps = prepareStatement(conn, sql, resultSetType, resultSetConcurrency);
         reflectStatementOptions(ps, config);
         return ps;
@@ -90,6 +114,111 @@ public class TnStatementFactoryImpl implements StatementFactory {
         }
     }
 
+    // -----------------------------------------------------
+    //                                       Statement Cache
+    //                                       ---------------
+    protected boolean isStatementCacheEnabled() {
+        return _statementCacheSize > 0;
+    }
+
+    /**
+     * Prepare the statement reusing the cached one of the connection in transaction.
+     * @param conn The connection for the statement. (NotNull)
+     * @param sql The SQL for the statement. (NotNull)
+     * @param resultSetType The type of result set.
+     * @param resultSetConcurrency The concurrency of result set.
+     * @param config The statement configuration on thread. (NullAllowed)
+     * @return The statement closed as check-in to the cache. (NullAllowed: if null, not in transaction)
+     */
+    protected PreparedStatement prepareCachedStatement(Connection conn, String sql, int resultSetType,
+            int resultSetConcurrency, StatementConfig config) {
+        final TnStatementCache statementCache = findStatementCache(conn);
+        if (statementCache == null) {
+            return null;
+        }
+        final StatementConfig actualConfig = getActualStatementConfig(config);
+        final Object key = statementCache.createKey(sql, resultSetType, resultSetConcurrency, actualConfig);
+        final TnCachedPreparedStatement cached = statementCache.checkOut(key);
+        if (cached != null) {
+            if (isInternalDebugEnabled()) {
+                _log.debug("...Reusing cached statement: " + statementCache);
+            }
+            return cached; // options are already reflected
+        }
+        final PreparedStatement ps = prepareStatement(conn, sql, resultSetType, resultSetConcurrency);
+        doReflectStatementOptions(ps, actualConfig);
+        return statementCache.register(key, ps);
+    }
+
+    /**
+     * Find the statement cache of the transaction on the thread. <br />
+     * The cache is bound to the transaction told by the transaction synchronizer,
+     * and closed when the transaction is completed, so statements are not left open over transactions.
+     * @param conn The connection for the statement. (NotNull)
+     * @return The statement cache for the connection. (NullAllowed: if null, not in transaction or unknown)
+     */
+    protected TnStatementCache findStatementCache(Connection conn) {
+        final TransactionSynchronizer synchronizer = _transactionSynchronizer;
+        if (synchronizer == null || !synchronizer.isInTransaction()) { // statements are reused only in transaction
+            return null;
+        }
+        final Connection cacheConn = findStatementCacheConnection(conn);
+        if (cacheConn == null) {
+            return null;
+        }
+        StatementCacheHolder holder = _statementCacheLocal.get();
+        if (holder == null || holder.getStatementCache().isClosed()) { // first in the transaction
+            holder = new StatementCacheHolder(cacheConn, new TnStatementCache(_statementCacheSize, _statementCacheStatistics));
+            synchronizer.registerCompletionCallback(createStatementCacheCloser(holder));
+            _statementCacheLocal.set(holder);
+        }
+        if (holder.getConnection() != cacheConn) { // e.g. other data source in the transaction
+            return null; // closed by completion of the transaction
+        }
+        return holder.getStatementCache();
+    }
+
+    protected TransactionCompletionCallback createStatementCacheCloser(final StatementCacheHolder holder) {
+        return new TransactionCompletionCallback() {
+            public void afterCompletion(boolean committed) {
+                if (_statementCacheLocal.get() == holder) { // basically true, called in the thread of transaction
+                    _statementCacheLocal.remove();
+                }
+                holder.getStatementCache().close();
+            }
+        };
+    }
+
+    protected static class StatementCacheHolder {
+
+        protected final Connection _connection;
+        protected final TnStatementCache _statementCache;
+
+        public StatementCacheHolder(Connection connection, TnStatementCache statementCache) {
+            _connection = connection;
+            _statementCache = statementCache;
+        }
+
+        public Connection getConnection() {
+            return _connection;
+        }
+
+        public TnStatementCache getStatementCache() {
+            return _statementCache;
+        }
+    }
+
+    protected Connection findStatementCacheConnection(Connection conn) {
+        if (_physicalConnectionDigger == null) {
+            return conn;
+        }
+        try {
+            return _physicalConnectionDigger.digUp(conn);
+        } catch (SQLException e) { // no cache if unknown connection
+            return null;
+        }
+    }
+
     // -----------------------------------------------------
     //                                       StatementConfig
     //                                       ---------------
@@ -469,4 +598,23 @@ public class TnStatementFactoryImpl implements StatementFactory {
     public void setFixedPagingByCursorSkipSynchronizedFetchSize(Integer fixedPagingByCursorSkipSynchronizedFetchSize) {
         _fixedPagingByCursorSkipSynchronizedFetchSize = fixedPagingByCursorSkipSynchronizedFetchSize;
     }
+
+    public void setStatementCacheSize(int statementCacheSize) {
+        _statementCacheSize = statementCacheSize;
+    }
+
+    public void setPhysicalConnectionDigger(PhysicalConnectionDigger physicalConnectionDigger) {
+        _physicalConnectionDigger = physicalConnectionDigger;
+    }
+
+    public void setTransactionSynchronizer(TransactionSynchronizer transactionSynchronizer) {
+        _transactionSynchronizer = transactionSynchronizer;
+    }
+
+    /**
+     * @return The statistics of statement caches for all connections. (NotNull)
+     */
+    public TnStatementCacheStatistics getStatementCacheStatistics() {
+        return _statementCacheStatistics;
+    }
 }
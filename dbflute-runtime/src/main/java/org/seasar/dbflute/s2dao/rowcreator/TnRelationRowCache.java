@@ -15,6 +15,7 @@
  */
 package org.seasar.dbflute.s2dao.rowcreator;
 
+import java.math.BigDecimal;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.HashMap;
@@ -27,10 +28,12 @@ import org.seasar.dbflute.s2dao.metadata.TnPropertyType;
 import org.seasar.dbflute.s2dao.metadata.TnRelationPropertyType;
 import org.seasar.dbflute.s2dao.rowcreator.impl.TnRelationKeyCompound;
 import org.seasar.dbflute.s2dao.rowcreator.impl.TnRelationKeyEmpty;
+import org.seasar.dbflute.s2dao.rowcreator.impl.TnRelationKeyNumeric;
 import org.seasar.dbflute.s2dao.rowcreator.impl.TnRelationKeySimple;
 
 /**
  * The cache of relation row. <br />
+ * Single numeric keys are cached by primitive long with a reused probe key (no key instance per row). <br />
  * This is not thread safe so you should create per one select.
  * @author modified by jflute (originated in S2Dao)
  */
@@ -47,6 +50,12 @@ public class TnRelationRowCache {
     /** The list of row map. map:{relationPath = map:{relationKey = row}} (NotNull: if canCache is true) */
     protected final Map<String, Map<TnRelationKey, Object>> _rowMap;
 
+    /** The map of row map for numeric key. map:{relationPath = map:{long key = row}} (NotNull: if canCache is true) */
+    protected final Map<String, TnRelationRowLongMap> _numericRowMap;
+
+    /** The map of probe key for numeric key, reused per row. map:{relationPath = probe} (NotNull: if canCache is true) */
+    protected final Map<String, TnRelationKeyNumeric> _numericProbeMap;
+
     /** Can the relation row cache? */
     protected final boolean _canCache;
 
@@ -59,6 +68,8 @@ public class TnRelationRowCache {
      */
     public TnRelationRowCache(int relSize, boolean canCache) {
         _rowMap = canCache ? new HashMap<String, Map<TnRelationKey, Object>>(relSize) : null;
+        _numericRowMap = canCache ? new HashMap<String, TnRelationRowLongMap>(relSize) : null;
+        _numericProbeMap = canCache ? new HashMap<String, TnRelationKeyNumeric>(relSize) : null;
         _canCache = canCache;
     }
 
@@ -75,6 +86,10 @@ public class TnRelationRowCache {
         if (!_canCache) {
             return null;
         }
+        if (relKey instanceof TnRelationKeyNumeric) {
+            final TnRelationRowLongMap numericMap = _numericRowMap.get(relationNoSuffix);
+            return numericMap != null ? numericMap.get(((TnRelationKeyNumeric) relKey).getLongKey()) : null;
+        }
         final Map<TnRelationKey, Object> elementMap = _rowMap.get(relationNoSuffix);
         if (elementMap == null) {
             return null;
@@ -92,6 +107,15 @@ public class TnRelationRowCache {
         if (!_canCache) {
             return;
         }
+        if (relKey instanceof TnRelationKeyNumeric) { // the probe key is not saved
+            TnRelationRowLongMap numericMap = _numericRowMap.get(relationNoSuffix);
+            if (numericMap == null) {
+                numericMap = new TnRelationRowLongMap();
+                _numericRowMap.put(relationNoSuffix, numericMap);
+            }
+            numericMap.put(((TnRelationKeyNumeric) relKey).getLongKey(), relationRow);
+            return;
+        }
         Map<TnRelationKey, Object> elementMap = _rowMap.get(relationNoSuffix);
         if (elementMap == null) {
             elementMap = new HashMap<TnRelationKey, Object>();
@@ -135,7 +159,38 @@ public class TnRelationRowCache {
         final TnPropertyType pt = rpt.getSimpleUniquePropertyType();
         final String columnKeyName = buildColumnKeyName(pt, relationNoSuffix);
         final Object keyValue = setupKeyElement(rs, rpt, selectColumnMap, selectIndexMap, columnKeyName, pt, relationNoSuffix);
-        return keyValue != null ? new TnRelationKeySimple(columnKeyName, keyValue) : null;
+        if (keyValue == null) {
+            return null;
+        }
+        if (isNumericKeyValue(keyValue)) { // mainly here (e.g. ID column)
+            return prepareNumericProbeKey(relationNoSuffix).reset(columnKeyName, keyValue, ((Number) keyValue).longValue());
+        }
+        return new TnRelationKeySimple(columnKeyName, keyValue);
+    }
+
+    /**
+     * Is the key value numeric that can be converted to long without losing equality?
+     * @param keyValue The value of key. (NotNull)
+     * @return The determination, true or false.
+     */
+    protected boolean isNumericKeyValue(Object keyValue) {
+        if (keyValue instanceof Long || keyValue instanceof Integer || keyValue instanceof Short || keyValue instanceof Byte) {
+            return true;
+        }
+        if (keyValue instanceof BigDecimal) { // e.g. Oracle's NUMBER
+            final BigDecimal decimal = (BigDecimal) keyValue;
+            return decimal.scale() == 0 && decimal.precision() <= 18; // same scale so equal if same long
+        }
+        return false;
+    }
+
+    protected TnRelationKeyNumeric prepareNumericProbeKey(String relationNoSuffix) {
+        TnRelationKeyNumeric probe = _numericProbeMap.get(relationNoSuffix);
+        if (probe == null) {
+            probe = new TnRelationKeyNumeric();
+            _numericProbeMap.put(relationNoSuffix, probe);
+        }
+        return probe;
     }
 
     protected TnRelationKey doCreateRelationKeyCompound(ResultSet rs, TnRelationPropertyType rpt, Map<String, String> selectColumnMap,
@@ -199,4 +254,8 @@ public class TnRelationRowCache {
     public Map<String, Map<TnRelationKey, Object>> getRowMap() {
         return _rowMap;
     }
+
+    public Map<String, TnRelationRowLongMap> getNumericRowMap() {
+        return _numericRowMap;
+    }
 }
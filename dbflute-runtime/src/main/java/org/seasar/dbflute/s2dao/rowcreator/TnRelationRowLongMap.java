@@ -0,0 +1,130 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.s2dao.rowcreator;
+
+/**
+ * The map of relation row keyed by primitive long, open addressing. <br />
+ * This is not thread safe so you should create per one select.
+ * @author jflute
+ */
+public class TnRelationRowLongMap {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected long[] _keys;
+    protected Object[] _rows; // null element means empty slot
+    protected int _mask;
+    protected int _size;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public TnRelationRowLongMap() {
+        this(16);
+    }
+
+    /**
+     * @param initialCapacity The initial capacity of slots, rounded up to power of two.
+     */
+    public TnRelationRowLongMap(int initialCapacity) {
+        int capacity = 2;
+        while (capacity < initialCapacity) {
+            capacity = capacity << 1;
+        }
+        _keys = new long[capacity];
+        _rows = new Object[capacity];
+        _mask = capacity - 1;
+    }
+
+    // ===================================================================================
+    //                                                                         Map Handling
+    //                                                                         ============
+    /**
+     * @param key The key of relation row.
+     * @return The relation row. (NullAllowed: when not found)
+     */
+    public Object get(long key) {
+        int index = hash(key) & _mask;
+        Object current;
+        while ((current = _rows[index]) != null) {
+            if (_keys[index] == key) {
+                return current;
+            }
+            index = (index + 1) & _mask;
+        }
+        return null;
+    }
+
+    /**
+     * @param key The key of relation row.
+     * @param row The relation row. (NullAllowed: if null, do nothing)
+     */
+    public void put(long key, Object row) {
+        if (row == null) { // null means empty slot
+            return;
+        }
+        if ((_size + 1) * 2 > _rows.length) { // keeps load factor 0.5 or less
+            resize(_rows.length << 1);
+        }
+        int index = hash(key) & _mask;
+        while (_rows[index] != null) {
+            if (_keys[index] == key) {
+                _rows[index] = row;
+                return;
+            }
+            index = (index + 1) & _mask;
+        }
+        _keys[index] = key;
+        _rows[index] = row;
+        ++_size;
+    }
+
+    protected void resize(int capacity) {
+        final long[] oldKeys = _keys;
+        final Object[] oldRows = _rows;
+        _keys = new long[capacity];
+        _rows = new Object[capacity];
+        _mask = capacity - 1;
+        for (int i = 0; i < oldRows.length; i++) {
+            final Object row = oldRows[i];
+            if (row != null) {
+                int index = hash(oldKeys[i]) & _mask;
+                while (_rows[index] != null) {
+                    index = (index + 1) & _mask;
+                }
+                _keys[index] = oldKeys[i];
+                _rows[index] = row;
+            }
+        }
+    }
+
+    protected static int hash(long key) {
+        final int hash = (int) (key ^ (key >>> 32)) * 0x9E3779B9; // spreads sequential keys
+        return hash ^ (hash >>> 16);
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int size() {
+        return _size;
+    }
+
+    public boolean isEmpty() {
+        return _size == 0;
+    }
+}
@@ -50,4 +50,26 @@ public interface TnRowCreator {
      */
     Map<String, TnPropertyMapping> createPropertyCache(Map<String, String> selectColumnMap,
             Map<String, Map<String, Integer>> selectIndexMap, TnBeanMetaData beanMetaData) throws SQLException;
+
+    /**
+     * Create the plan of row mapping, which is compiled once per result set. <br />
+     * Column indexes are resolved here so rows are mapped without name resolution.
+     * @param rs Result set, whose meta data is used to resolve column indexes. (NotNull)
+     * @param selectIndexMap The map of select index. map:{entityNo(e.g. loc00 or _0_3) = map:{selectColumnKeyName = selectIndex}} (NullAllowed)
+     * @param propertyCache The map of row property cache. The key is String(columnName) and the value is a PropertyMapping. (NotNull)
+     * @return The compiled plan of row mapping. (NotNull)
+     * @throws SQLException
+     */
+    TnRowMappingPlan createRowMappingPlan(ResultSet rs, Map<String, Map<String, Integer>> selectIndexMap,
+            Map<String, TnPropertyMapping> propertyCache) throws SQLException;
+
+    /**
+     * Create row instance of base point table by the compiled plan.
+     * @param rs Result set. (NotNull)
+     * @param plan The compiled plan of row mapping for the result set. (NotNull)
+     * @param beanClass Bean class. (NotNull)
+     * @return The created row. (NotNull)
+     * @throws SQLException
+     */
+    Object createRow(ResultSet rs, TnRowMappingPlan plan, Class<?> beanClass) throws SQLException;
 }
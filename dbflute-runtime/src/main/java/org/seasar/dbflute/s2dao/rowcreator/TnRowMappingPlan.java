@@ -0,0 +1,107 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.s2dao.rowcreator;
+
+import java.util.Map;
+
+import org.seasar.dbflute.dbmeta.property.PropertyGateway;
+import org.seasar.dbflute.jdbc.ValueType;
+import org.seasar.dbflute.s2dao.metadata.TnPropertyMapping;
+
+/**
+ * The plan of row mapping for base point table, compiled once per result set. <br />
+ * Column indexes, value types and property gateways are resolved in advance
+ * so the mapping of each row is a straight walk on arrays without string hashing.
+ * @author jflute
+ * @since 1.0.5N
+ */
+public class TnRowMappingPlan {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The index meaning that the column is read by its name. */
+    public static final int BY_NAME_INDEX = -1;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final Map<String, TnPropertyMapping> _propertyCache; // for e.g. derived mapping
+    protected final Map<String, Map<String, Integer>> _selectIndexMap; // null allowed
+    protected final String[] _columnNames;
+    protected final int[] _columnIndexes;
+    protected final ValueType[] _valueTypes;
+    protected final TnPropertyMapping[] _mappings;
+    protected final PropertyGateway[] _gateways; // element null allowed (not entity column)
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param propertyCache The map of property cache. map:{columnName, PropertyMapping} (NotNull)
+     * @param selectIndexMap The map of select index. map:{entityNo(e.g. loc00 or _0_3) = map:{selectColumnKeyName = selectIndex}} (NullAllowed)
+     * @param columnNames The array of column names ordered as mapping. (NotNull)
+     * @param columnIndexes The array of column indexes, -1 means by name. (NotNull)
+     * @param valueTypes The array of value types. (NotNull)
+     * @param mappings The array of property mappings. (NotNull)
+     * @param gateways The array of property gateways, element may be null. (NotNull)
+     */
+    public TnRowMappingPlan(Map<String, TnPropertyMapping> propertyCache, Map<String, Map<String, Integer>> selectIndexMap,
+            String[] columnNames, int[] columnIndexes, ValueType[] valueTypes, TnPropertyMapping[] mappings, PropertyGateway[] gateways) {
+        _propertyCache = propertyCache;
+        _selectIndexMap = selectIndexMap;
+        _columnNames = columnNames;
+        _columnIndexes = columnIndexes;
+        _valueTypes = valueTypes;
+        _mappings = mappings;
+        _gateways = gateways;
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int size() {
+        return _mappings.length;
+    }
+
+    public Map<String, TnPropertyMapping> getPropertyCache() {
+        return _propertyCache;
+    }
+
+    public Map<String, Map<String, Integer>> getSelectIndexMap() {
+        return _selectIndexMap;
+    }
+
+    public String getColumnName(int position) {
+        return _columnNames[position];
+    }
+
+    public int getColumnIndex(int position) {
+        return _columnIndexes[position];
+    }
+
+    public ValueType getValueType(int position) {
+        return _valueTypes[position];
+    }
+
+    public TnPropertyMapping getMapping(int position) {
+        return _mappings[position];
+    }
+
+    public PropertyGateway getGateway(int position) {
+        return _gateways[position];
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.s2dao.rowcreator.impl;
+
+import org.seasar.dbflute.s2dao.rowcreator.TnRelationKey;
+
+/**
+ * The relation key of single numeric column, reused as probe per relation in one select. <br />
+ * The key value is kept as long so the cache does not need the key instance.
+ * @author jflute
+ */
+public final class TnRelationKeyNumeric implements TnRelationKey {
+
+    private String _columnLabel;
+    private Object _keyValue;
+    private long _longKey;
+
+    public TnRelationKeyNumeric() {
+    }
+
+    public TnRelationKeyNumeric reset(String columnLabel, Object keyValue, long longKey) {
+        _columnLabel = columnLabel;
+        _keyValue = keyValue;
+        _longKey = longKey;
+        return this;
+    }
+
+    public boolean containsColumn(String columnLabel) {
+        return _columnLabel.equals(columnLabel);
+    }
+
+    public Object extractKeyValue(String columnLabel) {
+        return containsColumn(columnLabel) ? _keyValue : null;
+    }
+
+    public long getLongKey() {
+        return _longKey;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (_longKey ^ (_longKey >>> 32));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof TnRelationKeyNumeric)) {
+            return false;
+        }
+        return _longKey == ((TnRelationKeyNumeric) o)._longKey;
+    }
+
+    @Override
+    public String toString() {
+        return "{" + _columnLabel + "=" + _keyValue + "}";
+    }
+}
@@ -15,16 +15,22 @@
  */
 package org.seasar.dbflute.s2dao.rowcreator.impl;
 
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 
+import org.seasar.dbflute.dbmeta.info.ColumnInfo;
+import org.seasar.dbflute.dbmeta.property.PropertyGateway;
 import org.seasar.dbflute.helper.StringKeyMap;
+import org.seasar.dbflute.jdbc.ValueType;
 import org.seasar.dbflute.resource.ResourceContext;
 import org.seasar.dbflute.s2dao.metadata.TnBeanMetaData;
 import org.seasar.dbflute.s2dao.metadata.TnPropertyMapping;
 import org.seasar.dbflute.s2dao.metadata.TnPropertyType;
 import org.seasar.dbflute.s2dao.rowcreator.TnRowCreator;
+import org.seasar.dbflute.s2dao.rowcreator.TnRowMappingPlan;
 import org.seasar.dbflute.util.DfReflectionUtil;
 
 /**
@@ -97,4 +103,45 @@ public abstract class TnRowCreatorImpl implements TnRowCreator {
     protected Map<String, TnPropertyMapping> newPropertyCache() {
         return StringKeyMap.createAsCaseInsensitive();
     }
+
+    // ===================================================================================
+    //                                                                Mapping Plan Creation
+    //                                                                =====================
+    /**
+     * {@inheritDoc}
+     */
+    public TnRowMappingPlan createRowMappingPlan(ResultSet rs, Map<String, Map<String, Integer>> selectIndexMap,
+            Map<String, TnPropertyMapping> propertyCache) throws SQLException {
+        final int size = propertyCache.size();
+        final String[] columnNames = new String[size];
+        final int[] columnIndexes = new int[size];
+        final ValueType[] valueTypes = new ValueType[size];
+        final TnPropertyMapping[] mappings = new TnPropertyMapping[size];
+        final PropertyGateway[] gateways = new PropertyGateway[size];
+        int position = 0;
+        for (Entry<String, TnPropertyMapping> entry : propertyCache.entrySet()) {
+            final String columnName = entry.getKey();
+            final TnPropertyMapping mapping = entry.getValue();
+            columnNames[position] = columnName;
+            columnIndexes[position] = resolveColumnIndex(rs, columnName, selectIndexMap);
+            valueTypes[position] = mapping.getValueType();
+            mappings[position] = mapping;
+            final ColumnInfo columnInfo = mapping.getEntityColumnInfo();
+            gateways[position] = columnInfo != null ? columnInfo.getPropertyGateway() : null;
+            ++position;
+        }
+        return new TnRowMappingPlan(propertyCache, selectIndexMap, columnNames, columnIndexes, valueTypes, mappings, gateways);
+    }
+
+    protected int resolveColumnIndex(ResultSet rs, String columnName, Map<String, Map<String, Integer>> selectIndexMap) {
+        if (selectIndexMap != null) { // basically condition-bean
+            final Integer selectIndex = ResourceContext.findLocalSelectIndex(columnName, selectIndexMap);
+            return selectIndex != null ? selectIndex : TnRowMappingPlan.BY_NAME_INDEX; // e.g. derived column
+        }
+        try {
+            return rs.findColumn(columnName); // resolved only once here
+        } catch (SQLException ignored) { // e.g. the driver cannot find by the name
+            return TnRowMappingPlan.BY_NAME_INDEX; // same as before, read by name per row
+        }
+    }
 }
@@ -31,6 +31,7 @@ import org.seasar.dbflute.s2dao.rowcreator.TnRelationRowCache;
 import org.seasar.dbflute.s2dao.rowcreator.TnRelationRowCreator;
 import org.seasar.dbflute.s2dao.rowcreator.TnRelationSelector;
 import org.seasar.dbflute.s2dao.rowcreator.TnRowCreator;
+import org.seasar.dbflute.s2dao.rowcreator.TnRowMappingPlan;
 
 /**
  * @author modified by jflute (originated in S2Dao)
@@ -109,6 +110,31 @@ public abstract class TnAbstractBeanResultSetHandler implements TnResultSetHandl
         return _rowCreator.createRow(rs, selectIndexMap, propertyCache, beanClass);
     }
 
+    /**
+     * Create the plan of row mapping for base point row, compiled once per result set.
+     * @param rs Result set. (NotNull)
+     * @param selectIndexMap The map of select index. map:{entityNo(e.g. loc00 or _0_3) = map:{selectColumnKeyName = selectIndex}} (NullAllowed)
+     * @param propertyCache The map of property cache. map:{columnName, PropertyMapping} (NotNull)
+     * @return The compiled plan of row mapping. (NotNull)
+     * @throws SQLException
+     */
+    protected TnRowMappingPlan createRowMappingPlan(ResultSet rs, Map<String, Map<String, Integer>> selectIndexMap,
+            Map<String, TnPropertyMapping> propertyCache) throws SQLException {
+        return _rowCreator.createRowMappingPlan(rs, selectIndexMap, propertyCache);
+    }
+
+    /**
+     * Create base point row by the compiled plan.
+     * @param rs Result set. (NotNull)
+     * @param plan The compiled plan of row mapping. (NotNull)
+     * @return The created row. (NotNull)
+     * @throws SQLException
+     */
+    protected Object createRow(ResultSet rs, TnRowMappingPlan plan) throws SQLException {
+        final Class<?> beanClass = _beanMetaData.getBeanClass();
+        return _rowCreator.createRow(rs, plan, beanClass);
+    }
+
     /**
      * Create relation row.
      * @param rs Result set. (NotNull)
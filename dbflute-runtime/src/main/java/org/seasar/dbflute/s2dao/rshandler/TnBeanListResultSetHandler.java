@@ -36,6 +36,7 @@ import org.seasar.dbflute.s2dao.rowcreator.TnRelationRowCache;
 import org.seasar.dbflute.s2dao.rowcreator.TnRelationRowCreator;
 import org.seasar.dbflute.s2dao.rowcreator.TnRelationSelector;
 import org.seasar.dbflute.s2dao.rowcreator.TnRowCreator;
+import org.seasar.dbflute.s2dao.rowcreator.TnRowMappingPlan;
 
 /**
  * @author modified by jflute (originated in S2Dao)
@@ -78,6 +79,7 @@ public class TnBeanListResultSetHandler extends TnAbstractBeanResultSetHandler {
         // lazy initialization because if the result is zero, the resources are unused
         Map<String, String> selectColumnMap = null;
         Map<String, TnPropertyMapping> propertyCache = null;
+        TnRowMappingPlan rowPlan = null; // compiled from property cache
         Map<String, Map<String, TnPropertyMapping>> relPropCache = null; // key is relationNoSuffix, columnName
         TnRelationRowCache relRowCache = null;
         TnRelationSelector relSelector = null;
@@ -112,9 +114,12 @@ public class TnBeanListResultSetHandler extends TnAbstractBeanResultSetHandler {
             if (propertyCache == null) {
                 propertyCache = createPropertyCache(selectColumnMap, selectIndexMap);
             }
+            if (rowPlan == null) {
+                rowPlan = createRowMappingPlan(rs, selectIndexMap, propertyCache);
+            }
 
-            // create row instance of base table by row property cache
-            final Object row = createRow(rs, selectIndexMap, propertyCache);
+            // create row instance of base table by compiled row plan
+            final Object row = createRow(rs, rowPlan);
 
             if (skipRelationLoop) {
                 adjustCreatedRow(row, checkNonSp, basePointBmd);
@@ -15,6 +15,7 @@
  */
 package org.seasar.dbflute.s2dao.sqlcommand;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
@@ -25,13 +26,18 @@ import org.seasar.dbflute.Entity;
 import org.seasar.dbflute.bhv.SqlStringFilter;
 import org.seasar.dbflute.bhv.core.BehaviorCommandMeta;
 import org.seasar.dbflute.cbean.cipher.ColumnFunctionCipher;
+import org.seasar.dbflute.dbmeta.AbstractDBMeta;
+import org.seasar.dbflute.dbmeta.AbstractEntity;
 import org.seasar.dbflute.dbmeta.DBMeta;
+import org.seasar.dbflute.dbmeta.accessory.EntityModifiedProperties;
+import org.seasar.dbflute.dbmeta.accessory.EntityPropertyOrdinals;
 import org.seasar.dbflute.dbmeta.name.ColumnSqlName;
 import org.seasar.dbflute.jdbc.StatementFactory;
 import org.seasar.dbflute.resource.DBFluteSystem;
 import org.seasar.dbflute.resource.ResourceContext;
 import org.seasar.dbflute.s2dao.metadata.TnBeanMetaData;
 import org.seasar.dbflute.s2dao.metadata.TnPropertyType;
+import org.seasar.dbflute.s2dao.sqlcommand.TnEntityStatementCache.TnEntityStatement;
 
 /**
  * @author modified by jflute (originated in S2Dao)
@@ -50,6 +56,15 @@ public abstract class TnAbstractEntityDynamicCommand extends TnAbstractBasicSqlC
     /** The array of property name for persistent columns. (NotNull: after initialization) */
     protected String[] _propertyNames;
 
+    /** The ordinals of entity properties in the table. (NullAllowed: if null, modified properties are checked by names) */
+    protected EntityPropertyOrdinals _entityPropertyOrdinals;
+
+    /** The array of ordinal for property names, index is the one of property names, minus if no ordinal. (NullAllowed: same as ordinals) */
+    protected int[] _propertyOrdinals;
+
+    /** The cache of statements keyed by bound properties, used by insert and update. (NotNull) */
+    protected final TnEntityStatementCache _statementCache = newEntityStatementCache();
+
     // ===================================================================================
     //                                                                         Constructor
     //                                                                         ===========
@@ -136,6 +151,107 @@ public abstract class TnAbstractEntityDynamicCommand extends TnAbstractBasicSqlC
         sb.setLength(sb.length() - connectorSuffix.length()); // for deleting extra ' and '
     }
 
+    // ===================================================================================
+    //                                                                    Modified Ordinal
+    //                                                                    ================
+    /**
+     * Resolve the ordinals of property names once when the command is built,
+     * so modified properties are checked without hashing the names.
+     */
+    protected void resolvePropertyOrdinals() {
+        if (!(_targetDBMeta instanceof AbstractDBMeta) || _propertyNames == null) {
+            _entityPropertyOrdinals = null;
+            _propertyOrdinals = null;
+            return;
+        }
+        final EntityPropertyOrdinals ordinals = ((AbstractDBMeta) _targetDBMeta).getPropertyOrdinals();
+        final int[] propertyOrdinals = new int[_propertyNames.length];
+        for (int i = 0; i < _propertyNames.length; i++) {
+            propertyOrdinals[i] = ordinals.findOrdinal(_propertyNames[i]);
+        }
+        _entityPropertyOrdinals = ordinals;
+        _propertyOrdinals = propertyOrdinals;
+    }
+
+    /**
+     * Find the modified properties that can be checked by the ordinals of this command.
+     * @param bean The bean of the entity, or list of entities for batch. (NotNull)
+     * @return The modified properties of the entity. (NullAllowed: if null, check by names e.g. batch, deserialized entity)
+     */
+    protected EntityModifiedProperties findOrdinalModifiedProperties(Object bean) {
+        if (_entityPropertyOrdinals == null || !(bean instanceof AbstractEntity)) {
+            return null;
+        }
+        final EntityModifiedProperties modifiedProperties = ((AbstractEntity) bean).xgetModifiedProperties();
+        return modifiedProperties.getOrdinals() == _entityPropertyOrdinals ? modifiedProperties : null;
+    }
+
+    /**
+     * Is the property of the index modified? (checked by the ordinal)
+     * @param modifiedProperties The modified properties found by ordinals. (NotNull)
+     * @param pt The type of the property. (NotNull)
+     * @param index The index of property names.
+     * @return The determination, true or false.
+     */
+    protected boolean isModifiedOrdinalProperty(EntityModifiedProperties modifiedProperties, TnPropertyType pt, int index) {
+        final int ordinal = _propertyOrdinals[index];
+        if (ordinal >= 0) { // mainly here
+            return modifiedProperties.isModifiedOrdinal(ordinal);
+        }
+        return modifiedProperties.isModifiedProperty(pt.getPropertyName());
+    }
+
+    // ===================================================================================
+    //                                                                     Statement Cache
+    //                                                                     ===============
+    protected TnEntityStatementCache newEntityStatementCache() {
+        return new TnEntityStatementCache();
+    }
+
+    /**
+     * Create the bits of bound properties, index is the one of property names.
+     * @param propertyNames The array of property name for persistent columns. (NotNull)
+     * @return The new-created bits, all zero. (NotNull)
+     */
+    protected long[] newBoundBits(String[] propertyNames) {
+        return new long[(propertyNames.length + 63) >>> 6];
+    }
+
+    protected void markBound(long[] boundBits, int index) {
+        boundBits[index >>> 6] |= (1L << index);
+    }
+
+    protected boolean isBound(long[] boundBits, int index) {
+        return (boundBits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    protected boolean isBoundEmpty(long[] boundBits) {
+        for (long bits : boundBits) {
+            if (bits != 0L) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected TnPropertyType[] toBoundPropertyTypes(String[] propertyNames, long[] boundBits) {
+        final List<TnPropertyType> typeList = new ArrayList<TnPropertyType>();
+        for (int i = 0; i < propertyNames.length; ++i) {
+            if (isBound(boundBits, i)) {
+                typeList.add(_beanMetaData.getPropertyType(propertyNames[i]));
+            }
+        }
+        return typeList.toArray(new TnPropertyType[typeList.size()]);
+    }
+
+    protected TnEntityStatement findCachedStatement(long[] boundBits) {
+        return _statementCache.findStatement(boundBits);
+    }
+
+    protected void cacheStatement(long[] boundBits, TnEntityStatement statement) {
+        _statementCache.registerStatement(boundBits, statement);
+    }
+
     // ===================================================================================
     //                                                                       Filter Helper
     //                                                                       =============
@@ -184,9 +300,15 @@ public abstract class TnAbstractEntityDynamicCommand extends TnAbstractBasicSqlC
 
     public void setTargetDBMeta(DBMeta targetDBMeta) {
         _targetDBMeta = targetDBMeta;
+        resolvePropertyOrdinals();
     }
 
     public void setPropertyNames(String[] propertyNames) {
         _propertyNames = propertyNames;
+        resolvePropertyOrdinals();
+    }
+
+    public TnEntityStatementCache getStatementCache() {
+        return _statementCache;
     }
 }
@@ -17,6 +17,7 @@ package org.seasar.dbflute.s2dao.sqlcommand;
 
 import javax.sql.DataSource;
 
+import org.seasar.dbflute.bhv.core.supplement.CommandMetricsRecorder;
 import org.seasar.dbflute.jdbc.StatementFactory;
 import org.seasar.dbflute.resource.ResourceContext;
 import org.seasar.dbflute.s2dao.sqlhandler.TnBasicParameterHandler;
@@ -49,8 +50,21 @@ public abstract class TnAbstractTwoWaySqlCommand extends TnAbstractBasicSqlComma
     //                                                                             =======
     public Object execute(Object[] args) {
         final Node rootNode = getRootNode(args);
-        final CommandContext ctx = apply(rootNode, args, getArgNames(args), getArgTypes(args));
-        final String executedSql = filterExecutedSql(ctx.getSql());
+        final CommandMetricsRecorder metricsRecorder = CommandMetricsRecorder.findRecorderOnThread(); // null if no metrics
+        if (metricsRecorder != null) {
+            metricsRecorder.beginRender();
+        }
+        final CommandContext ctx;
+        final String renderedSql;
+        try {
+            ctx = apply(rootNode, args, getArgNames(args), getArgTypes(args));
+            renderedSql = ctx.getSql();
+        } finally {
+            if (metricsRecorder != null) {
+                metricsRecorder.endRender();
+            }
+        }
+        final String executedSql = filterExecutedSql(renderedSql);
         final TnBasicParameterHandler handler = createBasicParameterHandler(ctx, executedSql);
         final Object[] bindVariables = ctx.getBindVariables();
         final Class<?>[] bindVariableTypes = ctx.getBindVariableTypes();
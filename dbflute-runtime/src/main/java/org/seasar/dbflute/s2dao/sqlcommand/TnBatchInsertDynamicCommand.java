@@ -24,6 +24,7 @@ import javax.sql.DataSource;
 import org.seasar.dbflute.bhv.InsertOption;
 import org.seasar.dbflute.cbean.ConditionBean;
 import org.seasar.dbflute.jdbc.StatementFactory;
+import org.seasar.dbflute.resource.ResourceContext;
 import org.seasar.dbflute.s2dao.metadata.TnPropertyType;
 import org.seasar.dbflute.s2dao.sqlhandler.TnBatchInsertHandler;
 
@@ -48,9 +49,76 @@ public class TnBatchInsertDynamicCommand extends TnInsertEntityDynamicCommand {
         final TnBatchInsertHandler handler = createBatchInsertHandler(propertyTypes, sql, option);
         // because the variable is set when exception occurs if batch 
         //handler.setExceptionMessageSqlArgs(new Object[] { ... });
+        final int multiRowValuesSize = resolveMultiRowValuesSize(propertyTypes, beanList.size(), option);
+        if (multiRowValuesSize > 1) {
+            final String groupSql = createMultiRowValuesSql(propertyTypes, option, multiRowValuesSize);
+            final int remainderSize = beanList.size() % multiRowValuesSize;
+            final String remainderSql = remainderSize > 0 ? createMultiRowValuesSql(propertyTypes, option, remainderSize) : null;
+            handler.setMultiRowValues(multiRowValuesSize, groupSql, remainderSql);
+        }
         return handler.executeBatch(beanList);
     }
 
+    // ===================================================================================
+    //                                                                    Multi-row VALUES
+    //                                                                    ================
+    protected int resolveMultiRowValuesSize(TnPropertyType[] propertyTypes, int allSize, InsertOption<ConditionBean> option) {
+        final Integer optionSize = option != null ? option.getBatchInsertMultiRowValuesSize() : null;
+        if (optionSize == null || optionSize <= 1 || allSize <= 1) {
+            return 0; // means no multi-row
+        }
+        if (!isMultiRowValuesInsertSupported()) { // e.g. Oracle
+            return 0; // normal batch
+        }
+        final int limitCount = getMultiRowValuesInsertLimitCount();
+        int size = limitCount > 0 ? Math.min(optionSize, limitCount) : optionSize; // e.g. 1000 of SQLServer
+        final int paramLimitCount = getBindParameterLimitCount();
+        if (paramLimitCount > 0 && propertyTypes.length > 0) { // e.g. 2100 of SQLServer
+            size = Math.min(size, paramLimitCount / propertyTypes.length);
+            if (size <= 1) { // too many columns to group rows
+                return 0; // normal batch
+            }
+        }
+        return Math.min(size, allSize);
+    }
+
+    protected boolean isMultiRowValuesInsertSupported() {
+        return ResourceContext.currentDBDef().dbway().isMultiRowValuesInsertSupported();
+    }
+
+    protected int getMultiRowValuesInsertLimitCount() {
+        return ResourceContext.currentDBDef().dbway().getMultiRowValuesInsertLimitCount();
+    }
+
+    protected int getBindParameterLimitCount() {
+        return ResourceContext.currentDBDef().dbway().getBindParameterLimitCount();
+    }
+
+    protected String createMultiRowValuesSql(TnPropertyType[] propertyTypes, InsertOption<ConditionBean> option, int rowCount) {
+        final String singleRowSql = createInsertSql(_beanMetaData, propertyTypes, option);
+        final String valuesRow = buildValuesRow(propertyTypes);
+        final StringBuilder sb = new StringBuilder(singleRowSql.length() + (valuesRow.length() + 10) * rowCount);
+        sb.append(singleRowSql);
+        for (int i = 1; i < rowCount; i++) {
+            sb.append(",").append(ln()).append("        ").append(valuesRow); // aligned with first row
+        }
+        return filterExecutedSql(sb.toString());
+    }
+
+    protected String buildValuesRow(TnPropertyType[] propertyTypes) { // same as insert SQL
+        final String tableDbName = _targetDBMeta.getTableDbName();
+        final StringBuilder sb = new StringBuilder(48);
+        sb.append("(");
+        for (int i = 0; i < propertyTypes.length; ++i) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(encryptIfNeeds(tableDbName, propertyTypes[i].getColumnDbName(), "?"));
+        }
+        sb.append(")");
+        return sb.toString();
+    }
+
     // ===================================================================================
     //                                                                       Insert Column
     //                                                                       =============
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.s2dao.sqlcommand;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.seasar.dbflute.s2dao.metadata.TnPropertyType;
+
+/**
+ * The cache of entity statements (SQL and bound property types) in a command of one table. <br />
+ * The key is the bits of bound properties, which are indexes of property names in the command. <br />
+ * This is bounded: new statements are not cached after the max size.
+ * @author jflute
+ * @since 1.0.5N
+ */
+public class TnEntityStatementCache {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    public static final int DEFAULT_MAX_SIZE = 256;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final int _maxSize;
+    protected final Map<BoundPropertyKey, TnEntityStatement> _statementMap = new ConcurrentHashMap<BoundPropertyKey, TnEntityStatement>();
+    protected final AtomicLong _hitCount = new AtomicLong();
+    protected final AtomicLong _missCount = new AtomicLong();
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * Constructor with default size.
+     */
+    public TnEntityStatementCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Constructor.
+     * @param maxSize The max size of cached statements. (NotMinus, NotZero)
+     */
+    public TnEntityStatementCache(int maxSize) {
+        if (maxSize <= 0) {
+            String msg = "The argument 'maxSize' should be positive: " + maxSize;
+            throw new IllegalArgumentException(msg);
+        }
+        _maxSize = maxSize;
+    }
+
+    // ===================================================================================
+    //                                                                            Handling
+    //                                                                            ========
+    /**
+     * Find the statement by the bits of bound properties.
+     * @param boundBits The bits of bound properties. (NotNull)
+     * @return The cached statement. (NullAllowed: if null, not found)
+     */
+    public TnEntityStatement findStatement(long[] boundBits) {
+        final TnEntityStatement statement = _statementMap.get(new BoundPropertyKey(boundBits));
+        if (statement != null) {
+            _hitCount.incrementAndGet();
+        } else {
+            _missCount.incrementAndGet();
+        }
+        return statement;
+    }
+
+    /**
+     * Register the statement with the bits of bound properties. <br />
+     * It is not registered if the cache is full.
+     * @param boundBits The bits of bound properties, should not be changed after this. (NotNull)
+     * @param statement The statement for the bound properties. (NotNull)
+     */
+    public void registerStatement(long[] boundBits, TnEntityStatement statement) {
+        if (_statementMap.size() >= _maxSize) { // no eviction because combinations are limited in a table
+            return;
+        }
+        _statementMap.put(new BoundPropertyKey(boundBits), statement);
+    }
+
+    /**
+     * Clear all cached statements and statistics.
+     */
+    public void clear() {
+        _statementMap.clear();
+        _hitCount.set(0);
+        _missCount.set(0);
+    }
+
+    protected static class BoundPropertyKey {
+
+        protected final long[] _boundBits;
+        protected final int _hashCode;
+
+        public BoundPropertyKey(long[] boundBits) {
+            _boundBits = boundBits;
+            _hashCode = Arrays.hashCode(boundBits);
+        }
+
+        @Override
+        public int hashCode() {
+            return _hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof BoundPropertyKey && Arrays.equals(_boundBits, ((BoundPropertyKey) obj)._boundBits);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                           Statement
+    //                                                                           =========
+    /**
+     * The statement of entity, SQL before filter and its bound property types. (immutable)
+     */
+    public static class TnEntityStatement {
+
+        protected final String _sql;
+        protected final TnPropertyType[] _propertyTypes;
+
+        public TnEntityStatement(String sql, TnPropertyType[] propertyTypes) {
+            _sql = sql;
+            _propertyTypes = propertyTypes;
+        }
+
+        public String getSql() {
+            return _sql;
+        }
+
+        public TnPropertyType[] getPropertyTypes() { // read-only array
+            return _propertyTypes;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                          Statistics
+    //                                                                          ==========
+    public int getCachedSize() {
+        return _statementMap.size();
+    }
+
+    public long getHitCount() {
+        return _hitCount.get();
+    }
+
+    public long getMissCount() {
+        return _missCount.get();
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "{maxSize=" + _maxSize + ", cached=" + getCachedSize() + ", hit=" + getHitCount() + ", miss=" + getMissCount() + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int getMaxSize() {
+        return _maxSize;
+    }
+}
@@ -15,8 +15,6 @@
  */
 package org.seasar.dbflute.s2dao.sqlcommand;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Set;
 
 import javax.sql.DataSource;
@@ -24,6 +22,7 @@ import javax.sql.DataSource;
 import org.seasar.dbflute.Entity;
 import org.seasar.dbflute.bhv.InsertOption;
 import org.seasar.dbflute.cbean.ConditionBean;
+import org.seasar.dbflute.dbmeta.accessory.EntityModifiedProperties;
 import org.seasar.dbflute.dbmeta.name.ColumnSqlName;
 import org.seasar.dbflute.exception.factory.ExceptionMessageBuilder;
 import org.seasar.dbflute.jdbc.StatementConfig;
@@ -32,6 +31,7 @@ import org.seasar.dbflute.resource.InternalMapContext;
 import org.seasar.dbflute.s2dao.identity.TnIdentifierGenerator;
 import org.seasar.dbflute.s2dao.metadata.TnBeanMetaData;
 import org.seasar.dbflute.s2dao.metadata.TnPropertyType;
+import org.seasar.dbflute.s2dao.sqlcommand.TnEntityStatementCache.TnEntityStatement;
 import org.seasar.dbflute.s2dao.sqlhandler.TnInsertEntityHandler;
 
 /**
@@ -55,9 +55,22 @@ public class TnInsertEntityDynamicCommand extends TnAbstractEntityDynamicCommand
         prepareStatementConfigOnThreadIfExists(option);
 
         final TnBeanMetaData bmd = _beanMetaData;
-        final TnPropertyType[] propertyTypes = createInsertPropertyTypes(bmd, bean, _propertyNames, option);
-        final String sql = filterExecutedSql(createInsertSql(bmd, propertyTypes, option));
-        return doExecute(bean, propertyTypes, sql, option);
+        final TnEntityStatement statement = prepareInsertStatement(bmd, bean, option);
+        final String sql = filterExecutedSql(statement.getSql());
+        return doExecute(bean, statement.getPropertyTypes(), sql, option);
+    }
+
+    protected TnEntityStatement prepareInsertStatement(TnBeanMetaData bmd, Object bean, InsertOption<ConditionBean> option) {
+        // insert SQL depends only on bound properties so cached by them
+        final long[] boundBits = selectInsertProperties(bmd, bean, _propertyNames, option);
+        final TnEntityStatement cached = findCachedStatement(boundBits);
+        if (cached != null) {
+            return cached;
+        }
+        final TnPropertyType[] propertyTypes = toInsertPropertyTypes(bmd, bean, boundBits);
+        final TnEntityStatement statement = new TnEntityStatement(createInsertSql(bmd, propertyTypes, option), propertyTypes);
+        cacheStatement(boundBits, statement);
+        return statement;
     }
 
     protected InsertOption<ConditionBean> extractInsertOptionChecked(Object[] args) {
@@ -87,14 +100,30 @@ public class TnInsertEntityDynamicCommand extends TnAbstractEntityDynamicCommand
     // ===================================================================================
     //                                                                       Insert Column
     //                                                                       =============
-    protected TnPropertyType[] createInsertPropertyTypes(TnBeanMetaData bmd, Object bean, String[] propertyNames,
-            InsertOption<ConditionBean> option) {
+    protected TnPropertyType[] toInsertPropertyTypes(TnBeanMetaData bmd, Object bean, long[] boundBits) {
+        final TnPropertyType[] propertyTypes = toBoundPropertyTypes(_propertyNames, boundBits);
+        if (propertyTypes.length == 0) {
+            throwEntityInsertPropertyNotFoundException(bmd, bean);
+        }
+        return propertyTypes;
+    }
+
+    /**
+     * Select insert properties as bits, index is the one of property names.
+     * @param bmd The bean meta data of the entity. (NotNull)
+     * @param bean The bean of the entity, or list of entities for batch. (NotNull)
+     * @param propertyNames The array of property name for persistent columns. (NotNull)
+     * @param option The option of insert. (NullAllowed)
+     * @return The bits of bound properties. (NotNull)
+     */
+    protected long[] selectInsertProperties(TnBeanMetaData bmd, Object bean, String[] propertyNames, InsertOption<ConditionBean> option) {
         if (0 == propertyNames.length) {
             String msg = "The property name was not found in the bean: " + bean;
             throw new IllegalStateException(msg);
         }
-        final List<TnPropertyType> typeList = new ArrayList<TnPropertyType>();
-        final Set<?> modifiedSet = getModifiedPropertyNames(bean);
+        final long[] boundBits = newBoundBits(propertyNames);
+        final EntityModifiedProperties modifiedProperties = findOrdinalModifiedProperties(bean); // mainly here
+        final Set<?> modifiedSet = modifiedProperties == null ? getModifiedPropertyNames(bean) : null;
         final String timestampProp = bmd.getTimestampPropertyName();
         final String versionNoProp = bmd.getVersionNoPropertyName();
 
@@ -107,18 +136,15 @@ public class TnInsertEntityDynamicCommand extends TnAbstractEntityDynamicCommand
                         continue;
                     }
                 }
-                typeList.add(pt);
+                markBound(boundBits, i);
             } else {
                 if (isOptimisticLockProperty(timestampProp, versionNoProp, pt) // OptimisticLock
-                        || isSpecifiedProperty(bean, option, modifiedSet, pt)) { // Specified
-                    typeList.add(pt);
+                        || isSpecifiedProperty(bean, option, modifiedSet, modifiedProperties, pt, i)) { // Specified
+                    markBound(boundBits, i);
                 }
             }
         }
-        if (typeList.isEmpty()) {
-            throwEntityInsertPropertyNotFoundException(bmd, bean);
-        }
-        return (TnPropertyType[]) typeList.toArray(new TnPropertyType[typeList.size()]);
+        return boundBits;
     }
 
     protected Set<?> getModifiedPropertyNames(Object bean) {
@@ -130,7 +156,8 @@ public class TnInsertEntityDynamicCommand extends TnAbstractEntityDynamicCommand
         return propertyName.equalsIgnoreCase(timestampProp) || propertyName.equalsIgnoreCase(versionNoProp);
     }
 
-    protected boolean isSpecifiedProperty(Object bean, InsertOption<ConditionBean> option, Set<?> modifiedSet, TnPropertyType pt) {
+    protected boolean isSpecifiedProperty(Object bean, InsertOption<ConditionBean> option, Set<?> modifiedSet,
+            EntityModifiedProperties modifiedProperties, TnPropertyType pt, int index) {
         if (option != null && option.hasSpecifiedInsertColumn()) { // basically BatchUpdate
             // BatchUpdate's modified properties are translated to specified columns
             // so all BatchUpdate commands are here
@@ -142,7 +169,7 @@ public class TnInsertEntityDynamicCommand extends TnAbstractEntityDynamicCommand
                 if (option != null && option.xisCompatibleInsertColumnNotNullOnly()) { // for compatible
                     return isNotNullProperty(bean, pt);
                 } else { // mainly here
-                    return isModifiedProperty(modifiedSet, pt); // process for ModifiedColumnInsert
+                    return isModifiedProperty(modifiedSet, modifiedProperties, pt, index); // process for ModifiedColumnInsert
                 }
             }
         }
@@ -160,6 +187,14 @@ public class TnInsertEntityDynamicCommand extends TnAbstractEntityDynamicCommand
         return pt.getPropertyAccessor().getValue(bean) != null;
     }
 
+    protected boolean isModifiedProperty(Set<?> modifiedSet, EntityModifiedProperties modifiedProperties, TnPropertyType pt,
+            int index) {
+        if (modifiedProperties != null) { // mainly here, by the ordinal resolved when the command is built
+            return isModifiedOrdinalProperty(modifiedProperties, pt, index);
+        }
+        return isModifiedProperty(modifiedSet, pt);
+    }
+
     protected boolean isModifiedProperty(Set<?> modifiedSet, TnPropertyType pt) {
         return modifiedSet.contains(pt.getPropertyName());
     }
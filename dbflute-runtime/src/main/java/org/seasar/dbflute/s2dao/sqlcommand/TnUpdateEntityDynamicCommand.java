@@ -15,8 +15,6 @@
  */
 package org.seasar.dbflute.s2dao.sqlcommand;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -26,6 +24,7 @@ import org.seasar.dbflute.Entity;
 import org.seasar.dbflute.XLog;
 import org.seasar.dbflute.bhv.UpdateOption;
 import org.seasar.dbflute.cbean.ConditionBean;
+import org.seasar.dbflute.dbmeta.accessory.EntityModifiedProperties;
 import org.seasar.dbflute.dbmeta.name.ColumnSqlName;
 import org.seasar.dbflute.exception.VaryingUpdateInvalidColumnSpecificationException;
 import org.seasar.dbflute.exception.factory.ExceptionMessageBuilder;
@@ -33,6 +32,7 @@ import org.seasar.dbflute.jdbc.StatementConfig;
 import org.seasar.dbflute.jdbc.StatementFactory;
 import org.seasar.dbflute.resource.InternalMapContext;
 import org.seasar.dbflute.s2dao.metadata.TnPropertyType;
+import org.seasar.dbflute.s2dao.sqlcommand.TnEntityStatementCache.TnEntityStatement;
 import org.seasar.dbflute.s2dao.sqlhandler.TnUpdateEntityHandler;
 
 /**
@@ -67,15 +67,48 @@ public class TnUpdateEntityDynamicCommand extends TnAbstractEntityDynamicCommand
         final UpdateOption<ConditionBean> option = extractUpdateOptionChecked(args);
         prepareStatementConfigOnThreadIfExists(option);
 
-        final TnPropertyType[] propertyTypes = createUpdatePropertyTypes(bean, option);
-        if (propertyTypes.length == 0) {
+        final long[] boundBits = selectUpdateProperties(bean, option);
+        if (isBoundEmpty(boundBits)) {
             if (isLogEnabled()) {
                 log(createNonUpdateLogMessage(bean));
             }
             return getNonUpdateReturn();
         }
-        final String sql = filterExecutedSql(createUpdateSql(bean, propertyTypes, option));
-        return doExecute(bean, propertyTypes, sql, option);
+        final TnEntityStatement statement = prepareUpdateStatement(bean, option, boundBits);
+        final String sql = filterExecutedSql(statement.getSql());
+        return doExecute(bean, statement.getPropertyTypes(), sql, option);
+    }
+
+    protected TnEntityStatement prepareUpdateStatement(Object bean, UpdateOption<ConditionBean> option, long[] boundBits) {
+        // optimistic lock and version-no handling are fixed in this command
+        // so update SQL depends only on bound properties if no unique-driven and no statement
+        final boolean cacheable = isUpdateStatementCacheable(bean, option, boundBits);
+        if (cacheable) {
+            final TnEntityStatement cached = findCachedStatement(boundBits);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        final TnPropertyType[] propertyTypes = toBoundPropertyTypes(_propertyNames, boundBits);
+        final TnEntityStatement statement = new TnEntityStatement(createUpdateSql(bean, propertyTypes, option), propertyTypes);
+        if (cacheable) {
+            cacheStatement(boundBits, statement);
+        }
+        return statement;
+    }
+
+    protected boolean isUpdateStatementCacheable(Object bean, UpdateOption<ConditionBean> option, long[] boundBits) {
+        if (extractUniqueDrivenPropSet(bean) != null) {
+            return false;
+        }
+        if (option != null) {
+            for (int i = 0; i < _propertyNames.length; ++i) {
+                if (isBound(boundBits, i) && option.hasStatement(_beanMetaData.getPropertyType(_propertyNames[i]).getColumnDbName())) {
+                    return false; // statement might be different per execution
+                }
+            }
+        }
+        return true;
     }
 
     protected UpdateOption<ConditionBean> extractUpdateOptionChecked(Object[] args) {
@@ -106,9 +139,16 @@ public class TnUpdateEntityDynamicCommand extends TnAbstractEntityDynamicCommand
     // ===================================================================================
     //                                                                       Update Column
     //                                                                       =============
-    protected TnPropertyType[] createUpdatePropertyTypes(Object bean, UpdateOption<ConditionBean> option) {
-        final Set<String> modifiedSet = getModifiedPropertyNames(bean);
-        final List<TnPropertyType> typeList = new ArrayList<TnPropertyType>();
+    /**
+     * Select update properties as bits, index is the one of property names.
+     * @param bean The bean of the entity, or list of entities for batch. (NotNull)
+     * @param option The option of update. (NullAllowed)
+     * @return The bits of bound properties. (NotNull)
+     */
+    protected long[] selectUpdateProperties(Object bean, UpdateOption<ConditionBean> option) {
+        final EntityModifiedProperties modifiedProperties = findOrdinalModifiedProperties(bean); // mainly here
+        final Set<String> modifiedSet = modifiedProperties == null ? getModifiedPropertyNames(bean) : null;
+        final long[] boundBits = newBoundBits(_propertyNames);
         final String timestampProp = _beanMetaData.getTimestampPropertyName();
         final String versionNoProp = _beanMetaData.getVersionNoPropertyName();
         final String[] propertyNames = _propertyNames;
@@ -118,12 +158,12 @@ public class TnUpdateEntityDynamicCommand extends TnAbstractEntityDynamicCommand
                 continue;
             }
             if (isOptimisticLockProperty(timestampProp, versionNoProp, pt) // OptimisticLock
-                    || isSpecifiedProperty(option, modifiedSet, pt) // Specified
+                    || isSpecifiedProperty(option, modifiedSet, modifiedProperties, pt, i) // Specified
                     || isStatementProperty(option, pt)) { // Statement
-                typeList.add(pt);
+                markBound(boundBits, i);
             }
         }
-        return typeList.toArray(new TnPropertyType[typeList.size()]);
+        return boundBits;
     }
 
     protected Set<String> getModifiedPropertyNames(Object bean) {
@@ -135,12 +175,21 @@ public class TnUpdateEntityDynamicCommand extends TnAbstractEntityDynamicCommand
         return propertyName.equalsIgnoreCase(timestampProp) || propertyName.equalsIgnoreCase(versionNoProp);
     }
 
-    protected boolean isSpecifiedProperty(UpdateOption<ConditionBean> option, Set<?> modifiedSet, TnPropertyType pt) {
+    protected boolean isSpecifiedProperty(UpdateOption<ConditionBean> option, Set<?> modifiedSet,
+            EntityModifiedProperties modifiedProperties, TnPropertyType pt, int index) {
         if (option != null && option.hasSpecifiedUpdateColumn()) { // BatchUpdate
             return option.isSpecifiedUpdateColumn(pt.getColumnDbName());
         } else { // EntityUpdate
-            return isModifiedProperty(modifiedSet, pt); // process for ModifiedColumnUpdate
+            return isModifiedProperty(modifiedSet, modifiedProperties, pt, index); // process for ModifiedColumnUpdate
+        }
+    }
+
+    protected boolean isModifiedProperty(Set<?> modifiedSet, EntityModifiedProperties modifiedProperties, TnPropertyType pt,
+            int index) {
+        if (modifiedProperties != null) { // mainly here, by the ordinal resolved when the command is built
+            return isModifiedOrdinalProperty(modifiedProperties, pt, index);
         }
+        return isModifiedProperty(modifiedSet, pt);
     }
 
     protected boolean isModifiedProperty(Set<?> modifiedSet, TnPropertyType pt) {
@@ -32,6 +32,7 @@ import org.seasar.dbflute.QLog;
 import org.seasar.dbflute.bhv.core.SqlFireHook;
 import org.seasar.dbflute.bhv.core.SqlFireReadyInfo;
 import org.seasar.dbflute.bhv.core.SqlFireResultInfo;
+import org.seasar.dbflute.bhv.core.supplement.CommandMetricsRecorder;
 import org.seasar.dbflute.exception.handler.SQLExceptionHandler;
 import org.seasar.dbflute.exception.handler.SQLExceptionResource;
 import org.seasar.dbflute.jdbc.DataSourceHandler;
@@ -479,6 +480,10 @@ public abstract class TnAbstractBasicSqlHandler {
             saveBeforeSqlTimeMillis();
         }
         hookSqlFireBefore();
+        final CommandMetricsRecorder metricsRecorder = CommandMetricsRecorder.findRecorderOnThread(); // null if no metrics
+        if (metricsRecorder != null) {
+            metricsRecorder.beginExecute();
+        }
         ResultSet rs = null;
         SQLException nativeCause = null;
         try {
@@ -491,6 +496,9 @@ public abstract class TnAbstractBasicSqlHandler {
             nativeCause = e;
             throw e;
         } finally {
+            if (metricsRecorder != null) {
+                metricsRecorder.endExecute();
+            }
             hookSqlFireFinally(rs, nativeCause);
         }
     }
@@ -501,6 +509,10 @@ public abstract class TnAbstractBasicSqlHandler {
             saveBeforeSqlTimeMillis();
         }
         hookSqlFireBefore();
+        final CommandMetricsRecorder metricsRecorder = CommandMetricsRecorder.findRecorderOnThread(); // null if no metrics
+        if (metricsRecorder != null) {
+            metricsRecorder.beginExecute();
+        }
         Integer updated = null;
         SQLException nativeCause = null;
         try {
@@ -518,6 +530,9 @@ public abstract class TnAbstractBasicSqlHandler {
             handleSQLException(e, resource);
             return -1; // unreachable
         } finally {
+            if (metricsRecorder != null) {
+                metricsRecorder.endExecute();
+            }
             hookSqlFireFinally(updated, nativeCause);
         }
     }
@@ -532,6 +547,10 @@ public abstract class TnAbstractBasicSqlHandler {
             saveBeforeSqlTimeMillis();
         }
         hookSqlFireBefore();
+        final CommandMetricsRecorder metricsRecorder = CommandMetricsRecorder.findRecorderOnThread(); // null if no metrics
+        if (metricsRecorder != null) {
+            metricsRecorder.beginExecute();
+        }
         int[] batchResult = null;
         SQLException nativeCause = null;
         try {
@@ -550,6 +569,9 @@ public abstract class TnAbstractBasicSqlHandler {
             handleSQLException(e, resource);
             return null; // unreachable
         } finally {
+            if (metricsRecorder != null) {
+                metricsRecorder.endExecute();
+            }
             hookSqlFireFinally(batchResult, nativeCause);
         }
     }
@@ -575,6 +597,10 @@ public abstract class TnAbstractBasicSqlHandler {
             saveBeforeSqlTimeMillis();
         }
         hookSqlFireBefore();
+        final CommandMetricsRecorder metricsRecorder = CommandMetricsRecorder.findRecorderOnThread(); // null if no metrics
+        if (metricsRecorder != null) {
+            metricsRecorder.beginExecute();
+        }
         Boolean executed = null;
         SQLException nativeCause = null;
         try {
@@ -587,6 +613,9 @@ public abstract class TnAbstractBasicSqlHandler {
             nativeCause = e;
             throw e;
         } finally {
+            if (metricsRecorder != null) {
+                metricsRecorder.endExecute();
+            }
             hookSqlFireFinally(executed, nativeCause);
         }
     }
@@ -90,23 +90,15 @@ public abstract class TnAbstractBatchHandler extends TnAbstractEntityHandler {
         try {
             processBefore(conn, beanList);
             RuntimeException sqlEx = null;
-            final PreparedStatement ps = prepareStatement(conn);
             int[] result = null;
             try {
-                for (Object bean : beanList) {
-                    processBatchBefore(bean);
-                    prepareBatchElement(conn, ps, bean);
-                }
-                handleBatchLogging(); // last scope handling
-                result = executeBatch(ps, beanList);
-                handleBatchUpdateResultWithOptimisticLock(ps, beanList, result);
+                result = doExecuteBatch(conn, beanList);
             } catch (RuntimeException e) {
                 // not SQLFailureException because
                 // a wrapper of JDBC may throw an other exception
                 sqlEx = e;
                 throw e;
             } finally {
-                close(ps);
                 processFinally(conn, beanList, sqlEx);
             }
             // a value of exclusive control column should be synchronized
@@ -123,6 +115,87 @@ public abstract class TnAbstractBatchHandler extends TnAbstractEntityHandler {
         }
     }
 
+    /**
+     * Execute the batch for all rows by the statement of the SQL.
+     * @param conn The connection for the batch. (NotNull)
+     * @param beanList The list of bean for all rows. (NotNull, NotEmpty)
+     * @return The array of update count for all rows. (NotNull)
+     */
+    protected int[] doExecuteBatch(Connection conn, List<?> beanList) {
+        final PreparedStatement ps = prepareStatement(conn);
+        try {
+            final int splitSize = resolveBatchSplitSize(beanList.size());
+            if (splitSize < beanList.size()) { // e.g. huge list
+                return executeSplitBatch(conn, ps, beanList, splitSize);
+            } else { // mainly here
+                for (Object bean : beanList) {
+                    processBatchBefore(bean);
+                    prepareBatchElement(conn, ps, bean);
+                }
+                handleBatchLogging(); // last scope handling
+                final int[] result = executeBatch(ps, beanList);
+                handleBatchUpdateResultWithOptimisticLock(ps, beanList, result);
+                return result;
+            }
+        } finally {
+            close(ps);
+        }
+    }
+
+    /**
+     * Execute the batch split by the size to avoid a huge batch on the driver. <br />
+     * The result array is the concatenation of each split result so the contract is the same as non-split.
+     * @param conn The connection for the batch. (NotNull)
+     * @param ps The prepared statement reused for all split batches. (NotNull)
+     * @param beanList The list of bean for all rows. (NotNull, NotEmpty)
+     * @param splitSize The size of rows in one split batch. (NotMinus, NotZero)
+     * @return The array of update count for all rows. (NotNull)
+     */
+    protected int[] executeSplitBatch(Connection conn, PreparedStatement ps, List<?> beanList, int splitSize) {
+        final int[] result = new int[beanList.size()];
+        int resultIndex = 0;
+        final int allSize = beanList.size();
+        for (int fromIndex = 0; fromIndex < allSize; fromIndex = fromIndex + splitSize) {
+            final int toIndex = Math.min(fromIndex + splitSize, allSize);
+            final List<?> splitList = beanList.subList(fromIndex, toIndex);
+            for (Object bean : splitList) {
+                processBatchBefore(bean);
+                prepareBatchElement(conn, ps, bean);
+            }
+            handleBatchLogging(); // split scope handling
+            final int[] splitResult = executeBatch(ps, splitList);
+            handleBatchUpdateResultWithOptimisticLock(ps, splitList, splitResult);
+            final int copySize = Math.min(splitResult.length, result.length - resultIndex); // for safety
+            System.arraycopy(splitResult, 0, result, resultIndex, copySize);
+            resultIndex = resultIndex + copySize;
+        }
+        if (resultIndex < result.length) { // basically no way, but driver may return short array
+            final int[] adjusted = new int[resultIndex];
+            System.arraycopy(result, 0, adjusted, 0, resultIndex);
+            return adjusted;
+        }
+        return result;
+    }
+
+    protected int resolveBatchSplitSize(int allSize) {
+        final Integer splitSize = getBatchSplitSize();
+        if (splitSize == null || splitSize <= 0) {
+            return allSize; // means no split
+        }
+        return splitSize;
+    }
+
+    /**
+     * Get the size of rows in one split batch, which is option's size or default size.
+     * @return The size of split batch. (NullAllowed: if null or minus, no split)
+     */
+    protected Integer getBatchSplitSize() {
+        final Integer optionSize = getOptionBatchSplitSize();
+        return optionSize != null ? optionSize : ResourceContext.getDefaultBatchSplitSize();
+    }
+
+    protected abstract Integer getOptionBatchSplitSize();
+
     protected void prepareBatchElement(Connection conn, PreparedStatement ps, Object bean) {
         setupBindVariables(bean);
         final Object[] bindVariables = _bindVariables;
@@ -24,6 +24,10 @@ import javax.sql.DataSource;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.seasar.dbflute.bhv.core.supplement.CommandMetricsRecorder;
+import org.seasar.dbflute.bhv.core.supplement.QueryResultCache;
+import org.seasar.dbflute.bhv.core.supplement.QueryResultCacheInfo;
+import org.seasar.dbflute.bhv.core.supplement.QueryResultCacheResource;
 import org.seasar.dbflute.cbean.FetchAssistContext;
 import org.seasar.dbflute.cbean.FetchNarrowingBean;
 import org.seasar.dbflute.exception.FetchingOverSafetySizeException;
@@ -31,6 +35,7 @@ import org.seasar.dbflute.exception.handler.SQLExceptionResource;
 import org.seasar.dbflute.jdbc.FetchBean;
 import org.seasar.dbflute.jdbc.StatementFactory;
 import org.seasar.dbflute.outsidesql.OutsideSqlContext;
+import org.seasar.dbflute.resource.InternalMapContext;
 import org.seasar.dbflute.s2dao.jdbc.TnFetchAssistResultSet;
 import org.seasar.dbflute.s2dao.jdbc.TnResultSetHandler;
 
@@ -62,6 +67,14 @@ public class TnBasicSelectHandler extends TnBasicParameterHandler {
     //                                                                             Execute
     //                                                                             =======
     @Override
+    public Object execute(Object[] args, Class<?>[] argTypes) {
+        final QueryResultCacheResource resource = InternalMapContext.getQueryResultCacheResource();
+        if (resource == null) { // mainly here
+            return super.execute(args, argTypes);
+        }
+        return doExecuteWithQueryResultCache(args, argTypes, resource); // out of transaction here
+    }
+
     protected Object doExecute(Connection conn, Object[] args, Class<?>[] argTypes) {
         logSql(args, argTypes);
         PreparedStatement ps = null;
@@ -83,7 +96,7 @@ public class TnBasicSelectHandler extends TnBasicParameterHandler {
         ResultSet rs = null;
         try {
             rs = doQueryResult(ps);
-            return _resultSetHandler.handle(rs);
+            return handleResultSet(rs);
         } catch (FetchingOverSafetySizeException e) { // from fetch assist
             if (OutsideSqlContext.isExistOutsideSqlContextOnThread()) {
                 // OutsideSql only, ConditionBean uses its toDisplaySql()
@@ -96,6 +109,20 @@ public class TnBasicSelectHandler extends TnBasicParameterHandler {
         }
     }
 
+    protected Object handleResultSet(ResultSet rs) throws SQLException {
+        final CommandMetricsRecorder metricsRecorder = CommandMetricsRecorder.findRecorderOnThread(); // null if no metrics
+        if (metricsRecorder != null) {
+            metricsRecorder.beginMapping();
+        }
+        try {
+            return _resultSetHandler.handle(rs);
+        } finally {
+            if (metricsRecorder != null) {
+                metricsRecorder.endMapping();
+            }
+        }
+    }
+
     protected ResultSet doQueryResult(PreparedStatement ps) throws SQLException {
         // /- - - - - - - - - - - - - - - - - - - - - - - - - - -
         // All select statements on DBFlute use this result set. 
@@ -149,4 +176,46 @@ public class TnBasicSelectHandler extends TnBasicParameterHandler {
     protected TnFetchAssistResultSet createFunctionalResultSet(ResultSet rs, FetchBean fcbean, boolean offset, boolean limit) {
         return new TnFetchAssistResultSet(rs, fcbean, offset, limit);
     }
+
+    // ===================================================================================
+    //                                                                  Query Result Cache
+    //                                                                  ==================
+    protected Object doExecuteWithQueryResultCache(Object[] args, Class<?>[] argTypes, QueryResultCacheResource resource) {
+        final QueryResultCache cache = resource.getQueryResultCache();
+        final Object key = cache.createKey(_sql, args, resource.getResultType() + buildFetchAssistKey());
+        final Object cached = cache.findResult(key);
+        resource.getHandler().notifyListener(new QueryResultCacheInfo(resource.getMeta(), _sql, cached != null, cache));
+        if (cached != null) {
+            if (isLogEnabled()) {
+                log("...Using query result cache of " + cache.getTableDbName());
+                logDisplaySql(buildDisplaySql(_sql, args));
+            }
+            return cached; // without getting a connection
+        }
+        final long version = cache.getVersion(); // before select
+        final Object result = super.execute(args, argTypes);
+        cache.registerResult(key, result, _sql, resource.getDeclaredTableSet(), version);
+        return result;
+    }
+
+    protected String buildFetchAssistKey() { // fetch-assist changes result without changing SQL
+        if (!isUseFunctionalResultSet()) {
+            return "";
+        }
+        final StringBuilder sb = new StringBuilder();
+        final FetchBean fcbean = FetchAssistContext.getFetchBeanOnThread();
+        if (fcbean != null) {
+            sb.append(":safety=").append(fcbean.getSafetyMaxResultSize());
+        }
+        final FetchNarrowingBean fnbean = FetchAssistContext.getFetchNarrowingBeanOnThread();
+        if (fnbean != null && fnbean.isFetchNarrowingEffective()) {
+            sb.append(":skip=").append(fnbean.getFetchNarrowingSkipStartIndex());
+            sb.append(":loop=").append(fnbean.getFetchNarrowingLoopCount());
+        }
+        if (OutsideSqlContext.isExistOutsideSqlContextOnThread()) {
+            final OutsideSqlContext context = OutsideSqlContext.getOutsideSqlContextOnThread();
+            sb.append(":cursor=").append(context.isOffsetByCursorForcedly()).append(context.isLimitByCursorForcedly());
+        }
+        return sb.toString();
+    }
 }
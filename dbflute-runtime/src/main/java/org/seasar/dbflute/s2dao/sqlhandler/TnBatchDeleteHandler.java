@@ -51,6 +51,11 @@ public class TnBatchDeleteHandler extends TnAbstractBatchHandler {
         return _deleteOption != null ? _deleteOption.getBatchLoggingDeleteLimit() : null;
     }
 
+    @Override
+    protected Integer getOptionBatchSplitSize() {
+        return _deleteOption != null ? _deleteOption.getBatchDeleteSplitSize() : null;
+    }
+
     @Override
     protected String getBatchUpdateSQLFailureProcessTitle() {
         return "batch delete";
@@ -16,10 +16,15 @@
 package org.seasar.dbflute.s2dao.sqlhandler;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.sql.DataSource;
 
 import org.seasar.dbflute.jdbc.StatementFactory;
+import org.seasar.dbflute.jdbc.ValueType;
 import org.seasar.dbflute.s2dao.metadata.TnBeanMetaData;
 import org.seasar.dbflute.s2dao.metadata.TnPropertyType;
 
@@ -28,6 +33,18 @@ import org.seasar.dbflute.s2dao.metadata.TnPropertyType;
  */
 public class TnBatchInsertHandler extends TnAbstractBatchHandler {
 
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** The size of rows in one multi-row VALUES SQL. (zero means normal batch) */
+    protected int _multiRowValuesSize;
+
+    /** The multi-row VALUES SQL for the size of rows. (NullAllowed: if normal batch) */
+    protected String _multiRowValuesSql;
+
+    /** The multi-row VALUES SQL for the remainder rows. (NullAllowed: if no remainder) */
+    protected String _multiRowValuesRemainderSql;
+
     // ===================================================================================
     //                                                                         Constructor
     //                                                                         ===========
@@ -37,6 +54,78 @@ public class TnBatchInsertHandler extends TnAbstractBatchHandler {
         setOptimisticLockHandling(false);
     }
 
+    // ===================================================================================
+    //                                                                    Multi-row VALUES
+    //                                                                    ================
+    /**
+     * Set the multi-row VALUES SQL to insert rows by one statement per the size of rows.
+     * @param multiRowValuesSize The size of rows in one SQL. (NotMinus, NotZero)
+     * @param multiRowValuesSql The SQL for the size of rows. (NotNull)
+     * @param multiRowValuesRemainderSql The SQL for the remainder rows. (NullAllowed: if no remainder)
+     */
+    public void setMultiRowValues(int multiRowValuesSize, String multiRowValuesSql, String multiRowValuesRemainderSql) {
+        _multiRowValuesSize = multiRowValuesSize;
+        _multiRowValuesSql = multiRowValuesSql;
+        _multiRowValuesRemainderSql = multiRowValuesRemainderSql;
+    }
+
+    @Override
+    protected int[] doExecuteBatch(Connection conn, List<?> beanList) {
+        if (_multiRowValuesSize <= 1 || _multiRowValuesSql == null) {
+            return super.doExecuteBatch(conn, beanList);
+        }
+        final int allSize = beanList.size();
+        final int[] result = new int[allSize];
+        PreparedStatement groupPs = null; // reused for every full group
+        try {
+            for (int fromIndex = 0; fromIndex < allSize; fromIndex = fromIndex + _multiRowValuesSize) {
+                final int toIndex = Math.min(fromIndex + _multiRowValuesSize, allSize);
+                final List<?> groupList = beanList.subList(fromIndex, toIndex);
+                final int updated;
+                if (groupList.size() == _multiRowValuesSize) {
+                    if (groupPs == null) {
+                        groupPs = _statementFactory.createPreparedStatement(conn, _multiRowValuesSql);
+                    }
+                    updated = executeMultiRowValues(conn, groupPs, groupList);
+                } else { // last remainder
+                    final PreparedStatement remainderPs = _statementFactory.createPreparedStatement(conn, _multiRowValuesRemainderSql);
+                    try {
+                        updated = executeMultiRowValues(conn, remainderPs, groupList);
+                    } finally {
+                        close(remainderPs);
+                    }
+                }
+                // one statement returns total count so it cannot know each count if not all inserted
+                final int rowCount = updated == groupList.size() ? 1 : Statement.SUCCESS_NO_INFO;
+                for (int i = fromIndex; i < toIndex; i++) {
+                    result[i] = rowCount;
+                }
+            }
+        } finally {
+            close(groupPs);
+        }
+        return result;
+    }
+
+    protected int executeMultiRowValues(Connection conn, PreparedStatement ps, List<?> groupList) {
+        final List<Object> argList = new ArrayList<Object>(groupList.size() * _boundPropTypes.length);
+        final List<ValueType> valueTypeList = new ArrayList<ValueType>(groupList.size() * _boundPropTypes.length);
+        for (Object bean : groupList) {
+            processBatchBefore(bean);
+            setupBindVariables(bean);
+            final Object[] bindVariables = _bindVariables;
+            logSql(bindVariables, getArgTypes(bindVariables)); // logged per row as normal batch
+            for (int i = 0; i < bindVariables.length; i++) {
+                argList.add(bindVariables[i]);
+                valueTypeList.add(_bindVariableValueTypes[i]);
+            }
+        }
+        handleBatchLogging(); // group scope handling
+        final ValueType[] valueTypes = valueTypeList.toArray(new ValueType[valueTypeList.size()]);
+        bindArgs(conn, ps, argList.toArray(), valueTypes);
+        return executeUpdate(ps);
+    }
+
     // ===================================================================================
     //                                                                            Override
     //                                                                            ========
@@ -50,6 +139,11 @@ public class TnBatchInsertHandler extends TnAbstractBatchHandler {
         return _insertOption != null ? _insertOption.getBatchInsertLoggingLimit() : null;
     }
 
+    @Override
+    protected Integer getOptionBatchSplitSize() {
+        return _insertOption != null ? _insertOption.getBatchInsertSplitSize() : null;
+    }
+
     @Override
     protected void processBefore(Connection conn, Object beanList) {
         super.processBefore(conn, beanList);
@@ -78,4 +172,9 @@ public class TnBatchInsertHandler extends TnAbstractBatchHandler {
     protected String getBatchUpdateSQLFailureProcessTitle() {
         return "batch insert";
     }
+
+    @Override
+    protected String getUpdateSQLFailureProcessTitle() { // for multi-row VALUES
+        return "batch insert";
+    }
 }
\ No newline at end of file
@@ -62,6 +62,9 @@ public class SqlAnalyzer {
     protected List<String> _researchForCommentList;
     protected List<String> _researchBindVariableCommentList;
     protected List<String> _researchEmbeddedVariableCommentList;
+    protected boolean _stripStaticBlockComment;
+    protected boolean _stripStaticLineComment;
+    protected boolean _stripStaticEmptyLine;
 
     // ===================================================================================
     //                                                                         Constructor
@@ -452,6 +455,7 @@ public class SqlAnalyzer {
     //                                          Various Node
     //                                          ------------
     protected SqlConnectorNode createSqlConnectorNode(Node node, String connector, String sqlParts) {
+        sqlParts = filterStaticSqlParts(sqlParts);
         if (isNestedBegin(node)) { // basically nested if BEGIN node because checked before
             // connector adjustment of BEGIN is independent 
             return SqlConnectorNode.createSqlConnectorNodeAsIndependent(connector, sqlParts);
@@ -462,7 +466,7 @@ public class SqlAnalyzer {
 
     protected SqlPartsNode createSqlPartsNodeOutOfConnector(Node node, String sqlParts) {
         if (isTopBegin(node)) { // top BEGIN only (nested goes 'else' statement)
-            return SqlPartsNode.createSqlPartsNodeAsIndependent(sqlParts);
+            return SqlPartsNode.createSqlPartsNodeAsIndependent(filterStaticSqlParts(sqlParts));
         } else {
             return createSqlPartsNode(sqlParts);
         }
@@ -471,14 +475,14 @@ public class SqlAnalyzer {
     protected SqlPartsNode createSqlPartsNodeThroughConnector(Node node, String sqlParts) {
         if (isNestedBegin(node)) { // basically nested if BEGIN node because checked before
             // connector adjustment of BEGIN is independent
-            return SqlPartsNode.createSqlPartsNodeAsIndependent(sqlParts);
+            return SqlPartsNode.createSqlPartsNodeAsIndependent(filterStaticSqlParts(sqlParts));
         } else {
             return createSqlPartsNode(sqlParts);
         }
     }
 
     protected SqlPartsNode createSqlPartsNode(String sqlParts) { // as plain
-        return SqlPartsNode.createSqlPartsNode(sqlParts);
+        return SqlPartsNode.createSqlPartsNode(filterStaticSqlParts(sqlParts));
     }
 
     // -----------------------------------------------------
@@ -496,6 +500,15 @@ public class SqlAnalyzer {
         _nodeStack.push(node);
     }
 
+    protected boolean isInBeginScope() {
+        for (int i = 0; i < _nodeStack.size(); ++i) {
+            if (_nodeStack.get(i) instanceof BeginNode) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     protected boolean isElseMode() {
         for (int i = 0; i < _nodeStack.size(); ++i) {
             if (_nodeStack.get(i) instanceof ElseNode) {
@@ -505,6 +518,117 @@ public class SqlAnalyzer {
         return false;
     }
 
+    // ===================================================================================
+    //                                                                       Static Filter
+    //                                                                       =============
+    /**
+     * Strip plain block comments from static SQL parts when analyzing. <br />
+     * The result is same as removing them from executed SQL so the filter for dynamic parts can be skipped. <br />
+     * This method should be called before calling analyze().
+     * @return this. (NotNull)
+     */
+    public SqlAnalyzer stripStaticBlockComment() {
+        _stripStaticBlockComment = true;
+        return this;
+    }
+
+    /**
+     * Strip line comments (and CR) on whole lines in static SQL parts when analyzing. <br />
+     * This method should be called before calling analyze().
+     * @return this. (NotNull)
+     */
+    public SqlAnalyzer stripStaticLineComment() {
+        _stripStaticLineComment = true;
+        return this;
+    }
+
+    /**
+     * Strip empty lines (and CR) in static SQL parts when analyzing. <br />
+     * This method should be called before calling analyze().
+     * @return this. (NotNull)
+     */
+    public SqlAnalyzer stripStaticEmptyLine() {
+        _stripStaticEmptyLine = true;
+        return this;
+    }
+
+    protected String filterStaticSqlParts(String sqlParts) {
+        if (sqlParts == null || !(_stripStaticBlockComment || _stripStaticLineComment || _stripStaticEmptyLine)) {
+            return sqlParts; // mainly here
+        }
+        String filtered = sqlParts;
+        if (_stripStaticBlockComment && isBlockCommentOnly(filtered)) {
+            filtered = "";
+        }
+        if (_stripStaticLineComment && !filtered.contains("/*")) { // line comment in block comment is not target
+            filtered = stripWholeLineComment(filtered);
+        }
+        if (_stripStaticEmptyLine) {
+            filtered = stripWholeEmptyLine(filtered);
+        }
+        if (isInBeginScope()) { // valid SQL parts are used for connector adjustment
+            if (Srl.is_NotNull_and_NotTrimmedEmpty(filtered) != Srl.is_NotNull_and_NotTrimmedEmpty(sqlParts)) {
+                return sqlParts; // keep it (filtered when execution)
+            }
+        }
+        return filtered;
+    }
+
+    protected boolean isBlockCommentOnly(String sqlParts) {
+        final String beginMark = "/*";
+        final String endMark = "*/";
+        return sqlParts.startsWith(beginMark) && sqlParts.indexOf(endMark) == sqlParts.length() - endMark.length()
+                && sqlParts.length() >= beginMark.length() + endMark.length();
+    }
+
+    // the first and last lines of SQL parts are not whole lines
+    // (they are connected with other nodes) so only the middle lines are filtered here
+    protected String stripWholeLineComment(String sqlParts) {
+        if (!sqlParts.contains("--") && !sqlParts.contains("\r")) {
+            return sqlParts;
+        }
+        final List<String> lineList = Srl.splitList(sqlParts, "\n");
+        final int lastIndex = lineList.size() - 1;
+        final StringBuilder sb = new StringBuilder(sqlParts.length());
+        for (int i = 0; i <= lastIndex; i++) {
+            String line = Srl.replace(lineList.get(i), "\r", ""); // CR is removed in all lines
+            if (i > 0 && i < lastIndex) { // whole line
+                if (line.trim().startsWith("--")) {
+                    continue; // skip the line
+                }
+                final int delimiterIndex = line.indexOf("--");
+                if (delimiterIndex >= 0 && line.indexOf("--", delimiterIndex + 1) < 0) { // only one comment
+                    line = line.substring(0, delimiterIndex);
+                }
+            }
+            if (i > 0) {
+                sb.append("\n");
+            }
+            sb.append(line);
+        }
+        return sb.toString();
+    }
+
+    protected String stripWholeEmptyLine(String sqlParts) {
+        if (!sqlParts.contains("\n") && !sqlParts.contains("\r")) {
+            return sqlParts;
+        }
+        final List<String> lineList = Srl.splitList(sqlParts, "\n");
+        final int lastIndex = lineList.size() - 1;
+        final StringBuilder sb = new StringBuilder(sqlParts.length());
+        for (int i = 0; i <= lastIndex; i++) {
+            final String line = Srl.replace(lineList.get(i), "\r", ""); // CR is removed in all lines
+            if (i > 0 && i < lastIndex && line.trim().length() == 0) { // empty whole line
+                continue; // skip the line
+            }
+            if (i > 0) {
+                sb.append("\n");
+            }
+            sb.append(line);
+        }
+        return sb.toString();
+    }
+
     // ===================================================================================
     //                                                                            Research
     //                                                                            ========
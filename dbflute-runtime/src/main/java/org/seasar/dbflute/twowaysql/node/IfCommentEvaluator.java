@@ -42,6 +42,9 @@ import org.seasar.dbflute.twowaysql.exception.IfCommentNullPointerException;
 import org.seasar.dbflute.twowaysql.exception.IfCommentPropertyReadFailureException;
 import org.seasar.dbflute.twowaysql.exception.IfCommentUnsupportedExpressionException;
 import org.seasar.dbflute.twowaysql.exception.IfCommentUnsupportedTypeComparisonException;
+import org.seasar.dbflute.twowaysql.node.IfCommentExpression.IfCommentBooleanClause;
+import org.seasar.dbflute.twowaysql.node.IfCommentExpression.IfCommentPiece;
+import org.seasar.dbflute.twowaysql.node.IfCommentExpression.IfCommentPropertyStep;
 import org.seasar.dbflute.twowaysql.pmbean.MapParameterBean;
 import org.seasar.dbflute.util.DfReflectionUtil;
 import org.seasar.dbflute.util.DfReflectionUtil.ReflectionFailureException;
@@ -107,21 +110,38 @@ public class IfCommentEvaluator {
     protected final String _expression;
     protected final String _specifiedSql;
     protected final LoopInfo _loopInfo;
+    protected final IfCommentExpression _compiledExpression; // null allowed
 
     // ===================================================================================
     //                                                                         Constructor
     //                                                                         ===========
     public IfCommentEvaluator(ParameterFinder finder, String expression, String specifiedSql, LoopInfo loopInfo) {
+        this(finder, expression, specifiedSql, loopInfo, null);
+    }
+
+    /**
+     * @param finder The finder of parameter. (NotNull)
+     * @param expression The expression of IF comment. (NullAllowed: exception when evaluation)
+     * @param specifiedSql The specified SQL for exception message. (NotNull)
+     * @param loopInfo The information of loop. (NullAllowed: if null, not in loop)
+     * @param compiledExpression The compiled expression of the same expression. (NullAllowed: if null, evaluated as plain)
+     */
+    public IfCommentEvaluator(ParameterFinder finder, String expression, String specifiedSql, LoopInfo loopInfo,
+            IfCommentExpression compiledExpression) {
         this._finder = finder;
         this._expression = expression != null ? expression.trim() : null;
         this._specifiedSql = specifiedSql;
         this._loopInfo = loopInfo;
+        this._compiledExpression = compiledExpression;
     }
 
     // ===================================================================================
     //                                                                              Accept
     //                                                                              ======
     public boolean evaluate() {
+        if (_compiledExpression != null) { // mainly here when from IF node
+            return evaluateCompiled();
+        }
         assertExpression();
         if (_expression.contains(AND)) {
             final List<String> splitList = splitList(_expression, AND);
@@ -168,9 +188,108 @@ public class IfCommentEvaluator {
         }
     }
 
+    // -----------------------------------------------------
+    //                                   Compiled Expression
+    //                                   -------------------
+    protected boolean evaluateCompiled() {
+        final List<IfCommentBooleanClause> clauseList = _compiledExpression.getBooleanClauseList();
+        if (_compiledExpression.isAndConnector()) {
+            for (IfCommentBooleanClause clause : clauseList) {
+                if (!evaluateCompiledClause(clause)) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (_compiledExpression.isOrConnector()) {
+            for (IfCommentBooleanClause clause : clauseList) {
+                if (evaluateCompiledClause(clause)) {
+                    return true;
+                }
+            }
+            return false;
+        } else {
+            return evaluateCompiledClause(clauseList.get(0));
+        }
+    }
+
+    protected boolean evaluateCompiledClause(IfCommentBooleanClause clause) {
+        if (clause.isStandAlone()) {
+            return evaluateCompiledStandAloneValue(clause);
+        }
+        final Object leftResult = evaluateCompiledPiece(clause.getLeftPiece());
+        final Object rightResult = evaluateCompiledPiece(clause.getRightPiece());
+        return createOperandEvaluator(clause.getOperand(), clause.getBooleanClause()).evaluate(leftResult, rightResult);
+    }
+
+    protected Object evaluateCompiledPiece(IfCommentPiece piece) {
+        if (piece.isLiteral()) {
+            return piece.getLiteralValue();
+        }
+        if (piece.isPlain()) { // e.g. date literal
+            return evaluateComparePiece(piece.getPiece(), null);
+        }
+        return evaluateCompiledPropertyPath(piece);
+    }
+
+    protected boolean evaluateCompiledStandAloneValue(IfCommentBooleanClause clause) {
+        final IfCommentPiece piece = clause.getLeftPiece();
+        final boolean not = clause.isBooleanNot();
+        if (piece.isLiteral()) {
+            final boolean result = (Boolean) piece.getLiteralValue();
+            return not ? !result : result;
+        }
+        final Object baseObject = evaluateCompiledPropertyPath(piece);
+        if (baseObject == null) {
+            throwIfCommentNotBooleanResultException();
+        }
+        final boolean result = Boolean.valueOf(baseObject.toString());
+        return not ? !result : result;
+    }
+
+    protected Object evaluateCompiledPropertyPath(IfCommentPiece piece) {
+        String preProperty = piece.getFirstName();
+        assertFirstName(preProperty);
+        Object baseObject = findBaseObject(preProperty);
+        for (IfCommentPropertyStep step : piece.getStepList()) {
+            baseObject = processOneProperty(baseObject, preProperty, step);
+            preProperty = step.getProperty();
+        }
+        return baseObject;
+    }
+
+    // -----------------------------------------------------
+    //                                        Boolean Clause
+    //                                        --------------
     protected boolean evaluateBooleanClause(final String booleanClause) {
+        final String operand = findOperand(booleanClause);
+        if (operand != null) {
+            return evaluateCompareClause(booleanClause, operand, createOperandEvaluator(operand, booleanClause));
+        } else {
+            return evaluateStandAloneValue(booleanClause);
+        }
+    }
+
+    protected String findOperand(String booleanClause) {
         if (booleanClause.contains(EQUAL)) {
-            return evaluateCompareClause(booleanClause, EQUAL, new OperandEvaluator() {
+            return EQUAL;
+        } else if (booleanClause.contains(NOT_EQUAL)) {
+            return NOT_EQUAL;
+        } else if (booleanClause.contains(GREATER_THAN)) {
+            return GREATER_THAN;
+        } else if (booleanClause.contains(LESS_THAN)) {
+            return LESS_THAN;
+        } else if (booleanClause.contains(GREATER_EQUAL)) {
+            return GREATER_EQUAL;
+        } else if (booleanClause.contains(LESS_EQUAL)) {
+            return LESS_EQUAL;
+        } else {
+            return null;
+        }
+    }
+
+    protected OperandEvaluator createOperandEvaluator(String operand, final String booleanClause) {
+        if (EQUAL.equals(operand)) {
+            return new OperandEvaluator() {
                 public boolean evaluate(Object leftResult, Object rightResult) {
                     if (leftResult instanceof Number && rightResult instanceof Number) {
                         leftResult = new BigDecimal(leftResult.toString());
@@ -179,9 +298,9 @@ public class IfCommentEvaluator {
                     assertCompareType(leftResult, rightResult, booleanClause);
                     return leftResult != null ? leftResult.equals(rightResult) : rightResult == null;
                 }
-            });
-        } else if (booleanClause.contains(NOT_EQUAL)) {
-            return evaluateCompareClause(booleanClause, NOT_EQUAL, new OperandEvaluator() {
+            };
+        } else if (NOT_EQUAL.equals(operand)) {
+            return new OperandEvaluator() {
                 public boolean evaluate(Object leftResult, Object rightResult) {
                     if (leftResult instanceof Number && rightResult instanceof Number) {
                         leftResult = new BigDecimal(leftResult.toString());
@@ -190,9 +309,9 @@ public class IfCommentEvaluator {
                     assertCompareType(leftResult, rightResult, booleanClause);
                     return leftResult != null ? !leftResult.equals(rightResult) : rightResult != null;
                 }
-            });
-        } else if (booleanClause.contains(GREATER_THAN)) {
-            return evaluateCompareClause(booleanClause, GREATER_THAN, new OperandEvaluator() {
+            };
+        } else if (GREATER_THAN.equals(operand)) {
+            return new OperandEvaluator() {
                 public boolean evaluate(Object leftResult, Object rightResult) {
                     if (leftResult == null) {
                         return false;
@@ -206,9 +325,9 @@ public class IfCommentEvaluator {
                         }
                     }, booleanClause);
                 }
-            });
-        } else if (booleanClause.contains(LESS_THAN)) {
-            return evaluateCompareClause(booleanClause, LESS_THAN, new OperandEvaluator() {
+            };
+        } else if (LESS_THAN.equals(operand)) {
+            return new OperandEvaluator() {
                 public boolean evaluate(Object leftResult, Object rightResult) {
                     if (leftResult == null) {
                         return true;
@@ -222,9 +341,9 @@ public class IfCommentEvaluator {
                         }
                     }, booleanClause);
                 }
-            });
-        } else if (booleanClause.contains(GREATER_EQUAL)) {
-            return evaluateCompareClause(booleanClause, GREATER_EQUAL, new OperandEvaluator() {
+            };
+        } else if (GREATER_EQUAL.equals(operand)) {
+            return new OperandEvaluator() {
                 public boolean evaluate(Object leftResult, Object rightResult) {
                     if (leftResult == null) {
                         return rightResult == null;
@@ -238,9 +357,9 @@ public class IfCommentEvaluator {
                         }
                     }, booleanClause);
                 }
-            });
-        } else if (booleanClause.contains(LESS_EQUAL)) {
-            return evaluateCompareClause(booleanClause, LESS_EQUAL, new OperandEvaluator() {
+            };
+        } else if (LESS_EQUAL.equals(operand)) {
+            return new OperandEvaluator() {
                 public boolean evaluate(Object leftResult, Object rightResult) {
                     if (leftResult == null) {
                         return true;
@@ -254,9 +373,10 @@ public class IfCommentEvaluator {
                         }
                     }, booleanClause);
                 }
-            });
+            };
         } else {
-            return evaluateStandAloneValue(booleanClause);
+            String msg = "Unknown operand: " + operand;
+            throw new IllegalStateException(msg);
         }
     }
 
@@ -417,19 +537,31 @@ public class IfCommentEvaluator {
         NodeUtil.throwLoopCurrentVariableOutOfForCommentException(_expression, _specifiedSql);
     }
 
+    protected Object processOneProperty(Object baseObject, String firstProperty, IfCommentPropertyStep step) {
+        if (baseObject != null) {
+            final Class<?> baseType = baseObject.getClass();
+            DfPropertyDesc propertyDesc = step.findPropertyDesc(baseType);
+            if (propertyDesc == null) { // first time for the type
+                final DfBeanDesc beanDesc = DfBeanDescFactory.getBeanDesc(baseType);
+                if (beanDesc.hasPropertyDesc(step.getProperty())) {
+                    propertyDesc = beanDesc.getPropertyDesc(step.getProperty());
+                    step.registerPropertyDesc(baseType, propertyDesc);
+                }
+            }
+            if (propertyDesc != null) { // main case
+                return readPropertyValue(baseObject, propertyDesc);
+            }
+        }
+        return processOneProperty(baseObject, firstProperty, step.getProperty()); // e.g. method, map, list
+    }
+
     protected Object processOneProperty(Object baseObject, String firstProperty, String property) {
         if (baseObject == null) {
             throwIfCommentNullPointerException(firstProperty);
         }
         final DfBeanDesc beanDesc = DfBeanDescFactory.getBeanDesc(baseObject.getClass());
         if (beanDesc.hasPropertyDesc(property)) { // main case
-            final DfPropertyDesc propertyDesc = beanDesc.getPropertyDesc(property);
-            try {
-                return propertyDesc.getValue(baseObject);
-            } catch (DfBeanIllegalPropertyException e) {
-                throwIfCommentPropertyReadFailureException(baseObject, propertyDesc.getPropertyName(), e);
-                return null; // unreachable
-            }
+            return readPropertyValue(baseObject, beanDesc.getPropertyDesc(property));
         }
         if (property.endsWith(METHOD_SUFFIX)) { // sub-main case
             final String methodName = property.substring(0, property.length() - METHOD_SUFFIX.length());
@@ -477,6 +609,15 @@ public class IfCommentEvaluator {
         return null; // unreachable
     }
 
+    protected Object readPropertyValue(Object baseObject, DfPropertyDesc propertyDesc) {
+        try {
+            return propertyDesc.getValue(baseObject);
+        } catch (DfBeanIllegalPropertyException e) {
+            throwIfCommentPropertyReadFailureException(baseObject, propertyDesc.getPropertyName(), e);
+            return null; // unreachable
+        }
+    }
+
     // ===================================================================================
     //                                                                         Base Object
     //                                                                         ===========
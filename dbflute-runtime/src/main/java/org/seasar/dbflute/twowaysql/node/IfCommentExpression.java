@@ -0,0 +1,349 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.twowaysql.node;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.seasar.dbflute.helper.beans.DfPropertyDesc;
+import org.seasar.dbflute.util.DfTypeUtil;
+import org.seasar.dbflute.util.Srl;
+
+/**
+ * The compiled expression of IF comment, split into boolean clauses and pieces at parse time. <br />
+ * The evaluator walks this tree without string operations, and property descriptions
+ * are resolved once per base type (the last type is cached in each step). <br />
+ * Unsupported expressions are not compiled (returns null) so the evaluator handles them as plain.
+ * @author jflute
+ * @since 1.0.5N
+ */
+public class IfCommentExpression {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final String AND = IfCommentEvaluator.AND;
+    protected static final String OR = IfCommentEvaluator.OR;
+    protected static final String[] OPERANDS = new String[] { IfCommentEvaluator.EQUAL, IfCommentEvaluator.NOT_EQUAL,
+            IfCommentEvaluator.GREATER_THAN, IfCommentEvaluator.LESS_THAN, IfCommentEvaluator.GREATER_EQUAL,
+            IfCommentEvaluator.LESS_EQUAL }; // same order as evaluator
+    protected static final String BOOLEAN_NOT = IfCommentEvaluator.BOOLEAN_NOT;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String _expression;
+    protected final String _connector; // null allowed (when single clause)
+    protected final List<IfCommentBooleanClause> _booleanClauseList;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    protected IfCommentExpression(String expression, String connector, List<IfCommentBooleanClause> booleanClauseList) {
+        _expression = expression;
+        _connector = connector;
+        _booleanClauseList = booleanClauseList;
+    }
+
+    // ===================================================================================
+    //                                                                             Compile
+    //                                                                             =======
+    /**
+     * Compile the expression of IF comment.
+     * @param expression The expression of IF comment, e.g. pmb.memberId != null. (NullAllowed)
+     * @return The compiled expression. (NullAllowed: if null, not compilable, e.g. empty or unsupported)
+     */
+    public static IfCommentExpression compile(String expression) {
+        if (expression == null || expression.trim().length() == 0) {
+            return null; // the evaluator throws it
+        }
+        final String trimmed = expression.trim();
+        if (!isCompilable(trimmed)) {
+            return null; // the evaluator throws it
+        }
+        final String connector;
+        final List<String> clauseStrList;
+        if (trimmed.contains(AND)) {
+            connector = AND;
+            clauseStrList = Srl.splitList(trimmed, AND);
+        } else if (trimmed.contains(OR)) {
+            connector = OR;
+            clauseStrList = Srl.splitList(trimmed, OR);
+        } else {
+            connector = null;
+            clauseStrList = Collections.singletonList(trimmed);
+        }
+        final List<IfCommentBooleanClause> clauseList = new ArrayList<IfCommentBooleanClause>(clauseStrList.size());
+        for (String booleanClause : clauseStrList) {
+            clauseList.add(compileBooleanClause(booleanClause));
+        }
+        return new IfCommentExpression(trimmed, connector, Collections.unmodifiableList(clauseList));
+    }
+
+    protected static boolean isCompilable(String expression) { // same as assertion of evaluator
+        final String filtered = Srl.replace(Srl.replace(expression, "()", ""), ".get(", "");
+        if (filtered.contains("(")) {
+            return false;
+        }
+        if (expression.contains(AND) && expression.contains(OR)) {
+            return false;
+        }
+        if (expression.contains(" = ") || expression.contains(" <> ") || expression.contains("\"")) {
+            return false;
+        }
+        return true;
+    }
+
+    protected static IfCommentBooleanClause compileBooleanClause(String booleanClause) {
+        for (String operand : OPERANDS) {
+            if (booleanClause.contains(operand)) {
+                final int operandIndex = booleanClause.indexOf(operand);
+                final String left = booleanClause.substring(0, operandIndex).trim();
+                final String right = booleanClause.substring(operandIndex + operand.length()).trim();
+                return new IfCommentBooleanClause(booleanClause, operand, compileComparePiece(left), compileComparePiece(right), false);
+            }
+        }
+        String piece = booleanClause.trim();
+        boolean not = false;
+        if (piece.startsWith(BOOLEAN_NOT)) {
+            not = true;
+            piece = piece.substring(BOOLEAN_NOT.length());
+        }
+        final IfCommentPiece standAlone;
+        if (!startsWithParameterBean(piece) && ("true".equalsIgnoreCase(piece) || "false".equalsIgnoreCase(piece))) {
+            standAlone = IfCommentPiece.createLiteral(piece, Boolean.valueOf(piece.toLowerCase()));
+        } else {
+            standAlone = compilePropertyPath(piece);
+        }
+        return new IfCommentBooleanClause(booleanClause, null, standAlone, null, not);
+    }
+
+    protected static IfCommentPiece compileComparePiece(String piece) {
+        if (!startsWithParameterBean(piece)) {
+            if ("null".equalsIgnoreCase(piece)) {
+                return IfCommentPiece.createLiteral(piece, null);
+            }
+            if ("true".equalsIgnoreCase(piece)) {
+                return IfCommentPiece.createLiteral(piece, true);
+            }
+            if ("false".equalsIgnoreCase(piece)) {
+                return IfCommentPiece.createLiteral(piece, false);
+            }
+            final String quote = "'";
+            final int qlen = quote.length();
+            if (piece.startsWith(quote) && piece.endsWith(quote)) {
+                if (piece.length() < qlen * 2) { // e.g. only one quote, broken
+                    return IfCommentPiece.createPlain(piece);
+                }
+                return IfCommentPiece.createLiteral(piece, piece.substring(qlen, piece.length() - qlen));
+            }
+            if (piece.toLowerCase().startsWith("date ")) { // depends on time-zone so evaluated every time
+                return IfCommentPiece.createPlain(piece);
+            }
+            try {
+                return IfCommentPiece.createLiteral(piece, DfTypeUtil.toBigDecimal(piece));
+            } catch (NumberFormatException ignored) {}
+        }
+        return compilePropertyPath(piece);
+    }
+
+    protected static IfCommentPiece compilePropertyPath(String piece) {
+        final List<String> splitList = Srl.splitList(piece, ".");
+        final List<IfCommentPropertyStep> stepList = new ArrayList<IfCommentPropertyStep>(splitList.size() - 1);
+        for (int i = 1; i < splitList.size(); i++) {
+            stepList.add(new IfCommentPropertyStep(splitList.get(i)));
+        }
+        return IfCommentPiece.createPropertyPath(piece, splitList.get(0), stepList);
+    }
+
+    protected static boolean startsWithParameterBean(String piece) {
+        return piece.startsWith("pmb");
+    }
+
+    // ===================================================================================
+    //                                                                      Boolean Clause
+    //                                                                      ==============
+    public static class IfCommentBooleanClause {
+
+        protected final String _booleanClause;
+        protected final String _operand; // null allowed (when stand-alone)
+        protected final IfCommentPiece _leftPiece; // or stand-alone piece
+        protected final IfCommentPiece _rightPiece; // null allowed (when stand-alone)
+        protected final boolean _booleanNot;
+
+        public IfCommentBooleanClause(String booleanClause, String operand, IfCommentPiece leftPiece, IfCommentPiece rightPiece,
+                boolean booleanNot) {
+            _booleanClause = booleanClause;
+            _operand = operand;
+            _leftPiece = leftPiece;
+            _rightPiece = rightPiece;
+            _booleanNot = booleanNot;
+        }
+
+        public boolean isStandAlone() {
+            return _operand == null;
+        }
+
+        public String getBooleanClause() {
+            return _booleanClause;
+        }
+
+        public String getOperand() {
+            return _operand;
+        }
+
+        public IfCommentPiece getLeftPiece() {
+            return _leftPiece;
+        }
+
+        public IfCommentPiece getRightPiece() {
+            return _rightPiece;
+        }
+
+        public boolean isBooleanNot() {
+            return _booleanNot;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                               Piece
+    //                                                                               =====
+    public static class IfCommentPiece {
+
+        protected final String _piece;
+        protected final boolean _literal;
+        protected final Object _literalValue; // null allowed
+        protected final String _firstName; // null allowed (when literal or plain)
+        protected final List<IfCommentPropertyStep> _stepList; // null allowed (when literal or plain)
+
+        protected IfCommentPiece(String piece, boolean literal, Object literalValue, String firstName,
+                List<IfCommentPropertyStep> stepList) {
+            _piece = piece;
+            _literal = literal;
+            _literalValue = literalValue;
+            _firstName = firstName;
+            _stepList = stepList;
+        }
+
+        public static IfCommentPiece createLiteral(String piece, Object literalValue) {
+            return new IfCommentPiece(piece, true, literalValue, null, null);
+        }
+
+        public static IfCommentPiece createPlain(String piece) {
+            return new IfCommentPiece(piece, false, null, null, null);
+        }
+
+        public static IfCommentPiece createPropertyPath(String piece, String firstName, List<IfCommentPropertyStep> stepList) {
+            return new IfCommentPiece(piece, false, null, firstName, stepList);
+        }
+
+        /**
+         * @return Is the piece not compiled? e.g. date literal (evaluated as string every time)
+         */
+        public boolean isPlain() {
+            return !_literal && _firstName == null;
+        }
+
+        public String getPiece() {
+            return _piece;
+        }
+
+        public boolean isLiteral() {
+            return _literal;
+        }
+
+        public Object getLiteralValue() {
+            return _literalValue;
+        }
+
+        public String getFirstName() {
+            return _firstName;
+        }
+
+        public List<IfCommentPropertyStep> getStepList() {
+            return _stepList;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                       Property Step
+    //                                                                       =============
+    public static class IfCommentPropertyStep {
+
+        protected final String _property;
+        protected volatile ResolvedProperty _resolvedProperty; // the last resolved, lazy-loaded
+
+        public IfCommentPropertyStep(String property) {
+            _property = property;
+        }
+
+        /**
+         * @param baseType The type of base object for the property. (NotNull)
+         * @return The resolved description of property. (NullAllowed: if null, not resolved yet for the type)
+         */
+        public DfPropertyDesc findPropertyDesc(Class<?> baseType) {
+            final ResolvedProperty resolved = _resolvedProperty;
+            return resolved != null && resolved._baseType == baseType ? resolved._propertyDesc : null;
+        }
+
+        public void registerPropertyDesc(Class<?> baseType, DfPropertyDesc propertyDesc) {
+            _resolvedProperty = new ResolvedProperty(baseType, propertyDesc);
+        }
+
+        public String getProperty() {
+            return _property;
+        }
+    }
+
+    protected static class ResolvedProperty {
+
+        protected final Class<?> _baseType;
+        protected final DfPropertyDesc _propertyDesc;
+
+        public ResolvedProperty(Class<?> baseType, DfPropertyDesc propertyDesc) {
+            _baseType = baseType;
+            _propertyDesc = propertyDesc;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return DfTypeUtil.toClassTitle(this) + ":{" + _expression + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getExpression() {
+        return _expression;
+    }
+
+    public boolean isAndConnector() {
+        return AND.equals(_connector);
+    }
+
+    public boolean isOrConnector() {
+        return OR.equals(_connector);
+    }
+
+    public List<IfCommentBooleanClause> getBooleanClauseList() {
+        return _booleanClauseList;
+    }
+}
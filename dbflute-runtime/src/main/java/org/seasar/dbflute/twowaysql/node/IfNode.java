@@ -34,6 +34,7 @@ public class IfNode extends ScopeNode implements LoopAcceptable, SqlConnectorAdj
     //                                                                           =========
     protected final String _expression;
     protected final String _specifiedSql;
+    protected final IfCommentExpression _compiledExpression; // null allowed (when not compilable)
     protected ElseNode _elseNode; // lazy setting
 
     // ===================================================================================
@@ -42,6 +43,7 @@ public class IfNode extends ScopeNode implements LoopAcceptable, SqlConnectorAdj
     public IfNode(String expression, String specifiedSql) {
         this._expression = expression;
         this._specifiedSql = specifiedSql;
+        this._compiledExpression = IfCommentExpression.compile(expression); // at parse time
     }
 
     // ===================================================================================
@@ -75,7 +77,7 @@ public class IfNode extends ScopeNode implements LoopAcceptable, SqlConnectorAdj
             public Object find(String name) {
                 return ctx.getArg(name);
             }
-        }, _expression, _specifiedSql, loopInfo);
+        }, _expression, _specifiedSql, loopInfo, _compiledExpression);
     }
 
     protected String replace(String text, String fromText, String toText) {
@@ -0,0 +1,554 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.bhv;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import org.seasar.dbflute.BehaviorSelector;
+import org.seasar.dbflute.Entity;
+import org.seasar.dbflute.bhv.core.BehaviorCommandInvoker;
+import org.seasar.dbflute.cbean.ConditionBean;
+import org.seasar.dbflute.cbean.sqlclause.SqlClause;
+import org.seasar.dbflute.cbean.sqlclause.SqlClauseOracle;
+import org.seasar.dbflute.cbean.sqlclause.orderby.OrderByClause;
+import org.seasar.dbflute.dbmeta.DBMeta;
+import org.seasar.dbflute.jdbc.TransactionCompletionCallback;
+import org.seasar.dbflute.jdbc.TransactionSynchronizer;
+import org.seasar.dbflute.mock.MockConditionBean;
+import org.seasar.dbflute.mock.MockEntity;
+import org.seasar.dbflute.unit.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 1.1.0 (2014/12/14 Sunday)
+ */
+public class AbstractBehaviorReadableTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                        Chunk Select
+    //                                                                        ============
+    public void test_xselectReferrerByChunk_boundary() {
+        // ## Arrange ##
+        MockBehavior bhv = createBehavior(false);
+        MockReferrerCallback<Integer> callback = new MockReferrerCallback<Integer>(false);
+        LoadReferrerOption<ChunkConditionBean, MockEntity> option = createOption(3, null);
+
+        // ## Act ##
+        List<MockEntity> referrerList = bhv.xselectReferrerByChunk(newIdSet(7), option, callback);
+
+        // ## Assert ##
+        assertEquals(3, callback._selectedKeyList.size());
+        assertEquals(newIdList(1, 2, 3), callback._selectedKeyList.get(0));
+        assertEquals(newIdList(4, 5, 6), callback._selectedKeyList.get(1));
+        assertEquals(newIdList(7), callback._selectedKeyList.get(2));
+        assertEquals(newIdList(1, 2, 3, 4, 5, 6, 7), extractMemberIdList(referrerList));
+        assertEquals(2, callback._orderByCount); // not for the last chunk having only one key
+    }
+
+    public void test_xselectReferrerByChunk_boundary_just() {
+        // ## Arrange ##
+        MockBehavior bhv = createBehavior(false);
+        MockReferrerCallback<Integer> callback = new MockReferrerCallback<Integer>(false);
+        LoadReferrerOption<ChunkConditionBean, MockEntity> option = createOption(3, null);
+
+        // ## Act ##
+        List<MockEntity> referrerList = bhv.xselectReferrerByChunk(newIdSet(6), option, callback);
+
+        // ## Assert ##
+        assertEquals(2, callback._selectedKeyList.size()); // no empty chunk
+        assertEquals(newIdList(1, 2, 3), callback._selectedKeyList.get(0));
+        assertEquals(newIdList(4, 5, 6), callback._selectedKeyList.get(1));
+        assertEquals(newIdList(1, 2, 3, 4, 5, 6), extractMemberIdList(referrerList));
+    }
+
+    public void test_xcanSelectReferrerByChunk_basic() {
+        // ## Arrange ##
+        MockBehavior bhv = createBehavior(false);
+
+        // ## Act & Assert ##
+        assertFalse(bhv.xcanSelectReferrerByChunk(newIdSet(3), createOption(0, null)));
+        assertFalse(bhv.xcanSelectReferrerByChunk(newIdSet(3), createOption(3, null)));
+        assertTrue(bhv.xcanSelectReferrerByChunk(newIdSet(4), createOption(3, null)));
+        LoadReferrerOption<ChunkConditionBean, MockEntity> option = createOption(3, null);
+        option.setReferrerConditionBean(new ChunkConditionBean());
+        assertFalse(bhv.xcanSelectReferrerByChunk(newIdSet(4), option)); // cannot be shared by chunks
+    }
+
+    public void test_xselectReferrerByChunk_sequentialInTransaction() {
+        // ## Arrange ##
+        MockBehavior bhv = createBehavior(true);
+        MockReferrerCallback<Integer> callback = new MockReferrerCallback<Integer>(false);
+        ReverseChunkExecutor executor = new ReverseChunkExecutor(3);
+        LoadReferrerOption<ChunkConditionBean, MockEntity> option = createOption(3, executor);
+
+        // ## Act ##
+        List<MockEntity> referrerList = bhv.xselectReferrerByChunk(newIdSet(7), option, callback);
+
+        // ## Assert ##
+        assertEquals(0, executor._taskList.size()); // to avoid reading out of transaction
+        assertEquals(3, callback._selectedKeyList.size());
+        assertEquals(newIdList(1, 2, 3, 4, 5, 6, 7), extractMemberIdList(referrerList));
+    }
+
+    // ===================================================================================
+    //                                                                      Parallel Chunk
+    //                                                                      ==============
+    public void test_xselectReferrerByParallelChunk_mergeOrder() {
+        // ## Arrange ##
+        MockBehavior bhv = createBehavior(false);
+        MockReferrerCallback<Integer> callback = new MockReferrerCallback<Integer>(false);
+        ReverseChunkExecutor executor = new ReverseChunkExecutor(3);
+        LoadReferrerOption<ChunkConditionBean, MockEntity> option = createOption(3, executor);
+
+        // ## Act ##
+        List<MockEntity> referrerList = bhv.xselectReferrerByChunk(newIdSet(7), option, callback);
+
+        // ## Assert ##
+        assertEquals(3, executor._taskList.size());
+        assertEquals(newIdList(7), callback._selectedKeyList.get(0)); // selected in reverse
+        assertEquals(newIdList(1, 2, 3), callback._selectedKeyList.get(2));
+        assertEquals(newIdList(1, 2, 3, 4, 5, 6, 7), extractMemberIdList(referrerList)); // merged in order of chunks
+    }
+
+    public void test_xselectReferrerByParallelChunk_cancelOnFailure() {
+        // ## Arrange ##
+        MockBehavior bhv = createBehavior(false);
+        MockReferrerCallback<Integer> callback = new MockReferrerCallback<Integer>(false);
+        callback._failureKey = 2;
+        FirstOnlyChunkExecutor executor = new FirstOnlyChunkExecutor();
+        LoadReferrerOption<ChunkConditionBean, MockEntity> option = createOption(3, executor);
+
+        // ## Act ##
+        try {
+            bhv.xselectReferrerByChunk(newIdSet(7), option, callback);
+
+            // ## Assert ##
+            fail();
+        } catch (IllegalStateException e) {
+            log(e.getMessage());
+            assertEquals("chunk failure: 2", e.getMessage()); // thrown as it is
+        }
+        assertEquals(3, executor._taskList.size());
+        assertEquals(1, callback._selectedKeyList.size()); // only the first chunk
+        assertFalse(executor._taskList.get(0).isCancelled()); // already done
+        assertTrue(executor._taskList.get(1).isCancelled());
+        assertTrue(executor._taskList.get(2).isCancelled());
+    }
+
+    // ===================================================================================
+    //                                                                 Load Referrer Chunk
+    //                                                                 ===================
+    public void test_helpLoadReferrerInternally_chunk_nestedReferrer() {
+        // ## Arrange ##
+        MockBehavior bhv = createBehavior(false);
+        MockReferrerCallback<Integer> callback = new MockReferrerCallback<Integer>(false);
+        LoadReferrerOption<ChunkConditionBean, MockEntity> option = createOption(2, new ReverseChunkExecutor(3));
+        final List<List<MockEntity>> setupList = new ArrayList<List<MockEntity>>();
+        option.setEntityListSetupper(new EntityListSetupper<MockEntity>() {
+            public void setup(List<MockEntity> entityList) {
+                setupList.add(entityList);
+            }
+        });
+        List<MockEntity> localList = newLocalList(5);
+
+        // ## Act ##
+        NestedReferrerListGateway<MockEntity> gateway = bhv.helpLoadReferrerInternally(localList, option, callback);
+
+        // ## Assert ##
+        final List<List<MockEntity>> nestedList = new ArrayList<List<MockEntity>>();
+        gateway.withNestedReferrer(new ReferrerListHandler<MockEntity>() {
+            public void handle(List<MockEntity> referrerList) {
+                nestedList.add(referrerList);
+            }
+        });
+        assertEquals(1, nestedList.size());
+        assertEquals(newIdList(1, 2, 3, 4, 5), extractMemberIdList(nestedList.get(0)));
+        assertEquals(1, setupList.size());
+        assertEquals(newIdList(1, 2, 3, 4, 5), extractMemberIdList(setupList.get(0)));
+        for (MockEntity local : localList) {
+            List<MockEntity> referrerList = callback._referrerListMap.get(local);
+            assertEquals(1, referrerList.size());
+            assertEquals(local.getMemberId(), referrerList.get(0).getMemberId());
+        }
+    }
+
+    public void test_helpLoadReferrerInternally_chunk_compoundKey() {
+        // ## Arrange ##
+        MockBehavior bhv = createBehavior(false);
+        MockReferrerCallback<Map<String, Object>> callback = new MockReferrerCallback<Map<String, Object>>(true);
+        LoadReferrerOption<ChunkConditionBean, MockEntity> option = createOption(2, new ReverseChunkExecutor(3));
+        List<MockEntity> localList = newLocalList(5);
+
+        // ## Act ##
+        bhv.helpLoadReferrerInternally(localList, option, callback);
+
+        // ## Assert ##
+        assertEquals(3, callback._selectedKeyList.size());
+        List<Object> firstKeyList = callback._selectedKeyList.get(2); // selected in reverse
+        assertEquals(2, firstKeyList.size());
+        Map<String, Object> expectedKey = new LinkedHashMap<String, Object>();
+        expectedKey.put("MEMBER_ID", 1);
+        expectedKey.put("MEMBER_NAME", "Member1");
+        assertEquals(expectedKey, firstKeyList.get(0));
+        for (MockEntity local : localList) { // mapped by case-insensitive compound keys
+            List<MockEntity> referrerList = callback._referrerListMap.get(local);
+            assertEquals(1, referrerList.size());
+            assertEquals(local.getMemberId(), referrerList.get(0).getMemberId());
+            assertEquals(local.getMemberName().toUpperCase(), referrerList.get(0).getMemberName());
+        }
+    }
+
+    // ===================================================================================
+    //                                                                        Async Select
+    //                                                                        ============
+    public void test_submitAsyncSelect_outOfTransaction() throws Exception {
+        // ## Arrange ##
+        FirstOnlyChunkExecutor executor = new FirstOnlyChunkExecutor();
+        MockBehavior bhv = createBehavior(false, executor);
+
+        // ## Act ##
+        Future<String> future = bhv.submitAsyncSelect(new Callable<String>() {
+            public String call() {
+                return "selected";
+            }
+        });
+
+        // ## Assert ##
+        assertEquals(1, executor._taskList.size()); // by the executor
+        assertEquals("selected", future.get());
+    }
+
+    public void test_submitAsyncSelect_inTransaction() throws Exception {
+        // ## Arrange ##
+        FirstOnlyChunkExecutor executor = new FirstOnlyChunkExecutor();
+        MockBehavior bhv = createBehavior(true, executor);
+        final Thread callerThread = Thread.currentThread();
+
+        // ## Act ##
+        Future<Thread> future = bhv.submitAsyncSelect(new Callable<Thread>() {
+            public Thread call() {
+                return Thread.currentThread();
+            }
+        });
+
+        // ## Assert ##
+        assertEquals(0, executor._taskList.size()); // to see uncommitted updates of the transaction
+        assertTrue(future.isDone());
+        assertSame(callerThread, future.get());
+    }
+
+    // ===================================================================================
+    //                                                                         Test Helper
+    //                                                                         ===========
+    protected MockBehavior createBehavior(boolean inTransaction) {
+        return createBehavior(inTransaction, null);
+    }
+
+    protected MockBehavior createBehavior(final boolean inTransaction, final ExecutorService asyncSelectExecutor) {
+        MockBehavior bhv = new MockBehavior();
+        bhv.setBehaviorCommandInvoker(new BehaviorCommandInvoker() {
+            @Override
+            public ExecutorService getAsyncSelectExecutor() {
+                return asyncSelectExecutor;
+            }
+
+            @Override
+            public TransactionSynchronizer getTransactionSynchronizer() {
+                return new TransactionSynchronizer() {
+                    public boolean isInTransaction() {
+                        return inTransaction;
+                    }
+
+                    public void registerCompletionCallback(TransactionCompletionCallback callback) {
+                    }
+                };
+            }
+        });
+        bhv.setBehaviorSelector(new BehaviorSelector() {
+            public void initializeConditionBeanMetaData() {
+            }
+
+            public <BEHAVIOR extends BehaviorReadable> BEHAVIOR select(Class<BEHAVIOR> behaviorType) {
+                return null;
+            }
+
+            public BehaviorReadable byName(String tableFlexibleName) {
+                return null;
+            }
+        });
+        return bhv;
+    }
+
+    protected LoadReferrerOption<ChunkConditionBean, MockEntity> createOption(int chunkSize, AbstractExecutorService executor) {
+        LoadReferrerOption<ChunkConditionBean, MockEntity> option = new LoadReferrerOption<ChunkConditionBean, MockEntity>();
+        option.setChunkSize(chunkSize);
+        option.setChunkExecutor(executor);
+        return option;
+    }
+
+    protected Set<Integer> newIdSet(int size) {
+        Set<Integer> idSet = new LinkedHashSet<Integer>();
+        for (int i = 1; i <= size; i++) {
+            idSet.add(i);
+        }
+        return idSet;
+    }
+
+    protected List<Object> newIdList(Integer... ids) {
+        List<Object> idList = new ArrayList<Object>();
+        for (Integer id : ids) {
+            idList.add(id);
+        }
+        return idList;
+    }
+
+    protected List<MockEntity> newLocalList(int size) {
+        List<MockEntity> localList = new ArrayList<MockEntity>();
+        for (int i = 1; i <= size; i++) {
+            MockEntity local = new MockEntity();
+            local.setMemberId(i);
+            local.setMemberName("Member" + i);
+            localList.add(local);
+        }
+        return localList;
+    }
+
+    protected List<Object> extractMemberIdList(List<MockEntity> entityList) {
+        List<Object> idList = new ArrayList<Object>();
+        for (MockEntity entity : entityList) {
+            idList.add(entity.getMemberId());
+        }
+        return idList;
+    }
+
+    // ===================================================================================
+    //                                                                         Mock Helper
+    //                                                                         ===========
+    protected static class MockBehavior extends AbstractBehaviorReadable<MockEntity, ChunkConditionBean> {
+
+        @Override
+        public String getTableDbName() {
+            return "MEMBER";
+        }
+
+        public DBMeta getDBMeta() {
+            return null;
+        }
+
+        @Override
+        public ChunkConditionBean newConditionBean() {
+            return new ChunkConditionBean();
+        }
+
+        @Override
+        protected Entity doReadEntity(ConditionBean cb) {
+            return null;
+        }
+
+        @Override
+        protected Number doReadNextVal() {
+            return null;
+        }
+
+        @Override
+        protected Class<? extends MockEntity> typeOfSelectedEntity() {
+            return MockEntity.class;
+        }
+
+        @Override
+        protected Class<MockEntity> typeOfHandlingEntity() {
+            return MockEntity.class;
+        }
+
+        @Override
+        protected Class<ChunkConditionBean> typeOfHandlingConditionBean() {
+            return ChunkConditionBean.class;
+        }
+    }
+
+    protected static class ChunkConditionBean extends MockConditionBean {
+
+        protected final SqlClause _sqlClause = new SqlClauseOracle("MEMBER");
+        protected List<Object> _keyList;
+
+        @Override
+        public SqlClause getSqlClause() {
+            return _sqlClause;
+        }
+
+        @Override
+        public OrderByClause getOrderByComponent() {
+            return _sqlClause.getOrderByComponent();
+        }
+    }
+
+    /**
+     * The stub callback whose referrer is MockEntity having the same values as the local key.
+     * @param <KEY> The type of key, Integer as simple key or Map as compound key.
+     */
+    protected static class MockReferrerCallback<KEY> implements
+            AbstractBehaviorReadable.InternalLoadReferrerCallback<MockEntity, KEY, ChunkConditionBean, MockEntity> {
+
+        protected final boolean _compoundKey;
+        protected final List<List<Object>> _selectedKeyList = new ArrayList<List<Object>>();
+        protected final Map<MockEntity, List<MockEntity>> _referrerListMap = new LinkedHashMap<MockEntity, List<MockEntity>>();
+        protected int _orderByCount;
+        protected Integer _failureKey;
+
+        public MockReferrerCallback(boolean compoundKey) {
+            _compoundKey = compoundKey;
+        }
+
+        @SuppressWarnings("unchecked")
+        public KEY getPKVal(MockEntity entity) {
+            if (_compoundKey) {
+                final Map<String, Object> keyMap = new LinkedHashMap<String, Object>();
+                keyMap.put("MEMBER_ID", entity.getMemberId());
+                keyMap.put("MEMBER_NAME", entity.getMemberName());
+                return (KEY) keyMap;
+            }
+            return (KEY) entity.getMemberId();
+        }
+
+        public void setRfLs(MockEntity entity, List<MockEntity> referrerList) {
+            _referrerListMap.put(entity, referrerList);
+        }
+
+        public ChunkConditionBean newMyCB() {
+            return new ChunkConditionBean();
+        }
+
+        public void qyFKIn(ChunkConditionBean cb, Collection<KEY> pkList) {
+            cb._keyList = new ArrayList<Object>(pkList);
+        }
+
+        public void qyOdFKAsc(ChunkConditionBean cb) {
+            ++_orderByCount;
+        }
+
+        public void spFKCol(ChunkConditionBean cb) {
+        }
+
+        public List<MockEntity> selRfLs(ChunkConditionBean cb) {
+            _selectedKeyList.add(cb._keyList);
+            final List<MockEntity> referrerList = new ArrayList<MockEntity>();
+            for (Object key : cb._keyList) {
+                final MockEntity referrer = new MockEntity();
+                if (_compoundKey) {
+                    final Map<?, ?> keyMap = (Map<?, ?>) key;
+                    referrer.setMemberId((Integer) keyMap.get("MEMBER_ID"));
+                    referrer.setMemberName(((String) keyMap.get("MEMBER_NAME")).toUpperCase());
+                } else {
+                    referrer.setMemberId((Integer) key);
+                }
+                if (_failureKey != null && _failureKey.equals(referrer.getMemberId())) {
+                    throw new IllegalStateException("chunk failure: " + _failureKey);
+                }
+                referrerList.add(referrer);
+            }
+            return referrerList;
+        }
+
+        public KEY getFKVal(MockEntity entity) {
+            return getPKVal(entity);
+        }
+
+        public void setlcEt(MockEntity referrerEntity, MockEntity localEntity) {
+        }
+
+        public String getRfPrNm() {
+            return null; // no fixed condition
+        }
+    }
+
+    protected static abstract class StubChunkExecutor extends AbstractExecutorService {
+
+        protected final List<FutureTask<?>> _taskList = new ArrayList<FutureTask<?>>();
+
+        public void execute(Runnable command) { // submitted tasks are future tasks
+            _taskList.add((FutureTask<?>) command);
+            handleTask((FutureTask<?>) command);
+        }
+
+        protected abstract void handleTask(FutureTask<?> task);
+
+        public void shutdown() {
+        }
+
+        public List<Runnable> shutdownNow() {
+            return new ArrayList<Runnable>();
+        }
+
+        public boolean isShutdown() {
+            return false;
+        }
+
+        public boolean isTerminated() {
+            return false;
+        }
+
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+
+    /**
+     * The stub executor to run tasks in reverse order when the expected count of tasks are submitted.
+     */
+    protected static class ReverseChunkExecutor extends StubChunkExecutor {
+
+        protected final int _expectedCount;
+
+        public ReverseChunkExecutor(int expectedCount) {
+            _expectedCount = expectedCount;
+        }
+
+        @Override
+        protected void handleTask(FutureTask<?> task) {
+            if (_taskList.size() < _expectedCount) {
+                return;
+            }
+            for (int i = _taskList.size() - 1; i >= 0; i--) {
+                _taskList.get(i).run();
+            }
+        }
+    }
+
+    /**
+     * The stub executor to run only the first task, others are kept waiting.
+     */
+    protected static class FirstOnlyChunkExecutor extends StubChunkExecutor {
+
+        @Override
+        protected void handleTask(FutureTask<?> task) {
+            if (_taskList.size() == 1) {
+                task.run();
+            }
+        }
+    }
+}
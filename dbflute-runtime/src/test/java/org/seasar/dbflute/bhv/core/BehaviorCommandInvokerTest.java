@@ -27,6 +27,10 @@ import java.util.concurrent.Future;
 
 import org.seasar.dbflute.CallbackContext;
 import org.seasar.dbflute.Entity;
+import org.seasar.dbflute.bhv.core.supplement.EntityCache;
+import org.seasar.dbflute.bhv.core.supplement.EntityCacheHandler;
+import org.seasar.dbflute.bhv.core.supplement.QueryResultCache;
+import org.seasar.dbflute.bhv.core.supplement.QueryResultCacheHandler;
 import org.seasar.dbflute.cbean.ConditionBeanContext;
 import org.seasar.dbflute.cbean.EntityRowHandler;
 import org.seasar.dbflute.cbean.FetchAssistContext;
@@ -34,6 +38,8 @@ import org.seasar.dbflute.jdbc.SqlLogInfo;
 import org.seasar.dbflute.jdbc.SqlLogInfo.SqlLogDisplaySqlBuilder;
 import org.seasar.dbflute.jdbc.SqlResultHandler;
 import org.seasar.dbflute.jdbc.SqlResultInfo;
+import org.seasar.dbflute.jdbc.TransactionCompletionCallback;
+import org.seasar.dbflute.jdbc.TransactionSynchronizer;
 import org.seasar.dbflute.mock.MockBehaviorCommand;
 import org.seasar.dbflute.mock.MockConditionBean;
 import org.seasar.dbflute.mock.MockOutsideSqlContext;
@@ -416,15 +422,54 @@ public class BehaviorCommandInvokerTest extends PlainTestCase {
     protected static class ExecutionCreationCount {
         protected int _count;
 
-        public void increment() {
+        public synchronized void increment() { // synchronized because creation is per key
             ++_count;
         }
 
-        public int count() {
+        public synchronized int count() {
             return _count;
         }
     }
 
+    public void test_getOrCreateSqlExecution_failureRetry() {
+        // ## Arrange ##
+        BehaviorCommandInvoker invoker = new BehaviorCommandInvoker() {
+            @Override
+            protected void toBeDisposable() {
+            }
+        };
+        final ExecutionCreationCount count = new ExecutionCreationCount();
+        SqlExecutionCreator creator = new SqlExecutionCreator() {
+            public SqlExecution createSqlExecution() {
+                count.increment();
+                if (count.count() == 1) {
+                    throw new IllegalStateException("first failure");
+                }
+                return new SqlExecution() {
+                    public Object execute(Object[] args) {
+                        return null;
+                    }
+                };
+            }
+        };
+
+        // ## Act ##
+        try {
+            invoker.getOrCreateSqlExecution("key", creator);
+            fail();
+        } catch (IllegalStateException e) {
+            // ## Assert ##
+            assertEquals("first failure", e.getMessage());
+        }
+        assertTrue(invoker.isExecutionCacheEmpty());
+        assertTrue(invoker._executionCreationMap.isEmpty());
+        assertNotNull(invoker.getOrCreateSqlExecution("key", creator));
+        assertNotNull(invoker.getOrCreateSqlExecution("key", creator));
+        assertEquals(2, count.count());
+        assertEquals(1, invoker.getExecutionCacheSize());
+        assertTrue(invoker.getExecutionCreationCostMap().containsKey("key"));
+    }
+
     public void test_clearContext() {
         // ## Arrange ##
         BehaviorCommandInvoker invoker = new BehaviorCommandInvoker();
@@ -575,4 +620,142 @@ public class BehaviorCommandInvokerTest extends PlainTestCase {
         // ## Act & Assert ##
         assertTrue(invoker.systemTime() > 0);
     }
+
+    // ===================================================================================
+    //                                                                         Transaction
+    //                                                                         ===========
+    public void test_isInTransactionOnThread_synchronizer() {
+        // ## Arrange ##
+        final boolean[] inTransaction = new boolean[] { true };
+        final TransactionSynchronizer synchronizer = new TransactionSynchronizer() {
+            public boolean isInTransaction() {
+                return inTransaction[0];
+            }
+
+            public void registerCompletionCallback(TransactionCompletionCallback callback) {
+                throw new IllegalStateException("should not be called");
+            }
+        };
+        BehaviorCommandInvoker invoker = new BehaviorCommandInvoker() {
+            @Override
+            public TransactionSynchronizer getTransactionSynchronizer() {
+                return synchronizer;
+            }
+        };
+
+        // ## Act & Assert ##
+        assertTrue(invoker.isInTransactionOnThread());
+        inTransaction[0] = false;
+        assertFalse(invoker.isInTransactionOnThread());
+    }
+
+    public void test_isInTransactionOnThread_unknown() {
+        // ## Arrange ##
+        BehaviorCommandInvoker invoker = new BehaviorCommandInvoker() {
+            @Override
+            public TransactionSynchronizer getTransactionSynchronizer() {
+                return null;
+            }
+        };
+
+        // ## Act & Assert ##
+        assertTrue(invoker.isInTransactionOnThread()); // as safety side, without getting a connection
+    }
+
+    public void test_reserveEntityCacheClearAfterTransaction_inTransaction() {
+        // ## Arrange ##
+        final List<TransactionCompletionCallback> callbackList = new ArrayList<TransactionCompletionCallback>();
+        BehaviorCommandInvoker invoker = new BehaviorCommandInvoker() {
+            @Override
+            public TransactionSynchronizer getTransactionSynchronizer() {
+                return new TransactionSynchronizer() {
+                    public boolean isInTransaction() {
+                        return true;
+                    }
+
+                    public void registerCompletionCallback(TransactionCompletionCallback callback) {
+                        callbackList.add(callback);
+                    }
+                };
+            }
+        };
+        EntityCacheHandler handler = new EntityCacheHandler();
+        handler.registerEntityCache("MEMBER", 10, 60000L);
+        handler.registerEntityCache("MEMBER_STATUS", 10, 60000L);
+        EntityCache memberCache = handler.findEntityCache("MEMBER");
+        EntityCache statusCache = handler.findEntityCache("MEMBER_STATUS");
+
+        // ## Act ##
+        invoker.reserveEntityCacheClearAfterTransaction(handler, "MEMBER");
+        invoker.reserveEntityCacheClearAfterTransaction(handler, "MEMBER");
+        invoker.reserveEntityCacheClearAfterTransaction(handler, "MEMBER_STATUS");
+        long memberVersion = memberCache.getVersion(); // e.g. other thread caches the old entity before commit
+        long statusVersion = statusCache.getVersion();
+
+        // ## Assert ##
+        assertEquals(1, callbackList.size()); // once per transaction
+        callbackList.get(0).afterCompletion(true);
+        assertTrue(memberCache.getVersion() > memberVersion); // cleared after commit
+        assertTrue(statusCache.getVersion() > statusVersion);
+        invoker.reserveEntityCacheClearAfterTransaction(handler, "MEMBER"); // next transaction
+        assertEquals(2, callbackList.size());
+    }
+
+    public void test_reserveEntityCacheClearAfterTransaction_noTransaction() {
+        // ## Arrange ##
+        BehaviorCommandInvoker invoker = new BehaviorCommandInvoker() {
+            @Override
+            public TransactionSynchronizer getTransactionSynchronizer() {
+                return new TransactionSynchronizer() {
+                    public boolean isInTransaction() {
+                        return false;
+                    }
+
+                    public void registerCompletionCallback(TransactionCompletionCallback callback) {
+                        throw new IllegalStateException("should not be called");
+                    }
+                };
+            }
+        };
+        EntityCacheHandler handler = new EntityCacheHandler();
+        handler.registerEntityCache("MEMBER", 10, 60000L);
+
+        // ## Act & Assert ##
+        invoker.reserveEntityCacheClearAfterTransaction(handler, "MEMBER"); // already committed
+    }
+
+    public void test_reserveQueryResultCacheClearAfterTransaction_inTransaction() {
+        // ## Arrange ##
+        final List<TransactionCompletionCallback> callbackList = new ArrayList<TransactionCompletionCallback>();
+        BehaviorCommandInvoker invoker = new BehaviorCommandInvoker() {
+            @Override
+            public TransactionSynchronizer getTransactionSynchronizer() {
+                return new TransactionSynchronizer() {
+                    public boolean isInTransaction() {
+                        return true;
+                    }
+
+                    public void registerCompletionCallback(TransactionCompletionCallback callback) {
+                        callbackList.add(callback);
+                    }
+                };
+            }
+        };
+        QueryResultCacheHandler handler = new QueryResultCacheHandler();
+        handler.registerQueryResultCache("MEMBER_STATUS", 10, 60000L);
+        QueryResultCache queryResultCache = handler.findQueryResultCache("MEMBER_STATUS");
+        String sql = "select * from MEMBER_STATUS";
+        Object key = queryResultCache.createKey(sql, new Object[] {}, "MEMBER_STATUS:selectList");
+
+        // ## Act ##
+        invoker.reserveQueryResultCacheClearAfterTransaction(handler, new String[] { "MEMBER" });
+        invoker.reserveQueryResultCacheClearAfterTransaction(handler, new String[] { "MEMBER_STATUS" });
+        queryResultCache.registerResult(key, new ArrayList<String>(), sql, null, queryResultCache.getVersion());
+
+        // ## Assert ##
+        assertEquals(1, callbackList.size()); // once per transaction
+        assertEquals(1, queryResultCache.getCachedSize()); // e.g. other thread caches the old result before commit
+        callbackList.get(0).afterCompletion(true);
+        assertEquals(0, queryResultCache.getCachedSize());
+    }
 }
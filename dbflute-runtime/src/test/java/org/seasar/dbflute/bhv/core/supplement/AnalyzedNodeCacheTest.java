@@ -0,0 +1,89 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.bhv.core.supplement;
+
+import org.seasar.dbflute.twowaysql.SqlAnalyzer;
+import org.seasar.dbflute.twowaysql.node.Node;
+import org.seasar.dbflute.unit.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 1.0.5N
+ */
+public class AnalyzedNodeCacheTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                               Basic
+    //                                                                               =====
+    public void test_findNode_basic() {
+        // ## Arrange ##
+        AnalyzedNodeCache cache = new AnalyzedNodeCache();
+        String sql = "select * from MEMBER where MEMBER_ID = /*pmb.memberId*/3";
+        Node node = new SqlAnalyzer(sql, true).analyze();
+
+        // ## Act ##
+        Node first = cache.findNode(sql);
+        cache.registerNode(sql, node);
+        Node second = cache.findNode(sql);
+
+        // ## Assert ##
+        assertNull(first);
+        assertSame(node, second);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getCachedSize());
+    }
+
+    public void test_findNode_evicted() {
+        // ## Arrange ##
+        AnalyzedNodeCache cache = new AnalyzedNodeCache(16); // one per segment
+        Node node = new SqlAnalyzer("select 1", true).analyze();
+
+        // ## Act ##
+        for (int i = 0; i < 1000; i++) {
+            cache.registerNode("select " + i, node);
+        }
+
+        // ## Assert ##
+        log(cache);
+        assertTrue(cache.getCachedSize() <= 16);
+    }
+
+    public void test_clear() {
+        // ## Arrange ##
+        AnalyzedNodeCache cache = new AnalyzedNodeCache();
+        Node node = new SqlAnalyzer("select 1", true).analyze();
+        cache.registerNode("select 1", node);
+        cache.findNode("select 1");
+
+        // ## Act ##
+        cache.clear();
+
+        // ## Assert ##
+        assertEquals(0, cache.getCachedSize());
+        assertEquals(0, cache.getHitCount());
+        assertNull(cache.findNode("select 1"));
+    }
+
+    public void test_constructor_illegal() {
+        try {
+            new AnalyzedNodeCache(0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            log(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.bhv.core.supplement;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.seasar.dbflute.bhv.BehaviorReadable;
+import org.seasar.dbflute.bhv.core.supplement.BehaviorWarmUpper.WarmUpResult;
+import org.seasar.dbflute.unit.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 1.0.5N
+ */
+public class BehaviorWarmUpperTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                               Basic
+    //                                                                               =====
+    public void test_warmUp_parallel() {
+        // ## Arrange ##
+        final Set<String> markSet = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+        List<BehaviorReadable> bhvList = new ArrayList<BehaviorReadable>();
+        bhvList.add(createMockBehavior("MEMBER", markSet, "selectSimpleMember"));
+        bhvList.add(createMockBehavior("PURCHASE", markSet));
+        bhvList.add(createMockBehavior("PRODUCT", markSet, "selectProduct", "sub:selectProduct"));
+        BehaviorWarmUpper warmUpper = new BehaviorWarmUpper(3).warmUpOutsideSql();
+
+        // ## Act ##
+        List<WarmUpResult> resultList = warmUpper.warmUp(bhvList);
+
+        // ## Assert ##
+        log(resultList);
+        assertEquals(6, resultList.size());
+        assertEquals("MEMBER.warmUpCommand()", resultList.get(0).getItemName());
+        assertEquals("MEMBER:selectSimpleMember", resultList.get(1).getItemName());
+        assertEquals("PURCHASE.warmUpCommand()", resultList.get(2).getItemName());
+        assertEquals("PRODUCT:sub:selectProduct", resultList.get(5).getItemName());
+        for (WarmUpResult result : resultList) {
+            assertTrue(result.isSuccess());
+        }
+        assertEquals(6, markSet.size());
+        assertTrue(markSet.contains("PRODUCT:sub:selectProduct"));
+    }
+
+    public void test_warmUp_commandOnly_failure() {
+        // ## Arrange ##
+        final Set<String> markSet = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+        List<BehaviorReadable> bhvList = new ArrayList<BehaviorReadable>();
+        bhvList.add(createMockBehavior("MEMBER", markSet, "selectSimpleMember"));
+        bhvList.add(createMockBehavior("BROKEN", markSet));
+        BehaviorWarmUpper warmUpper = new BehaviorWarmUpper(1);
+
+        // ## Act ##
+        List<WarmUpResult> resultList = warmUpper.warmUp(bhvList);
+
+        // ## Assert ##
+        log(resultList);
+        assertEquals(2, resultList.size());
+        assertTrue(resultList.get(0).isSuccess());
+        assertFalse(resultList.get(1).isSuccess());
+        assertEquals("broken", resultList.get(1).getCause().getMessage());
+        assertEquals(1, markSet.size());
+    }
+
+    public void test_constructor_illegal() {
+        try {
+            new BehaviorWarmUpper(0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            log(e.getMessage());
+        }
+    }
+
+    protected BehaviorReadable createMockBehavior(final String tableDbName, final Set<String> markSet, final String... paths) {
+        return (BehaviorReadable) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { BehaviorReadable.class },
+                new InvocationHandler() {
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        final String name = method.getName();
+                        if (name.equals("getTableDbName")) {
+                            return tableDbName;
+                        } else if (name.equals("warmUpCommand")) {
+                            if (tableDbName.equals("BROKEN")) {
+                                throw new IllegalStateException("broken");
+                            }
+                            markSet.add(tableDbName + ".warmUpCommand()");
+                            return null;
+                        } else if (name.equals("warmUpOutsideSql")) {
+                            markSet.add(tableDbName + ":" + args[0]);
+                            return null;
+                        } else if (name.equals("extractBehaviorQueryPathList")) {
+                            return newArrayList(paths);
+                        }
+                        throw new IllegalStateException("unexpected: " + name);
+                    }
+                });
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.bhv.core.supplement;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Statement;
+
+import org.seasar.dbflute.bhv.core.BehaviorCommandMeta;
+import org.seasar.dbflute.unit.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 1.1.0 (2014/12/07 Sunday)
+ */
+public class CommandMetricsRegistryTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                              Record
+    //                                                                              ======
+    public void test_record_command() {
+        // ## Arrange ##
+        CommandMetricsRegistry registry = new CommandMetricsRegistry();
+        BehaviorCommandMeta meta = createMeta("MEMBER", "selectList", true, null);
+        CommandMetricsRecorder recorder = CommandMetricsRecorder.beginOnThread();
+        recorder.finish();
+        CommandMetricsRecorder.endOnThread(recorder);
+
+        // ## Act ##
+        registry.record(meta, recorder, newArrayList("foo", "bar"), false);
+        registry.record(meta, recorder, null, true);
+
+        // ## Assert ##
+        CommandMetrics metrics = registry.findCommandMetrics("MEMBER", "selectList");
+        log(metrics);
+        assertEquals("MEMBER.selectList", metrics.getName());
+        assertEquals(2, metrics.getInvokeCount());
+        assertEquals(1, metrics.getFailureCount());
+        assertEquals(2, metrics.getRowCount());
+        assertEquals(2, metrics.getLatency(CommandPhase.TOTAL).getCount());
+        assertEquals(2, metrics.getLatency(CommandPhase.MAPPING).getCount());
+        assertNull(registry.findCommandMetrics("MEMBER", "selectCount"));
+        assertEquals(1, registry.getCommandMetricsList().size());
+        assertEquals(0, registry.getOutsideSqlMetricsList().size());
+    }
+
+    public void test_record_rowCount() {
+        // ## Arrange ##
+        CommandMetricsRegistry registry = new CommandMetricsRegistry();
+        CommandMetricsRecorder recorder = CommandMetricsRecorder.beginOnThread();
+        recorder.finish();
+        CommandMetricsRecorder.endOnThread(recorder);
+
+        // ## Act ##
+        registry.record(createMeta("MEMBER", "selectCount", true, null), recorder, 7, false);
+        registry.record(createMeta("MEMBER", "update", false, null), recorder, 1, false);
+        registry.record(createMeta("MEMBER", "batchInsert", false, null), recorder, new int[] { 1, 1,
+                Statement.SUCCESS_NO_INFO }, false);
+
+        // ## Assert ##
+        assertEquals(0, registry.findCommandMetrics("MEMBER", "selectCount").getRowCount());
+        assertEquals(1, registry.findCommandMetrics("MEMBER", "update").getRowCount());
+        CommandMetrics batchMetrics = registry.findCommandMetrics("MEMBER", "batchInsert");
+        assertEquals(2, batchMetrics.getRowCount());
+        assertEquals(1, batchMetrics.getBatchCount());
+        assertEquals(3, batchMetrics.getBatchEntityCount());
+    }
+
+    public void test_record_outsideSql() {
+        // ## Arrange ##
+        CommandMetricsRegistry registry = new CommandMetricsRegistry();
+        String path = "org/docksidestage/dbflute/exbhv/MemberBhv_selectSimpleMember.sql";
+        CommandMetricsRecorder recorder = CommandMetricsRecorder.beginOnThread();
+        recorder.finish();
+        CommandMetricsRecorder.endOnThread(recorder);
+
+        // ## Act ##
+        registry.record(createMeta("MEMBER", "selectList", true, path), recorder, newArrayList("foo"), false);
+
+        // ## Assert ##
+        assertEquals(1, registry.findCommandMetrics("MEMBER", "selectList").getInvokeCount());
+        assertEquals(1, registry.findOutsideSqlMetrics(path).getInvokeCount());
+        assertEquals(path, registry.findOutsideSqlMetrics(path).getName());
+    }
+
+    // ===================================================================================
+    //                                                                            Recorder
+    //                                                                            ========
+    public void test_recorder_nested() {
+        // ## Arrange ##
+        CommandMetricsRecorder outer = CommandMetricsRecorder.beginOnThread();
+
+        // ## Act ##
+        CommandMetricsRecorder nested = CommandMetricsRecorder.beginOnThread(); // e.g. behavior call in cursor select
+        CommandMetricsRecorder foundInNested = CommandMetricsRecorder.findRecorderOnThread();
+        CommandMetricsRecorder.endOnThread(nested);
+        CommandMetricsRecorder foundInOuter = CommandMetricsRecorder.findRecorderOnThread();
+        CommandMetricsRecorder.endOnThread(outer);
+
+        // ## Assert ##
+        assertNotSame(outer, nested);
+        assertSame(nested, foundInNested);
+        assertSame(outer, foundInOuter);
+        assertNull(CommandMetricsRecorder.findRecorderOnThread());
+        assertSame(outer, CommandMetricsRecorder.beginOnThread()); // reused
+        CommandMetricsRecorder.endOnThread(outer);
+    }
+
+    public void test_recorder_phase() {
+        // ## Arrange ##
+        MockCommandMetricsRecorder recorder = new MockCommandMetricsRecorder();
+        recorder.begin(); // at 0
+
+        // ## Act ##
+        recorder._currentNanos = 10;
+        recorder.beginLookup();
+        recorder._currentNanos = 30;
+        recorder.endLookup();
+        recorder._currentNanos = 40;
+        recorder.beginRender();
+        recorder._currentNanos = 90;
+        recorder.endRender();
+        recorder._currentNanos = 100;
+        recorder.beginExecute();
+        recorder._currentNanos = 400;
+        recorder.endExecute();
+        recorder.beginMapping();
+        recorder._currentNanos = 600;
+        recorder.endMapping();
+        recorder._currentNanos = 1000;
+        recorder.finish();
+
+        // ## Assert ##
+        assertEquals(1000, recorder.getPhaseNanos(CommandPhase.TOTAL));
+        assertEquals(20, recorder.getPhaseNanos(CommandPhase.LOOKUP));
+        assertEquals(300, recorder.getPhaseNanos(CommandPhase.EXECUTE));
+        assertEquals(50, recorder.getPhaseNanos(CommandPhase.RENDER));
+        assertEquals(200, recorder.getPhaseNanos(CommandPhase.MAPPING));
+        assertEquals(430, recorder.getPhaseNanos(CommandPhase.PREPARE));
+    }
+
+    // ===================================================================================
+    //                                                                           Histogram
+    //                                                                           =========
+    public void test_histogram_basic() {
+        // ## Arrange ##
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // ## Act ##
+        histogram.record(500L); // under 1us
+        histogram.record(1500L); // under 2us
+        histogram.record(3000L); // under 4us
+        histogram.record(1000000L); // 1ms, under 1024us
+
+        // ## Assert ##
+        log(histogram);
+        long[] counts = histogram.getBucketCounts();
+        assertEquals(1, counts[0]);
+        assertEquals(1, counts[1]);
+        assertEquals(1, counts[2]);
+        assertEquals(1, counts[10]);
+        assertEquals(4, histogram.getCount());
+        assertEquals(1000000L, histogram.getMaxNanos());
+        assertEquals(251250L, histogram.getAverageNanos());
+        assertEquals(2L, histogram.estimatePercentileMicros(0.5d));
+        assertEquals(1024L, histogram.estimatePercentileMicros(0.99d));
+        assertEquals(0L, new LatencyHistogram().estimatePercentileMicros(0.99d));
+    }
+
+    // ===================================================================================
+    //                                                                         Test Helper
+    //                                                                         ===========
+    protected BehaviorCommandMeta createMeta(final String tableDbName, final String commandName, final boolean select,
+            final String outsideSqlPath) {
+        return (BehaviorCommandMeta) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { BehaviorCommandMeta.class },
+                new InvocationHandler() {
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        final String name = method.getName();
+                        if (name.equals("getTableDbName")) {
+                            return tableDbName;
+                        } else if (name.equals("getCommandName")) {
+                            return commandName;
+                        } else if (name.equals("isSelect")) {
+                            return select;
+                        } else if (name.equals("isOutsideSql")) {
+                            return outsideSqlPath != null;
+                        } else if (name.equals("getOutsideSqlPath")) {
+                            return outsideSqlPath;
+                        } else if (method.getReturnType().equals(boolean.class)) {
+                            return false;
+                        }
+                        return null;
+                    }
+                });
+    }
+
+    protected static class MockCommandMetricsRecorder extends CommandMetricsRecorder {
+
+        protected long _currentNanos;
+
+        @Override
+        protected long currentNanos() {
+            return _currentNanos;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.bhv.core.supplement;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.seasar.dbflute.AccessContext;
+import org.seasar.dbflute.CallbackContext;
+import org.seasar.dbflute.resource.InternalMapContext;
+import org.seasar.dbflute.unit.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 1.1.0 (2014/12/06 Saturday)
+ */
+public class ContextInheritedCallableTest extends PlainTestCase {
+
+    @Override
+    protected void tearDown() throws Exception {
+        AccessContext.clearAccessContextOnThread();
+        CallbackContext.clearCallbackContextOnThread();
+        super.tearDown();
+    }
+
+    // ===================================================================================
+    //                                                                               Basic
+    //                                                                               =====
+    public void test_call_inheritedToWorker() throws Exception {
+        // ## Arrange ##
+        AccessContext accessContext = new AccessContext();
+        accessContext.setAccessUser("foo");
+        AccessContext.setAccessContextOnThread(accessContext);
+        CallbackContext callbackContext = new CallbackContext();
+        CallbackContext.setCallbackContextOnThread(callbackContext);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // ## Act ##
+            Future<Object[]> future = executor.submit(new ContextInheritedCallable<Object[]>(new Callable<Object[]>() {
+                public Object[] call() {
+                    InternalMapContext.setObject("df:Garbage", "bar"); // e.g. not cleared by failure
+                    return new Object[] { AccessContext.getAccessUserOnThread(), CallbackContext.getCallbackContextOnThread() };
+                }
+            }));
+            Object[] inherited = future.get();
+            Object[] remaining = executor.submit(new Callable<Object[]>() {
+                public Object[] call() {
+                    return new Object[] { AccessContext.getAccessContextOnThread(), CallbackContext.getCallbackContextOnThread(),
+                            InternalMapContext.isExistInternalMapContextOnThread() };
+                }
+            }).get();
+
+            // ## Assert ##
+            assertEquals("foo", inherited[0]);
+            assertSame(callbackContext, inherited[1]);
+            assertNull(remaining[0]);
+            assertNull(remaining[1]);
+            assertEquals(Boolean.FALSE, remaining[2]);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public void test_call_restoreExisting() throws Exception {
+        // ## Arrange ##
+        AccessContext.clearAccessContextOnThread(); // prepared by test case
+        ContextInheritedCallable<AccessContext> callable = new ContextInheritedCallable<AccessContext>(new Callable<AccessContext>() {
+            public AccessContext call() {
+                return AccessContext.getAccessContextOnThread();
+            }
+        }); // no context
+        AccessContext existingContext = new AccessContext();
+        existingContext.setAccessUser("bar");
+        AccessContext.setAccessContextOnThread(existingContext); // e.g. caller-runs
+
+        // ## Act ##
+        AccessContext inherited = callable.call();
+
+        // ## Assert ##
+        assertNull(inherited);
+        assertSame(existingContext, AccessContext.getAccessContextOnThread());
+    }
+}
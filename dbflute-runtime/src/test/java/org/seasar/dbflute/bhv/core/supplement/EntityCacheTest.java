@@ -0,0 +1,179 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.bhv.core.supplement;
+
+import java.util.Arrays;
+
+import org.seasar.dbflute.Entity;
+import org.seasar.dbflute.mock.MockEntity;
+import org.seasar.dbflute.unit.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 1.1.0 (2014/11/23 Sunday)
+ */
+public class EntityCacheTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                               Basic
+    //                                                                               =====
+    public void test_findEntity_basic() {
+        // ## Arrange ##
+        MockEntityCache cache = new MockEntityCache(10, 60000L);
+        Object key = cache.createKey(new Object[] { 3 });
+        MockEntity entity = createEntity(3, "foo");
+
+        // ## Act ##
+        Entity first = cache.findEntity(key);
+        cache.registerEntity(key, entity, cache.getVersion());
+        MockEntity second = (MockEntity) cache.findEntity(key);
+        MockEntity third = (MockEntity) cache.findEntity(key);
+
+        // ## Assert ##
+        assertNull(first);
+        assertEquals(entity, second);
+        assertNotSame(entity, second);
+        assertNotSame(second, third);
+        second.setMemberName("bar"); // does not break the cache
+        assertEquals("foo", ((MockEntity) cache.findEntity(key)).getMemberName());
+        assertEquals(3, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0.75d, cache.getHitRatio());
+        log(cache);
+    }
+
+    public void test_createKey_compound() {
+        // ## Arrange ##
+        MockEntityCache cache = new MockEntityCache(10, 60000L);
+
+        // ## Act ##
+        Object key = cache.createKey(new Object[] { 3, "foo" });
+
+        // ## Assert ##
+        assertEquals(Arrays.asList(3, "foo"), key);
+        assertEquals(cache.createKey(new Object[] { 3, "foo" }).hashCode(), key.hashCode());
+    }
+
+    // ===================================================================================
+    //                                                                               Clear
+    //                                                                               =====
+    public void test_clear_basic() {
+        // ## Arrange ##
+        MockEntityCache cache = new MockEntityCache(10, 60000L);
+        Object key = cache.createKey(new Object[] { 3 });
+        cache.registerEntity(key, createEntity(3, "foo"), cache.getVersion());
+
+        // ## Act ##
+        cache.clear();
+
+        // ## Assert ##
+        assertNull(cache.findEntity(key));
+        assertEquals(0, cache.getCachedSize());
+    }
+
+    public void test_registerEntity_clearedWhileSelecting() {
+        // ## Arrange ##
+        MockEntityCache cache = new MockEntityCache(10, 60000L);
+        Object key = cache.createKey(new Object[] { 3 });
+        long version = cache.getVersion(); // before select
+
+        // ## Act ##
+        cache.clear(); // e.g. updated by other thread
+        cache.registerEntity(key, createEntity(3, "foo"), version);
+
+        // ## Assert ##
+        assertNull(cache.findEntity(key));
+        assertEquals(0, cache.getCachedSize());
+    }
+
+    // ===================================================================================
+    //                                                                              Expire
+    //                                                                              ======
+    public void test_findEntity_expired() {
+        // ## Arrange ##
+        MockEntityCache cache = new MockEntityCache(10, 1000L);
+        Object key = cache.createKey(new Object[] { 3 });
+        cache.registerEntity(key, createEntity(3, "foo"), cache.getVersion());
+
+        // ## Act & Assert ##
+        cache._currentTime = 999L;
+        assertNotNull(cache.findEntity(key));
+        cache._currentTime = 1000L;
+        assertNull(cache.findEntity(key));
+        assertEquals(0, cache.getCachedSize());
+    }
+
+    public void test_constructor_noExpiration() {
+        try {
+            // ## Act ##
+            new MockEntityCache(10, 0);
+
+            // ## Assert ##
+            fail();
+        } catch (IllegalArgumentException e) {
+            // OK
+            log(e.getMessage());
+        }
+    }
+
+    public void test_registerEntity_full() {
+        // ## Arrange ##
+        MockEntityCache cache = new MockEntityCache(2, 1000L);
+        cache.registerEntity(1, createEntity(1, "foo"), cache.getVersion());
+        cache.registerEntity(2, createEntity(2, "bar"), cache.getVersion());
+
+        // ## Act & Assert ##
+        cache.registerEntity(3, createEntity(3, "baz"), cache.getVersion());
+        assertNull(cache.findEntity(3));
+        cache._currentTime = 1000L; // expired entities are removed when full
+        cache.registerEntity(3, createEntity(3, "baz"), cache.getVersion());
+        assertNotNull(cache.findEntity(3));
+        assertEquals(1, cache.getCachedSize());
+    }
+
+    // ===================================================================================
+    //                                                                         Test Helper
+    //                                                                         ===========
+    protected MockEntity createEntity(Integer memberId, String memberName) {
+        MockEntity entity = new MockEntity();
+        entity.setMemberId(memberId);
+        entity.setMemberName(memberName);
+        return entity;
+    }
+
+    protected static class MockEntityCache extends EntityCache {
+
+        protected long _currentTime;
+
+        public MockEntityCache(int maxSize, long timeToLiveMillis) {
+            super("MEMBER", maxSize, timeToLiveMillis);
+        }
+
+        @Override
+        protected Entity copyEntity(Entity entity) { // mock entity has no DB meta
+            MockEntity mock = (MockEntity) entity;
+            MockEntity copy = new MockEntity();
+            copy.setMemberId(mock.getMemberId());
+            copy.setMemberName(mock.getMemberName());
+            return copy;
+        }
+
+        @Override
+        protected long currentTimeMillis() {
+            return _currentTime;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.bhv.core.supplement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.seasar.dbflute.unit.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 1.1.0 (2014/12/02 Tuesday)
+ */
+public class QueryResultCacheTest extends PlainTestCase {
+
+    protected static final String MEMBER_SQL = "select dfloc.MEMBER_NAME from MEMBER dfloc"
+            + " left outer join MEMBER_STATUS dfrel_0 on dfloc.MEMBER_STATUS_CODE = dfrel_0.MEMBER_STATUS_CODE"
+            + " where dfloc.MEMBER_ID = ?";
+
+    // ===================================================================================
+    //                                                                               Basic
+    //                                                                               =====
+    public void test_findResult_basic() {
+        // ## Arrange ##
+        MockQueryResultCache cache = new MockQueryResultCache(10, 60000L);
+        Object key = cache.createKey(MEMBER_SQL, new Object[] { 3 }, "MEMBER:selectList");
+        List<String> result = newArrayList("foo", "bar");
+
+        // ## Act ##
+        Object first = cache.findResult(key);
+        cache.registerResult(key, result, MEMBER_SQL, null, cache.getVersion());
+        @SuppressWarnings("unchecked")
+        List<String> second = (List<String>) cache.findResult(key);
+        Object third = cache.findResult(key);
+
+        // ## Assert ##
+        assertNull(first);
+        assertEquals(result, second);
+        assertNotSame(result, second);
+        assertNotSame(second, third);
+        second.add("baz"); // does not break the cache
+        assertEquals(result, cache.findResult(key));
+        assertEquals(3, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        log(cache);
+    }
+
+    public void test_createKey_differentBindOrType() {
+        // ## Arrange ##
+        MockQueryResultCache cache = new MockQueryResultCache(10, 60000L);
+        Object key = cache.createKey(MEMBER_SQL, new Object[] { 3 }, "MEMBER:selectList");
+        cache.registerResult(key, newArrayList("foo"), MEMBER_SQL, null, cache.getVersion());
+
+        // ## Act & Assert ##
+        assertEquals(key, cache.createKey(MEMBER_SQL, new Object[] { 3 }, "MEMBER:selectList"));
+        assertNotNull(cache.findResult(cache.createKey(MEMBER_SQL, new Object[] { 3 }, "MEMBER:selectList")));
+        assertNull(cache.findResult(cache.createKey(MEMBER_SQL, new Object[] { 4 }, "MEMBER:selectList")));
+        assertNull(cache.findResult(cache.createKey(MEMBER_SQL, new Object[] { 3 }, "MEMBER:selectCount")));
+    }
+
+    public void test_registerResult_notSerializable() {
+        // ## Arrange ##
+        MockQueryResultCache cache = new MockQueryResultCache(10, 60000L);
+        Object key = cache.createKey(MEMBER_SQL, new Object[] { 3 }, "MEMBER:selectList");
+        List<Object> result = new ArrayList<Object>();
+        result.add(new Object()); // not serializable element
+
+        // ## Act ##
+        cache.registerResult(key, result, MEMBER_SQL, null, cache.getVersion());
+        cache.registerResult(key, null, MEMBER_SQL, null, cache.getVersion());
+
+        // ## Assert ##
+        assertEquals(0, cache.getCachedSize());
+    }
+
+    // ===================================================================================
+    //                                                                               Clear
+    //                                                                               =====
+    public void test_clearByTable_referredTable() {
+        // ## Arrange ##
+        MockQueryResultCache cache = new MockQueryResultCache(10, 60000L);
+        Object key = cache.createKey(MEMBER_SQL, new Object[] { 3 }, "MEMBER:selectList");
+        cache.registerResult(key, newArrayList("foo"), MEMBER_SQL, null, cache.getVersion());
+
+        // ## Act & Assert ##
+        cache.clearByTable("PURCHASE");
+        assertNotNull(cache.findResult(key));
+        cache.clearByTable("MEMBER_STATUS"); // joined table
+        assertNull(cache.findResult(key));
+    }
+
+    public void test_clearByTable_sqlName() {
+        // ## Arrange ##
+        MockQueryResultCache cache = new MockQueryResultCache(10, 60000L);
+        String sql = "select dfloc.MEMBER_NAME from MAIHAMADB.MEMBER dfloc";
+        Object key = cache.createKey(sql, new Object[] {}, "MEMBER:selectList");
+        cache.registerResult(key, newArrayList("foo"), sql, null, cache.getVersion());
+
+        // ## Act ##
+        cache.clearByTable("MAIHAMADB.MEMBER");
+
+        // ## Assert ##
+        assertNull(cache.findResult(key));
+    }
+
+    public void test_clearByTable_declaredTable() {
+        // ## Arrange ##
+        MockQueryResultCache cache = new MockQueryResultCache(10, 60000L);
+        String sql = "select * from vw_member_summary where member_id = ?"; // view of PURCHASE
+        Object key = cache.createKey(sql, new Object[] { 3 }, "MEMBER:selectSummary");
+        HashSet<String> declaredTableSet = new HashSet<String>(Arrays.asList("purchase"));
+        cache.registerResult(key, newArrayList("foo"), sql, declaredTableSet, cache.getVersion());
+
+        // ## Act ##
+        cache.clearByTable("PURCHASE");
+
+        // ## Assert ##
+        assertNull(cache.findResult(key));
+    }
+
+    public void test_registerResult_clearedWhileSelecting() {
+        // ## Arrange ##
+        MockQueryResultCache cache = new MockQueryResultCache(10, 60000L);
+        Object key = cache.createKey(MEMBER_SQL, new Object[] { 3 }, "MEMBER:selectList");
+        long version = cache.getVersion(); // before select
+
+        // ## Act ##
+        cache.clearByTable("PURCHASE"); // e.g. updated by other thread
+        cache.registerResult(key, newArrayList("foo"), MEMBER_SQL, null, version);
+
+        // ## Assert ##
+        assertNull(cache.findResult(key));
+        assertEquals(0, cache.getCachedSize());
+    }
+
+    // ===================================================================================
+    //                                                                              Expire
+    //                                                                              ======
+    public void test_findResult_expired() {
+        // ## Arrange ##
+        MockQueryResultCache cache = new MockQueryResultCache(10, 1000L);
+        Object key = cache.createKey(MEMBER_SQL, new Object[] { 3 }, "MEMBER:selectList");
+        cache.registerResult(key, newArrayList("foo"), MEMBER_SQL, null, cache.getVersion());
+
+        // ## Act & Assert ##
+        cache._currentTime = 999L;
+        assertNotNull(cache.findResult(key));
+        cache._currentTime = 1000L;
+        assertNull(cache.findResult(key));
+        assertEquals(0, cache.getCachedSize());
+    }
+
+    public void test_constructor_noExpiration() {
+        try {
+            // ## Act ##
+            new MockQueryResultCache(10, 0);
+
+            // ## Assert ##
+            fail();
+        } catch (IllegalArgumentException e) {
+            // OK
+            log(e.getMessage());
+        }
+    }
+
+    public void test_registerResult_full() {
+        // ## Arrange ##
+        MockQueryResultCache cache = new MockQueryResultCache(1, 1000L);
+        Object first = cache.createKey(MEMBER_SQL, new Object[] { 1 }, "MEMBER:selectList");
+        Object second = cache.createKey(MEMBER_SQL, new Object[] { 2 }, "MEMBER:selectList");
+        cache.registerResult(first, newArrayList("foo"), MEMBER_SQL, null, cache.getVersion());
+
+        // ## Act & Assert ##
+        cache.registerResult(second, newArrayList("bar"), MEMBER_SQL, null, cache.getVersion());
+        assertNull(cache.findResult(second));
+        cache._currentTime = 1000L; // expired results are removed when full
+        cache.registerResult(second, newArrayList("bar"), MEMBER_SQL, null, cache.getVersion());
+        assertNotNull(cache.findResult(second));
+        assertEquals(1, cache.getCachedSize());
+    }
+
+    // ===================================================================================
+    //                                                                         Test Helper
+    //                                                                         ===========
+    protected static class MockQueryResultCache extends QueryResultCache {
+
+        protected long _currentTime;
+
+        public MockQueryResultCache(int maxSize, long timeToLiveMillis) {
+            super("MEMBER", maxSize, timeToLiveMillis);
+        }
+
+        @Override
+        protected long currentTimeMillis() {
+            return _currentTime;
+        }
+    }
+}
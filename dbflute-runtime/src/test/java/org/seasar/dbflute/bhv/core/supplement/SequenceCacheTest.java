@@ -198,6 +198,142 @@ public class SequenceCacheTest extends PlainTestCase {
         assertEquals(4, executor.getCount());
     }
 
+    // ===================================================================================
+    //                                                                            Prefetch
+    //                                                                            ========
+    public void test_nextval_prefetch_basic() {
+        // ## Arrange ##
+        int incrementSize = 10;
+        SequenceCache cache = createSequenceCache(incrementSize, Integer.class);
+        ExecutorService service = Executors.newSingleThreadExecutor();
+        cache.setPrefetchExecutor(service);
+        cache.setPrefetchLowWaterMark(3);
+        BigDecimalResultExecutor executor = new BigDecimalResultExecutor(incrementSize);
+
+        // ## Act & Assert ##
+        try {
+            for (int i = 1; i <= 27; i++) {
+                assertEquals(i, convertIntegerToInteger(cache.nextval(executor)));
+            }
+        } finally {
+            service.shutdown();
+        }
+        assertEquals(3, executor.getCount());
+        assertEquals(3, cache.getRefillCount());
+        assertEquals(2, cache.getPrefetchCount());
+        assertEquals(3, cache.getWastedCount());
+        log(cache);
+    }
+
+    public void test_nextval_prefetch_notUsed() {
+        // ## Arrange ##
+        int incrementSize = 10;
+        SequenceCache cache = createSequenceCache(incrementSize, Integer.class);
+        cache.setPrefetchLowWaterMark(3); // no executor
+        BigDecimalResultExecutor executor = new BigDecimalResultExecutor(incrementSize);
+
+        // ## Act & Assert ##
+        for (int i = 1; i <= 27; i++) {
+            assertEquals(i, convertIntegerToInteger(cache.nextval(executor)));
+        }
+        assertEquals(3, executor.getCount());
+        assertEquals(3, cache.getRefillCount());
+        assertEquals(0, cache.getPrefetchCount());
+        assertEquals(3, cache.getWastedCount());
+    }
+
+    public void test_nextval_prefetch_timeout() throws Exception {
+        // ## Arrange ##
+        int incrementSize = 10;
+        SequenceCache cache = createSequenceCache(incrementSize, Integer.class);
+        ExecutorService service = Executors.newSingleThreadExecutor();
+        final CountDownLatch latch = new CountDownLatch(1);
+        service.submit(new Callable<Void>() { // e.g. background thread waiting for a connection
+            public Void call() throws Exception {
+                latch.await();
+                return null;
+            }
+        });
+        cache.setPrefetchExecutor(service);
+        cache.setPrefetchLowWaterMark(3);
+        cache.setPrefetchWaitMillis(10L);
+        BigDecimalResultExecutor executor = new BigDecimalResultExecutor(incrementSize);
+
+        // ## Act & Assert ##
+        try {
+            for (int i = 1; i <= 25; i++) {
+                assertEquals(i, convertIntegerToInteger(cache.nextval(executor)));
+            }
+        } finally {
+            latch.countDown();
+            service.shutdown();
+        }
+        assertEquals(3, executor.getCount());
+        assertEquals(0, cache.getPrefetchCount()); // cancelled before running
+        assertEquals(2, cache.getWaitCount());
+        log(cache);
+    }
+
+    public void test_nextval_prefetch_rejected() {
+        // ## Arrange ##
+        int incrementSize = 10;
+        SequenceCache cache = createSequenceCache(incrementSize, Integer.class);
+        ExecutorService service = Executors.newSingleThreadExecutor();
+        service.shutdown(); // rejects tasks
+        cache.setPrefetchExecutor(service);
+        cache.setPrefetchLowWaterMark(3);
+        BigDecimalResultExecutor executor = new BigDecimalResultExecutor(incrementSize);
+
+        // ## Act & Assert ##
+        for (int i = 1; i <= 27; i++) {
+            assertEquals(i, convertIntegerToInteger(cache.nextval(executor)));
+        }
+        assertEquals(3, executor.getCount());
+        assertEquals(0, cache.getPrefetchCount());
+    }
+
+    public void test_nextval_prefetch_threadSafe() {
+        // ## Arrange ##
+        final int incrementSize = 20;
+        final SequenceCache cache = createSequenceCache(incrementSize, Integer.class);
+        ExecutorService service = Executors.newSingleThreadExecutor();
+        cache.setPrefetchExecutor(service);
+        cache.setPrefetchLowWaterMark(5);
+        final BigDecimalResultExecutor executor = new BigDecimalResultExecutor(incrementSize);
+        ExecutionCreator<Set<Integer>> creator = new ExecutionCreator<Set<Integer>>() {
+            public Execution<Set<Integer>> create() {
+                return new Execution<Set<Integer>>() {
+                    public Set<Integer> execute() {
+                        final Set<Integer> valSet = new LinkedHashSet<Integer>();
+                        for (int i = 0; i < 20; i++) {
+                            valSet.add((Integer) cache.nextval(executor));
+                        }
+                        return valSet;
+                    }
+                };
+            }
+        };
+
+        // ## Act & Assert ##
+        Set<Integer> allAllSet = new LinkedHashSet<Integer>();
+        try {
+            for (int i = 0; i < 30; i++) {
+                List<Set<Integer>> resultList = fireSameExecution(creator);
+                Set<Integer> allSet = new LinkedHashSet<Integer>();
+                for (Set<Integer> set : resultList) {
+                    allSet.addAll(set);
+                }
+                assertEquals(200, allSet.size());
+                allAllSet.addAll(allSet);
+            }
+        } finally {
+            service.shutdown();
+        }
+        assertEquals(6000, allAllSet.size());
+        assertTrue(cache.getPrefetchCount() > 0);
+        log(cache);
+    }
+
     // ===================================================================================
     //                                                                         Thread Safe
     //                                                                         ===========
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.bhv.logging.invoke;
+
+import org.seasar.dbflute.bhv.logging.invoke.BehaviorInvokeCache.BehaviorInvokeResult;
+import org.seasar.dbflute.unit.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 1.0.5N
+ */
+public class BehaviorInvokeCacheTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                               Basic
+    //                                                                               =====
+    public void test_findResult_sameFrames() {
+        // ## Arrange ##
+        BehaviorInvokeCache cache = new BehaviorInvokeCache();
+        StackTraceElement[] stackTrace = new Exception().getStackTrace();
+        BehaviorInvokeResult result = createResult("MemberBhv.selectList");
+        cache.registerResult("MEMBER.selectList", stackTrace, result);
+
+        // ## Act ##
+        BehaviorInvokeResult found = cache.findResult("MEMBER.selectList", stackTrace.clone());
+
+        // ## Assert ##
+        assertSame(result, found);
+        assertEquals(1, cache.getCachedSize());
+    }
+
+    public void test_findResult_differentKey() {
+        // ## Arrange ##
+        BehaviorInvokeCache cache = new BehaviorInvokeCache();
+        StackTraceElement[] stackTrace = new Exception().getStackTrace();
+        cache.registerResult("MEMBER.selectList", stackTrace, createResult("MemberBhv.selectList"));
+
+        // ## Act & Assert ##
+        assertNull(cache.findResult("MEMBER.selectCount", stackTrace));
+        assertNull(cache.findResult("MEMBER.selectList", new Exception().getStackTrace())); // other line
+    }
+
+    public void test_registerResult_full() {
+        // ## Arrange ##
+        BehaviorInvokeCache cache = new BehaviorInvokeCache(1);
+        StackTraceElement[] stackTrace = new Exception().getStackTrace();
+        cache.registerResult("MEMBER.selectList", stackTrace, createResult("MemberBhv.selectList"));
+
+        // ## Act ##
+        cache.registerResult("MEMBER.selectCount", stackTrace, createResult("MemberBhv.selectCount"));
+
+        // ## Assert ##
+        assertEquals(1, cache.getCachedSize());
+        assertNotNull(cache.findResult("MEMBER.selectList", stackTrace));
+        assertNull(cache.findResult("MEMBER.selectCount", stackTrace));
+        cache.clear();
+        assertEquals(0, cache.getCachedSize());
+    }
+
+    protected BehaviorInvokeResult createResult(String expNoMethodSuffix) {
+        BehaviorInvokeNameResult nameResult = new BehaviorInvokeNameResult(expNoMethodSuffix + "()", expNoMethodSuffix, null, null);
+        return new BehaviorInvokeResult(nameResult, null);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.cbean;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.seasar.dbflute.unit.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 1.1.0 (2014/10/31 Friday)
+ */
+public class EntityChunkRowHandlerTest extends PlainTestCase {
+
+    public void test_handle_basic() {
+        // ## Arrange ##
+        final List<String> markList = new ArrayList<String>();
+        final List<List<String>> chunkInstanceList = new ArrayList<List<String>>();
+        EntityChunkRowHandler<String> handler = new EntityChunkRowHandler<String>(3, new EntityChunkHandler<String>() {
+            public void handle(List<String> chunk) {
+                markList.add(chunk.toString());
+                chunkInstanceList.add(chunk);
+            }
+        });
+
+        // ## Act ##
+        for (int i = 1; i <= 7; i++) {
+            handler.handle("row" + i);
+        }
+        handler.flush();
+        handler.flush(); // no more chunk
+
+        // ## Assert ##
+        log(markList);
+        assertEquals(3, markList.size());
+        assertEquals("[row1, row2, row3]", markList.get(0));
+        assertEquals("[row4, row5, row6]", markList.get(1));
+        assertEquals("[row7]", markList.get(2));
+        assertSame(chunkInstanceList.get(0), chunkInstanceList.get(2)); // reused
+        assertEquals(7, handler.getDeliveredCount());
+    }
+
+    public void test_handle_exactSize() {
+        // ## Arrange ##
+        final List<String> markList = new ArrayList<String>();
+        EntityChunkRowHandler<String> handler = new EntityChunkRowHandler<String>(2, new EntityChunkHandler<String>() {
+            public void handle(List<String> chunk) {
+                markList.add(chunk.toString());
+            }
+        });
+
+        // ## Act ##
+        handler.handle("row1");
+        handler.handle("row2");
+        handler.flush();
+
+        // ## Assert ##
+        assertEquals(1, markList.size());
+        assertEquals("[row1, row2]", markList.get(0));
+    }
+
+    public void test_constructor_illegal() {
+        try {
+            new EntityChunkRowHandler<String>(0, new EntityChunkHandler<String>() {
+                public void handle(List<String> chunk) {
+                }
+            });
+            fail();
+        } catch (IllegalArgumentException e) {
+            log(e.getMessage());
+        }
+    }
+}
@@ -17,6 +17,8 @@ package org.seasar.dbflute.cbean;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.seasar.dbflute.mock.MockColumnInfo;
 import org.seasar.dbflute.unit.core.PlainTestCase;
@@ -469,6 +471,139 @@ public class PagingInvokerTest extends PlainTestCase {
         assertEquals(60, tgt.deriveAllRecordCountByLastPage(selectedList, pagingBean));
     }
 
+    // -----------------------------------------------------
+    //                                      Concurrent Count
+    //                                      ----------------
+    public void test_invokePaging_concurrentCount_basic() {
+        // ## Arrange ##
+        final List<String> selectedList = new ArrayList<String>();
+        fillList(selectedList, 20);
+        final SimplePagingBean pagingBean = new SimplePagingBean();
+        pagingBean.getSqlClause().registerOrderBy("aaa", true, new MockColumnInfo());
+        pagingBean.fetchFirst(20);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        PagingInvoker<String> tgt = createTarget().useConcurrentCount(executor);
+        final Thread callerThread = Thread.currentThread();
+
+        // ## Act ##
+        final List<String> markList = new ArrayList<String>();
+        PagingResultBean<String> rb;
+        try {
+            rb = tgt.invokePaging(new MockConcurrentPagingHandler(pagingBean, true) {
+                public int countConcurrently() {
+                    markList.add(Thread.currentThread() != callerThread ? "concurrent" : "caller");
+                    return 57;
+                }
+
+                public List<String> paging() {
+                    return selectedList;
+                }
+            });
+        } finally {
+            executor.shutdown();
+        }
+
+        // ## Assert ##
+        assertEquals(20, rb.size());
+        assertEquals(57, rb.getAllRecordCount());
+        assertEquals(3, rb.getAllPageCount());
+        assertEquals("concurrent", markList.get(0));
+        assertEquals(1, markList.size());
+    }
+
+    public void test_invokePaging_concurrentCount_cannot() {
+        // ## Arrange ##
+        final List<String> selectedList = new ArrayList<String>();
+        fillList(selectedList, 20);
+        final SimplePagingBean pagingBean = new SimplePagingBean();
+        pagingBean.getSqlClause().registerOrderBy("aaa", true, new MockColumnInfo());
+        pagingBean.fetchFirst(20);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        PagingInvoker<String> tgt = createTarget().useConcurrentCount(executor);
+
+        // ## Act ##
+        final List<String> markList = new ArrayList<String>();
+        PagingResultBean<String> rb;
+        try {
+            rb = tgt.invokePaging(new MockConcurrentPagingHandler(pagingBean, false) { // e.g. in transaction
+                public int count() {
+                    markList.add("count");
+                    return 57;
+                }
+
+                public List<String> paging() {
+                    markList.add("paging");
+                    return selectedList;
+                }
+            });
+        } finally {
+            executor.shutdown();
+        }
+
+        // ## Assert ##
+        assertEquals(57, rb.getAllRecordCount());
+        assertEquals("count", markList.get(0));
+        assertEquals("paging", markList.get(1));
+        assertEquals(2, markList.size());
+    }
+
+    public void test_invokePaging_concurrentCount_failure() {
+        // ## Arrange ##
+        final SimplePagingBean pagingBean = new SimplePagingBean();
+        pagingBean.getSqlClause().registerOrderBy("aaa", true, new MockColumnInfo());
+        pagingBean.fetchFirst(20);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        PagingInvoker<String> tgt = createTarget().useConcurrentCount(executor);
+
+        // ## Act ##
+        try {
+            tgt.invokePaging(new MockConcurrentPagingHandler(pagingBean, true) {
+                public int countConcurrently() {
+                    throw new IllegalStateException("count failure");
+                }
+
+                public List<String> paging() {
+                    return new ArrayList<String>();
+                }
+            });
+            // ## Assert ##
+            fail();
+        } catch (IllegalStateException e) {
+            // OK
+            log(e.getMessage());
+            assertEquals("count failure", e.getMessage());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    protected static abstract class MockConcurrentPagingHandler implements ConcurrentPagingHandler<String> {
+
+        protected final PagingBean _pagingBean;
+        protected final boolean _canCountConcurrently;
+
+        public MockConcurrentPagingHandler(PagingBean pagingBean, boolean canCountConcurrently) {
+            _pagingBean = pagingBean;
+            _canCountConcurrently = canCountConcurrently;
+        }
+
+        public PagingBean getPagingBean() {
+            return _pagingBean;
+        }
+
+        public boolean canCountConcurrently() {
+            return _canCountConcurrently;
+        }
+
+        public int count() {
+            throw new IllegalStateException("should not be called");
+        }
+
+        public int countConcurrently() {
+            throw new IllegalStateException("should not be called");
+        }
+    }
+
     // ===================================================================================
     //                                                        isNecessaryToReadPageAgain()
     //                                                        ============================
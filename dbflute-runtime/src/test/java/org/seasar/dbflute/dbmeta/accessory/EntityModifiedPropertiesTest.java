@@ -0,0 +1,167 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.dbmeta.accessory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.seasar.dbflute.unit.core.PlainTestCase;
+import org.seasar.dbflute.util.DfCollectionUtil;
+
+/**
+ * @author jflute
+ */
+public class EntityModifiedPropertiesTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                             Ordinal
+    //                                                                             =======
+    public void test_addPropertyName_ordinal() throws Exception {
+        // ## Arrange ##
+        EntityModifiedProperties properties = new EntityModifiedProperties(createOrdinals(70));
+
+        // ## Act ##
+        properties.addPropertyName("prop65");
+        properties.addPropertyName("prop3");
+        properties.addPropertyName("other");
+        properties.addPropertyName("prop3");
+
+        // ## Assert ##
+        Set<String> names = properties.getPropertyNames();
+        log(names);
+        assertEquals(3, names.size());
+        assertEquals(DfCollectionUtil.newArrayList("prop3", "prop65", "other"), new ArrayList<String>(names));
+        assertTrue(names.contains("prop65"));
+        assertTrue(names.contains("other"));
+        assertFalse(names.contains("prop64"));
+        assertTrue(properties.isModifiedProperty("prop3"));
+        assertTrue(properties.isModifiedOrdinal(65));
+        assertFalse(properties.isModifiedOrdinal(64));
+        assertEquals(DfCollectionUtil.newHashSet("prop3", "prop65", "other"), names);
+        try {
+            names.add("prop4");
+            fail();
+        } catch (UnsupportedOperationException e) {
+            log(e.getMessage());
+        }
+    }
+
+    public void test_addPropertyOrdinal_basic() throws Exception {
+        // ## Arrange ##
+        EntityModifiedProperties properties = new EntityModifiedProperties(createOrdinals(70));
+
+        // ## Act ##
+        properties.addPropertyOrdinal(65, "prop65");
+        properties.addPropertyOrdinal(3, "prop3");
+
+        // ## Assert ##
+        assertTrue(properties.isModifiedOrdinal(65));
+        assertTrue(properties.isModifiedOrdinal(3));
+        assertFalse(properties.isModifiedOrdinal(64));
+        assertEquals(DfCollectionUtil.newArrayList("prop3", "prop65"),
+                new ArrayList<String>(properties.getPropertyNames()));
+        assertSame(properties.getPropertyNames(), properties.getPropertyNames()); // view is reused
+    }
+
+    public void test_addPropertyOrdinal_mismatched() throws Exception {
+        // ## Arrange ##
+        EntityModifiedProperties properties = new EntityModifiedProperties(createOrdinals(5));
+        EntityModifiedProperties names = new EntityModifiedProperties();
+
+        // ## Act ##
+        properties.addPropertyOrdinal(1, "prop2"); // e.g. generated for other DB meta
+        properties.addPropertyOrdinal(9, "other"); // out of range
+        names.addPropertyOrdinal(1, "prop1"); // no ordinals
+
+        // ## Assert ##
+        assertFalse(properties.isModifiedOrdinal(1));
+        assertTrue(properties.isModifiedOrdinal(2));
+        assertTrue(properties.isModifiedProperty("other"));
+        assertEquals(DfCollectionUtil.newHashSet("prop2", "other"), properties.getPropertyNames());
+        assertEquals(DfCollectionUtil.newHashSet("prop1"), names.getPropertyNames());
+    }
+
+    public void test_remove_clear() throws Exception {
+        // ## Arrange ##
+        EntityModifiedProperties properties = new EntityModifiedProperties(createOrdinals(3));
+        properties.addPropertyName("prop0");
+        properties.addPropertyName("prop2");
+        properties.addPropertyName("other");
+
+        // ## Act ##
+        properties.remove("prop2");
+        properties.remove("other");
+
+        // ## Assert ##
+        assertEquals(DfCollectionUtil.newHashSet("prop0"), properties.getPropertyNames());
+        assertFalse(properties.isEmpty());
+        properties.clear();
+        assertTrue(properties.isEmpty());
+        assertTrue(properties.getPropertyNames().isEmpty());
+    }
+
+    public void test_accept() throws Exception {
+        // ## Arrange ##
+        EntityPropertyOrdinals ordinals = createOrdinals(5);
+        EntityModifiedProperties modified = new EntityModifiedProperties(ordinals);
+        modified.addPropertyName("prop4");
+        modified.addPropertyName("other");
+        EntityModifiedProperties specified = new EntityModifiedProperties(ordinals);
+        specified.addPropertyName("prop1");
+        EntityModifiedProperties names = new EntityModifiedProperties();
+        names.addPropertyName("prop1");
+
+        // ## Act ##
+        specified.accept(modified);
+        names.accept(modified);
+
+        // ## Assert ##
+        assertEquals(DfCollectionUtil.newHashSet("prop4", "other"), specified.getPropertyNames());
+        assertEquals(DfCollectionUtil.newHashSet("prop4", "other"), names.getPropertyNames());
+    }
+
+    public void test_serialize() throws Exception {
+        // ## Arrange ##
+        EntityModifiedProperties properties = new EntityModifiedProperties(createOrdinals(3));
+        properties.addPropertyName("prop1");
+        properties.addPropertyName("other");
+
+        // ## Act ##
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ObjectOutputStream oos = new ObjectOutputStream(bos);
+        oos.writeObject(properties);
+        oos.close();
+        ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()));
+        EntityModifiedProperties restored = (EntityModifiedProperties) ois.readObject();
+
+        // ## Assert ##
+        assertEquals(DfCollectionUtil.newArrayList("prop1", "other"), new ArrayList<String>(restored.getPropertyNames()));
+        assertTrue(restored.isModifiedProperty("prop1"));
+    }
+
+    protected EntityPropertyOrdinals createOrdinals(int size) {
+        List<String> propertyNameList = new ArrayList<String>();
+        for (int i = 0; i < size; i++) {
+            propertyNameList.add("prop" + i);
+        }
+        return new EntityPropertyOrdinals(propertyNameList);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.helper;
+
+import org.seasar.dbflute.unit.core.PlainTestCase;
+
+/**
+ * @author jflute
+ */
+public class FlexibleKeyTableTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                              Lookup
+    //                                                                              ======
+    public void test_get_flexible() throws Exception {
+        // ## Arrange ##
+        StringKeyMap<String> map = StringKeyMap.createAsFlexibleConcurrent();
+        map.put("MEMBER_ID", "id");
+        map.put("MEMBER_NAME", "name");
+        map.put("memberStatusCode", "status");
+
+        // ## Act ##
+        FlexibleKeyTable<String> table = FlexibleKeyTable.create(map);
+
+        // ## Assert ##
+        assertEquals(3, table.size());
+        assertEquals("id", table.get("MEMBER_ID"));
+        assertEquals("id", table.get("memberId"));
+        assertEquals("id", table.get("member-id"));
+        assertEquals("id", table.get("\"member id\""));
+        assertEquals("name", table.get("'MemberName'"));
+        assertEquals("status", table.get("MEMBER_STATUS_CODE"));
+        assertNull(table.get("MEMBER"));
+        assertNull(table.get("MEMBER_IDX"));
+        assertNull(table.get(""));
+        assertNull(table.get(null));
+        assertTrue(table.containsKey("member_name"));
+        assertFalse(table.containsKey("member_nam"));
+    }
+
+    public void test_get_sameAsMap() throws Exception {
+        // ## Arrange ##
+        String[] keys = new String[] { "FOO_BAR", "fooQux", "'QUOTED'", "x", "\u00c4NDERUNG_DATUM", "a_b_c" };
+        StringKeyMap<String> map = StringKeyMap.createAsFlexible();
+        for (String key : keys) {
+            map.put(key, key);
+        }
+        FlexibleKeyTable<String> table = FlexibleKeyTable.create(map);
+
+        // ## Act & Assert ##
+        String[] lookups = new String[] { "foo_bar", "FOOBAR", "foo-qux", "quoted", "'x'", "X", "\u00c4nderungdatum", "abc", "A B C",
+                "none", "'", "''" };
+        for (String lookup : lookups) {
+            log(lookup + " = " + table.get(lookup));
+            assertEquals(map.get(lookup), table.get(lookup));
+            assertEquals(map.containsKey(lookup), table.containsKey(lookup));
+        }
+    }
+
+    public void test_get_empty() throws Exception {
+        // ## Arrange ##
+        FlexibleKeyTable<String> table = FlexibleKeyTable.create(StringKeyMap.<String> createAsFlexible());
+
+        // ## Act & Assert ##
+        assertTrue(table.isEmpty());
+        assertNull(table.get("foo"));
+    }
+}
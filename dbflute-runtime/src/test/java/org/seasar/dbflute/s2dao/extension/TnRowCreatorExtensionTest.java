@@ -15,8 +15,30 @@
  */
 package org.seasar.dbflute.s2dao.extension;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import junit.framework.TestCase;
 
+import org.seasar.dbflute.cbean.sqlclause.SqlClause;
+import org.seasar.dbflute.dbmeta.name.ColumnSqlName;
+import org.seasar.dbflute.helper.StringKeyMap;
+import org.seasar.dbflute.helper.beans.DfBeanDesc;
+import org.seasar.dbflute.helper.beans.factory.DfBeanDescFactory;
+import org.seasar.dbflute.jdbc.ValueType;
+import org.seasar.dbflute.mock.MockResultSet;
+import org.seasar.dbflute.s2dao.metadata.TnPropertyMapping;
+import org.seasar.dbflute.s2dao.metadata.TnPropertyType;
+import org.seasar.dbflute.s2dao.metadata.impl.TnPropertyTypeImpl;
+import org.seasar.dbflute.s2dao.rowcreator.TnRowMappingPlan;
+import org.seasar.dbflute.s2dao.valuetype.TnValueTypes;
+
 /**
  * @author jflute
  * @since 0.9.5 (2009/05/27 Wednesday)
@@ -42,4 +64,257 @@ public class TnRowCreatorExtensionTest extends TestCase {
     protected static class ManualCustomizeEntity extends ExCustomizeEntity {
 
     }
+
+    // ===================================================================================
+    //                                                                        Mapping Plan
+    //                                                                        ============
+    public void test_createRowMappingPlan_selectIndex() throws Exception {
+        // ## Arrange ##
+        TnRowCreatorExtension creator = new TnRowCreatorExtension();
+        Map<String, Integer> localIndexMap = new HashMap<String, Integer>();
+        localIndexMap.put("MEMBER_NAME", 3);
+        localIndexMap.put("MEMBER_ID", 1);
+        Map<String, Map<String, Integer>> selectIndexMap = new HashMap<String, Map<String, Integer>>();
+        selectIndexMap.put(SqlClause.BASE_POINT_HANDLING_ENTITY_NO, localIndexMap);
+        Map<String, TnPropertyMapping> propertyCache = createPropertyCache();
+        PlanResultSet rs = new PlanResultSet("unused");
+
+        // ## Act ##
+        TnRowMappingPlan plan = creator.createRowMappingPlan(rs, selectIndexMap, propertyCache);
+
+        // ## Assert ##
+        assertEquals(3, plan.size());
+        int idPosition = findPosition(plan, "MEMBER_ID");
+        int namePosition = findPosition(plan, "MEMBER_NAME");
+        assertEquals(1, plan.getColumnIndex(idPosition));
+        assertEquals(3, plan.getColumnIndex(namePosition));
+        assertEquals(TnRowMappingPlan.BY_NAME_INDEX, plan.getColumnIndex(findPosition(plan, "PURCHASE_COUNT"))); // derived
+        assertEquals("memberName", plan.getMapping(namePosition).getPropertyName());
+        assertNull(plan.getGateway(idPosition)); // not entity column
+        assertEquals(0, rs.getFoundList().size()); // not by result set
+    }
+
+    public void test_createRowMappingPlan_findColumn() throws Exception {
+        // ## Arrange ##
+        TnRowCreatorExtension creator = new TnRowCreatorExtension();
+        Map<String, TnPropertyMapping> propertyCache = createPropertyCache();
+        PlanResultSet rs = new PlanResultSet("MEMBER_NAME", "MEMBER_ID"); // e.g. outside-SQL without the derived
+
+        // ## Act ##
+        TnRowMappingPlan plan = creator.createRowMappingPlan(rs, null, propertyCache);
+
+        // ## Assert ##
+        assertEquals(2, plan.getColumnIndex(findPosition(plan, "MEMBER_ID")));
+        assertEquals(1, plan.getColumnIndex(findPosition(plan, "MEMBER_NAME")));
+        int derivedPosition = findPosition(plan, "PURCHASE_COUNT");
+        assertEquals(TnRowMappingPlan.BY_NAME_INDEX, plan.getColumnIndex(derivedPosition)); // not found by the driver
+        assertEquals(3, rs.getFoundList().size()); // only once per column
+    }
+
+    // ===================================================================================
+    //                                                                          Create Row
+    //                                                                          ==========
+    public void test_createRow_plan_byIndexAndByName() throws Exception {
+        // ## Arrange ##
+        final List<String> byNameList = new ArrayList<String>();
+        TnRowCreatorExtension creator = new TnRowCreatorExtension() {
+            @Override
+            protected Object getValue(ResultSet rs, String columnName, ValueType valueType,
+                    Map<String, Map<String, Integer>> selectIndexMap) throws SQLException {
+                byNameList.add(columnName);
+                return super.getValue(rs, columnName, valueType, selectIndexMap);
+            }
+        };
+        Map<String, Integer> localIndexMap = new HashMap<String, Integer>();
+        localIndexMap.put("MEMBER_ID", 1);
+        localIndexMap.put("MEMBER_NAME", 2);
+        Map<String, Map<String, Integer>> selectIndexMap = new HashMap<String, Map<String, Integer>>();
+        selectIndexMap.put(SqlClause.BASE_POINT_HANDLING_ENTITY_NO, localIndexMap);
+        PlanResultSet rs = new PlanResultSet("MEMBER_ID", "MEMBER_NAME", "PURCHASE_COUNT");
+        rs.setRow(3, "Stojkovic", 7);
+        TnRowMappingPlan plan = creator.createRowMappingPlan(rs, selectIndexMap, createPropertyCache());
+
+        // ## Act ##
+        PlanBean bean = (PlanBean) creator.createRow(rs, plan, PlanBean.class);
+
+        // ## Assert ##
+        assertEquals(Integer.valueOf(3), bean.getMemberId());
+        assertEquals("Stojkovic", bean.getMemberName());
+        assertEquals(Integer.valueOf(7), bean.getPurchaseCount());
+        assertEquals(Arrays.asList("PURCHASE_COUNT"), byNameList); // only the derived column by the hook
+    }
+
+    public void test_createRow_withoutPlan_cached() throws Exception {
+        // ## Arrange ##
+        final List<ResultSet> plannedList = new ArrayList<ResultSet>();
+        TnRowCreatorExtension creator = new TnRowCreatorExtension() {
+            @Override
+            public TnRowMappingPlan createRowMappingPlan(ResultSet rs, Map<String, Map<String, Integer>> selectIndexMap,
+                    Map<String, TnPropertyMapping> propertyCache) throws SQLException {
+                plannedList.add(rs);
+                return super.createRowMappingPlan(rs, selectIndexMap, propertyCache);
+            }
+        };
+        Map<String, TnPropertyMapping> propertyCache = createPropertyCache();
+        PlanResultSet firstRs = new PlanResultSet("MEMBER_ID", "MEMBER_NAME", "PURCHASE_COUNT");
+        PlanResultSet secondRs = new PlanResultSet("MEMBER_ID", "MEMBER_NAME", "PURCHASE_COUNT");
+
+        // ## Act ##
+        firstRs.setRow(1, "Pixy", 2);
+        PlanBean first = (PlanBean) creator.createRow(firstRs, null, propertyCache, PlanBean.class);
+        firstRs.setRow(2, "Mijatovic", 5);
+        PlanBean second = (PlanBean) creator.createRow(firstRs, null, propertyCache, PlanBean.class);
+        secondRs.setRow(3, "Savicevic", 0);
+        PlanBean third = (PlanBean) creator.createRow(secondRs, null, propertyCache, PlanBean.class);
+
+        // ## Assert ##
+        assertEquals(Arrays.<ResultSet> asList(firstRs, secondRs), plannedList); // once per result set
+        assertEquals("Pixy", first.getMemberName());
+        assertEquals(Integer.valueOf(2), second.getMemberId());
+        assertEquals(Integer.valueOf(0), third.getPurchaseCount());
+    }
+
+    // ===================================================================================
+    //                                                                      Property Cache
+    //                                                                      ==============
+    public void test_setupPropertyCacheElement_nonPersistent() throws Exception {
+        // ## Arrange ##
+        final Map<String, TnPropertyMapping> propertyCache = StringKeyMap.createAsCaseInsensitive();
+        final Map<String, String> selectColumnMap = new HashMap<String, String>();
+        selectColumnMap.put("MEMBER_ID", "MEMBER_ID");
+        selectColumnMap.put("purchaseCount", "PURCHASE_COUNT"); // e.g. derived-referrer alias
+        final TnPropertyType idType = createPropertyType("memberId", "MEMBER_ID", Integer.class, true);
+        final TnPropertyType countType = createPropertyType("purchaseCount", "purchaseCount", Integer.class, false);
+        final TnPropertyType nameType = createPropertyType("memberName", "memberName", String.class, false);
+        TnRowCreatorExtension creator = new TnRowCreatorExtension() {
+            {
+                setupPropertyCacheElement(propertyCache, selectColumnMap, null, idType);
+                setupPropertyCacheElement(propertyCache, selectColumnMap, null, countType);
+                setupPropertyCacheElement(propertyCache, selectColumnMap, null, nameType); // not selected
+            }
+        };
+
+        // ## Act ##
+        PlanResultSet rs = new PlanResultSet("MEMBER_ID", "PURCHASE_COUNT");
+        TnRowMappingPlan plan = creator.createRowMappingPlan(rs, null, propertyCache);
+
+        // ## Assert ##
+        assertEquals(2, propertyCache.size());
+        assertSame(idType, propertyCache.get("MEMBER_ID"));
+        assertSame(countType, propertyCache.get("PURCHASE_COUNT")); // by selected name
+        assertEquals(2, plan.getColumnIndex(findPosition(plan, "PURCHASE_COUNT"))); // resolved by selected name
+    }
+
+    // ===================================================================================
+    //                                                                         Test Helper
+    //                                                                         ===========
+    protected Map<String, TnPropertyMapping> createPropertyCache() {
+        final Map<String, TnPropertyMapping> propertyCache = StringKeyMap.createAsCaseInsensitive();
+        propertyCache.put("MEMBER_ID", createPropertyType("memberId", "MEMBER_ID", Integer.class, true));
+        propertyCache.put("MEMBER_NAME", createPropertyType("memberName", "MEMBER_NAME", String.class, true));
+        propertyCache.put("PURCHASE_COUNT", createPropertyType("purchaseCount", "purchaseCount", Integer.class, false));
+        return propertyCache;
+    }
+
+    protected int findPosition(TnRowMappingPlan plan, String columnName) {
+        for (int i = 0; i < plan.size(); i++) {
+            if (plan.getColumnName(i).equalsIgnoreCase(columnName)) {
+                return i;
+            }
+        }
+        fail("Not found the column in the plan: " + columnName);
+        return -1; // unreachable
+    }
+
+    protected TnPropertyType createPropertyType(String propertyName, String columnDbName, Class<?> type, boolean persistent) {
+        final DfBeanDesc beanDesc = DfBeanDescFactory.getBeanDesc(PlanBean.class);
+        final ValueType valueType = TnValueTypes.getValueType(type);
+        final ColumnSqlName columnSqlName = new ColumnSqlName(columnDbName);
+        final TnPropertyTypeImpl propertyType = new TnPropertyTypeImpl(beanDesc.getPropertyDesc(propertyName), valueType,
+                columnDbName, columnSqlName, null);
+        propertyType.setPersistent(persistent);
+        return propertyType;
+    }
+
+    public static class PlanBean {
+
+        protected Integer _memberId;
+        protected String _memberName;
+        protected Integer _purchaseCount; // derived
+
+        public Integer getMemberId() {
+            return _memberId;
+        }
+
+        public void setMemberId(Integer memberId) {
+            _memberId = memberId;
+        }
+
+        public String getMemberName() {
+            return _memberName;
+        }
+
+        public void setMemberName(String memberName) {
+            _memberName = memberName;
+        }
+
+        public Integer getPurchaseCount() {
+            return _purchaseCount;
+        }
+
+        public void setPurchaseCount(Integer purchaseCount) {
+            _purchaseCount = purchaseCount;
+        }
+    }
+
+    protected static class PlanResultSet extends MockResultSet {
+
+        protected final List<String> _labelList;
+        protected final List<String> _foundList = new ArrayList<String>();
+        protected final Map<String, Object> _rowMap = new LinkedHashMap<String, Object>();
+
+        public PlanResultSet(String... labels) {
+            _labelList = Arrays.asList(labels);
+        }
+
+        public void setRow(Object... values) {
+            for (int i = 0; i < values.length; i++) {
+                _rowMap.put(_labelList.get(i), values[i]);
+            }
+        }
+
+        public List<String> getFoundList() {
+            return _foundList;
+        }
+
+        @Override
+        public int findColumn(String columnName) throws SQLException {
+            _foundList.add(columnName);
+            final int index = _labelList.indexOf(columnName);
+            if (index < 0) {
+                throw new SQLException("Not found the column: " + columnName);
+            }
+            return index + 1;
+        }
+
+        @Override
+        public Object getObject(int columnIndex) throws SQLException {
+            return _rowMap.get(_labelList.get(columnIndex - 1));
+        }
+
+        @Override
+        public Object getObject(String columnName) throws SQLException {
+            return _rowMap.get(columnName);
+        }
+
+        @Override
+        public String getString(int columnIndex) throws SQLException {
+            return (String) getObject(columnIndex);
+        }
+
+        @Override
+        public String getString(String columnName) throws SQLException {
+            return (String) getObject(columnName);
+        }
+    }
 }
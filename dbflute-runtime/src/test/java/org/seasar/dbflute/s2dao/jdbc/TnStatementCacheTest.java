@@ -0,0 +1,184 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.s2dao.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.seasar.dbflute.jdbc.StatementConfig;
+import org.seasar.dbflute.unit.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 1.1.0 (2014/11/30 Sunday)
+ */
+public class TnStatementCacheTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                               Basic
+    //                                                                               =====
+    public void test_checkOut_basic() throws Exception {
+        // ## Arrange ##
+        TnStatementCacheStatistics statistics = new TnStatementCacheStatistics();
+        TnStatementCache cache = new TnStatementCache(10, statistics);
+        List<String> callList = new ArrayList<String>();
+        Object key = createKey(cache, "select * from MEMBER");
+
+        // ## Act ##
+        TnCachedPreparedStatement first = cache.checkOut(key);
+        PreparedStatement registered = cache.register(key, createStatement("foo", callList));
+        registered.close();
+        TnCachedPreparedStatement second = cache.checkOut(key);
+
+        // ## Assert ##
+        assertNull(first);
+        assertSame(registered, second);
+        assertFalse(second.isClosed());
+        assertEquals(1, statistics.getHitCount());
+        assertEquals(1, statistics.getMissCount());
+        assertEquals(0.5d, statistics.getHitRatio());
+        assertEquals("[foo.clearParameters]", callList.toString()); // not closed
+        second.close();
+        assertTrue(second.isClosed());
+        log(statistics);
+    }
+
+    public void test_createKey_option() {
+        // ## Arrange ##
+        TnStatementCache cache = new TnStatementCache(10, new TnStatementCacheStatistics());
+        String sql = "select * from MEMBER";
+        int type = ResultSet.TYPE_FORWARD_ONLY;
+        int concurrency = ResultSet.CONCUR_READ_ONLY;
+
+        // ## Act & Assert ##
+        assertEquals(cache.createKey(sql, type, concurrency, null), cache.createKey(sql, type, concurrency, null));
+        StatementConfig fooConfig = new StatementConfig().fetchSize(3);
+        StatementConfig barConfig = new StatementConfig().fetchSize(3);
+        assertEquals(cache.createKey(sql, type, concurrency, fooConfig), cache.createKey(sql, type, concurrency, barConfig));
+        assertFalse(cache.createKey(sql, type, concurrency, null).equals(cache.createKey(sql, type, concurrency, fooConfig)));
+        assertFalse(cache.createKey(sql, type, concurrency, null).equals(cache.createKey(sql + " ", type, concurrency, null)));
+    }
+
+    // ===================================================================================
+    //                                                                              In Use
+    //                                                                              ======
+    public void test_register_inUse() throws Exception {
+        // ## Arrange ##
+        TnStatementCache cache = new TnStatementCache(10, new TnStatementCacheStatistics());
+        List<String> callList = new ArrayList<String>();
+        Object key = createKey(cache, "select * from MEMBER");
+        PreparedStatement first = cache.register(key, createStatement("foo", callList));
+
+        // ## Act ##
+        TnCachedPreparedStatement checkedOut = cache.checkOut(key); // e.g. in cursor handler
+        PreparedStatement actual = createStatement("bar", callList);
+        PreparedStatement second = cache.register(key, actual);
+
+        // ## Assert ##
+        assertNull(checkedOut);
+        assertSame(actual, second); // not cached
+        second.close();
+        first.close();
+        assertEquals("[bar.close, foo.clearParameters]", callList.toString());
+        assertEquals(1, cache.getCachedSize());
+    }
+
+    // ===================================================================================
+    //                                                                            Eviction
+    //                                                                            ========
+    public void test_register_evicted() throws Exception {
+        // ## Arrange ##
+        TnStatementCacheStatistics statistics = new TnStatementCacheStatistics();
+        TnStatementCache cache = new TnStatementCache(2, statistics);
+        List<String> callList = new ArrayList<String>();
+        Object fooKey = createKey(cache, "foo");
+        Object barKey = createKey(cache, "bar");
+        Object bazKey = createKey(cache, "baz");
+        cache.register(fooKey, createStatement("foo", callList)).close();
+        PreparedStatement bar = cache.register(barKey, createStatement("bar", callList)); // in use
+        cache.checkOut(fooKey).close(); // foo is recently used
+        callList.clear();
+
+        // ## Act ##
+        cache.register(bazKey, createStatement("baz", callList)).close();
+
+        // ## Assert ##
+        assertEquals(1, statistics.getEvictionCount());
+        assertEquals("[baz.clearParameters]", callList.toString()); // bar is in use
+        bar.close(); // closed really because of evicted
+        assertEquals("[baz.clearParameters, bar.close]", callList.toString());
+        assertNull(cache.checkOut(barKey));
+        assertNotNull(cache.checkOut(fooKey));
+        assertNotNull(cache.checkOut(bazKey));
+    }
+
+    public void test_close_basic() throws Exception {
+        // ## Arrange ##
+        TnStatementCache cache = new TnStatementCache(10, new TnStatementCacheStatistics());
+        List<String> callList = new ArrayList<String>();
+        cache.register(createKey(cache, "foo"), createStatement("foo", callList)).close();
+        callList.clear();
+
+        // ## Act ##
+        cache.close();
+
+        // ## Assert ##
+        assertEquals("[foo.close]", callList.toString());
+        assertEquals(0, cache.getCachedSize());
+    }
+
+    public void test_close_notCachedAfterClose() throws Exception {
+        // ## Arrange ##
+        TnStatementCache cache = new TnStatementCache(10, new TnStatementCacheStatistics());
+        List<String> callList = new ArrayList<String>();
+        Object key = createKey(cache, "foo");
+        cache.close();
+
+        // ## Act ##
+        PreparedStatement registered = cache.register(key, createStatement("foo", callList));
+
+        // ## Assert ##
+        assertFalse(registered instanceof TnCachedPreparedStatement);
+        assertNull(cache.checkOut(key));
+        assertEquals(0, cache.getCachedSize());
+    }
+
+    // ===================================================================================
+    //                                                                         Test Helper
+    //                                                                         ===========
+    protected Object createKey(TnStatementCache cache, String sql) {
+        return cache.createKey(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, null);
+    }
+
+    protected PreparedStatement createStatement(final String name, final List<String> callList) {
+        return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { PreparedStatement.class }, new InvocationHandler() {
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        final String methodName = method.getName();
+                        if (methodName.equals("isClosed")) {
+                            return callList.contains(name + ".close");
+                        }
+                        callList.add(name + "." + methodName);
+                        return null;
+                    }
+                });
+    }
+}
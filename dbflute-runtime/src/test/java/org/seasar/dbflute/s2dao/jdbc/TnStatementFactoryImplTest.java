@@ -15,10 +15,18 @@
  */
 package org.seasar.dbflute.s2dao.jdbc;
 
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
 import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.seasar.dbflute.bhv.core.BehaviorCommand;
 import org.seasar.dbflute.jdbc.StatementConfig;
+import org.seasar.dbflute.jdbc.TransactionCompletionCallback;
+import org.seasar.dbflute.jdbc.TransactionSynchronizer;
 import org.seasar.dbflute.unit.core.PlainTestCase;
 
 /**
@@ -422,4 +430,62 @@ public class TnStatementFactoryImplTest extends PlainTestCase {
         assertEquals(null, actual.getFetchSize());
         assertEquals(null, actual.getMaxRows());
     }
+
+    // ===================================================================================
+    //                                                                     Statement Cache
+    //                                                                     ===============
+    public void test_findStatementCache_boundToTransaction() throws Exception {
+        // ## Arrange ##
+        final List<TransactionCompletionCallback> callbackList = new ArrayList<TransactionCompletionCallback>();
+        final boolean[] inTransaction = new boolean[] { true };
+        TnStatementFactoryImpl impl = new TnStatementFactoryImpl();
+        impl.setStatementCacheSize(10);
+        impl.setTransactionSynchronizer(new TransactionSynchronizer() {
+            public boolean isInTransaction() {
+                return inTransaction[0];
+            }
+
+            public void registerCompletionCallback(TransactionCompletionCallback callback) {
+                callbackList.add(callback);
+            }
+        });
+        Connection conn = createConnection();
+
+        // ## Act ##
+        TnStatementCache first = impl.findStatementCache(conn);
+        TnStatementCache second = impl.findStatementCache(conn);
+
+        // ## Assert ##
+        assertNotNull(first);
+        assertSame(first, second);
+        assertNull(impl.findStatementCache(createConnection())); // other connection in the transaction
+        assertEquals(1, callbackList.size());
+        callbackList.get(0).afterCompletion(true);
+        assertTrue(first.isClosed());
+        TnStatementCache next = impl.findStatementCache(conn); // next transaction
+        assertNotSame(first, next);
+        assertEquals(2, callbackList.size());
+        callbackList.get(1).afterCompletion(false);
+        inTransaction[0] = false;
+        assertNull(impl.findStatementCache(conn));
+        assertEquals(2, callbackList.size());
+    }
+
+    public void test_findStatementCache_noSynchronizer() throws Exception {
+        // ## Arrange ##
+        TnStatementFactoryImpl impl = new TnStatementFactoryImpl();
+        impl.setStatementCacheSize(10);
+
+        // ## Act & Assert ##
+        assertNull(impl.findStatementCache(createConnection()));
+    }
+
+    protected Connection createConnection() {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+                new InvocationHandler() {
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        throw new IllegalStateException("should not be called: " + method.getName());
+                    }
+                });
+    }
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.s2dao.rowcreator;
+
+import java.math.BigDecimal;
+
+import org.seasar.dbflute.s2dao.rowcreator.impl.TnRelationKeyNumeric;
+import org.seasar.dbflute.s2dao.rowcreator.impl.TnRelationKeySimple;
+import org.seasar.dbflute.unit.core.PlainTestCase;
+
+/**
+ * @author jflute
+ */
+public class TnRelationRowCacheTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                        Numeric Key
+    //                                                                        ===========
+    public void test_numericKey_basic() {
+        // ## Arrange ##
+        TnRelationRowCache cache = new TnRelationRowCache(2, true);
+        TnRelationKeyNumeric probe = cache.prepareNumericProbeKey("_0");
+        Object row = new Object();
+
+        // ## Act ##
+        cache.addRelationRow("_0", probe.reset("MEMBER_ID_0", 3, 3L), row);
+
+        // ## Assert ##
+        assertSame(probe, cache.prepareNumericProbeKey("_0")); // reused
+        assertSame(row, cache.getRelationRow("_0", probe.reset("MEMBER_ID_0", 3, 3L)));
+        assertNull(cache.getRelationRow("_0", probe.reset("MEMBER_ID_0", 4, 4L)));
+        assertNull(cache.getRelationRow("_1", probe.reset("MEMBER_ID_0", 3, 3L)));
+        assertEquals(1, cache.getNumericRowMap().get("_0").size());
+        assertTrue(cache.getRowMap().isEmpty());
+    }
+
+    public void test_numericKey_otherKey() {
+        // ## Arrange ##
+        TnRelationRowCache cache = new TnRelationRowCache(2, true);
+        Object row = new Object();
+
+        // ## Act ##
+        cache.addRelationRow("_0", new TnRelationKeySimple("MEMBER_NAME_0", "foo"), row);
+
+        // ## Assert ##
+        assertSame(row, cache.getRelationRow("_0", new TnRelationKeySimple("MEMBER_NAME_0", "foo")));
+        assertNull(cache.getNumericRowMap().get("_0"));
+    }
+
+    public void test_isNumericKeyValue() {
+        TnRelationRowCache cache = new TnRelationRowCache(2, true);
+        assertTrue(cache.isNumericKeyValue(1));
+        assertTrue(cache.isNumericKeyValue(1L));
+        assertTrue(cache.isNumericKeyValue(new BigDecimal("123")));
+        assertFalse(cache.isNumericKeyValue(new BigDecimal("1.0"))); // not equal to 1
+        assertFalse(cache.isNumericKeyValue(new BigDecimal("12345678901234567890")));
+        assertFalse(cache.isNumericKeyValue("1"));
+        assertFalse(cache.isNumericKeyValue(1.0d));
+    }
+
+    // ===================================================================================
+    //                                                                            Long Map
+    //                                                                            ========
+    public void test_longMap_resize() {
+        // ## Arrange ##
+        TnRelationRowLongMap map = new TnRelationRowLongMap(2);
+
+        // ## Act ##
+        for (long i = -50; i < 1000; i++) {
+            map.put(i * 7, "row" + i);
+        }
+        map.put(7, "overridden");
+        map.put(8, null); // ignored
+
+        // ## Assert ##
+        assertEquals(1050, map.size());
+        assertEquals("row-50", map.get(-350));
+        assertEquals("row999", map.get(6993));
+        assertEquals("overridden", map.get(7));
+        assertNull(map.get(8));
+        assertNull(map.get(Long.MAX_VALUE));
+    }
+}
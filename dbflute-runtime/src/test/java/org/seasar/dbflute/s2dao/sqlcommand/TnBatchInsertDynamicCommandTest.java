@@ -0,0 +1,202 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.s2dao.sqlcommand;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import org.seasar.dbflute.DBDef;
+import org.seasar.dbflute.bhv.InsertOption;
+import org.seasar.dbflute.cbean.ConditionBean;
+import org.seasar.dbflute.dbmeta.name.ColumnSqlName;
+import org.seasar.dbflute.dbmeta.name.TableSqlName;
+import org.seasar.dbflute.mock.MockDBMeta;
+import org.seasar.dbflute.resource.ResourceContext;
+import org.seasar.dbflute.s2dao.metadata.TnPropertyType;
+import org.seasar.dbflute.unit.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 1.1.0 (2014/12/14 Sunday)
+ */
+public class TnBatchInsertDynamicCommandTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                    Multi-row VALUES
+    //                                                                    ================
+    public void test_createMultiRowValuesSql_basic() {
+        // ## Arrange ##
+        TnBatchInsertDynamicCommand command = createCommand();
+        TnPropertyType[] propertyTypes = createPropertyTypes("MEMBER_ID", "MEMBER_NAME");
+        prepareResourceContext(DBDef.MySQL);
+
+        try {
+            // ## Act ##
+            String sql = command.createMultiRowValuesSql(propertyTypes, null, 3);
+
+            // ## Assert ##
+            log(sql);
+            String ln = "\n";
+            assertEquals("insert into MEMBER (MEMBER_ID, MEMBER_NAME)" + ln + " values (?, ?)," + ln + "        (?, ?)," + ln
+                    + "        (?, ?)", sql);
+        } finally {
+            ResourceContext.clearResourceContextOnThread();
+        }
+    }
+
+    public void test_buildValuesRow_basic() {
+        // ## Arrange ##
+        TnBatchInsertDynamicCommand command = createCommand();
+        prepareResourceContext(DBDef.MySQL);
+
+        try {
+            // ## Act & Assert ##
+            assertEquals("(?)", command.buildValuesRow(createPropertyTypes("MEMBER_ID")));
+            assertEquals("(?, ?, ?)", command.buildValuesRow(createPropertyTypes("MEMBER_ID", "MEMBER_NAME", "BIRTHDATE")));
+        } finally {
+            ResourceContext.clearResourceContextOnThread();
+        }
+    }
+
+    public void test_resolveMultiRowValuesSize_basic() {
+        // ## Arrange ##
+        TnBatchInsertDynamicCommand command = createCommand();
+        InsertOption<ConditionBean> option = new InsertOption<ConditionBean>();
+        TnPropertyType[] propertyTypes = createPropertyTypes("MEMBER_ID", "MEMBER_NAME");
+        option.groupBatchInsertByMultiRowValues(1500);
+        prepareResourceContext(DBDef.MySQL);
+
+        try {
+            // ## Act & Assert ##
+            assertEquals(1500, command.resolveMultiRowValuesSize(propertyTypes, 5000, option));
+            assertEquals(20, command.resolveMultiRowValuesSize(propertyTypes, 20, option));
+            assertEquals(0, command.resolveMultiRowValuesSize(propertyTypes, 1, option));
+            assertEquals(0, command.resolveMultiRowValuesSize(propertyTypes, 5000, null));
+        } finally {
+            ResourceContext.clearResourceContextOnThread();
+        }
+    }
+
+    public void test_resolveMultiRowValuesSize_limit() {
+        // ## Arrange ##
+        TnBatchInsertDynamicCommand command = createCommand();
+        InsertOption<ConditionBean> option = new InsertOption<ConditionBean>();
+        TnPropertyType[] propertyTypes = createPropertyTypes("MEMBER_ID", "MEMBER_NAME");
+        option.groupBatchInsertByMultiRowValues(1500);
+        prepareResourceContext(DBDef.SQLServer);
+
+        try {
+            // ## Act & Assert ##
+            assertEquals(1000, command.resolveMultiRowValuesSize(propertyTypes, 5000, option)); // clamped to the row limit
+            assertEquals(20, command.resolveMultiRowValuesSize(propertyTypes, 20, option));
+        } finally {
+            ResourceContext.clearResourceContextOnThread();
+        }
+    }
+
+    public void test_resolveMultiRowValuesSize_parameterLimit() {
+        // ## Arrange ##
+        TnBatchInsertDynamicCommand command = createCommand();
+        InsertOption<ConditionBean> option = new InsertOption<ConditionBean>();
+        option.groupBatchInsertByMultiRowValues(1500);
+        prepareResourceContext(DBDef.SQLServer);
+
+        try {
+            // ## Act & Assert ##
+            TnPropertyType[] fiveColumns = createPropertyTypes("C1", "C2", "C3", "C4", "C5");
+            assertEquals(420, command.resolveMultiRowValuesSize(fiveColumns, 5000, option)); // 2100 / 5
+            assertEquals(20, command.resolveMultiRowValuesSize(fiveColumns, 20, option));
+            TnPropertyType[] manyColumns = createPropertyTypes(createColumnDbNames(1500));
+            assertEquals(0, command.resolveMultiRowValuesSize(manyColumns, 5000, option)); // normal batch
+        } finally {
+            ResourceContext.clearResourceContextOnThread();
+        }
+    }
+
+    public void test_resolveMultiRowValuesSize_unsupported() {
+        // ## Arrange ##
+        TnBatchInsertDynamicCommand command = createCommand();
+        InsertOption<ConditionBean> option = new InsertOption<ConditionBean>();
+        option.groupBatchInsertByMultiRowValues(100);
+        prepareResourceContext(DBDef.Oracle);
+
+        try {
+            // ## Act & Assert ##
+            assertEquals(0, command.resolveMultiRowValuesSize(createPropertyTypes("MEMBER_ID"), 5000, option)); // normal batch
+        } finally {
+            ResourceContext.clearResourceContextOnThread();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                         Test Helper
+    //                                                                         ===========
+    protected TnBatchInsertDynamicCommand createCommand() {
+        TnBatchInsertDynamicCommand command = new TnBatchInsertDynamicCommand(null, null) {
+            @Override
+            protected void assertObjectNotNull(String variableName, Object value) {
+                // for no check of constructor
+            }
+        };
+        command.setTargetDBMeta(new MockDBMeta() {
+            @Override
+            public String getTableDbName() {
+                return "MEMBER";
+            }
+
+            @Override
+            public TableSqlName getTableSqlName() {
+                return new TableSqlName("MEMBER", "MEMBER");
+            }
+        });
+        return command;
+    }
+
+    protected TnPropertyType[] createPropertyTypes(String... columnDbNames) {
+        TnPropertyType[] propertyTypes = new TnPropertyType[columnDbNames.length];
+        for (int i = 0; i < columnDbNames.length; i++) {
+            final String columnDbName = columnDbNames[i];
+            propertyTypes[i] = (TnPropertyType) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] { TnPropertyType.class }, new InvocationHandler() {
+                        public Object invoke(Object proxy, Method method, Object[] args) {
+                            if (method.getName().equals("getColumnSqlName")) {
+                                return new ColumnSqlName(columnDbName);
+                            }
+                            if (method.getName().equals("getColumnDbName")) {
+                                return columnDbName;
+                            }
+                            throw new IllegalStateException("no way: " + method.getName());
+                        }
+                    });
+        }
+        return propertyTypes;
+    }
+
+    protected String[] createColumnDbNames(int size) {
+        String[] columnDbNames = new String[size];
+        for (int i = 0; i < size; i++) {
+            columnDbNames[i] = "C" + (i + 1);
+        }
+        return columnDbNames;
+    }
+
+    protected void prepareResourceContext(DBDef dbdef) {
+        ResourceContext context = new ResourceContext();
+        context.setCurrentDBDef(dbdef);
+        ResourceContext.setResourceContextOnThread(context);
+    }
+}
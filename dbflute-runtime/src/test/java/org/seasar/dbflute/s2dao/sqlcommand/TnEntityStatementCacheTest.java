@@ -0,0 +1,91 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.s2dao.sqlcommand;
+
+import org.seasar.dbflute.s2dao.metadata.TnPropertyType;
+import org.seasar.dbflute.s2dao.sqlcommand.TnEntityStatementCache.TnEntityStatement;
+import org.seasar.dbflute.unit.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 1.0.5N
+ */
+public class TnEntityStatementCacheTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                               Basic
+    //                                                                               =====
+    public void test_findStatement_basic() {
+        // ## Arrange ##
+        TnEntityStatementCache cache = new TnEntityStatementCache();
+        TnEntityStatement statement = new TnEntityStatement("insert into FOO (BAR) values (?)", new TnPropertyType[] {});
+
+        // ## Act ##
+        TnEntityStatement first = cache.findStatement(new long[] { 5L });
+        cache.registerStatement(new long[] { 5L }, statement);
+        TnEntityStatement second = cache.findStatement(new long[] { 5L });
+        TnEntityStatement other = cache.findStatement(new long[] { 6L });
+
+        // ## Assert ##
+        assertNull(first);
+        assertSame(statement, second);
+        assertNull(other);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(1, cache.getCachedSize());
+    }
+
+    public void test_registerStatement_full() {
+        // ## Arrange ##
+        TnEntityStatementCache cache = new TnEntityStatementCache(3);
+        TnEntityStatement statement = new TnEntityStatement("update FOO set BAR = ?", new TnPropertyType[] {});
+
+        // ## Act ##
+        for (int i = 0; i < 10; i++) {
+            cache.registerStatement(new long[] { i, 1L }, statement);
+        }
+
+        // ## Assert ##
+        log(cache);
+        assertEquals(3, cache.getCachedSize());
+        assertNotNull(cache.findStatement(new long[] { 0L, 1L }));
+        assertNull(cache.findStatement(new long[] { 9L, 1L }));
+    }
+
+    public void test_clear() {
+        // ## Arrange ##
+        TnEntityStatementCache cache = new TnEntityStatementCache();
+        cache.registerStatement(new long[] { 1L }, new TnEntityStatement("select 1", new TnPropertyType[] {}));
+        cache.findStatement(new long[] { 1L });
+
+        // ## Act ##
+        cache.clear();
+
+        // ## Assert ##
+        assertEquals(0, cache.getCachedSize());
+        assertEquals(0, cache.getHitCount());
+        assertNull(cache.findStatement(new long[] { 1L }));
+    }
+
+    public void test_constructor_illegal() {
+        try {
+            new TnEntityStatementCache(0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            log(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.s2dao.sqlhandler;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.seasar.dbflute.unit.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 1.0.5N
+ */
+public class TnAbstractBatchHandlerTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                         Batch Split
+    //                                                                         ===========
+    public void test_executeSplitBatch_basic() {
+        // ## Arrange ##
+        final List<String> markList = new ArrayList<String>();
+        final List<Integer> executedSizeList = new ArrayList<Integer>();
+        TnAbstractBatchHandler handler = createMockHandler(markList, executedSizeList, 2);
+        List<String> beanList = newArrayList("a", "b", "c", "d", "e");
+
+        // ## Act ##
+        int[] result = handler.executeSplitBatch(null, null, beanList, handler.resolveBatchSplitSize(beanList.size()));
+
+        // ## Assert ##
+        assertEquals(5, result.length);
+        for (int i = 0; i < result.length; i++) {
+            assertEquals(1, result[i]);
+        }
+        assertEquals(newArrayList(2, 2, 1), executedSizeList);
+        assertEquals(newArrayList("a", "b", "execute", "c", "d", "execute", "e", "execute"), markList);
+    }
+
+    public void test_resolveBatchSplitSize_noSplit() {
+        // ## Arrange ##
+        final List<String> markList = new ArrayList<String>();
+        final List<Integer> executedSizeList = new ArrayList<Integer>();
+
+        // ## Act & Assert ##
+        assertEquals(5, createMockHandler(markList, executedSizeList, null).resolveBatchSplitSize(5));
+        assertEquals(5, createMockHandler(markList, executedSizeList, 0).resolveBatchSplitSize(5));
+        assertEquals(5, createMockHandler(markList, executedSizeList, -1).resolveBatchSplitSize(5));
+        assertEquals(3, createMockHandler(markList, executedSizeList, 3).resolveBatchSplitSize(5));
+    }
+
+    protected TnAbstractBatchHandler createMockHandler(final List<String> markList, final List<Integer> executedSizeList,
+            final Integer splitSize) {
+        return new TnAbstractBatchHandler(null, null, null, null, null) {
+            @Override
+            protected Integer getBatchLoggingLimit() {
+                return null;
+            }
+
+            @Override
+            protected Integer getOptionBatchSplitSize() {
+                return splitSize;
+            }
+
+            @Override
+            protected void setupBindVariables(Object bean) {
+            }
+
+            @Override
+            protected void prepareBatchElement(Connection conn, PreparedStatement ps, Object bean) {
+                markList.add((String) bean);
+            }
+
+            @Override
+            protected String handleBatchLogging() {
+                return null;
+            }
+
+            @Override
+            protected int[] executeBatch(PreparedStatement ps, List<?> list) {
+                markList.add("execute");
+                executedSizeList.add(list.size());
+                final int[] result = new int[list.size()];
+                for (int i = 0; i < result.length; i++) {
+                    result[i] = 1;
+                }
+                return result;
+            }
+
+            @Override
+            protected void handleBatchUpdateResultWithOptimisticLock(PreparedStatement ps, List<?> list, int[] result) {
+                assertEquals(list.size(), result.length);
+            }
+
+            @Override
+            protected void assertObjectNotNull(String variableName, Object value) {
+                // for no check of constructor
+            }
+        };
+    }
+}
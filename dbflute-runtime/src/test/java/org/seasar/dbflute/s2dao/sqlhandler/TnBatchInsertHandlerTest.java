@@ -0,0 +1,159 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.s2dao.sqlhandler;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.seasar.dbflute.jdbc.StatementFactory;
+import org.seasar.dbflute.jdbc.ValueType;
+import org.seasar.dbflute.s2dao.metadata.TnPropertyType;
+import org.seasar.dbflute.s2dao.valuetype.TnValueTypes;
+import org.seasar.dbflute.unit.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 1.1.0 (2014/12/01 Monday)
+ */
+public class TnBatchInsertHandlerTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                    Multi-row VALUES
+    //                                                                    ================
+    public void test_doExecuteBatch_multiRowValues() {
+        // ## Arrange ##
+        final List<String> markList = new ArrayList<String>();
+        TnBatchInsertHandler handler = createMockHandler(markList, -1);
+        handler.setMultiRowValues(2, "two", "one");
+        List<String> beanList = newArrayList("a", "b", "c", "d", "e");
+
+        // ## Act ##
+        int[] result = handler.doExecuteBatch(null, beanList);
+
+        // ## Assert ##
+        assertEquals(5, result.length);
+        for (int i = 0; i < result.length; i++) {
+            assertEquals(1, result[i]);
+        }
+        assertEquals(newArrayList("prepare:two", "[a, b]", "[c, d]", "prepare:one", "[e]"), markList);
+    }
+
+    public void test_doExecuteBatch_multiRowValues_noInfo() {
+        // ## Arrange ##
+        final List<String> markList = new ArrayList<String>();
+        TnBatchInsertHandler handler = createMockHandler(markList, 1); // e.g. trigger skips a row
+        handler.setMultiRowValues(2, "two", null);
+        List<String> beanList = newArrayList("a", "b", "c", "d");
+
+        // ## Act ##
+        int[] result = handler.doExecuteBatch(null, beanList);
+
+        // ## Assert ##
+        assertEquals(4, result.length);
+        for (int i = 0; i < result.length; i++) {
+            assertEquals(Statement.SUCCESS_NO_INFO, result[i]);
+        }
+        assertEquals(newArrayList("prepare:two", "[a, b]", "[c, d]"), markList);
+    }
+
+    public void test_executeMultiRowValues_bindOrder() {
+        // ## Arrange ##
+        final List<String> markList = new ArrayList<String>();
+        TnPropertyType[] boundPropTypes = new TnPropertyType[2]; // only the count is used here
+        String sql = "insert into MEMBER (MEMBER_ID, MEMBER_NAME) values (?, ?)"; // logged per row
+        TnBatchInsertHandler handler = new TnBatchInsertHandler(null, null, sql, null, boundPropTypes) {
+            @Override
+            protected void setupBindVariables(Object bean) { // the row is bound as normal batch
+                _bindVariables = (Object[]) bean;
+                _bindVariableValueTypes = new ValueType[] { TnValueTypes.INTEGER, TnValueTypes.STRING };
+            }
+
+            @Override
+            protected void assertObjectNotNull(String variableName, Object value) {
+                // for no check of constructor
+            }
+        };
+        PreparedStatement ps = createRecordingStatement(markList, 3);
+        List<Object[]> groupList = new ArrayList<Object[]>();
+        groupList.add(new Object[] { 1, "a" });
+        groupList.add(new Object[] { 2, null });
+        groupList.add(new Object[] { 3, "c" });
+
+        // ## Act ##
+        int updated = handler.executeMultiRowValues(null, ps, groupList);
+
+        // ## Assert ##
+        log(markList);
+        assertEquals(3, updated);
+        assertEquals(newArrayList("setInt:1:1", "setString:2:a", "setInt:3:2", "setNull:4:" + Types.VARCHAR, "setInt:5:3",
+                "setString:6:c", "executeUpdate"), markList); // flattened in order of rows and columns
+    }
+
+    protected PreparedStatement createRecordingStatement(final List<String> markList, final int updated) {
+        return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { PreparedStatement.class },
+                new InvocationHandler() {
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        final String name = method.getName();
+                        if (name.equals("executeUpdate")) {
+                            markList.add(name);
+                            return updated;
+                        }
+                        if (name.startsWith("set")) {
+                            markList.add(name + ":" + args[0] + ":" + args[1]);
+                        }
+                        return null;
+                    }
+                });
+    }
+
+    protected TnBatchInsertHandler createMockHandler(final List<String> markList, final int fixedUpdated) {
+        final StatementFactory statementFactory = new StatementFactory() {
+            public PreparedStatement createPreparedStatement(Connection conn, String sql) {
+                markList.add("prepare:" + sql);
+                return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                        new Class<?>[] { PreparedStatement.class }, new InvocationHandler() {
+                            public Object invoke(Object proxy, Method method, Object[] args) {
+                                return null; // only close() is called
+                            }
+                        });
+            }
+
+            public CallableStatement createCallableStatement(Connection conn, String sql) {
+                throw new IllegalStateException("no way");
+            }
+        };
+        return new TnBatchInsertHandler(null, statementFactory, null, null, null) {
+            @Override
+            protected int executeMultiRowValues(Connection conn, PreparedStatement ps, List<?> groupList) {
+                markList.add(groupList.toString());
+                return fixedUpdated >= 0 ? fixedUpdated : groupList.size();
+            }
+
+            @Override
+            protected void assertObjectNotNull(String variableName, Object value) {
+                // for no check of constructor
+            }
+        };
+    }
+}
@@ -15,8 +15,14 @@
  */
 package org.seasar.dbflute.twowaysql;
 
+import org.seasar.dbflute.twowaysql.context.CommandContext;
+import org.seasar.dbflute.twowaysql.context.CommandContextCreator;
+import org.seasar.dbflute.twowaysql.node.MockMemberPmb;
+import org.seasar.dbflute.twowaysql.node.Node;
 import org.seasar.dbflute.twowaysql.node.SqlPartsNode;
 import org.seasar.dbflute.unit.core.PlainTestCase;
+import org.seasar.dbflute.util.DfCollectionUtil;
+import org.seasar.dbflute.util.Srl;
 
 /**
  * @author jflute
@@ -36,4 +42,70 @@ public class SqlAnalyzerTest extends PlainTestCase {
     }
 
     // *detail tests for analyze() are moved to node tests
+
+    // ===================================================================================
+    //                                                                       Static Filter
+    //                                                                       =============
+    public void test_stripStatic_sameAsExecutedFilter() {
+        // ## Arrange ##
+        String sql = "/*[df:title] member search*/\r\n";
+        sql = sql + "-- !df:pmb!\r\n";
+        sql = sql + "-- !!Integer memberId!!\r\n";
+        sql = sql + "select /*+ FIRST_ROWS */ member.MEMBER_ID -- the ID\r\n";
+        sql = sql + "     , member.MEMBER_NAME\r\n";
+        sql = sql + "\r\n";
+        sql = sql + "  from MEMBER member\r\n";
+        sql = sql + " /*BEGIN*/\r\n";
+        sql = sql + " where\r\n";
+        sql = sql + "   /*IF pmb.memberId != null*/\r\n";
+        sql = sql + "   member.MEMBER_ID = /*pmb.memberId*/3 -- comment -- nested\r\n";
+        sql = sql + "   /*END*/\r\n";
+        sql = sql + "   /*IF pmb.memberName != null*/\r\n";
+        sql = sql + "   /* name condition */\r\n";
+        sql = sql + "   and member.MEMBER_NAME like /*pmb.memberName*/'S%' -- prefix\r\n";
+        sql = sql + "   /*END*/\r\n";
+        sql = sql + " /*END*/\r\n";
+        sql = sql + " order by member.MEMBER_ID";
+        MockMemberPmb fullPmb = new MockMemberPmb();
+        fullPmb.setMemberId(3);
+        fullPmb.setMemberName("S%");
+        MockMemberPmb namePmb = new MockMemberPmb();
+        namePmb.setMemberName("S%");
+
+        // ## Act ##
+        Node plainNode = new SqlAnalyzer(sql, false).analyze();
+        SqlAnalyzer analyzer = new SqlAnalyzer(sql, false);
+        Node strippedNode = analyzer.stripStaticBlockComment().stripStaticLineComment().stripStaticEmptyLine().analyze();
+
+        // ## Assert ##
+        for (MockMemberPmb pmb : DfCollectionUtil.newArrayList(fullPmb, namePmb, new MockMemberPmb())) {
+            String plainSql = createCtx(plainNode, pmb).getSql();
+            String strippedSql = createCtx(strippedNode, pmb).getSql();
+            log(ln() + strippedSql);
+            String expected = Srl.removeEmptyLine(Srl.removeLineComment(Srl.removeBlockComment(plainSql)));
+            assertEquals(expected, Srl.removeEmptyLine(Srl.removeLineComment(Srl.removeBlockComment(strippedSql))));
+            assertFalse(strippedSql.contains("[df:title]"));
+            assertFalse(strippedSql.contains("FIRST_ROWS"));
+            assertFalse(strippedSql.contains("!df:pmb!"));
+            assertFalse(strippedSql.contains("\r"));
+        }
+    }
+
+    public void test_stripStatic_notStripped() {
+        // ## Arrange ##
+        String sql = "select * -- comment\n  from MEMBER\n\n -- comment\n /* comment */";
+
+        // ## Act ##
+        Node rootNode = new SqlAnalyzer(sql, false).analyze();
+
+        // ## Assert ##
+        assertEquals(sql, createCtx(rootNode, new MockMemberPmb()).getSql());
+    }
+
+    protected CommandContext createCtx(Node rootNode, Object pmb) {
+        CommandContextCreator creator = new CommandContextCreator(new String[] { "pmb" }, new Class<?>[] { pmb.getClass() });
+        CommandContext ctx = creator.createCommandContext(new Object[] { pmb });
+        rootNode.accept(ctx);
+        return ctx;
+    }
 }
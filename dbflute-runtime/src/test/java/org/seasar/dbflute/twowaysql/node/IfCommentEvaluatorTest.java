@@ -949,6 +949,80 @@ public class IfCommentEvaluatorTest extends PlainTestCase {
         }
     }
 
+    // ===================================================================================
+    //                                                                            Compiled
+    //                                                                            ========
+    public void test_evaluate_compiled_sameAsPlain() {
+        // ## Arrange ##
+        BasePmb pmb = new BasePmb();
+        pmb.setMemberId(3);
+        pmb.setMemberName("Pixy");
+        pmb.setBirthdate(DfTypeUtil.toDate("2008/11/22"));
+        pmb.setExistsPurchase(true);
+        NextPmb nextPmb = new NextPmb();
+        nextPmb.setDisplayOrder(7);
+        pmb.setNextPmb(nextPmb);
+        pmb.putMapPmb("foo", 1);
+        pmb.setListPmb(DfCollectionUtil.newArrayList(nextPmb));
+        List<String> expressionList = DfCollectionUtil.newArrayList("pmb.memberId != null", "pmb.memberId == null",
+                "pmb.memberName == 'Pixy'", "pmb.memberId > 2 && pmb.memberId < 4", "pmb.memberId >= 4 || pmb.memberId <= 2",
+                "pmb.existsPurchase", "!pmb.existsPurchase", "true", "!false", "pmb.birthdate < date '2009/11/22'",
+                "pmb.nextPmb.displayOrder == 7", "pmb.nextPmb.existsLogin", "pmb.mapPmb.foo == 1", "pmb.mapPmb.bar == null",
+                "pmb.listPmb.get(0).displayOrder == 7", "pmb.getMemberName() != null", "3 == pmb.memberId");
+
+        // ## Act && Assert ##
+        for (String expression : expressionList) {
+            IfCommentExpression compiled = IfCommentExpression.compile(expression);
+            assertNotNull(compiled);
+            IfCommentEvaluator compiledEvaluator = createCompiledEvaluator(pmb, expression, compiled);
+            boolean expected = createEvaluator(pmb, expression).evaluate();
+            log(expression + " = " + expected);
+            assertEquals(expected, compiledEvaluator.evaluate());
+            assertEquals(expected, compiledEvaluator.evaluate()); // resolved property
+        }
+    }
+
+    public void test_evaluate_compiled_changedType() {
+        // ## Arrange ##
+        String expression = "pmb.memberName == 'Pixy'";
+        IfCommentExpression compiled = IfCommentExpression.compile(expression);
+        BasePmb pmb = new BasePmb();
+        pmb.setMemberName("Pixy");
+        Map<String, Object> map = new HashMap<String, Object>();
+        map.put("memberName", "Sea");
+
+        // ## Act && Assert ##
+        assertTrue(createCompiledEvaluator(pmb, expression, compiled).evaluate());
+        assertFalse(createCompiledEvaluator(map, expression, compiled).evaluate());
+        assertTrue(createCompiledEvaluator(pmb, expression, compiled).evaluate());
+    }
+
+    public void test_evaluate_compiled_exception() {
+        // ## Arrange ##
+        BasePmb pmb = new BasePmb();
+        String expression = "pmb.nextPmb.displayOrder == 7";
+        IfCommentExpression compiled = IfCommentExpression.compile(expression);
+
+        // ## Act ##
+        try {
+            createCompiledEvaluator(pmb, expression, compiled).evaluate();
+
+            // ## Assert ##
+            fail();
+        } catch (IfCommentNullPointerException e) {
+            // OK
+            log(e.getMessage());
+        }
+    }
+
+    public void test_compile_notCompilable() {
+        assertNull(IfCommentExpression.compile(null));
+        assertNull(IfCommentExpression.compile(" "));
+        assertNull(IfCommentExpression.compile("pmb.fooId != null && pmb.barId != null || pmb.qux"));
+        assertNull(IfCommentExpression.compile("pmb.fooId = null"));
+        assertNull(IfCommentExpression.compile("pmb.buildFooId(123)"));
+    }
+
     // ===================================================================================
     //                                                                         Test Helper
     //                                                                         ===========
@@ -960,6 +1034,14 @@ public class IfCommentEvaluatorTest extends PlainTestCase {
         }, expression, "select foo from bar", null);
     }
 
+    protected IfCommentEvaluator createCompiledEvaluator(final Object pmb, String expression, IfCommentExpression compiled) {
+        return new IfCommentEvaluator(new ParameterFinder() {
+            public Object find(String name) {
+                return pmb;
+            }
+        }, expression, "select foo from bar", null, compiled);
+    }
+
     protected static class BasePmb implements ParameterBean {
         private Integer _memberId;
         private String _memberName;
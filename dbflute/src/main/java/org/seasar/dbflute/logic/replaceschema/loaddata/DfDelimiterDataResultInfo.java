@@ -17,8 +17,10 @@ package org.seasar.dbflute.logic.replaceschema.loaddata;
 
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 
 /**
@@ -44,6 +46,27 @@ public class DfDelimiterDataResultInfo {
         messageList.add(message);
     }
 
+    /**
+     * Merge the other result, e.g. result of parallel loading.
+     * @param otherInfo The other result information to be merged. (NotNull)
+     */
+    public void merge(DfDelimiterDataResultInfo otherInfo) {
+        for (Entry<String, Set<String>> entry : otherInfo.getNotFoundColumnMap().entrySet()) {
+            final String tableDbName = entry.getKey();
+            final Set<String> columnSet = _notFoundColumnMap.get(tableDbName);
+            if (columnSet != null) {
+                columnSet.addAll(entry.getValue());
+            } else {
+                _notFoundColumnMap.put(tableDbName, new LinkedHashSet<String>(entry.getValue()));
+            }
+        }
+        for (Entry<String, List<String>> entry : otherInfo.getWarningFileMap().entrySet()) {
+            for (String message : entry.getValue()) {
+                registerWarningFile(entry.getKey(), message);
+            }
+        }
+    }
+
     // ===================================================================================
     //                                                                            Accessor
     //                                                                            ========
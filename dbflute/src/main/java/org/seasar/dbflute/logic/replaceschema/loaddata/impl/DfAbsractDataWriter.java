@@ -1074,8 +1074,15 @@ public abstract class DfAbsractDataWriter {
 
     protected void resolveRelativeDate(String dataDirectory, String tableName, Map<String, Object> columnValueMap,
             Map<String, DfColumnMeta> columnMetaMap, Set<String> sysdateColumnSet, int rowNumber) {
+        resolveRelativeDate(dataDirectory, tableName, columnValueMap, columnMetaMap, sysdateColumnSet, createBindTypeProvider(),
+                rowNumber);
+    }
+
+    protected void resolveRelativeDate(String dataDirectory, String tableName, Map<String, Object> columnValueMap,
+            Map<String, DfColumnMeta> columnMetaMap, Set<String> sysdateColumnSet, DfColumnBindTypeProvider bindTypeProvider,
+            int rowNumber) { // for the provider created once (e.g. per file)
         _loadingControlProp.resolveRelativeDate(dataDirectory, tableName, columnValueMap, columnMetaMap, sysdateColumnSet,
-                createBindTypeProvider(), rowNumber);
+                bindTypeProvider, rowNumber);
     }
 
     protected DfColumnBindTypeProvider createBindTypeProvider() {
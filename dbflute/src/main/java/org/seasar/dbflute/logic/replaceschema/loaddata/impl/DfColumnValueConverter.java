@@ -41,6 +41,8 @@ public class DfColumnValueConverter {
     protected final Map<String, String> _defaultValueMap;
     protected final DfColumnBindTypeProvider _bindTypeProvider;
     protected Map<String, String> _allColumnConvertMap; // derived lazily
+    protected final Map<String, Map<String, String>> _valueMappingCacheMap = new HashMap<String, Map<String, String>>(); // per column
+    protected final Set<String> _convertedSet = new HashSet<String>(1); // recycled
     protected boolean _emptyToNullIfNoConvert;
 
     public DfColumnValueConverter(Map<String, Map<String, String>> convertValueMap, Map<String, String> defaultValueMap,
@@ -57,26 +59,36 @@ public class DfColumnValueConverter {
 
     public void convert(String tableName, Map<String, Object> columnValueMap, Map<String, DfColumnMeta> columnMetaMap) {
         final Map<String, Object> resolvedMap = new LinkedHashMap<String, Object>(columnValueMap.size());
-        final Set<String> convertedSet = new HashSet<String>(1);
         for (Entry<String, Object> entry : columnValueMap.entrySet()) {
             final String columnName = entry.getKey();
-            final Object plainValue = entry.getValue();
-            Object resolvedValue = resolveConvertValue(tableName, columnName, plainValue, convertedSet, columnMetaMap);
-            if (convertedSet.isEmpty()) { // if no convert
-                if (_emptyToNullIfNoConvert) {
-                    resolvedValue = filterEmptyAsNull(resolvedValue);
-                }
-                resolvedValue = resolveDefaultValue(columnName, resolvedValue);
-            } else {
-                convertedSet.clear(); // recycle
-            }
-            resolvedMap.put(columnName, resolvedValue);
+            resolvedMap.put(columnName, convertValue(tableName, columnName, entry.getValue(), columnMetaMap));
         }
         for (Entry<String, Object> entry : resolvedMap.entrySet()) { // to keep original map instance
             columnValueMap.put(entry.getKey(), entry.getValue());
         }
     }
 
+    /**
+     * Convert the value of the column. (converting, empty to null, default value)
+     * @param tableName The DB name of the table. (NotNull)
+     * @param columnName The DB name of the column. (NotNull)
+     * @param plainValue The plain value of the column. (NullAllowed)
+     * @param columnMetaMap The map of column meta. (NotNull)
+     * @return The resolved value of the column. (NullAllowed)
+     */
+    public Object convertValue(String tableName, String columnName, Object plainValue, Map<String, DfColumnMeta> columnMetaMap) {
+        Object resolvedValue = resolveConvertValue(tableName, columnName, plainValue, _convertedSet, columnMetaMap);
+        if (_convertedSet.isEmpty()) { // if no convert
+            if (_emptyToNullIfNoConvert) {
+                resolvedValue = filterEmptyAsNull(resolvedValue);
+            }
+            resolvedValue = resolveDefaultValue(columnName, resolvedValue);
+        } else {
+            _convertedSet.clear(); // recycle
+        }
+        return resolvedValue;
+    }
+
     protected Object filterEmptyAsNull(Object value) {
         if (value instanceof String && Srl.isEmpty((String) value)) {
             return null;
@@ -206,6 +218,15 @@ public class DfColumnValueConverter {
     }
 
     protected Map<String, String> findConvertValueMapping(String columnName) {
+        if (_valueMappingCacheMap.containsKey(columnName)) { // the merged map is created only once per column
+            return _valueMappingCacheMap.get(columnName);
+        }
+        final Map<String, String> valueMapping = doFindConvertValueMapping(columnName);
+        _valueMappingCacheMap.put(columnName, valueMapping);
+        return valueMapping;
+    }
+
+    protected Map<String, String> doFindConvertValueMapping(String columnName) {
         if (_allColumnConvertMap == null) { // initialize
             _allColumnConvertMap = _convertValueMap.get("$$ALL$$");
             if (_allColumnConvertMap == null) {
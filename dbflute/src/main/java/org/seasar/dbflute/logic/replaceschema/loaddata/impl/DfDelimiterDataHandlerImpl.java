@@ -19,11 +19,23 @@ import java.io.File;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.sql.DataSource;
 
@@ -31,6 +43,14 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.torque.engine.database.model.UnifiedSchema;
 import org.seasar.dbflute.exception.DfDelimiterDataRegistrationFailureException;
+import org.seasar.dbflute.helper.StringKeyMap;
+import org.seasar.dbflute.helper.StringSet;
+import org.seasar.dbflute.helper.jdbc.connection.DfCushionDataSource;
+import org.seasar.dbflute.helper.jdbc.connection.DfFittingDataSource;
+import org.seasar.dbflute.logic.jdbc.metadata.basic.DfForeignKeyExtractor;
+import org.seasar.dbflute.logic.jdbc.metadata.basic.DfTableExtractor;
+import org.seasar.dbflute.logic.jdbc.metadata.info.DfForeignKeyMeta;
+import org.seasar.dbflute.logic.jdbc.metadata.info.DfTableMeta;
 import org.seasar.dbflute.logic.replaceschema.loaddata.DfDelimiterDataHandler;
 import org.seasar.dbflute.logic.replaceschema.loaddata.DfDelimiterDataResource;
 import org.seasar.dbflute.logic.replaceschema.loaddata.DfDelimiterDataResultInfo;
@@ -38,6 +58,8 @@ import org.seasar.dbflute.logic.replaceschema.loaddata.DfLoadedDataInfo;
 import org.seasar.dbflute.logic.replaceschema.loaddata.impl.dataprop.DfDefaultValueProp;
 import org.seasar.dbflute.logic.replaceschema.loaddata.impl.dataprop.DfLoadingControlProp;
 import org.seasar.dbflute.logic.replaceschema.loaddata.interceptor.DfDataWritingInterceptor;
+import org.seasar.dbflute.util.DfTraceViewUtil;
+import org.seasar.dbflute.util.Srl;
 
 /**
  * @author jflute
@@ -60,6 +82,7 @@ public class DfDelimiterDataHandlerImpl implements DfDelimiterDataHandler {
     protected boolean _suppressCheckColumnDef;
     protected boolean _suppressCheckImplicitSet;
     protected DfDataWritingInterceptor _dataWritingInterceptor;
+    protected int _loadingThreadCount = 1; // if over one, tables are loaded in parallel
 
     /** The data-prop of default value map. (NotNull: after initialization) */
     protected DfDefaultValueProp _defaultValueProp;
@@ -83,6 +106,9 @@ public class DfDelimiterDataHandlerImpl implements DfDelimiterDataHandler {
             return resultInfo;
         }
         final FilenameFilter filter = createFilenameFilter(resource.getFileType());
+        if (_loadingThreadCount > 1 && !isParallelLoading()) {
+            _log.info("...Loading delimiter data sequentially because parallel loading is unsupported in the environment.");
+        }
 
         try {
             for (String encoding : dataDirectoryElements) {
@@ -106,28 +132,16 @@ public class DfDelimiterDataHandlerImpl implements DfDelimiterDataHandler {
 
                 final Map<String, Map<String, String>> convertValueMap = getConvertValueMap(resource, encoding);
                 final Map<String, String> defaultValueMap = getDefaultValueMap(resource, encoding);
+                if (isParallelLoading()) {
+                    writeParallel(resource, loadedDataInfo, resultInfo, encoding, sortedFileNameSet, convertValueMap, defaultValueMap);
+                    continue;
+                }
                 for (String fileName : sortedFileNameSet) {
                     final String fileNamePath = basePath + "/" + encoding + "/" + fileName;
-                    final DfDelimiterDataWriterImpl writer = new DfDelimiterDataWriterImpl(_dataSource, _unifiedSchema);
-                    writer.setLoggingInsertSql(isLoggingInsertSql());
-                    writer.setFileName(fileNamePath);
-                    writer.setEncoding(encoding);
-                    writer.setDelimiter(resource.getDelimiter());
-                    writer.setConvertValueMap(convertValueMap);
-                    writer.setDefaultValueMap(defaultValueMap);
-                    writer.setSuppressBatchUpdate(isSuppressBatchUpdate());
-                    writer.setSuppressCheckColumnDef(isSuppressCheckColumnDef());
-                    writer.setSuppressCheckImplicitSet(isSuppressCheckImplicitSet());
-                    writer.setDataWritingInterceptor(_dataWritingInterceptor);
-                    writer.setDefaultValueProp(_defaultValueProp);
-                    writer.setLoadingControlProp(_loadingControlProp);
+                    final DfDelimiterDataWriterImpl writer = createWriter(resource, encoding, fileNamePath, convertValueMap,
+                            defaultValueMap, _dataSource);
                     writer.writeData(resultInfo);
-                    prepareImplicitClassificationLazyCheck(loadedDataInfo, writer);
-
-                    final String loadType = resource.getLoadType();
-                    final String fileType = resource.getFileType();
-                    final boolean warned = resultInfo.getWarningFileMap().containsKey(fileNamePath);
-                    loadedDataInfo.addLoadedFile(loadType, fileType, encoding, fileName, warned);
+                    registerLoadedFile(resource, loadedDataInfo, resultInfo, encoding, fileName, writer);
                 }
             }
         } catch (IOException e) {
@@ -137,6 +151,308 @@ public class DfDelimiterDataHandlerImpl implements DfDelimiterDataHandler {
         return resultInfo;
     }
 
+    protected DfDelimiterDataWriterImpl createWriter(DfDelimiterDataResource resource, String encoding, String fileNamePath,
+            Map<String, Map<String, String>> convertValueMap, Map<String, String> defaultValueMap, DataSource dataSource) {
+        final DfDelimiterDataWriterImpl writer = new DfDelimiterDataWriterImpl(dataSource, _unifiedSchema);
+        writer.setLoggingInsertSql(isLoggingInsertSql());
+        writer.setFileName(fileNamePath);
+        writer.setEncoding(encoding);
+        writer.setDelimiter(resource.getDelimiter());
+        writer.setConvertValueMap(convertValueMap);
+        writer.setDefaultValueMap(defaultValueMap);
+        writer.setSuppressBatchUpdate(isSuppressBatchUpdate());
+        writer.setSuppressCheckColumnDef(isSuppressCheckColumnDef());
+        writer.setSuppressCheckImplicitSet(isSuppressCheckImplicitSet());
+        writer.setDataWritingInterceptor(_dataWritingInterceptor);
+        writer.setDefaultValueProp(_defaultValueProp);
+        writer.setLoadingControlProp(_loadingControlProp);
+        return writer;
+    }
+
+    protected void registerLoadedFile(DfDelimiterDataResource resource, DfLoadedDataInfo loadedDataInfo,
+            DfDelimiterDataResultInfo resultInfo, String encoding, String fileName, DfDelimiterDataWriterImpl writer) {
+        prepareImplicitClassificationLazyCheck(loadedDataInfo, writer);
+
+        final String loadType = resource.getLoadType();
+        final String fileType = resource.getFileType();
+        final boolean warned = resultInfo.getWarningFileMap().containsKey(writer.getFileName());
+        loadedDataInfo.addLoadedFile(loadType, fileType, encoding, fileName, warned);
+    }
+
+    // ===================================================================================
+    //                                                                    Parallel Loading
+    //                                                                    ================
+    protected boolean isParallelLoading() {
+        if (_loadingThreadCount <= 1) {
+            return false;
+        }
+        if (!(_dataSource instanceof DfFittingDataSource)) { // needs new connection for each thread
+            return false;
+        }
+        if (_dataWritingInterceptor != null) { // e.g. identity insert is effective only in the session
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Write the data files of the encoding directory in parallel. <br />
+     * The tables are split into levels by foreign keys, and tables in the same level are loaded
+     * concurrently on separate connections (files of the same table are loaded in one thread).
+     * Tables that cannot be ordered (e.g. cyclic reference) are loaded sequentially at the end. <br />
+     * If a table in the level fails, the other tables of the level are cancelled before the failure is thrown.
+     */
+    protected void writeParallel(DfDelimiterDataResource resource, DfLoadedDataInfo loadedDataInfo,
+            DfDelimiterDataResultInfo resultInfo, String encoding, SortedSet<String> sortedFileNameSet,
+            Map<String, Map<String, String>> convertValueMap, Map<String, String> defaultValueMap) throws IOException {
+        final String dataDirectory = resource.getBasePath() + "/" + encoding;
+        _loadingControlProp.getLoggingInsertType(dataDirectory, isLoggingInsertSql()); // initialize lazy-loaded map here
+        commitMainConnectionIfNeeds(); // for other connections to see previous data
+
+        final Map<String, List<String>> tableFileMap = StringKeyMap.createAsFlexibleOrdered();
+        for (String fileName : sortedFileNameSet) {
+            final String tableDbName = DfDelimiterDataWriterImpl.extractTableDbName(fileName);
+            List<String> fileNameList = tableFileMap.get(tableDbName);
+            if (fileNameList == null) {
+                fileNameList = new ArrayList<String>();
+                tableFileMap.put(tableDbName, fileNameList);
+            }
+            fileNameList.add(fileName);
+        }
+        final List<String> tableNameList = new ArrayList<String>(tableFileMap.keySet());
+        final Map<String, Set<String>> parentTableMap = extractParentTableMap(tableNameList);
+        final List<String> unresolvedList = new ArrayList<String>();
+        final List<List<String>> levelList = createLoadingTableOrderAnalyzer().analyzeOrder(tableNameList, parentTableMap,
+                unresolvedList);
+        _log.info("...Loading delimiter data in parallel: threads=" + _loadingThreadCount + ", levels=" + levelList.size()
+                + (!unresolvedList.isEmpty() ? ", unresolved=" + unresolvedList : ""));
+
+        final DataSource parallelDataSource = createParallelDataSource();
+        final ExecutorService service = createLoadingExecutorService();
+        try {
+            for (List<String> levelTableList : levelList) {
+                final List<Future<TableLoadingResult>> futureList = new ArrayList<Future<TableLoadingResult>>();
+                for (String tableDbName : levelTableList) {
+                    final List<DfDelimiterDataWriterImpl> writerList = new ArrayList<DfDelimiterDataWriterImpl>();
+                    for (String fileName : tableFileMap.get(tableDbName)) {
+                        final String fileNamePath = dataDirectory + "/" + fileName;
+                        writerList.add(createWriter(resource, encoding, fileNamePath, convertValueMap, defaultValueMap,
+                                parallelDataSource));
+                    }
+                    futureList.add(service.submit(new TableLoadingTask(tableDbName, writerList)));
+                }
+                boolean completed = false;
+                try {
+                    for (Future<TableLoadingResult> future : futureList) { // in order of file names
+                        final TableLoadingResult loadingResult = waitForLoading(future);
+                        resultInfo.merge(loadingResult.getResultInfo());
+                        for (DfDelimiterDataWriterImpl writer : loadingResult.getWriterList()) {
+                            final String fileName = Srl.substringLastRear(writer.getFileName(), "/");
+                            registerLoadedFile(resource, loadedDataInfo, resultInfo, encoding, fileName, writer);
+                        }
+                        showLoadingThroughput(loadingResult);
+                    }
+                    completed = true;
+                } finally {
+                    if (!completed) {
+                        for (Future<TableLoadingResult> future : futureList) {
+                            future.cancel(true); // no need to load the level if one of tables failed
+                        }
+                    }
+                }
+            }
+        } finally {
+            service.shutdown();
+        }
+        if (!unresolvedList.isEmpty()) {
+            final StringSet unresolvedSet = StringSet.createAsFlexible();
+            unresolvedSet.addAll(unresolvedList);
+            for (String fileName : sortedFileNameSet) { // in order of file names as sequential loading
+                if (!unresolvedSet.contains(DfDelimiterDataWriterImpl.extractTableDbName(fileName))) {
+                    continue;
+                }
+                final String fileNamePath = dataDirectory + "/" + fileName;
+                final DfDelimiterDataWriterImpl writer = createWriter(resource, encoding, fileNamePath, convertValueMap,
+                        defaultValueMap, _dataSource);
+                writer.writeData(resultInfo);
+                registerLoadedFile(resource, loadedDataInfo, resultInfo, encoding, fileName, writer);
+            }
+        }
+    }
+
+    protected void commitMainConnectionIfNeeds() {
+        Connection conn = null;
+        try {
+            conn = _dataSource.getConnection();
+            if (!conn.getAutoCommit()) {
+                conn.commit();
+            }
+        } catch (SQLException e) {
+            String msg = "Failed to commit the main connection before parallel loading.";
+            throw new IllegalStateException(msg, e);
+        } finally {
+            close(conn);
+        }
+    }
+
+    protected Map<String, Set<String>> extractParentTableMap(List<String> tableNameList) {
+        final Map<String, Set<String>> parentTableMap = StringKeyMap.createAsFlexible();
+        final DfForeignKeyExtractor extractor = new DfForeignKeyExtractor();
+        Connection conn = null;
+        try {
+            conn = _dataSource.getConnection();
+            final DatabaseMetaData metaData = conn.getMetaData();
+            final List<DfTableMeta> tableList = new DfTableExtractor().getTableList(metaData, _unifiedSchema);
+            final List<String> existingNameList = new ArrayList<String>();
+            for (DfTableMeta meta : tableList) {
+                existingNameList.add(meta.getTableDbName());
+            }
+            extractor.enableTableCaseTranslation(existingNameList); // because the name might be user favorite case name
+            for (String tableDbName : tableNameList) {
+                final Set<String> parentTableSet = StringSet.createAsFlexible();
+                final Map<String, DfForeignKeyMeta> foreignKeyMap = extractor.getForeignKeyMap(conn, metaData, _unifiedSchema,
+                        tableDbName);
+                for (DfForeignKeyMeta foreignKey : foreignKeyMap.values()) {
+                    parentTableSet.add(foreignKey.getForeignTablePureName());
+                }
+                parentTableMap.put(tableDbName, parentTableSet);
+            }
+            return parentTableMap;
+        } catch (SQLException e) {
+            String msg = "Failed to get foreign keys for loading order: tables=" + tableNameList;
+            throw new IllegalStateException(msg, e);
+        } finally {
+            close(conn);
+        }
+    }
+
+    protected DfLoadingTableOrderAnalyzer createLoadingTableOrderAnalyzer() {
+        return new DfLoadingTableOrderAnalyzer();
+    }
+
+    protected DataSource createParallelDataSource() {
+        final DfFittingDataSource fittingDataSource = (DfFittingDataSource) _dataSource;
+        return new DfCushionDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return fittingDataSource.newConnection(); // not cached so closed really by writer
+            }
+        };
+    }
+
+    protected ExecutorService createLoadingExecutorService() {
+        final AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(_loadingThreadCount, new ThreadFactory() {
+            public Thread newThread(Runnable runnable) {
+                final Thread thread = new Thread(runnable, "dbflute-loading-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true); // not to block shutdown
+                return thread;
+            }
+        });
+    }
+
+    protected TableLoadingResult waitForLoading(Future<TableLoadingResult> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            String msg = "The parallel loading was interrupted.";
+            throw new IllegalStateException(msg, e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            String msg = "Failed to load the table data in parallel.";
+            throw new IllegalStateException(msg, cause);
+        }
+    }
+
+    protected void showLoadingThroughput(TableLoadingResult loadingResult) {
+        final long costMillis = loadingResult.getCostMillis();
+        final int rowSize = loadingResult.getLoadedRowSize();
+        final long rowsPerSecond = costMillis > 0 ? rowSize * 1000L / costMillis : rowSize;
+        final String performanceView = DfTraceViewUtil.convertToPerformanceView(costMillis);
+        _log.info(" -> " + loadingResult.getTableDbName() + ": " + rowSize + " rows in " + performanceView + " (" + rowsPerSecond
+                + " rows/sec)");
+    }
+
+    protected void close(Connection conn) {
+        if (conn != null) {
+            try {
+                conn.close();
+            } catch (SQLException ignored) {}
+        }
+    }
+
+    protected static class TableLoadingTask implements Callable<TableLoadingResult> {
+
+        protected final String _tableDbName;
+        protected final List<DfDelimiterDataWriterImpl> _writerList;
+
+        public TableLoadingTask(String tableDbName, List<DfDelimiterDataWriterImpl> writerList) {
+            _tableDbName = tableDbName;
+            _writerList = writerList;
+        }
+
+        public TableLoadingResult call() throws IOException {
+            final DfDelimiterDataResultInfo resultInfo = new DfDelimiterDataResultInfo(); // merged later
+            final long before = System.currentTimeMillis();
+            for (DfDelimiterDataWriterImpl writer : _writerList) { // files of the same table are sequential
+                writer.writeData(resultInfo);
+            }
+            final long after = System.currentTimeMillis();
+            return new TableLoadingResult(_tableDbName, _writerList, resultInfo, after - before);
+        }
+    }
+
+    protected static class TableLoadingResult {
+
+        protected final String _tableDbName;
+        protected final List<DfDelimiterDataWriterImpl> _writerList;
+        protected final DfDelimiterDataResultInfo _resultInfo;
+        protected final long _costMillis;
+
+        public TableLoadingResult(String tableDbName, List<DfDelimiterDataWriterImpl> writerList,
+                DfDelimiterDataResultInfo resultInfo, long costMillis) {
+            _tableDbName = tableDbName;
+            _writerList = writerList;
+            _resultInfo = resultInfo;
+            _costMillis = costMillis;
+        }
+
+        public int getLoadedRowSize() {
+            int rowSize = 0;
+            for (DfDelimiterDataWriterImpl writer : _writerList) {
+                rowSize = rowSize + writer.getLoadedRowSize();
+            }
+            return rowSize;
+        }
+
+        public String getTableDbName() {
+            return _tableDbName;
+        }
+
+        public List<DfDelimiterDataWriterImpl> getWriterList() {
+            return _writerList;
+        }
+
+        public DfDelimiterDataResultInfo getResultInfo() {
+            return _resultInfo;
+        }
+
+        public long getCostMillis() {
+            return _costMillis;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                       Assist Helper
+    //                                                                       =============
     protected boolean isUnsupportedEncodingDirectory(String encoding) {
         try {
             new String(new byte[0], 0, 0, encoding);
@@ -237,6 +553,14 @@ public class DfDelimiterDataHandlerImpl implements DfDelimiterDataHandler {
         this._defaultValueProp = defaultValueProp;
     }
 
+    public int getLoadingThreadCount() {
+        return _loadingThreadCount;
+    }
+
+    public void setLoadingThreadCount(int loadingThreadCount) {
+        this._loadingThreadCount = loadingThreadCount;
+    }
+
     public DfLoadingControlProp getLoadingControlProp() {
         return _loadingControlProp;
     }
@@ -15,14 +15,17 @@
  */
 package org.seasar.dbflute.logic.replaceschema.loaddata.impl;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 
 import org.seasar.dbflute.DfBuildProperties;
-import org.seasar.dbflute.exception.DfDelimiterDataRegistrationFailureException;
 import org.seasar.dbflute.logic.jdbc.metadata.info.DfColumnMeta;
 import org.seasar.dbflute.logic.replaceschema.loaddata.DfColumnBindTypeProvider;
 import org.seasar.dbflute.logic.replaceschema.loaddata.impl.dataprop.DfDefaultValueProp;
@@ -44,19 +47,24 @@ public class DfDelimiterDataWriteSqlBuilder {
     protected Map<String, Map<String, String>> _convertValueMap;
     protected Map<String, String> _defaultValueMap;
     protected DfColumnBindTypeProvider _bindTypeProvider;
-    protected Map<String, String> _basicColumnValueMap;
-    protected Map<String, String> _allColumnConvertMap;
     protected DfDefaultValueProp _defaultValueProp;
     protected Set<String> _sysdateColumnSet;
 
+    // column plan (prepared once for the file)
+    protected String[] _planColumnDbNames; // real column names, same order as SQL
+    protected int[] _planValueIndexes; // index in value list for each column
+    protected List<String> _planSysdateColumnList; // columns that have sysdate default value
+    protected Map<String, Object> _columnValueMap; // recycled per row
+    protected DfColumnValueConverter _columnValueConverter; // lazy-loaded
+
     // ===================================================================================
     //                                                                           Build SQL
     //                                                                           =========
     public String buildSql() {
-        final Map<String, String> columnValueMap = createBasicColumnValueMap();
+        prepareColumnPlan();
         final StringBuilder sb = new StringBuilder();
         final StringBuilder sbValues = new StringBuilder();
-        for (String columnDbName : columnValueMap.keySet()) {
+        for (String columnDbName : _planColumnDbNames) {
             final String columnSqlName = quoteColumnNameIfNeeds(columnDbName);
             sb.append(", ").append(columnSqlName);
             sbValues.append(", ?");
@@ -69,15 +77,48 @@ public class DfDelimiterDataWriteSqlBuilder {
     }
 
     public Map<String, Object> setupParameter() {
-        @SuppressWarnings("unchecked")
-        final Map<String, Object> columnValueMap = (Map<String, Object>) ((Object) createBasicColumnValueMap());
+        return setupParameter(_valueList);
+    }
+
+    /**
+     * Set up the parameter of the row by the column plan prepared once for the file. <br />
+     * The returned map instance is recycled for next rows so you should not keep it.
+     * @param valueList The list of values for the row, ordered as column name list. (NotNull)
+     * @return The map of column value keyed by real column DB name, ordered as SQL. (NotNull)
+     */
+    public Map<String, Object> setupParameter(List<String> valueList) {
+        prepareColumnPlan();
+        final Map<String, Object> columnValueMap = prepareColumnValueMap();
+        final int valueSize = valueList.size();
+        for (int i = 0; i < _planColumnDbNames.length; i++) {
+            final int valueIndex = _planValueIndexes[i];
+            final String value = valueIndex < valueSize ? valueList.get(valueIndex) : null;
+            columnValueMap.put(_planColumnDbNames[i], value);
+        }
         saveSysdateColumnSet(columnValueMap); // for relative date
         convertColumnValueIfNeeds(columnValueMap);
         return columnValueMap;
     }
 
+    protected Map<String, Object> prepareColumnValueMap() {
+        if (_columnValueMap == null) { // the keys are same in all rows so it can be recycled
+            _columnValueMap = new LinkedHashMap<String, Object>(_planColumnDbNames.length);
+        }
+        return _columnValueMap;
+    }
+
     protected void saveSysdateColumnSet(Map<String, Object> columnValueMap) { // should be called before convert
-        _sysdateColumnSet = _defaultValueProp.extractSysdateColumnSet(columnValueMap, _defaultValueMap);
+        Set<String> sysdateColumnSet = null;
+        for (String columnDbName : _planSysdateColumnList) { // basically empty
+            final Object value = columnValueMap.get(columnDbName);
+            if (value == null || (value instanceof String && ((String) value).length() == 0)) {
+                if (sysdateColumnSet == null) {
+                    sysdateColumnSet = new HashSet<String>(2);
+                }
+                sysdateColumnSet.add(columnDbName);
+            }
+        }
+        _sysdateColumnSet = sysdateColumnSet;
     }
 
     protected void convertColumnValueIfNeeds(Map<String, Object> columnValueMap) {
@@ -86,9 +127,14 @@ public class DfDelimiterDataWriteSqlBuilder {
         //        && (_defaultValueMap == null || _defaultValueMap.isEmpty())) { // and no default
         //    return;
         //}
-        final DfColumnValueConverter converter = createColumnValueConverter();
-        converter.emptyToNullIfNoConvert(); // e.g. TSV might have empty string (treated as null as default)
-        converter.convert(_tableDbName, columnValueMap, _columnMetaMap);
+        if (_columnValueConverter == null) { // one converter for the file (it caches value mappings)
+            _columnValueConverter = createColumnValueConverter();
+            _columnValueConverter.emptyToNullIfNoConvert(); // e.g. TSV might have empty string (treated as null as default)
+        }
+        for (Entry<String, Object> entry : columnValueMap.entrySet()) { // keys are not changed so set-value is safe
+            final Object resolved = _columnValueConverter.convertValue(_tableDbName, entry.getKey(), entry.getValue(), _columnMetaMap);
+            entry.setValue(resolved);
+        }
     }
 
     protected DfColumnValueConverter createColumnValueConverter() {
@@ -106,13 +152,18 @@ public class DfDelimiterDataWriteSqlBuilder {
     }
 
     // ===================================================================================
-    //                                                                           SQL Parts
-    //                                                                           =========
-    protected Map<String, String> createBasicColumnValueMap() {
-        if (_basicColumnValueMap != null) {
-            return _basicColumnValueMap;
+    //                                                                         Column Plan
+    //                                                                         ===========
+    /**
+     * Prepare the column plan from the column name list (header) only once for the file. <br />
+     * It resolves real column names, value indexes and sysdate default columns
+     * so that each row does not need flexible-map lookups.
+     */
+    protected void prepareColumnPlan() {
+        if (_planColumnDbNames != null) {
+            return;
         }
-        _basicColumnValueMap = new LinkedHashMap<String, String>();
+        final Map<String, Integer> valueIndexMap = new LinkedHashMap<String, Integer>(); // same order as SQL
         int columnCount = -1;
         for (String columnName : _columnNameList) {
             columnCount++;
@@ -128,27 +179,38 @@ public class DfDelimiterDataWriteSqlBuilder {
                 notFoundColumnSet.add(columnName);
                 continue;
             }
-            final String value;
-            try {
-                if (columnCount < _valueList.size()) {
-                    value = _valueList.get(columnCount);
-                } else {
-                    value = null;
-                }
-            } catch (RuntimeException e) {
-                String msg = "valueList.get(columnCount) threw the exception:";
-                msg = msg + " tableName=" + _tableDbName + " columnNameList=" + _columnNameList;
-                msg = msg + " valueList=" + _valueList + " columnCount=" + columnCount;
-                throw new DfDelimiterDataRegistrationFailureException(msg, e);
-            }
             if (!_columnMetaMap.isEmpty() && _columnMetaMap.containsKey(columnName)) {
-                String realDbName = _columnMetaMap.get(columnName).getColumnName();
-                _basicColumnValueMap.put(realDbName, value);
+                final String realDbName = _columnMetaMap.get(columnName).getColumnName();
+                valueIndexMap.put(realDbName, columnCount);
             } else {
-                _basicColumnValueMap.put(columnName, value);
+                valueIndexMap.put(columnName, columnCount);
+            }
+        }
+        final String[] columnDbNames = new String[valueIndexMap.size()];
+        final int[] valueIndexes = new int[valueIndexMap.size()];
+        int planIndex = 0;
+        for (Entry<String, Integer> entry : valueIndexMap.entrySet()) {
+            columnDbNames[planIndex] = entry.getKey();
+            valueIndexes[planIndex] = entry.getValue();
+            ++planIndex;
+        }
+        _planValueIndexes = valueIndexes;
+        _planSysdateColumnList = extractSysdateDefaultColumnList(columnDbNames);
+        _planColumnDbNames = columnDbNames; // last for the plan-prepared determination
+    }
+
+    protected List<String> extractSysdateDefaultColumnList(String[] columnDbNames) {
+        if (_defaultValueMap == null || _defaultValueMap.isEmpty() || !_defaultValueMap.containsValue("sysdate")) {
+            return Collections.emptyList();
+        }
+        final List<String> sysdateColumnList = new ArrayList<String>(2);
+        for (String columnDbName : columnDbNames) {
+            final String defaultValue = _defaultValueMap.get(columnDbName);
+            if (defaultValue != null && "sysdate".equalsIgnoreCase(defaultValue)) {
+                sysdateColumnList.add(columnDbName);
             }
         }
-        return _basicColumnValueMap;
+        return sysdateColumnList;
     }
 
     // ===================================================================================
@@ -68,6 +68,7 @@ public class DfDelimiterDataWriterImpl extends DfAbsractDataWriter implements Df
     protected String _delimiter;
     protected Map<String, Map<String, String>> _convertValueMap;
     protected Map<String, String> _defaultValueMap;
+    protected int _loadedRowSize; // for e.g. throughput
 
     /** The cache map of meta info. The key is table name. */
     protected final Map<String, Map<String, DfColumnMeta>> _metaInfoCacheMap = StringKeyMap.createAsFlexible();
@@ -92,14 +93,7 @@ public class DfDelimiterDataWriterImpl extends DfAbsractDataWriter implements Df
 
         final String dataDirectory = Srl.substringLastFront(_fileName, "/");
         final LoggingInsertType loggingInsertType = getLoggingInsertType(dataDirectory);
-        final String tableDbName;
-        {
-            String tmp = _fileName.substring(_fileName.lastIndexOf("/") + 1, _fileName.lastIndexOf("."));
-            if (tmp.indexOf("-") >= 0) {
-                tmp = tmp.substring(tmp.indexOf("-") + "-".length());
-            }
-            tableDbName = tmp;
-        }
+        final String tableDbName = extractTableDbName(_fileName);
         final Map<String, DfColumnMeta> columnMetaMap = getColumnMetaMap(tableDbName);
         if (columnMetaMap.isEmpty()) {
             throwTableNotFoundException(_fileName, tableDbName);
@@ -115,6 +109,8 @@ public class DfDelimiterDataWriterImpl extends DfAbsractDataWriter implements Df
         final List<String> additionalColumnList = new ArrayList<String>();
         final List<String> valueList = new ArrayList<String>();
         final boolean canBatchUpdate = !isMergedSuppressBatchUpdate(dataDirectory);
+        final DfColumnBindTypeProvider bindTypeProvider = createBindTypeProvider();
+        DfDelimiterDataWriteSqlBuilder sqlBuilder = null;
 
         final File dataFile = new File(_fileName);
         Connection conn = null;
@@ -200,20 +196,9 @@ public class DfDelimiterDataWriterImpl extends DfAbsractDataWriter implements Df
                 // /- - - - - - - - - - - - - - - -
                 // process registration to database
                 // - - - - - - - - - -/
-                final DfDelimiterDataWriteSqlBuilder sqlBuilder = new DfDelimiterDataWriteSqlBuilder();
-                sqlBuilder.setTableDbName(tableDbName);
-                sqlBuilder.setColumnMetaMap(columnMetaMap);
-                sqlBuilder.setColumnNameList(columnNameList);
-                sqlBuilder.setValueList(valueList);
-                sqlBuilder.setNotFoundColumnMap(resultInfo.getNotFoundColumnMap());
-                sqlBuilder.setConvertValueMap(_convertValueMap);
-                sqlBuilder.setDefaultValueMap(_defaultValueMap);
-                sqlBuilder.setBindTypeProvider(new DfColumnBindTypeProvider() {
-                    public Class<?> provide(String tableName, DfColumnMeta columnMeta) {
-                        return getBindType(tableName, columnMeta);
-                    }
-                });
-                sqlBuilder.setDefaultValueProp(_defaultValueProp);
+                if (sqlBuilder == null) { // one builder for the file (column plan is prepared once)
+                    sqlBuilder = createSqlBuilder(resultInfo, tableDbName, columnMetaMap, columnNameList, valueList, bindTypeProvider);
+                }
                 if (conn == null) {
                     conn = _dataSource.getConnection();
                 }
@@ -222,9 +207,10 @@ public class DfDelimiterDataWriterImpl extends DfAbsractDataWriter implements Df
                     executedSql = sqlBuilder.buildSql();
                     ps = prepareStatement(conn, executedSql);
                 }
-                final Map<String, Object> columnValueMap = sqlBuilder.setupParameter();
+                final Map<String, Object> columnValueMap = sqlBuilder.setupParameter(valueList);
                 final Set<String> sysdateColumnSet = sqlBuilder.getSysdateColumnSet();
-                resolveRelativeDate(dataDirectory, tableDbName, columnValueMap, columnMetaMap, sysdateColumnSet, rowNumber);
+                resolveRelativeDate(dataDirectory, tableDbName, columnValueMap, columnMetaMap, sysdateColumnSet, bindTypeProvider,
+                        rowNumber);
                 handleLoggingInsert(tableDbName, columnValueMap, loggingInsertType, rowNumber);
 
                 int bindCount = 1;
@@ -291,6 +277,7 @@ public class DfDelimiterDataWriterImpl extends DfAbsractDataWriter implements Df
                 commitTransaction(conn);
             }
             noticeLoadedRowSize(tableDbName, rowNumber);
+            _loadedRowSize = _loadedRowSize + rowNumber;
             checkImplicitClassification(dataFile, tableDbName, columnNameList);
         } catch (FileNotFoundException e) {
             throw e;
@@ -331,6 +318,35 @@ public class DfDelimiterDataWriterImpl extends DfAbsractDataWriter implements Df
         }
     }
 
+    /**
+     * Extract the table DB name from the file name, e.g. 01-MEMBER.tsv to MEMBER.
+     * @param fileName The name of the data file, might be path. (NotNull)
+     * @return The DB name of table. (NotNull)
+     */
+    public static String extractTableDbName(String fileName) {
+        String tmp = fileName.substring(fileName.lastIndexOf("/") + 1, fileName.lastIndexOf("."));
+        if (tmp.indexOf("-") >= 0) {
+            tmp = tmp.substring(tmp.indexOf("-") + "-".length());
+        }
+        return tmp;
+    }
+
+    protected DfDelimiterDataWriteSqlBuilder createSqlBuilder(DfDelimiterDataResultInfo resultInfo, String tableDbName,
+            Map<String, DfColumnMeta> columnMetaMap, List<String> columnNameList, List<String> valueList,
+            DfColumnBindTypeProvider bindTypeProvider) {
+        final DfDelimiterDataWriteSqlBuilder sqlBuilder = new DfDelimiterDataWriteSqlBuilder();
+        sqlBuilder.setTableDbName(tableDbName);
+        sqlBuilder.setColumnMetaMap(columnMetaMap);
+        sqlBuilder.setColumnNameList(columnNameList);
+        sqlBuilder.setValueList(valueList);
+        sqlBuilder.setNotFoundColumnMap(resultInfo.getNotFoundColumnMap());
+        sqlBuilder.setConvertValueMap(_convertValueMap);
+        sqlBuilder.setDefaultValueMap(_defaultValueMap);
+        sqlBuilder.setBindTypeProvider(bindTypeProvider);
+        sqlBuilder.setDefaultValueProp(_defaultValueProp);
+        return sqlBuilder;
+    }
+
     protected void beginTransaction(Connection conn) throws SQLException {
         conn.setAutoCommit(false);
     }
@@ -766,4 +782,8 @@ public class DfDelimiterDataWriterImpl extends DfAbsractDataWriter implements Df
     public void setDefaultValueMap(Map<String, String> defaultValueMap) {
         this._defaultValueMap = defaultValueMap;
     }
+
+    public int getLoadedRowSize() {
+        return _loadedRowSize;
+    }
 }
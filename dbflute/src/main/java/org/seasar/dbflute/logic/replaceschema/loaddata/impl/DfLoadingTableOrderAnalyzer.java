@@ -0,0 +1,96 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.logic.replaceschema.loaddata.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.seasar.dbflute.helper.StringSet;
+
+/**
+ * The analyzer of table order for loading data by foreign keys. <br />
+ * The tables are split into levels, and tables in the same level do not depend on each other
+ * so they can be loaded concurrently (based on the table order of LoadDataReverse,
+ * but registered tables are not visible in the same level).
+ * @author jflute
+ * @since 1.0.5N
+ */
+public class DfLoadingTableOrderAnalyzer {
+
+    // ===================================================================================
+    //                                                                      Analyzer Order
+    //                                                                      ==============
+    /**
+     * @param tableNameList The list of table name to be loaded, ordered as loading. (NotNull)
+     * @param parentTableMap The map of parent (foreign) table names, keyed by table name. (NotNull, FlexibleKeyExpected)
+     * @param outputUnresolvedList The list of unresolved table name for output, e.g. cyclic reference. (NotNull)
+     * @return The list of levels that contains table names, ordered as loading. (NotNull)
+     */
+    public List<List<String>> analyzeOrder(List<String> tableNameList, Map<String, Set<String>> parentTableMap,
+            List<String> outputUnresolvedList) {
+        final StringSet loadingTableSet = StringSet.createAsFlexible();
+        loadingTableSet.addAll(tableNameList);
+        final StringSet alreadyRegisteredSet = StringSet.createAsFlexible();
+        final List<List<String>> orderedList = new ArrayList<List<String>>();
+        List<String> unregisteredTableList = new ArrayList<String>(tableNameList);
+        while (!unregisteredTableList.isEmpty()) {
+            final int beforeSize = unregisteredTableList.size();
+            unregisteredTableList = doAnalyzeOrder(unregisteredTableList, parentTableMap, loadingTableSet, alreadyRegisteredSet,
+                    orderedList);
+            if (beforeSize == unregisteredTableList.size()) { // means it cannot analyze more
+                outputUnresolvedList.addAll(unregisteredTableList);
+                break; // sadly end
+            }
+        }
+        return orderedList;
+    }
+
+    protected List<String> doAnalyzeOrder(List<String> tableNameList, Map<String, Set<String>> parentTableMap,
+            Set<String> loadingTableSet, Set<String> alreadyRegisteredSet, List<List<String>> outputOrderedList) {
+        final List<String> unregisteredTableList = new ArrayList<String>();
+        final List<String> elementList = new ArrayList<String>();
+        for (String tableName : tableNameList) {
+            final Set<String> parentTableSet = parentTableMap.get(tableName);
+            boolean dependsOnAny = false;
+            if (parentTableSet != null) {
+                for (String parentTable : parentTableSet) {
+                    if (parentTable.equalsIgnoreCase(tableName)) { // self reference
+                        continue;
+                    }
+                    if (!loadingTableSet.contains(parentTable)) { // no data for the parent
+                        continue;
+                    }
+                    if (!alreadyRegisteredSet.contains(parentTable)) {
+                        dependsOnAny = true; // found non-registered parent table so it still depends on any
+                        break;
+                    }
+                }
+            }
+            if (dependsOnAny) {
+                unregisteredTableList.add(tableName);
+            } else {
+                elementList.add(tableName);
+            }
+        }
+        alreadyRegisteredSet.addAll(elementList); // after the loop not to register in the same level
+        if (!elementList.isEmpty()) {
+            outputOrderedList.add(elementList);
+        }
+        return unregisteredTableList;
+    }
+}
@@ -208,6 +208,7 @@ public class DfLoadDataProcess extends DfAbstractReplaceSchemaProcess {
         handler.setDataWritingInterceptor(getDataWritingInterceptor());
         handler.setDefaultValueProp(_defaultValueProp);
         handler.setLoadingControlProp(_loadingControlProp);
+        handler.setLoadingThreadCount(getReplaceSchemaProperties().getDelimiterDataLoadingThreadCount());
         _delimiterDataHandlerImpl = handler;
         return _delimiterDataHandlerImpl;
     }
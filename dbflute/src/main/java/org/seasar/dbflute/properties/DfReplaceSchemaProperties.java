@@ -432,6 +432,19 @@ public final class DfReplaceSchemaProperties extends DfAbstractHelperProperties
         return isProperty("isSuppressBatchUpdate", false, getReplaceSchemaDefinitionMap());
     }
 
+    // ===================================================================================
+    //                                                                      Loading Thread
+    //                                                                      ==============
+    public int getDelimiterDataLoadingThreadCount() { // if over one, loaded in parallel by foreign keys
+        final String countExp = getProperty("delimiterDataLoadingThreadCount", "1", getReplaceSchemaDefinitionMap());
+        try {
+            return Integer.valueOf(countExp.trim());
+        } catch (NumberFormatException e) {
+            String msg = "The property 'delimiterDataLoadingThreadCount' should be number: " + countExp;
+            throw new DfIllegalPropertyTypeException(msg, e);
+        }
+    }
+
     // ===================================================================================
     //                                                             Object Type Target List
     //                                                             =======================
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.logic.replaceschema.loaddata.impl;
+
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.seasar.dbflute.helper.StringKeyMap;
+import org.seasar.dbflute.logic.jdbc.metadata.info.DfColumnMeta;
+import org.seasar.dbflute.logic.replaceschema.loaddata.DfColumnBindTypeProvider;
+import org.seasar.dbflute.unit.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 1.0.5N
+ */
+public class DfDelimiterDataWriteSqlBuilderTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                     Setup Parameter
+    //                                                                     ===============
+    public void test_setupParameter_recycledPlan() {
+        // ## Arrange ##
+        Map<String, Set<String>> notFoundColumnMap = new LinkedHashMap<String, Set<String>>();
+        Map<String, String> defaultValueMap = StringKeyMap.createAsFlexible();
+        defaultValueMap.put("REGISTER_USER", "foo");
+        defaultValueMap.put("REGISTER_DATETIME", "sysdate");
+        DfDelimiterDataWriteSqlBuilder builder = createBuilder(notFoundColumnMap, defaultValueMap, "member_id",
+                "MEMBER_NAME", "NOT_EXISTS", "REGISTER_USER", "REGISTER_DATETIME");
+
+        // ## Act ##
+        Map<String, Object> firstMap = builder.setupParameter(newArrayList("1", "", "x", ""));
+        Set<String> firstSysdateSet = builder.getSysdateColumnSet();
+        Map<String, Object> firstCopyMap = new LinkedHashMap<String, Object>(firstMap);
+        Map<String, Object> secondMap = builder.setupParameter(newArrayList("2", "Pixy", "y", "bar", "2014/05/12"));
+
+        // ## Assert ##
+        log(firstCopyMap);
+        assertEquals("1", firstCopyMap.get("MEMBER_ID"));
+        assertNull(firstCopyMap.get("MEMBER_NAME")); // empty to null
+        assertEquals("foo", firstCopyMap.get("REGISTER_USER"));
+        assertTrue(firstCopyMap.get("REGISTER_DATETIME") instanceof Timestamp);
+        assertEquals(newHashSet("REGISTER_DATETIME"), firstSysdateSet);
+        assertSame(firstMap, secondMap);
+        assertEquals(newArrayList("MEMBER_ID", "MEMBER_NAME", "REGISTER_USER", "REGISTER_DATETIME"),
+                newArrayList(secondMap.keySet()));
+        assertEquals("2", secondMap.get("MEMBER_ID"));
+        assertEquals("Pixy", secondMap.get("MEMBER_NAME"));
+        assertEquals("bar", secondMap.get("REGISTER_USER"));
+        assertEquals("2014/05/12", secondMap.get("REGISTER_DATETIME"));
+        assertNull(builder.getSysdateColumnSet());
+        assertEquals(newHashSet("NOT_EXISTS"), notFoundColumnMap.get("MEMBER"));
+    }
+
+    protected DfDelimiterDataWriteSqlBuilder createBuilder(Map<String, Set<String>> notFoundColumnMap,
+            Map<String, String> defaultValueMap, String... columnNames) {
+        Map<String, DfColumnMeta> columnMetaMap = StringKeyMap.createAsFlexible();
+        for (String columnName : new String[] { "MEMBER_ID", "MEMBER_NAME", "REGISTER_USER", "REGISTER_DATETIME" }) {
+            DfColumnMeta columnMeta = new DfColumnMeta();
+            columnMeta.setColumnName(columnName);
+            columnMetaMap.put(columnName, columnMeta);
+        }
+        List<String> columnNameList = newArrayList(columnNames);
+        DfDelimiterDataWriteSqlBuilder builder = new DfDelimiterDataWriteSqlBuilder();
+        builder.setTableDbName("MEMBER");
+        builder.setColumnMetaMap(columnMetaMap);
+        builder.setColumnNameList(columnNameList);
+        builder.setNotFoundColumnMap(notFoundColumnMap);
+        builder.setConvertValueMap(StringKeyMap.<Map<String, String>> createAsFlexible());
+        builder.setDefaultValueMap(defaultValueMap);
+        builder.setBindTypeProvider(new DfColumnBindTypeProvider() {
+            public Class<?> provide(String tableName, DfColumnMeta columnMeta) {
+                return String.class;
+            }
+        });
+        return builder;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2004-2014 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.dbflute.logic.replaceschema.loaddata.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.seasar.dbflute.helper.StringKeyMap;
+import org.seasar.dbflute.unit.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 1.0.5N
+ */
+public class DfLoadingTableOrderAnalyzerTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                       Analyze Order
+    //                                                                       =============
+    public void test_analyzeOrder_basic() {
+        // ## Arrange ##
+        DfLoadingTableOrderAnalyzer analyzer = new DfLoadingTableOrderAnalyzer();
+        List<String> tableNameList = newArrayList("MEMBER", "MEMBER_LOGIN", "MEMBER_STATUS", "PRODUCT", "PURCHASE");
+        Map<String, Set<String>> parentTableMap = StringKeyMap.createAsFlexible();
+        parentTableMap.put("MEMBER", newHashSet("MEMBER_STATUS", "MEMBER")); // with self reference
+        parentTableMap.put("MEMBER_LOGIN", newHashSet("MEMBER", "MEMBER_STATUS"));
+        parentTableMap.put("PRODUCT", newHashSet("PRODUCT_STATUS")); // no data for the parent
+        parentTableMap.put("PURCHASE", newHashSet("memberLogin", "PRODUCT")); // flexible name
+        List<String> unresolvedList = new ArrayList<String>();
+
+        // ## Act ##
+        List<List<String>> levelList = analyzer.analyzeOrder(tableNameList, parentTableMap, unresolvedList);
+
+        // ## Assert ##
+        log(levelList);
+        assertEquals(4, levelList.size());
+        assertEquals(newArrayList("MEMBER_STATUS", "PRODUCT"), levelList.get(0));
+        assertEquals(newArrayList("MEMBER"), levelList.get(1));
+        assertEquals(newArrayList("MEMBER_LOGIN"), levelList.get(2));
+        assertEquals(newArrayList("PURCHASE"), levelList.get(3));
+        assertTrue(unresolvedList.isEmpty());
+    }
+
+    public void test_analyzeOrder_cyclic() {
+        // ## Arrange ##
+        DfLoadingTableOrderAnalyzer analyzer = new DfLoadingTableOrderAnalyzer();
+        List<String> tableNameList = newArrayList("FOO", "BAR", "BAZ", "QUX");
+        Map<String, Set<String>> parentTableMap = StringKeyMap.createAsFlexible();
+        parentTableMap.put("FOO", newHashSet("BAR"));
+        parentTableMap.put("BAR", newHashSet("FOO"));
+        parentTableMap.put("BAZ", newHashSet("FOO"));
+        List<String> unresolvedList = new ArrayList<String>();
+
+        // ## Act ##
+        List<List<String>> levelList = analyzer.analyzeOrder(tableNameList, parentTableMap, unresolvedList);
+
+        // ## Assert ##
+        log(levelList, unresolvedList);
+        assertEquals(1, levelList.size());
+        assertEquals(newArrayList("QUX"), levelList.get(0));
+        assertEquals(newArrayList("FOO", "BAR", "BAZ"), unresolvedList);
+    }
+}